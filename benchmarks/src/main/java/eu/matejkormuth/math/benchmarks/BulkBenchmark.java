@@ -0,0 +1,188 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.benchmarks;
+
+import eu.matejkormuth.math.direct.DirectVector3fBuffer;
+import eu.matejkormuth.math.matrices.Matrix4f;
+import eu.matejkormuth.math.parallel.ParallelExecutor;
+import eu.matejkormuth.math.quaternions.Quaternionf;
+import eu.matejkormuth.math.vectors.Vector3f;
+import eu.matejkormuth.math.vectors.Vector3fBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk kernels over <code>size</code> elements; one operation processes the whole buffer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkBenchmark {
+
+    @Param({"1024", "1048576"})
+    private int size;
+
+    private Vector3f[] objects;
+    private Vector3fBuffer a;
+    private Vector3fBuffer b;
+    private Vector3fBuffer dst;
+    private float[] scalars;
+    private DirectVector3fBuffer direct;
+    private Matrix4f transform;
+    private Matrix4f projection;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        objects = new Vector3f[size];
+        a = new Vector3fBuffer(size);
+        b = new Vector3fBuffer(size);
+        dst = new Vector3fBuffer(size);
+        scalars = new float[size];
+        direct = new DirectVector3fBuffer(size);
+        for (int i = 0; i < size; i++) {
+            objects[i] = new Vector3f(random.nextFloat(), random.nextFloat(), random.nextFloat());
+            a.set(i, objects[i]);
+            b.set(i, random.nextFloat(), random.nextFloat(), random.nextFloat());
+        }
+        direct.copyFrom(a, 0, 0, size);
+        transform = Matrix4f.createTranslation(new Vector3f(1, 2, 3))
+                .multiply(Matrix4f.createRotation(Quaternionf.fromAngle(30, Vector3f.UNIT_Y)));
+        projection = Matrix4f.createPerspective(70, 16f / 9f, 0.1f, 1000f).multiply(transform);
+    }
+
+    @TearDown
+    public void tearDown() {
+        direct.release();
+    }
+
+    @Benchmark
+    public Vector3f[] normalizeObjects() {
+        Vector3f[] array = objects;
+        for (int i = 0; i < array.length; i++) {
+            array[i] = array[i].normalize();
+        }
+        return array;
+    }
+
+    @Benchmark
+    public Vector3fBuffer add() {
+        Vector3fBuffer.add(a, b, dst, 0, size);
+        return dst;
+    }
+
+    @Benchmark
+    public Vector3fBuffer scale() {
+        Vector3fBuffer.scale(a, 1.0001f, dst, 0, size);
+        return dst;
+    }
+
+    @Benchmark
+    public float[] dot() {
+        Vector3fBuffer.dot(a, b, scalars, 0, size);
+        return scalars;
+    }
+
+    @Benchmark
+    public Vector3fBuffer cross() {
+        Vector3fBuffer.cross(a, b, dst, 0, size);
+        return dst;
+    }
+
+    @Benchmark
+    public Vector3fBuffer normalize() {
+        Vector3fBuffer.normalize(a, dst, 0, size);
+        return dst;
+    }
+
+    @Benchmark
+    public Vector3fBuffer normalizeFast() {
+        Vector3fBuffer.normalizeFast(a, dst, 0, size);
+        return dst;
+    }
+
+    @Benchmark
+    public float[] length() {
+        Vector3fBuffer.length(a, scalars, 0, size);
+        return scalars;
+    }
+
+    @Benchmark
+    public float[] distanceSquared() {
+        Vector3fBuffer.distanceSquared(a, b, scalars, 0, size);
+        return scalars;
+    }
+
+    @Benchmark
+    public DirectVector3fBuffer normalizeDirect() {
+        direct.normalize(0, size);
+        return direct;
+    }
+
+    @Benchmark
+    public Vector3f[] transformObjects() {
+        Vector3f[] array = objects;
+        for (int i = 0; i < array.length; i++) {
+            array[i] = transform.transformPoint(array[i]);
+        }
+        return array;
+    }
+
+    @Benchmark
+    public Vector3fBuffer transformPoints() {
+        transform.transformPoints(a, dst, 0, size);
+        return dst;
+    }
+
+    @Benchmark
+    public Vector3fBuffer projectPoints() {
+        projection.projectPoints(a, dst, 0, size);
+        return dst;
+    }
+
+    @Benchmark
+    public Vector3fBuffer transformPointsParallel() {
+        ParallelExecutor.common().transformPoints(transform, a, dst, 0, size);
+        return dst;
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.benchmarks;
+
+import eu.matejkormuth.math.matrices.Matrix4f;
+import eu.matejkormuth.math.parallel.ParallelExecutor;
+import eu.matejkormuth.math.shapes.Frustum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Frustum culling of 1M instances; one operation culls all of them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CullingBenchmark {
+
+    private static final int COUNT = 1 << 20;
+
+    private Frustum frustum;
+    private float[] spheres;
+    private float[] boxes;
+    private long[] visible;
+
+    @Setup
+    public void setup() {
+        frustum = Frustum.fromMatrix(Matrix4f.createPerspective(70, 1, 0.1f, 500));
+        Random random = new Random(42);
+        spheres = new float[COUNT * 4];
+        boxes = new float[COUNT * 6];
+        for (int i = 0; i < COUNT; i++) {
+            float x = random.nextFloat() * 1000 - 500, y = random.nextFloat() * 1000 - 500, z = random.nextFloat() * 1000 - 500;
+            float r = random.nextFloat() * 4;
+            spheres[i * 4] = x;
+            spheres[i * 4 + 1] = y;
+            spheres[i * 4 + 2] = z;
+            spheres[i * 4 + 3] = r;
+            boxes[i * 6] = x - r;
+            boxes[i * 6 + 1] = y - r;
+            boxes[i * 6 + 2] = z - r;
+            boxes[i * 6 + 3] = x + r;
+            boxes[i * 6 + 4] = y + r;
+            boxes[i * 6 + 5] = z + r;
+        }
+        visible = new long[COUNT / 64];
+    }
+
+    @Benchmark
+    public int spheres() {
+        return frustum.cullSpheres(spheres, visible, 0, COUNT);
+    }
+
+    @Benchmark
+    public int boxes() {
+        return frustum.cullBoxes(boxes, visible, 0, COUNT);
+    }
+
+    @Benchmark
+    public long spheresParallel() {
+        ParallelExecutor.common().cullSpheres(frustum, spheres, visible, 0, COUNT);
+        return visible[0];
+    }
+}
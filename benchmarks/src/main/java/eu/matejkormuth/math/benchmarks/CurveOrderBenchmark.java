@@ -0,0 +1,109 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.benchmarks;
+
+import eu.matejkormuth.math.spatial.CurveOrder;
+import eu.matejkormuth.math.spatial.KdTree;
+import eu.matejkormuth.math.vectors.Vector3dBuffer;
+import eu.matejkormuth.math.vectors.Vector3fBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Curve ordering of 256k points and k-NN queries issued in random versus Hilbert order.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CurveOrderBenchmark {
+
+    private static final int COUNT = 1 << 18;
+    private static final int K = 8;
+
+    private Vector3fBuffer points;
+    private KdTree tree;
+    private Vector3dBuffer randomQueries;
+    private Vector3dBuffer sortedQueries;
+    private int[] ids;
+    private double[] distances;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        points = new Vector3fBuffer(COUNT);
+        randomQueries = new Vector3dBuffer(COUNT);
+        for (int i = 0; i < COUNT; i++) {
+            float x = random.nextFloat() * 1000, y = random.nextFloat() * 1000, z = random.nextFloat() * 1000;
+            points.set(i, x, y, z);
+            randomQueries.set(i, x, y, z);
+        }
+        tree = KdTree.of(randomQueries);
+        int[] order = CurveOrder.hilbertOrder(points, 0, COUNT);
+        sortedQueries = new Vector3dBuffer(COUNT);
+        for (int i = 0; i < COUNT; i++) {
+            sortedQueries.set(i, points.getX()[order[i]], points.getY()[order[i]], points.getZ()[order[i]]);
+        }
+        ids = new int[COUNT * K];
+        distances = new double[COUNT * K];
+    }
+
+    @Benchmark
+    public int mortonOrder() {
+        return CurveOrder.mortonOrder(points, 0, COUNT)[0];
+    }
+
+    @Benchmark
+    public int hilbertOrder() {
+        return CurveOrder.hilbertOrder(points, 0, COUNT)[0];
+    }
+
+    @Benchmark
+    public int nearestRandomOrder() {
+        tree.nearest(randomQueries, K, ids, distances, 0, COUNT);
+        return ids[0];
+    }
+
+    @Benchmark
+    public int nearestHilbertOrder() {
+        tree.nearest(sortedQueries, K, ids, distances, 0, COUNT);
+        return ids[0];
+    }
+}
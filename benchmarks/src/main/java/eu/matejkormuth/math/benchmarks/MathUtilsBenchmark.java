@@ -0,0 +1,156 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.benchmarks;
+
+import eu.matejkormuth.math.CubicEquation;
+import eu.matejkormuth.math.MathUtils;
+import eu.matejkormuth.math.QuadraticEquation;
+import eu.matejkormuth.math.QuarticEquation;
+import eu.matejkormuth.math.vectors.Vector3d;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MathUtilsBenchmark {
+
+    private double d;
+    private float f;
+    private Vector3d min;
+    private Vector3d max;
+    private double[] roots = new double[4];
+
+    @Setup
+    public void setup() {
+        d = -13.37;
+        f = 4.2f;
+        min = new Vector3d(-1, -2, -3);
+        max = new Vector3d(4, 5, 6);
+    }
+
+    @Benchmark
+    public double floor() {
+        return MathUtils.floor(d);
+    }
+
+    @Benchmark
+    public double mathFloor() {
+        return Math.floor(d);
+    }
+
+    @Benchmark
+    public float lerp() {
+        return MathUtils.lerp(0f, 10f, f / 10f);
+    }
+
+    @Benchmark
+    public Vector3d lerpVector() {
+        return MathUtils.lerp(min, max, 0.3);
+    }
+
+    @Benchmark
+    public double smoothstep() {
+        return MathUtils.smoothstep(0.0, 10.0, d);
+    }
+
+    @Benchmark
+    public double[] quadraticSolve() {
+        return QuadraticEquation.solve(5, 6, d);
+    }
+
+    @Benchmark
+    public double[] quadraticSolveInto() {
+        QuadraticEquation.solve(5, 6, d, roots, 0);
+        return roots;
+    }
+
+    @Benchmark
+    public double[] cubicSolve() {
+        CubicEquation.solve(2, 0, d, 12, roots, 0);
+        return roots;
+    }
+
+    @Benchmark
+    public double[] quarticSolve() {
+        QuarticEquation.solve(1, 0, d, 0, 14.0625, roots, 0);
+        return roots;
+    }
+
+    @Benchmark
+    public float fastSin() {
+        return MathUtils.fastSin(f);
+    }
+
+    @Benchmark
+    public double mathSin() {
+        return Math.sin(f);
+    }
+
+    @Benchmark
+    public float fastAcos() {
+        return MathUtils.fastAcos(f / 10f);
+    }
+
+    @Benchmark
+    public double mathAcos() {
+        return Math.acos(f / 10f);
+    }
+
+    @Benchmark
+    public float fastAtan2() {
+        return MathUtils.fastAtan2(f, (float) d);
+    }
+
+    @Benchmark
+    public double mathAtan2() {
+        return Math.atan2(f, d);
+    }
+
+    @Benchmark
+    public float fastExp() {
+        return MathUtils.fastExp(f);
+    }
+
+    @Benchmark
+    public double mathExp() {
+        return Math.exp(f);
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.benchmarks;
+
+import eu.matejkormuth.math.matrices.Matrix4d;
+import eu.matejkormuth.math.matrices.Matrix4f;
+import eu.matejkormuth.math.matrices.MutableMatrix4f;
+import eu.matejkormuth.math.quaternions.Quaternionf;
+import eu.matejkormuth.math.vectors.Vector3f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatrixBenchmark {
+
+    private Matrix4f a;
+    private Matrix4f b;
+    private Matrix4d ad;
+    private Matrix4d bd;
+    private MutableMatrix4f dest;
+
+    @Setup
+    public void setup() {
+        a = Matrix4f.createTranslation(new Vector3f(1, 2, 3))
+                .multiply(Matrix4f.createRotation(Quaternionf.fromAngle(30, Vector3f.UNIT_Y)));
+        b = Matrix4f.createScale(new Vector3f(2, 3, 4))
+                .multiply(Matrix4f.createRotation(Quaternionf.fromAngle(45, Vector3f.UNIT_X)));
+        ad = new Matrix4d(new double[]{
+                a.getM00(), a.getM01(), a.getM02(), a.getM03(),
+                a.getM10(), a.getM11(), a.getM12(), a.getM13(),
+                a.getM20(), a.getM21(), a.getM22(), a.getM23(),
+                a.getM30(), a.getM31(), a.getM32(), a.getM33()});
+        bd = ad.transpose();
+        dest = new MutableMatrix4f();
+    }
+
+    @Benchmark
+    public Matrix4f multiply() {
+        return a.multiply(b);
+    }
+
+    @Benchmark
+    public MutableMatrix4f multiplyInto() {
+        return a.multiply(b, dest);
+    }
+
+    @Benchmark
+    public MutableMatrix4f multiplyLocal() {
+        return dest.set(a).multiplyLocal(b).multiplyLocal(a);
+    }
+
+    @Benchmark
+    public Matrix4d multiplyDouble() {
+        return ad.multiply(bd);
+    }
+
+    @Benchmark
+    public Matrix4f createRotation() {
+        return Matrix4f.createRotation(Quaternionf.IDENTITY);
+    }
+
+    @Benchmark
+    public float determinant() {
+        return a.determinant();
+    }
+
+    // general cofactor inverse vs. the cheaper affine and rigid variants of the same matrix
+
+    @Benchmark
+    public Matrix4f inverse() {
+        return a.inverse();
+    }
+
+    @Benchmark
+    public Matrix4f inverseAffine() {
+        return a.inverseAffine();
+    }
+
+    @Benchmark
+    public Matrix4f inverseRigid() {
+        return a.inverseRigid();
+    }
+
+    @Benchmark
+    public Matrix4d inverseDouble() {
+        return ad.inverse();
+    }
+}
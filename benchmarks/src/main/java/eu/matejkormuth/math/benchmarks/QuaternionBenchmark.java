@@ -0,0 +1,147 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.benchmarks;
+
+import eu.matejkormuth.math.quaternions.Quaterniond;
+import eu.matejkormuth.math.quaternions.MutableQuaternionf;
+import eu.matejkormuth.math.quaternions.Quaternionf;
+import eu.matejkormuth.math.vectors.Vector3d;
+import eu.matejkormuth.math.vectors.Vector3f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuaternionBenchmark {
+
+    private Quaterniond start;
+    private Quaterniond end;
+    private Quaternionf a;
+    private Quaternionf b;
+    private MutableQuaternionf dest;
+
+    // pose of 256 bones, blended as a whole in batch benchmarks
+    private float[] poseStart;
+    private float[] poseEnd;
+    private float[] poseFactors;
+    private float[] poseOut;
+    private Quaterniond[] objectStart;
+    private Quaterniond[] objectEnd;
+    private Quaterniond[] objectOut;
+
+    @Setup
+    public void setup() {
+        start = Quaterniond.fromAngle(10, Vector3d.UNIT_Y);
+        end = Quaterniond.fromAngle(120, new Vector3d(1, 1, 0).normalize());
+        a = Quaternionf.fromAngle(10, Vector3f.UNIT_Y);
+        b = Quaternionf.fromAngle(120, new Vector3f(1, 1, 0).normalize());
+        dest = new MutableQuaternionf();
+
+        int bones = 256;
+        poseStart = new float[bones * 4];
+        poseEnd = new float[bones * 4];
+        poseFactors = new float[bones];
+        poseOut = new float[bones * 4];
+        objectStart = new Quaterniond[bones];
+        objectEnd = new Quaterniond[bones];
+        objectOut = new Quaterniond[bones];
+        for (int i = 0; i < bones; i++) {
+            Quaternionf s = Quaternionf.fromAngle(i, Vector3f.UNIT_Y);
+            Quaternionf e = Quaternionf.fromAngle(3 * i, Vector3f.UNIT_X);
+            s.multiply(Quaternionf.IDENTITY, poseStart, i * 4);
+            e.multiply(Quaternionf.IDENTITY, poseEnd, i * 4);
+            poseFactors[i] = (i % 10) / 10f;
+            objectStart[i] = Quaterniond.fromAngle(i, Vector3d.UNIT_Y);
+            objectEnd[i] = Quaterniond.fromAngle(3 * i, Vector3d.UNIT_X);
+        }
+    }
+
+    @Benchmark
+    public Quaterniond slerp() {
+        return start.slerp(start, end, 0.3);
+    }
+
+    @Benchmark
+    public Quaterniond nlerp() {
+        return start.nlerp(start, end, 0.3);
+    }
+
+    @Benchmark
+    public Quaternionf multiply() {
+        return a.multiply(b);
+    }
+
+    @Benchmark
+    public MutableQuaternionf multiplyInto() {
+        return a.multiply(b, dest);
+    }
+
+    @Benchmark
+    public Quaternionf fromAngle() {
+        return Quaternionf.fromAngle(42, Vector3f.UNIT_Z);
+    }
+
+    @Benchmark
+    public Quaterniond[] slerpPoseObjects() {
+        for (int i = 0; i < objectOut.length; i++) {
+            objectOut[i] = start.slerp(objectStart[i], objectEnd[i], poseFactors[i]);
+        }
+        return objectOut;
+    }
+
+    @Benchmark
+    public float[] slerpPoseBatch() {
+        Quaternionf.slerp(poseStart, poseEnd, poseFactors, poseOut, 0, poseFactors.length);
+        return poseOut;
+    }
+
+    @Benchmark
+    public float[] slerpFastPoseBatch() {
+        Quaternionf.slerpFast(poseStart, poseEnd, poseFactors, poseOut, 0, poseFactors.length);
+        return poseOut;
+    }
+
+    @Benchmark
+    public float[] nlerpPoseBatch() {
+        Quaternionf.nlerp(poseStart, poseEnd, poseFactors, poseOut, 0, poseFactors.length);
+        return poseOut;
+    }
+}
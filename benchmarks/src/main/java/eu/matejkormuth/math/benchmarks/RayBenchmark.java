@@ -0,0 +1,119 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.benchmarks;
+
+import eu.matejkormuth.math.QuadraticEquation;
+import eu.matejkormuth.math.shapes.AABBf;
+import eu.matejkormuth.math.shapes.Intersections;
+import eu.matejkormuth.math.vectors.Vector3f;
+import eu.matejkormuth.math.vectors.Vector3fBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Intersections of 4096 rays with one primitive; one operation tests all rays.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RayBenchmark {
+
+    private static final int COUNT = 4096;
+    private static final Vector3f CENTER = new Vector3f(0, 0, 10);
+    private static final AABBf BOX = new AABBf(-2, -2, 8, 2, 2, 12);
+
+    private Vector3fBuffer origins;
+    private Vector3fBuffer directions;
+    private float[] distances;
+    private int[] hits;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        origins = new Vector3fBuffer(COUNT);
+        directions = new Vector3fBuffer(COUNT);
+        for (int i = 0; i < COUNT; i++) {
+            origins.set(i, random.nextFloat() * 8 - 4, random.nextFloat() * 8 - 4, 0);
+            directions.set(i, random.nextFloat() * 0.2f - 0.1f, random.nextFloat() * 0.2f - 0.1f, 1);
+        }
+        distances = new float[COUNT];
+        hits = new int[COUNT];
+    }
+
+    @Benchmark
+    public float sphereQuadraticEquation() {
+        float[] ox = origins.getX(), oy = origins.getY(), oz = origins.getZ();
+        float[] dx = directions.getX(), dy = directions.getY(), dz = directions.getZ();
+        float sum = 0;
+        for (int i = 0; i < COUNT; i++) {
+            float lx = ox[i] - CENTER.getX(), ly = oy[i] - CENTER.getY(), lz = oz[i] - CENTER.getZ();
+            double[] roots = QuadraticEquation.solve(dx[i] * dx[i] + dy[i] * dy[i] + dz[i] * dz[i],
+                    2 * (dx[i] * lx + dy[i] * ly + dz[i] * lz), lx * lx + ly * ly + lz * lz - 4);
+            if (roots != null) {
+                sum += Math.min(roots[0], roots[1]);
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public float sphere() {
+        Arrays.fill(distances, Intersections.MISS);
+        Intersections.raySphere(origins, directions, CENTER, 2, 0, distances, hits, 0, COUNT);
+        return distances[0];
+    }
+
+    @Benchmark
+    public float box() {
+        Arrays.fill(distances, Intersections.MISS);
+        Intersections.rayBox(origins, directions, BOX, 0, distances, hits, 0, COUNT);
+        return distances[0];
+    }
+
+    @Benchmark
+    public float triangle() {
+        Arrays.fill(distances, Intersections.MISS);
+        Intersections.rayTriangle(origins, directions, new Vector3f(-3, -3, 10), new Vector3f(3, -3, 10),
+                new Vector3f(0, 3, 10), 0, distances, hits, 0, COUNT);
+        return distances[0];
+    }
+}
@@ -0,0 +1,199 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.benchmarks;
+
+import eu.matejkormuth.math.spatial.BVH;
+import eu.matejkormuth.math.spatial.KdTree;
+import eu.matejkormuth.math.spatial.Octree;
+import eu.matejkormuth.math.spatial.SpatialHashGrid;
+import eu.matejkormuth.math.vectors.Vector3dBuffer;
+import eu.matejkormuth.math.vectors.Vector3fBuffer;
+import gnu.trove.list.array.TIntArrayList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Radius queries around every point of a 4096 point cloud (one operation runs all of them)
+ * and octree and BVH builds over 65536 boxes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpatialBenchmark {
+
+    private static final int COUNT = 4096;
+    private static final float RADIUS = 2f;
+    private static final int BOX_COUNT = 65536;
+
+    private Vector3fBuffer points;
+    private SpatialHashGrid grid;
+    private TIntArrayList result;
+    private double[] boxes;
+    private float[] floatBoxes;
+    private BVH bvh;
+    private Vector3dBuffer doublePoints;
+    private KdTree kdTree;
+    private int[] nearestIds;
+    private double[] nearestDistances;
+    private Octree octree;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        points = new Vector3fBuffer(COUNT);
+        for (int i = 0; i < COUNT; i++) {
+            points.set(i, random.nextFloat() * 64, random.nextFloat() * 64, random.nextFloat() * 64);
+        }
+        grid = new SpatialHashGrid(RADIUS, COUNT);
+        grid.insertAll(points, 0, COUNT);
+        result = new TIntArrayList();
+        boxes = new double[BOX_COUNT * 6];
+        for (int i = 0; i < BOX_COUNT * 6; i += 6) {
+            for (int axis = 0; axis < 3; axis++) {
+                boxes[i + axis] = random.nextDouble() * 256;
+                boxes[i + axis + 3] = boxes[i + axis] + random.nextDouble() * 4;
+            }
+        }
+        octree = Octree.ofPoints(points, 0, COUNT);
+        floatBoxes = new float[boxes.length];
+        for (int i = 0; i < boxes.length; i++) {
+            floatBoxes[i] = (float) boxes[i];
+        }
+        bvh = BVH.ofBoxes(floatBoxes, BOX_COUNT);
+        doublePoints = new Vector3dBuffer(COUNT);
+        for (int i = 0; i < COUNT; i++) {
+            doublePoints.set(i, points.getX()[i], points.getY()[i], points.getZ()[i]);
+        }
+        kdTree = KdTree.of(doublePoints);
+        nearestIds = new int[COUNT * 4];
+        nearestDistances = new double[COUNT * 4];
+    }
+
+    @Benchmark
+    public int bruteForce() {
+        float[] x = points.getX(), y = points.getY(), z = points.getZ();
+        int found = 0;
+        for (int i = 0; i < COUNT; i++) {
+            for (int j = 0; j < COUNT; j++) {
+                float dx = x[j] - x[i];
+                float dy = y[j] - y[i];
+                float dz = z[j] - z[i];
+                if (dx * dx + dy * dy + dz * dz <= RADIUS * RADIUS) {
+                    found++;
+                }
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int hashGrid() {
+        float[] x = points.getX(), y = points.getY(), z = points.getZ();
+        int found = 0;
+        for (int i = 0; i < COUNT; i++) {
+            result.resetQuick();
+            found += grid.queryRadius(x[i], y[i], z[i], RADIUS, result);
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int octree() {
+        float[] x = points.getX(), y = points.getY(), z = points.getZ();
+        int found = 0;
+        for (int i = 0; i < COUNT; i++) {
+            result.resetQuick();
+            found += octree.querySphere(x[i], y[i], z[i], RADIUS, result);
+        }
+        return found;
+    }
+
+    @Benchmark
+    public Octree octreeBuild() {
+        return Octree.ofBoxes(boxes, BOX_COUNT, Octree.DEFAULT_LEAF_SIZE, null);
+    }
+
+    @Benchmark
+    public Octree octreeBuildParallel() {
+        return Octree.ofBoxes(boxes, BOX_COUNT, Octree.DEFAULT_LEAF_SIZE, ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public BVH bvhBuild() {
+        return BVH.ofBoxes(floatBoxes, BOX_COUNT, null);
+    }
+
+    @Benchmark
+    public BVH bvhBuildParallel() {
+        return BVH.ofBoxes(floatBoxes, BOX_COUNT, ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public int bvhRaycast() {
+        float[] x = points.getX(), y = points.getY();
+        int hits = 0;
+        for (int i = 0; i < COUNT; i++) {
+            if (bvh.raycast(x[i] * 4, y[i] * 4, -1, 0.1f, 0.2f, 1, 1000, null, null) != -1) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int kdTreeNearest() {
+        kdTree.nearest(doublePoints, 4, nearestIds, nearestDistances, 0, COUNT);
+        return nearestIds[COUNT];
+    }
+
+    @Benchmark
+    public KdTree kdTreeBuild() {
+        return KdTree.of(doublePoints);
+    }
+
+    @Benchmark
+    public int rebuild() {
+        grid.clear();
+        grid.insertAll(points, 0, COUNT);
+        return grid.getSize();
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.benchmarks;
+
+import eu.matejkormuth.math.vectors.MutableVector3f;
+import eu.matejkormuth.math.vectors.Vector3f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VectorBenchmark {
+
+    private Vector3f a;
+    private Vector3f b;
+    private MutableVector3f mutable;
+
+    @Setup
+    public void setup() {
+        a = new Vector3f(1.3f, 50.1f, 14.32f);
+        b = new Vector3f(18f, -10f, 22.515f);
+        mutable = new MutableVector3f(a);
+    }
+
+    @Benchmark
+    public Vector3f rotate() {
+        return a.rotate(30, Vector3f.UNIT_Y);
+    }
+
+    @Benchmark
+    public Vector3f normalize() {
+        return a.normalize();
+    }
+
+    @Benchmark
+    public Vector3f normalizeFast() {
+        return a.normalizeFast();
+    }
+
+    @Benchmark
+    public Vector3f cross() {
+        return a.cross(b);
+    }
+
+    @Benchmark
+    public Vector3f chain() {
+        return a.add(b).multiply(0.5f).subtract(b).normalize();
+    }
+
+    @Benchmark
+    public MutableVector3f chainMutable() {
+        return mutable.set(a).addLocal(b).multiplyLocal(0.5f).subtractLocal(b).normalizeLocal();
+    }
+
+    @Benchmark
+    public Vector3f lerp() {
+        return Vector3f.lerp(a, b, 0.3f);
+    }
+
+    @Benchmark
+    public Vector3f slerp() {
+        return Vector3f.slerp(Vector3f.UNIT_X, Vector3f.UNIT_Y, 0.3f);
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.simd.vector;
+
+import eu.matejkormuth.math.matrices.Matrix4f;
+import eu.matejkormuth.math.simd.VectorKernels;
+import eu.matejkormuth.math.vectors.Vector3fBuffer;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link VectorKernels} implemented with the JDK Vector API using the preferred (widest)
+ * species of the current CPU. Remaining elements which do not fill a whole vector are
+ * processed by the scalar kernels.
+ */
+public class SimdVectorKernels implements VectorKernels {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    @Override
+    public String getName() {
+        return "simd-" + SPECIES.vectorBitSize();
+    }
+
+    @Override
+    public boolean isSupported() {
+        // on CPUs without SIMD registers the Vector API falls back to slow Java code
+        return SPECIES.length() >= 4;
+    }
+
+    @Override
+    public void dot(Vector3fBuffer a, Vector3fBuffer b, float[] dst, int from, int to) {
+        float[] ax = a.getX(), ay = a.getY(), az = a.getZ();
+        float[] bx = b.getX(), by = b.getY(), bz = b.getZ();
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            FloatVector x = FloatVector.fromArray(SPECIES, ax, i).mul(FloatVector.fromArray(SPECIES, bx, i));
+            FloatVector y = FloatVector.fromArray(SPECIES, ay, i).mul(FloatVector.fromArray(SPECIES, by, i));
+            FloatVector z = FloatVector.fromArray(SPECIES, az, i).mul(FloatVector.fromArray(SPECIES, bz, i));
+            x.add(y).add(z).intoArray(dst, i);
+        }
+        Vector3fBuffer.dot(a, b, dst, i, to);
+    }
+
+    @Override
+    public void normalize(Vector3fBuffer a, Vector3fBuffer dst, int from, int to) {
+        float[] ax = a.getX(), ay = a.getY(), az = a.getZ();
+        float[] dx = dst.getX(), dy = dst.getY(), dz = dst.getZ();
+        FloatVector one = FloatVector.broadcast(SPECIES, 1f);
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            FloatVector x = FloatVector.fromArray(SPECIES, ax, i);
+            FloatVector y = FloatVector.fromArray(SPECIES, ay, i);
+            FloatVector z = FloatVector.fromArray(SPECIES, az, i);
+            FloatVector invLength = one.div(x.mul(x).add(y.mul(y)).add(z.mul(z)).sqrt());
+            x.mul(invLength).intoArray(dx, i);
+            y.mul(invLength).intoArray(dy, i);
+            z.mul(invLength).intoArray(dz, i);
+        }
+        Vector3fBuffer.normalize(a, dst, i, to);
+    }
+
+    @Override
+    public void lerp(Vector3fBuffer a, Vector3fBuffer b, float f, Vector3fBuffer dst, int from, int to) {
+        float[] ax = a.getX(), ay = a.getY(), az = a.getZ();
+        float[] bx = b.getX(), by = b.getY(), bz = b.getZ();
+        float[] dx = dst.getX(), dy = dst.getY(), dz = dst.getZ();
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            FloatVector x = FloatVector.fromArray(SPECIES, ax, i);
+            FloatVector y = FloatVector.fromArray(SPECIES, ay, i);
+            FloatVector z = FloatVector.fromArray(SPECIES, az, i);
+            x.add(FloatVector.fromArray(SPECIES, bx, i).sub(x).mul(f)).intoArray(dx, i);
+            y.add(FloatVector.fromArray(SPECIES, by, i).sub(y).mul(f)).intoArray(dy, i);
+            z.add(FloatVector.fromArray(SPECIES, bz, i).sub(z).mul(f)).intoArray(dz, i);
+        }
+        Vector3fBuffer.lerp(a, b, f, dst, i, to);
+    }
+
+    @Override
+    public void transformPoints(Matrix4f m, Vector3fBuffer src, Vector3fBuffer dst, int from, int to) {
+        float[] sx = src.getX(), sy = src.getY(), sz = src.getZ();
+        float[] dx = dst.getX(), dy = dst.getY(), dz = dst.getZ();
+        float m00 = m.getM00(), m01 = m.getM01(), m02 = m.getM02(), m03 = m.getM03();
+        float m10 = m.getM10(), m11 = m.getM11(), m12 = m.getM12(), m13 = m.getM13();
+        float m20 = m.getM20(), m21 = m.getM21(), m22 = m.getM22(), m23 = m.getM23();
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            FloatVector x = FloatVector.fromArray(SPECIES, sx, i);
+            FloatVector y = FloatVector.fromArray(SPECIES, sy, i);
+            FloatVector z = FloatVector.fromArray(SPECIES, sz, i);
+            x.mul(m00).add(y.mul(m01)).add(z.mul(m02)).add(m03).intoArray(dx, i);
+            x.mul(m10).add(y.mul(m11)).add(z.mul(m12)).add(m13).intoArray(dy, i);
+            x.mul(m20).add(y.mul(m21)).add(z.mul(m22)).add(m23).intoArray(dz, i);
+        }
+        m.transformPoints(src, dst, i, to);
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.simd.vector;
+
+import eu.matejkormuth.math.matrices.Matrix4f;
+import eu.matejkormuth.math.quaternions.Quaternionf;
+import eu.matejkormuth.math.simd.Kernels;
+import eu.matejkormuth.math.simd.ScalarVectorKernels;
+import eu.matejkormuth.math.simd.VectorKernels;
+import eu.matejkormuth.math.vectors.Vector3f;
+import eu.matejkormuth.math.vectors.Vector3fBuffer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class SimdVectorKernelsTest {
+
+    // odd size and offset range, so both the vector loop and the scalar tail are used
+    private static final int SIZE = 1021;
+    private static final int FROM = 3;
+    private static final int TO = SIZE - 2;
+
+    private final VectorKernels simd = new SimdVectorKernels();
+    private final VectorKernels scalar = ScalarVectorKernels.INSTANCE;
+
+    @Test
+    public void testSelected() throws Exception {
+        Assert.assertTrue(simd.isSupported());
+        Assert.assertTrue(Kernels.get() instanceof SimdVectorKernels);
+    }
+
+    @Test
+    public void testDot() throws Exception {
+        Vector3fBuffer a = random(1), b = random(2);
+        float[] expected = new float[SIZE], actual = new float[SIZE];
+        scalar.dot(a, b, expected, FROM, TO);
+        simd.dot(a, b, actual, FROM, TO);
+        Assert.assertArrayEquals(expected, actual, 1e-5f);
+    }
+
+    @Test
+    public void testNormalize() throws Exception {
+        Vector3fBuffer a = random(3);
+        Vector3fBuffer expected = new Vector3fBuffer(SIZE), actual = new Vector3fBuffer(SIZE);
+        scalar.normalize(a, expected, FROM, TO);
+        simd.normalize(a, actual, FROM, TO);
+        assertBufferEquals(expected, actual);
+    }
+
+    @Test
+    public void testLerp() throws Exception {
+        Vector3fBuffer a = random(4), b = random(5);
+        Vector3fBuffer expected = new Vector3fBuffer(SIZE), actual = new Vector3fBuffer(SIZE);
+        scalar.lerp(a, b, 0.3f, expected, FROM, TO);
+        simd.lerp(a, b, 0.3f, actual, FROM, TO);
+        assertBufferEquals(expected, actual);
+    }
+
+    @Test
+    public void testTransformPoints() throws Exception {
+        Matrix4f m = Matrix4f.createTranslation(new Vector3f(1, 2, 3))
+                .multiply(Matrix4f.createRotation(Quaternionf.fromAngle(30, Vector3f.UNIT_Y)))
+                .multiply(Matrix4f.createScale(new Vector3f(2, 3, 4)));
+        Vector3fBuffer a = random(6);
+        Vector3fBuffer expected = new Vector3fBuffer(SIZE), actual = new Vector3fBuffer(SIZE);
+        scalar.transformPoints(m, a, expected, FROM, TO);
+        simd.transformPoints(m, a, actual, FROM, TO);
+        assertBufferEquals(expected, actual);
+    }
+
+    private static Vector3fBuffer random(long seed) {
+        Random random = new Random(seed);
+        Vector3fBuffer buffer = new Vector3fBuffer(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            buffer.set(i, random.nextFloat() * 200 - 100, random.nextFloat() * 200 - 100, random.nextFloat() * 200 - 100);
+        }
+        return buffer;
+    }
+
+    private static void assertBufferEquals(Vector3fBuffer expected, Vector3fBuffer actual) {
+        Assert.assertArrayEquals(expected.getX(), actual.getX(), 1e-4f);
+        Assert.assertArrayEquals(expected.getY(), actual.getY(), 1e-4f);
+        Assert.assertArrayEquals(expected.getZ(), actual.getZ(), 1e-4f);
+    }
+}
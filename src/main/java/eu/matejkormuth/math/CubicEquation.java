@@ -0,0 +1,140 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math;
+
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+public class CubicEquation {
+
+    // relative distance of two roots under which they are reported as one
+    private static final double ROOT_TOLERANCE = 1e-9;
+
+    /**
+     * Solves cubic equation <code>ax^3 + bx^2 + cx + d = 0</code> and writes its distinct
+     * real roots in ascending order into specified array. When <code>a</code> is zero,
+     * the equation is solved as quadratic.
+     * <p>
+     * Roots are found in closed form (trigonometric method for three real roots, Cardano
+     * otherwise) and then refined by a Newton step on the original polynomial.
+     *
+     * @param a      a coefficient
+     * @param b      b coefficient
+     * @param c      c coefficient
+     * @param d      d coefficient
+     * @param dest   array to write roots to, must have space for three roots
+     * @param offset index in array to write first root to
+     * @return number of distinct real roots (0 to 3)
+     */
+    public static int solve(double a, double b, double c, double d, double[] dest, int offset) {
+        if (a == 0) {
+            return QuadraticEquation.solve(b, c, d, dest, offset);
+        }
+        int count = solveNormalized(b / a, c / a, d / a, dest, offset);
+        for (int i = offset; i < offset + count; i++) {
+            dest[i] = polish(a, b, c, d, dest[i]);
+        }
+        return sortUnique(dest, offset, count);
+    }
+
+    /**
+     * Solves equations <code>a[i]x^3 + b[i]x^2 + c[i]x + d[i] = 0</code> for every index
+     * in range <code>[from; to)</code>. Roots of i-th equation are written to
+     * <code>roots[3 * i]</code> onwards and their number to <code>counts[i]</code>.
+     *
+     * @see #solve(double, double, double, double, double[], int)
+     */
+    public static void solve(double[] a, double[] b, double[] c, double[] d,
+                             double[] roots, int[] counts, int from, int to) {
+        for (int i = from; i < to; i++) {
+            counts[i] = solve(a[i], b[i], c[i], d[i], roots, i * 3);
+        }
+    }
+
+    // x^3 + a x^2 + b x + c = 0, roots are not sorted nor refined
+    static int solveNormalized(double a, double b, double c, double[] dest, int offset) {
+        double q = (a * a - 3 * b) / 9;
+        double r = (a * (2 * a * a - 9 * b) + 27 * c) / 54;
+        double shift = a / 3;
+        double q3 = q * q * q;
+        double r2 = r * r;
+        if (r2 < q3) {
+            // three real roots
+            double theta = Math.acos(r / Math.sqrt(q3));
+            double m = -2 * Math.sqrt(q);
+            dest[offset] = m * Math.cos(theta / 3) - shift;
+            dest[offset + 1] = m * Math.cos((theta + 2 * Math.PI) / 3) - shift;
+            dest[offset + 2] = m * Math.cos((theta - 2 * Math.PI) / 3) - shift;
+            return 3;
+        } else if (r2 >= q3) {
+            double u = -Math.copySign(Math.cbrt(Math.abs(r) + Math.sqrt(r2 - q3)), r);
+            double v = u == 0 ? 0 : q / u;
+            dest[offset] = u + v - shift;
+            if (u != 0 && Math.abs(u - v) <= ROOT_TOLERANCE * Math.abs(u)) {
+                // double root
+                dest[offset + 1] = -u - shift;
+                return 2;
+            }
+            return 1;
+        }
+        // NaN coefficients
+        return 0;
+    }
+
+    // sorts roots in ascending order and removes duplicates, returns new count
+    static int sortUnique(double[] dest, int offset, int count) {
+        for (int i = offset + 1; i < offset + count; i++) {
+            double root = dest[i];
+            int j = i - 1;
+            while (j >= offset && dest[j] > root) {
+                dest[j + 1] = dest[j];
+                j--;
+            }
+            dest[j + 1] = root;
+        }
+        int unique = Math.min(count, 1);
+        for (int i = offset + 1; i < offset + count; i++) {
+            double previous = dest[offset + unique - 1];
+            if (dest[i] - previous > ROOT_TOLERANCE * Math.max(1, Math.abs(previous))) {
+                dest[offset + unique++] = dest[i];
+            }
+        }
+        return unique;
+    }
+
+    private static double polish(double a, double b, double c, double d, double x) {
+        double f = ((a * x + b) * x + c) * x + d;
+        double df = (3 * a * x + 2 * b) * x + c;
+        if (df == 0) {
+            return x;
+        }
+        double refined = x - f / df;
+        double refinedF = ((a * refined + b) * refined + c) * refined + d;
+        // near multiple roots the derivative vanishes and the step may go astray
+        return Math.abs(refinedF) < Math.abs(f) ? refined : x;
+    }
+}
@@ -36,6 +36,14 @@ import lombok.experimental.UtilityClass;
 @UtilityClass
 public class MathUtils {
 
+    private static final double PI = Math.PI;
+    private static final double INV_PI = 1.0 / Math.PI;
+    private static final double HALF_PI = Math.PI / 2;
+    private static final float LOG2_E = 1.442695041f;
+    // ln(2) split so that n * LN_2_HI is exact
+    private static final float LN_2_HI = 0.693359375f;
+    private static final float LN_2_LO = -2.12194440e-4f;
+
     // Clamp
 
     /**
@@ -137,5 +145,158 @@ public class MathUtils {
         return low2 + (high2 - low2) * (value - low1) / (high1 - low1);
     }
 
+    // Fast approximations of trigonometric and transcendental functions. Maximum errors
+    // below are measured against java.lang.Math over the documented domain.
+
+    /**
+     * Approximates sine using range reduction to <code>[-pi/2; pi/2]</code> and an odd
+     * polynomial of degree 11. Maximum absolute error is <code>3e-7</code> for
+     * <code>|radians| &lt;= 1e5</code>.
+     *
+     * @param radians angle in radians
+     * @return approximate sine of specified angle
+     */
+    public static float fastSin(float radians) {
+        return reducedSin(radians);
+    }
+
+    /**
+     * Approximates cosine, see {@link #fastSin(float)} for error bounds.
+     *
+     * @param radians angle in radians
+     * @return approximate cosine of specified angle
+     */
+    public static float fastCos(float radians) {
+        return reducedSin(radians + HALF_PI);
+    }
+
+    /**
+     * Computes approximate sine and cosine of the same angle and stores them into
+     * <code>dest[offset]</code> and <code>dest[offset + 1]</code> respectively. Error
+     * bounds are the same as of {@link #fastSin(float)}.
+     *
+     * @param radians angle in radians
+     * @param dest    array to store results in
+     * @param offset  index of sine in destination array
+     */
+    public static void sinCos(float radians, float[] dest, int offset) {
+        dest[offset] = reducedSin(radians);
+        dest[offset + 1] = reducedSin(radians + HALF_PI);
+    }
+
+    private static float reducedSin(double radians) {
+        // reduction is done in double so large angles keep their precision
+        double k = Math.rint(radians * INV_PI);
+        float x = (float) (radians - k * PI);
+        float x2 = x * x;
+        float sin = x * (1f + x2 * (-1.6666667e-1f + x2 * (8.333333e-3f + x2 * (-1.9841270e-4f
+                + x2 * (2.7557319e-6f + x2 * -2.5052108e-8f)))));
+        return ((long) k & 1) == 0 ? sin : -sin;
+    }
+
+    /**
+     * Approximates arc cosine using the polynomial from Abramowitz and Stegun (4.4.46).
+     * Maximum absolute error is <code>5e-7</code> on <code>[-1; 1]</code>. Values
+     * outside of this interval are clamped.
+     *
+     * @param x cosine of the angle
+     * @return approximate angle in radians in range <code>[0; pi]</code>
+     */
+    public static float fastAcos(float x) {
+        float a = Math.min(1f, Math.abs(x));
+        float p = 1.5707963050f + a * (-0.2145988016f + a * (0.0889789874f + a * (-0.0501743046f
+                + a * (0.0308918810f + a * (-0.0170881256f + a * (0.0066700901f + a * -0.0012624911f))))));
+        float acos = (float) Math.sqrt(1f - a) * p;
+        return x < 0 ? (float) PI - acos : acos;
+    }
+
+    /**
+     * Approximates <code>atan2(y, x)</code> using the polynomial from Abramowitz and
+     * Stegun (4.4.49). Maximum absolute error is <code>4e-7</code>. Returns zero when
+     * both arguments are zero.
+     *
+     * @param y ordinate
+     * @param x abscissa
+     * @return approximate angle in radians in range <code>[-pi; pi]</code>
+     */
+    public static float fastAtan2(float y, float x) {
+        float ax = Math.abs(x);
+        float ay = Math.abs(y);
+        float max = Math.max(ax, ay);
+        if (max == 0) {
+            return 0;
+        }
+        float t = Math.min(ax, ay) / max;
+        float t2 = t * t;
+        float r = t * (1f + t2 * (-0.3333314528f + t2 * (0.1999355085f + t2 * (-0.1420889944f
+                + t2 * (0.1065626393f + t2 * (-0.0752896400f + t2 * (0.0429096138f
+                + t2 * (-0.0161657367f + t2 * 0.0028662257f))))))));
+        if (ay > ax) {
+            r = (float) HALF_PI - r;
+        }
+        if (x < 0) {
+            r = (float) PI - r;
+        }
+        return y < 0 ? -r : r;
+    }
+
+    /**
+     * Approximates <code>e^x</code> by splitting it to power of two, which is assembled
+     * directly in exponent bits, and a polynomial. Maximum relative error is
+     * <code>5e-7</code> for results in the normal float range; returns zero below
+     * <code>-87</code> and positive infinity above <code>88.7</code>.
+     *
+     * @param x exponent
+     * @return approximate value of e raised to specified power
+     */
+    public static float fastExp(float x) {
+        if (x < -87f) {
+            return 0f;
+        }
+        if (x > 88.72283f) {
+            return Float.POSITIVE_INFINITY;
+        }
+        float n = Math.round(x * LOG2_E);
+        float g = x - n * LN_2_HI - n * LN_2_LO;
+        float p = 1f + g * (1f + g * (0.5f + g * (1.6666667e-1f + g * (4.1666668e-2f
+                + g * (8.333334e-3f + g * 1.3888889e-3f)))));
+        // n is in [-126; 128], 2^128 is split so the exponent stays representable
+        if (n > 127) {
+            return p * 2f * Float.intBitsToFloat(((int) n - 1 + 127) << 23);
+        }
+        return p * Float.intBitsToFloat(((int) n + 127) << 23);
+    }
+
+    // Normalization
+
+    /**
+     * Maximum difference of squared length from one within which float vectors and
+     * quaternions are treated as already normalized.
+     */
+    public static final float UNIT_TOLERANCE = 1e-6f;
+
+    /**
+     * Maximum difference of squared length from one within which double vectors and
+     * quaternions are treated as already normalized.
+     */
+    public static final double UNIT_TOLERANCE_DOUBLE = 1e-12;
+
+    /**
+     * Approximates <code>1 / sqrt(x)</code> using the bit-level initial guess refined by
+     * two Newton-Raphson iterations. Maximum relative error is <code>5e-6</code> for
+     * positive normal floats. Unlike <code>1 / Math.sqrt(0)</code> returns a large finite
+     * value for zero, so normalizing a zero vector gives a zero vector instead of NaNs.
+     *
+     * @param x positive value
+     * @return approximate reciprocal square root of the value
+     */
+    public static float invSqrt(float x) {
+        float half = 0.5f * x;
+        float y = Float.intBitsToFloat(0x5f375a86 - (Float.floatToRawIntBits(x) >> 1));
+        y = y * (1.5f - half * y * y);
+        y = y * (1.5f - half * y * y);
+        return y;
+    }
+
     // functional remap
 }
@@ -35,7 +35,8 @@ public class QuadraticEquation {
 
     /**
      * Solves quadratic equation and returns array of solutions or null, if specified
-     * equation has no solution in real numbers.
+     * equation has no solution in real numbers. Consider using
+     * {@link #solve(double, double, double, double[], int)}, which does not allocate.
      *
      * @param a a coefficient
      * @param b b coefficient
@@ -53,10 +54,78 @@ public class QuadraticEquation {
                     -b / (2 * a)
             };
         } else {
-            return new double[]{
-                    (-b + Math.sqrt(d)) / (2 * a),
-                    (-b - Math.sqrt(d)) / (2 * a)
-            };
+            double q = stableQ(b, d);
+            // q / a is the root with sign of sqrt(d) opposite to sign of b
+            return b >= 0
+                    ? new double[]{c / q, q / a}
+                    : new double[]{q / a, c / q};
+        }
+    }
+
+    /**
+     * Solves quadratic equation <code>ax^2 + bx + c = 0</code> and writes its real roots
+     * in ascending order into specified array. Double root is reported once. When
+     * <code>a</code> is zero, the equation is solved as linear.
+     * <p>
+     * Roots are computed as <code>q / a</code> and <code>c / q</code>, where
+     * <code>q = -(b + sign(b) * sqrt(d)) / 2</code>, which avoids the catastrophic
+     * cancellation of the textbook formula when <code>b^2</code> is much larger than
+     * <code>4ac</code>.
+     *
+     * @param a      a coefficient
+     * @param b      b coefficient
+     * @param c      c coefficient
+     * @param dest   array to write roots to, must have space for two roots
+     * @param offset index in array to write first root to
+     * @return number of real roots (0, 1 or 2)
+     */
+    public static int solve(double a, double b, double c, double[] dest, int offset) {
+        if (a == 0) {
+            if (b == 0) {
+                return 0;
+            }
+            dest[offset] = -c / b;
+            return 1;
         }
+        double d = b * b - 4 * a * c;
+        if (d > 0) {
+            double q = stableQ(b, d);
+            double x1 = q / a;
+            double x2 = c / q;
+            dest[offset] = Math.min(x1, x2);
+            dest[offset + 1] = Math.max(x1, x2);
+            return 2;
+        } else if (d == 0) {
+            dest[offset] = -b / (2 * a);
+            return 1;
+        }
+        // negative discriminant or NaN
+        return 0;
+    }
+
+    /**
+     * Solves equations <code>a[i]x^2 + b[i]x + c[i] = 0</code> for every index in range
+     * <code>[from; to)</code>. Roots of i-th equation are written to
+     * <code>roots[2 * i]</code> and <code>roots[2 * i + 1]</code> and their number to
+     * <code>counts[i]</code>.
+     *
+     * @param a      a coefficients
+     * @param b      b coefficients
+     * @param c      c coefficients
+     * @param roots  array of roots, two for each equation
+     * @param counts number of roots of each equation
+     * @param from   index of first equation (inclusive)
+     * @param to     index of last equation (exclusive)
+     * @see #solve(double, double, double, double[], int)
+     */
+    public static void solve(double[] a, double[] b, double[] c, double[] roots, int[] counts, int from, int to) {
+        for (int i = from; i < to; i++) {
+            counts[i] = solve(a[i], b[i], c[i], roots, i * 2);
+        }
+    }
+
+    private static double stableQ(double b, double d) {
+        double sqrt = Math.sqrt(d);
+        return -0.5 * (b >= 0 ? b + sqrt : b - sqrt);
     }
 }
@@ -0,0 +1,144 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math;
+
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+public class QuarticEquation {
+
+    private static final double EPSILON = 1e-12;
+
+    /**
+     * Solves quartic equation <code>ax^4 + bx^3 + cx^2 + dx + e = 0</code> and writes its
+     * distinct real roots in ascending order into specified array. When <code>a</code> is
+     * zero, the equation is solved as cubic.
+     * <p>
+     * Uses Ferrari's method: the depressed quartic is split into two quadratics using the
+     * largest real root of its resolvent cubic. The variable is first rescaled by a bound on
+     * the magnitude of the roots, so tolerances do not depend on the scale of the equation.
+     * Roots are then refined by a Newton step on the original polynomial.
+     *
+     * @param a      a coefficient
+     * @param b      b coefficient
+     * @param c      c coefficient
+     * @param d      d coefficient
+     * @param e      e coefficient
+     * @param dest   array to write roots to, must have space for four roots
+     * @param offset index in array to write first root to
+     * @return number of distinct real roots (0 to 4)
+     */
+    public static int solve(double a, double b, double c, double d, double e, double[] dest, int offset) {
+        if (a == 0) {
+            return CubicEquation.solve(b, c, d, e, dest, offset);
+        }
+        double na = b / a;
+        double nb = c / a;
+        double nc = d / a;
+        double nd = e / a;
+
+        // substitute x = scale * t, so roots are of order one and EPSILON is relative to them,
+        // scale is a power of two so the substitution is exact
+        double bound = Math.max(Math.max(Math.abs(na), Math.sqrt(Math.abs(nb))),
+                Math.max(Math.cbrt(Math.abs(nc)), Math.sqrt(Math.sqrt(Math.abs(nd)))));
+        if (bound == 0) {
+            dest[offset] = 0;
+            return 1;
+        }
+        double scale = Math.scalb(1.0, Math.getExponent(bound));
+        na /= scale;
+        nb /= scale * scale;
+        nc /= scale * scale * scale;
+        nd /= scale * scale * scale * scale;
+
+        // substitute x = y - na / 4 to get y^4 + p y^2 + q y + r = 0
+        double na2 = na * na;
+        double p = -3.0 / 8 * na2 + nb;
+        double q = na2 * na / 8 - na * nb / 2 + nc;
+        double r = -3.0 / 256 * na2 * na2 + na2 * nb / 16 - na * nc / 4 + nd;
+
+        int count;
+        if (Math.abs(r) <= EPSILON) {
+            // y (y^3 + p y + q) = 0
+            count = CubicEquation.solveNormalized(0, p, q, dest, offset);
+            dest[offset + count++] = 0;
+        } else {
+            int resolventCount = CubicEquation.solveNormalized(-p / 2, -r, r * p / 2 - q * q / 8, dest, offset);
+            if (resolventCount == 0) {
+                return 0;
+            }
+            double z = dest[offset];
+            for (int i = offset + 1; i < offset + resolventCount; i++) {
+                z = Math.max(z, dest[i]);
+            }
+
+            double u = z * z - r;
+            double v = 2 * z - p;
+            if (u < -EPSILON || v < -EPSILON) {
+                return 0;
+            }
+            u = u <= EPSILON ? 0 : Math.sqrt(u);
+            v = v <= EPSILON ? 0 : Math.sqrt(v);
+            if (q < 0) {
+                v = -v;
+            }
+            count = QuadraticEquation.solve(1, v, z - u, dest, offset);
+            count += QuadraticEquation.solve(1, -v, z + u, dest, offset + count);
+        }
+
+        double shift = na / 4;
+        for (int i = offset; i < offset + count; i++) {
+            dest[i] = polish(a, b, c, d, e, (dest[i] - shift) * scale);
+        }
+        return CubicEquation.sortUnique(dest, offset, count);
+    }
+
+    /**
+     * Solves equations <code>a[i]x^4 + b[i]x^3 + c[i]x^2 + d[i]x + e[i] = 0</code> for
+     * every index in range <code>[from; to)</code>. Roots of i-th equation are written to
+     * <code>roots[4 * i]</code> onwards and their number to <code>counts[i]</code>.
+     *
+     * @see #solve(double, double, double, double, double, double[], int)
+     */
+    public static void solve(double[] a, double[] b, double[] c, double[] d, double[] e,
+                             double[] roots, int[] counts, int from, int to) {
+        for (int i = from; i < to; i++) {
+            counts[i] = solve(a[i], b[i], c[i], d[i], e[i], roots, i * 4);
+        }
+    }
+
+    private static double polish(double a, double b, double c, double d, double e, double x) {
+        double f = (((a * x + b) * x + c) * x + d) * x + e;
+        double df = ((4 * a * x + 3 * b) * x + 2 * c) * x + d;
+        if (df == 0) {
+            return x;
+        }
+        double refined = x - f / df;
+        double refinedF = (((a * refined + b) * refined + c) * refined + d) * refined + e;
+        return Math.abs(refinedF) < Math.abs(f) ? refined : x;
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.direct;
+
+import eu.matejkormuth.annotations.Mutable;
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Base of all off-heap storages. Each storage owns one direct {@link ByteBuffer} in native
+ * byte order holding <code>size</code> elements laid out at a fixed stride which is always
+ * a multiple of 16 bytes, so every element starts on the same alignment as the buffer
+ * itself.
+ * <p>
+ * {@link #release()} (or {@link #close()}) detaches the buffer from this storage, any access
+ * through the storage after that throws {@link IllegalStateException}. The native memory
+ * itself is reclaimed by the garbage collector once no references to the buffer remain, so
+ * buffers previously obtained by {@link #getByteBuffer()} stay valid.
+ */
+@Mutable
+public abstract class AbstractDirectBuffer implements AutoCloseable {
+
+    @Getter
+    private final int size;
+    @Getter
+    private final int stride;
+
+    private volatile ByteBuffer buffer;
+
+    protected AbstractDirectBuffer(int size, int stride) {
+        if (size < 0) {
+            throw new IllegalArgumentException("size must be greater or equal to zero");
+        }
+        if (stride % 16 != 0) {
+            throw new IllegalArgumentException("stride must be a multiple of 16 bytes");
+        }
+
+        int capacity;
+        try {
+            capacity = Math.multiplyExact(size, stride);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("size " + size + " with stride " + stride
+                    + " bytes exceeds maximum buffer capacity", e);
+        }
+
+        this.size = size;
+        this.stride = stride;
+        this.buffer = ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Returns underlying native-ordered buffer. Useful for handing data to native code
+     * (for example uploading it to the GPU). Position and limit of the returned buffer
+     * are not used by this class. The returned buffer keeps its memory alive even after
+     * this storage is released, but no longer reflects writes made through the storage.
+     *
+     * @return underlying direct byte buffer
+     */
+    public ByteBuffer getByteBuffer() {
+        return buffer();
+    }
+
+    public boolean isReleased() {
+        return buffer == null;
+    }
+
+    /**
+     * Detaches the buffer from this storage so its memory can be reclaimed by the garbage
+     * collector. Calling this method more than once has no effect.
+     */
+    public void release() {
+        buffer = null;
+    }
+
+    @Override
+    public void close() {
+        release();
+    }
+
+    protected final int offset(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + " out of range <0; " + size + ")");
+        }
+        return index * stride;
+    }
+
+    protected final void checkRange(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("range <" + from + "; " + to + ") out of range <0; " + size + ")");
+        }
+    }
+
+    // reads the field once, so concurrent release cannot null it in the middle of a kernel
+    protected final ByteBuffer buffer() {
+        ByteBuffer b = buffer;
+        if (b == null) {
+            throw new IllegalStateException("Storage has been released");
+        }
+        return b;
+    }
+}
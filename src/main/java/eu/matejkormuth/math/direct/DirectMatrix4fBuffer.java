@@ -0,0 +1,181 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.direct;
+
+import eu.matejkormuth.math.matrices.Matrix4f;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Off-heap storage of {@link Matrix4f}s. Each matrix takes 64 bytes in row-major order
+ * (<code>m00, m01, m02, m03, m10, ...</code>), the same order as used by
+ * {@link Matrix4f#Matrix4f(float[])}.
+ */
+public class DirectMatrix4fBuffer extends AbstractDirectBuffer {
+
+    public static final int STRIDE = 64;
+
+    public DirectMatrix4fBuffer(int size) {
+        super(size, STRIDE);
+    }
+
+    public float get(int index, int row, int col) {
+        ByteBuffer b = buffer();
+        return b.getFloat(offset(index) + element(row, col));
+    }
+
+    public void set(int index, int row, int col, float value) {
+        ByteBuffer b = buffer();
+        b.putFloat(offset(index) + element(row, col), value);
+    }
+
+    public Matrix4f get(int index) {
+        ByteBuffer b = buffer();
+        int off = offset(index);
+        return new Matrix4f(
+                b.getFloat(off), b.getFloat(off + 4), b.getFloat(off + 8), b.getFloat(off + 12),
+                b.getFloat(off + 16), b.getFloat(off + 20), b.getFloat(off + 24), b.getFloat(off + 28),
+                b.getFloat(off + 32), b.getFloat(off + 36), b.getFloat(off + 40), b.getFloat(off + 44),
+                b.getFloat(off + 48), b.getFloat(off + 52), b.getFloat(off + 56), b.getFloat(off + 60));
+    }
+
+    public void get(int index, float[] dst, int dstOffset) {
+        ByteBuffer b = buffer();
+        int off = offset(index);
+        for (int i = 0; i < 16; i++) {
+            dst[dstOffset + i] = b.getFloat(off + i * 4);
+        }
+    }
+
+    public void set(int index, float[] src, int srcOffset) {
+        ByteBuffer b = buffer();
+        int off = offset(index);
+        for (int i = 0; i < 16; i++) {
+            b.putFloat(off + i * 4, src[srcOffset + i]);
+        }
+    }
+
+    public void set(int index, Matrix4f m) {
+        ByteBuffer b = buffer();
+        int off = offset(index);
+        b.putFloat(off, m.getM00());
+        b.putFloat(off + 4, m.getM01());
+        b.putFloat(off + 8, m.getM02());
+        b.putFloat(off + 12, m.getM03());
+        b.putFloat(off + 16, m.getM10());
+        b.putFloat(off + 20, m.getM11());
+        b.putFloat(off + 24, m.getM12());
+        b.putFloat(off + 28, m.getM13());
+        b.putFloat(off + 32, m.getM20());
+        b.putFloat(off + 36, m.getM21());
+        b.putFloat(off + 40, m.getM22());
+        b.putFloat(off + 44, m.getM23());
+        b.putFloat(off + 48, m.getM30());
+        b.putFloat(off + 52, m.getM31());
+        b.putFloat(off + 56, m.getM32());
+        b.putFloat(off + 60, m.getM33());
+    }
+
+    // this[dst] = this[lhs] * this[rhs], any of the indices may be equal
+    public void multiply(int lhs, int rhs, int dst) {
+        ByteBuffer b = buffer();
+        int lo = offset(lhs);
+        int ro = offset(rhs);
+        int dO = offset(dst);
+        multiplyRows(b, lo, dO,
+                b.getFloat(ro), b.getFloat(ro + 4), b.getFloat(ro + 8), b.getFloat(ro + 12),
+                b.getFloat(ro + 16), b.getFloat(ro + 20), b.getFloat(ro + 24), b.getFloat(ro + 28),
+                b.getFloat(ro + 32), b.getFloat(ro + 36), b.getFloat(ro + 40), b.getFloat(ro + 44),
+                b.getFloat(ro + 48), b.getFloat(ro + 52), b.getFloat(ro + 56), b.getFloat(ro + 60));
+    }
+
+    // this[i] = this[i] * rhs
+    public void multiply(Matrix4f rhs, int from, int to) {
+        checkRange(from, to);
+        ByteBuffer b = buffer();
+        for (int off = from * STRIDE, end = to * STRIDE; off < end; off += STRIDE) {
+            multiplyRows(b, off, off,
+                    rhs.getM00(), rhs.getM01(), rhs.getM02(), rhs.getM03(),
+                    rhs.getM10(), rhs.getM11(), rhs.getM12(), rhs.getM13(),
+                    rhs.getM20(), rhs.getM21(), rhs.getM22(), rhs.getM23(),
+                    rhs.getM30(), rhs.getM31(), rhs.getM32(), rhs.getM33());
+        }
+    }
+
+    // this[i] = lhs * this[i]
+    public void premultiply(Matrix4f lhs, int from, int to) {
+        checkRange(from, to);
+        ByteBuffer b = buffer();
+        float l00 = lhs.getM00(), l01 = lhs.getM01(), l02 = lhs.getM02(), l03 = lhs.getM03();
+        float l10 = lhs.getM10(), l11 = lhs.getM11(), l12 = lhs.getM12(), l13 = lhs.getM13();
+        float l20 = lhs.getM20(), l21 = lhs.getM21(), l22 = lhs.getM22(), l23 = lhs.getM23();
+        float l30 = lhs.getM30(), l31 = lhs.getM31(), l32 = lhs.getM32(), l33 = lhs.getM33();
+        for (int off = from * STRIDE, end = to * STRIDE; off < end; off += STRIDE) {
+            // column by column, so we can write results back in place
+            for (int col = off; col < off + 16; col += 4) {
+                float r0 = b.getFloat(col);
+                float r1 = b.getFloat(col + 16);
+                float r2 = b.getFloat(col + 32);
+                float r3 = b.getFloat(col + 48);
+                b.putFloat(col, l00 * r0 + l01 * r1 + l02 * r2 + l03 * r3);
+                b.putFloat(col + 16, l10 * r0 + l11 * r1 + l12 * r2 + l13 * r3);
+                b.putFloat(col + 32, l20 * r0 + l21 * r1 + l22 * r2 + l23 * r3);
+                b.putFloat(col + 48, l30 * r0 + l31 * r1 + l32 * r2 + l33 * r3);
+            }
+        }
+    }
+
+    // row by row, so we can write results back in place when lhs == dst
+    private static void multiplyRows(ByteBuffer b, int lhs, int dst,
+                                     float r00, float r01, float r02, float r03,
+                                     float r10, float r11, float r12, float r13,
+                                     float r20, float r21, float r22, float r23,
+                                     float r30, float r31, float r32, float r33) {
+        for (int row = 0; row < 64; row += 16) {
+            float a0 = b.getFloat(lhs + row);
+            float a1 = b.getFloat(lhs + row + 4);
+            float a2 = b.getFloat(lhs + row + 8);
+            float a3 = b.getFloat(lhs + row + 12);
+            b.putFloat(dst + row, a0 * r00 + a1 * r10 + a2 * r20 + a3 * r30);
+            b.putFloat(dst + row + 4, a0 * r01 + a1 * r11 + a2 * r21 + a3 * r31);
+            b.putFloat(dst + row + 8, a0 * r02 + a1 * r12 + a2 * r22 + a3 * r32);
+            b.putFloat(dst + row + 12, a0 * r03 + a1 * r13 + a2 * r23 + a3 * r33);
+        }
+    }
+
+    private static int element(int row, int col) {
+        if (row < 0 || row > 3 || col < 0 || col > 3) {
+            throw new IllegalArgumentException("row and col must be greater or equal to zero and smaller or equal to three");
+        }
+        return (row * 4 + col) * 4;
+    }
+
+    @Override
+    public String toString() {
+        return "DirectMatrix4fBuffer[size=" + getSize() + "]";
+    }
+}
@@ -0,0 +1,144 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.direct;
+
+import eu.matejkormuth.math.quaternions.Quaternionf;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Off-heap storage of {@link Quaternionf}s. Each quaternion takes 16 bytes laid out as
+ * <code>w, x, y, z</code>.
+ */
+public class DirectQuaternionfBuffer extends AbstractDirectBuffer {
+
+    public static final int STRIDE = 16;
+
+    private static final int W = 0;
+    private static final int X = 4;
+    private static final int Y = 8;
+    private static final int Z = 12;
+
+    public DirectQuaternionfBuffer(int size) {
+        super(size, STRIDE);
+    }
+
+    public float getW(int index) {
+        ByteBuffer b = buffer();
+        return b.getFloat(offset(index) + W);
+    }
+
+    public float getX(int index) {
+        ByteBuffer b = buffer();
+        return b.getFloat(offset(index) + X);
+    }
+
+    public float getY(int index) {
+        ByteBuffer b = buffer();
+        return b.getFloat(offset(index) + Y);
+    }
+
+    public float getZ(int index) {
+        ByteBuffer b = buffer();
+        return b.getFloat(offset(index) + Z);
+    }
+
+    public Quaternionf get(int index) {
+        ByteBuffer b = buffer();
+        int off = offset(index);
+        return new Quaternionf(b.getFloat(off + W), b.getFloat(off + X),
+                b.getFloat(off + Y), b.getFloat(off + Z));
+    }
+
+    public void set(int index, float w, float x, float y, float z) {
+        ByteBuffer b = buffer();
+        int off = offset(index);
+        b.putFloat(off + W, w);
+        b.putFloat(off + X, x);
+        b.putFloat(off + Y, y);
+        b.putFloat(off + Z, z);
+    }
+
+    public void set(int index, Quaternionf q) {
+        set(index, q.getW(), q.getX(), q.getY(), q.getZ());
+    }
+
+    // this[i] = this[i] * rhs
+    public void multiply(Quaternionf rhs, int from, int to) {
+        checkRange(from, to);
+        ByteBuffer b = buffer();
+        float rw = rhs.getW(), rx = rhs.getX(), ry = rhs.getY(), rz = rhs.getZ();
+        for (int off = from * STRIDE, end = to * STRIDE; off < end; off += STRIDE) {
+            float w = b.getFloat(off + W);
+            float x = b.getFloat(off + X);
+            float y = b.getFloat(off + Y);
+            float z = b.getFloat(off + Z);
+            b.putFloat(off + W, w * rw - x * rx - y * ry - z * rz);
+            b.putFloat(off + X, w * rx + x * rw + y * rz - z * ry);
+            b.putFloat(off + Y, w * ry + y * rw + z * rx - x * rz);
+            b.putFloat(off + Z, w * rz + z * rw + x * ry - y * rx);
+        }
+    }
+
+    // this[i] = lhs * this[i]
+    public void premultiply(Quaternionf lhs, int from, int to) {
+        checkRange(from, to);
+        ByteBuffer b = buffer();
+        float lw = lhs.getW(), lx = lhs.getX(), ly = lhs.getY(), lz = lhs.getZ();
+        for (int off = from * STRIDE, end = to * STRIDE; off < end; off += STRIDE) {
+            float w = b.getFloat(off + W);
+            float x = b.getFloat(off + X);
+            float y = b.getFloat(off + Y);
+            float z = b.getFloat(off + Z);
+            b.putFloat(off + W, lw * w - lx * x - ly * y - lz * z);
+            b.putFloat(off + X, lw * x + lx * w + ly * z - lz * y);
+            b.putFloat(off + Y, lw * y + ly * w + lz * x - lx * z);
+            b.putFloat(off + Z, lw * z + lz * w + lx * y - ly * x);
+        }
+    }
+
+    public void normalize(int from, int to) {
+        checkRange(from, to);
+        ByteBuffer b = buffer();
+        for (int off = from * STRIDE, end = to * STRIDE; off < end; off += STRIDE) {
+            float w = b.getFloat(off + W);
+            float x = b.getFloat(off + X);
+            float y = b.getFloat(off + Y);
+            float z = b.getFloat(off + Z);
+            float invLen = (float) (1.0 / Math.sqrt(w * w + x * x + y * y + z * z));
+            b.putFloat(off + W, w * invLen);
+            b.putFloat(off + X, x * invLen);
+            b.putFloat(off + Y, y * invLen);
+            b.putFloat(off + Z, z * invLen);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DirectQuaternionfBuffer[size=" + getSize() + "]";
+    }
+}
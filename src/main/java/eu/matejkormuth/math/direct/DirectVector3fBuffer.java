@@ -0,0 +1,184 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.direct;
+
+import eu.matejkormuth.math.MathUtils;
+import eu.matejkormuth.math.vectors.MutableVector3f;
+import eu.matejkormuth.math.vectors.Vector3f;
+import eu.matejkormuth.math.vectors.Vector3fBuffer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Off-heap storage of {@link Vector3f}s. Each vector takes 16 bytes laid out as
+ * <code>x, y, z, padding</code>.
+ */
+public class DirectVector3fBuffer extends AbstractDirectBuffer {
+
+    public static final int STRIDE = 16;
+
+    private static final int X = 0;
+    private static final int Y = 4;
+    private static final int Z = 8;
+
+    public DirectVector3fBuffer(int size) {
+        super(size, STRIDE);
+    }
+
+    public float getX(int index) {
+        ByteBuffer b = buffer();
+        return b.getFloat(offset(index) + X);
+    }
+
+    public float getY(int index) {
+        ByteBuffer b = buffer();
+        return b.getFloat(offset(index) + Y);
+    }
+
+    public float getZ(int index) {
+        ByteBuffer b = buffer();
+        return b.getFloat(offset(index) + Z);
+    }
+
+    public Vector3f get(int index) {
+        ByteBuffer b = buffer();
+        int off = offset(index);
+        return new Vector3f(b.getFloat(off + X), b.getFloat(off + Y), b.getFloat(off + Z));
+    }
+
+    public MutableVector3f get(int index, MutableVector3f dest) {
+        ByteBuffer b = buffer();
+        int off = offset(index);
+        return dest.set(b.getFloat(off + X), b.getFloat(off + Y), b.getFloat(off + Z));
+    }
+
+    public void set(int index, float x, float y, float z) {
+        ByteBuffer b = buffer();
+        int off = offset(index);
+        b.putFloat(off + X, x);
+        b.putFloat(off + Y, y);
+        b.putFloat(off + Z, z);
+    }
+
+    public void set(int index, Vector3f vec) {
+        set(index, vec.getX(), vec.getY(), vec.getZ());
+    }
+
+    public void set(int index, MutableVector3f vec) {
+        set(index, vec.getX(), vec.getY(), vec.getZ());
+    }
+
+    // copies count vectors from heap buffer starting at srcIndex to this storage starting at dstIndex
+    public void copyFrom(Vector3fBuffer src, int srcIndex, int dstIndex, int count) {
+        checkRange(dstIndex, dstIndex + count);
+        ByteBuffer b = buffer();
+        float[] x = src.getX(), y = src.getY(), z = src.getZ();
+        for (int i = 0; i < count; i++) {
+            int off = (dstIndex + i) * STRIDE;
+            b.putFloat(off + X, x[srcIndex + i]);
+            b.putFloat(off + Y, y[srcIndex + i]);
+            b.putFloat(off + Z, z[srcIndex + i]);
+        }
+    }
+
+    // copies count vectors from this storage starting at srcIndex to heap buffer starting at dstIndex
+    public void copyTo(int srcIndex, Vector3fBuffer dst, int dstIndex, int count) {
+        checkRange(srcIndex, srcIndex + count);
+        ByteBuffer b = buffer();
+        float[] x = dst.getX(), y = dst.getY(), z = dst.getZ();
+        for (int i = 0; i < count; i++) {
+            int off = (srcIndex + i) * STRIDE;
+            x[dstIndex + i] = b.getFloat(off + X);
+            y[dstIndex + i] = b.getFloat(off + Y);
+            z[dstIndex + i] = b.getFloat(off + Z);
+        }
+    }
+
+    public void add(Vector3f vec, int from, int to) {
+        checkRange(from, to);
+        ByteBuffer b = buffer();
+        float vx = vec.getX(), vy = vec.getY(), vz = vec.getZ();
+        for (int off = from * STRIDE, end = to * STRIDE; off < end; off += STRIDE) {
+            b.putFloat(off + X, b.getFloat(off + X) + vx);
+            b.putFloat(off + Y, b.getFloat(off + Y) + vy);
+            b.putFloat(off + Z, b.getFloat(off + Z) + vz);
+        }
+    }
+
+    public void scale(float n, int from, int to) {
+        checkRange(from, to);
+        ByteBuffer b = buffer();
+        for (int off = from * STRIDE, end = to * STRIDE; off < end; off += STRIDE) {
+            b.putFloat(off + X, b.getFloat(off + X) * n);
+            b.putFloat(off + Y, b.getFloat(off + Y) * n);
+            b.putFloat(off + Z, b.getFloat(off + Z) * n);
+        }
+    }
+
+    public void normalize(int from, int to) {
+        checkRange(from, to);
+        ByteBuffer b = buffer();
+        for (int off = from * STRIDE, end = to * STRIDE; off < end; off += STRIDE) {
+            float x = b.getFloat(off + X);
+            float y = b.getFloat(off + Y);
+            float z = b.getFloat(off + Z);
+            float invLength = 1f / (float) Math.sqrt(x * x + y * y + z * z);
+            b.putFloat(off + X, x * invLength);
+            b.putFloat(off + Y, y * invLength);
+            b.putFloat(off + Z, z * invLength);
+        }
+    }
+
+    public void normalizeFast(int from, int to) {
+        checkRange(from, to);
+        ByteBuffer b = buffer();
+        for (int off = from * STRIDE, end = to * STRIDE; off < end; off += STRIDE) {
+            float x = b.getFloat(off + X);
+            float y = b.getFloat(off + Y);
+            float z = b.getFloat(off + Z);
+            float invLength = MathUtils.invSqrt(x * x + y * y + z * z);
+            b.putFloat(off + X, x * invLength);
+            b.putFloat(off + Y, y * invLength);
+            b.putFloat(off + Z, z * invLength);
+        }
+    }
+
+    public void dot(Vector3f vec, float[] dst, int from, int to) {
+        checkRange(from, to);
+        ByteBuffer b = buffer();
+        float vx = vec.getX(), vy = vec.getY(), vz = vec.getZ();
+        for (int i = from; i < to; i++) {
+            int off = i * STRIDE;
+            dst[i] = b.getFloat(off + X) * vx + b.getFloat(off + Y) * vy + b.getFloat(off + Z) * vz;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DirectVector3fBuffer[size=" + getSize() + "]";
+    }
+}
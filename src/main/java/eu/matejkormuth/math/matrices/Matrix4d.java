@@ -30,11 +30,14 @@ import eu.matejkormuth.annotations.Immutable;
 import eu.matejkormuth.math.quaternions.Quaterniond;
 import eu.matejkormuth.math.quaternions.Quaternionf;
 import eu.matejkormuth.math.vectors.Vector3d;
+import eu.matejkormuth.math.vectors.Vector3dBuffer;
 import eu.matejkormuth.math.vectors.Vector3f;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
 
+import javax.annotation.Nullable;
+
 @EqualsAndHashCode
 @ToString
 @Immutable
@@ -168,7 +171,7 @@ public class Matrix4d {
     }
 
     public static Matrix4d createRotation(Quaterniond rot) {
-        rot = rot.normalize();
+        rot = rot.normalizeIfNeeded();
         return new Matrix4d(
                 1 - 2 * rot.getY() * rot.getY() - 2 * rot.getZ() * rot.getZ(),
                 2 * rot.getX() * rot.getY() - 2 * rot.getW() * rot.getZ(),
@@ -183,7 +186,7 @@ public class Matrix4d {
     }
 
     public static Matrix4d createRotation(Quaternionf rot) {
-        rot = rot.normalize();
+        rot = rot.normalizeIfNeeded();
         return new Matrix4d(
                 1 - 2 * rot.getY() * rot.getY() - 2 * rot.getZ() * rot.getZ(),
                 2 * rot.getX() * rot.getY() - 2 * rot.getW() * rot.getZ(),
@@ -316,5 +319,301 @@ public class Matrix4d {
                 m30 * m.m03 + m31 * m.m13 + m32 * m.m23 + m33 * m.m33);
     }
 
+    public MutableMatrix4d toMutable() {
+        return new MutableMatrix4d(this);
+    }
+
+    // dest = this * m
+    public MutableMatrix4d multiply(Matrix4d m, MutableMatrix4d dest) {
+        return dest.set(
+                m00 * m.m00 + m01 * m.m10 + m02 * m.m20 + m03 * m.m30,
+                m00 * m.m01 + m01 * m.m11 + m02 * m.m21 + m03 * m.m31,
+                m00 * m.m02 + m01 * m.m12 + m02 * m.m22 + m03 * m.m32,
+                m00 * m.m03 + m01 * m.m13 + m02 * m.m23 + m03 * m.m33,
+                m10 * m.m00 + m11 * m.m10 + m12 * m.m20 + m13 * m.m30,
+                m10 * m.m01 + m11 * m.m11 + m12 * m.m21 + m13 * m.m31,
+                m10 * m.m02 + m11 * m.m12 + m12 * m.m22 + m13 * m.m32,
+                m10 * m.m03 + m11 * m.m13 + m12 * m.m23 + m13 * m.m33,
+                m20 * m.m00 + m21 * m.m10 + m22 * m.m20 + m23 * m.m30,
+                m20 * m.m01 + m21 * m.m11 + m22 * m.m21 + m23 * m.m31,
+                m20 * m.m02 + m21 * m.m12 + m22 * m.m22 + m23 * m.m32,
+                m20 * m.m03 + m21 * m.m13 + m22 * m.m23 + m23 * m.m33,
+                m30 * m.m00 + m31 * m.m10 + m32 * m.m20 + m33 * m.m30,
+                m30 * m.m01 + m31 * m.m11 + m32 * m.m21 + m33 * m.m31,
+                m30 * m.m02 + m31 * m.m12 + m32 * m.m22 + m33 * m.m32,
+                m30 * m.m03 + m31 * m.m13 + m32 * m.m23 + m33 * m.m33);
+    }
+
+    // writes this * m to dest starting at offset, in row-major order
+    public double[] multiply(Matrix4d m, double[] dest, int offset) {
+        dest[offset] = m00 * m.m00 + m01 * m.m10 + m02 * m.m20 + m03 * m.m30;
+        dest[offset + 1] = m00 * m.m01 + m01 * m.m11 + m02 * m.m21 + m03 * m.m31;
+        dest[offset + 2] = m00 * m.m02 + m01 * m.m12 + m02 * m.m22 + m03 * m.m32;
+        dest[offset + 3] = m00 * m.m03 + m01 * m.m13 + m02 * m.m23 + m03 * m.m33;
+        dest[offset + 4] = m10 * m.m00 + m11 * m.m10 + m12 * m.m20 + m13 * m.m30;
+        dest[offset + 5] = m10 * m.m01 + m11 * m.m11 + m12 * m.m21 + m13 * m.m31;
+        dest[offset + 6] = m10 * m.m02 + m11 * m.m12 + m12 * m.m22 + m13 * m.m32;
+        dest[offset + 7] = m10 * m.m03 + m11 * m.m13 + m12 * m.m23 + m13 * m.m33;
+        dest[offset + 8] = m20 * m.m00 + m21 * m.m10 + m22 * m.m20 + m23 * m.m30;
+        dest[offset + 9] = m20 * m.m01 + m21 * m.m11 + m22 * m.m21 + m23 * m.m31;
+        dest[offset + 10] = m20 * m.m02 + m21 * m.m12 + m22 * m.m22 + m23 * m.m32;
+        dest[offset + 11] = m20 * m.m03 + m21 * m.m13 + m22 * m.m23 + m23 * m.m33;
+        dest[offset + 12] = m30 * m.m00 + m31 * m.m10 + m32 * m.m20 + m33 * m.m30;
+        dest[offset + 13] = m30 * m.m01 + m31 * m.m11 + m32 * m.m21 + m33 * m.m31;
+        dest[offset + 14] = m30 * m.m02 + m31 * m.m12 + m32 * m.m22 + m33 * m.m32;
+        dest[offset + 15] = m30 * m.m03 + m31 * m.m13 + m32 * m.m23 + m33 * m.m33;
+        return dest;
+    }
+
+    public double determinant() {
+        double s0 = m00 * m11 - m10 * m01;
+        double s1 = m00 * m12 - m10 * m02;
+        double s2 = m00 * m13 - m10 * m03;
+        double s3 = m01 * m12 - m11 * m02;
+        double s4 = m01 * m13 - m11 * m03;
+        double s5 = m02 * m13 - m12 * m03;
+
+        double c5 = m22 * m33 - m32 * m23;
+        double c4 = m21 * m33 - m31 * m23;
+        double c3 = m21 * m32 - m31 * m22;
+        double c2 = m20 * m33 - m30 * m23;
+        double c1 = m20 * m32 - m30 * m22;
+        double c0 = m20 * m31 - m30 * m21;
+
+        return s0 * c5 - s1 * c4 + s2 * c3 + s3 * c2 - s4 * c1 + s5 * c0;
+    }
+
+    /**
+     * Computes inverse of this matrix using cofactors or returns null, if this
+     * matrix is singular. Use {@link #inverseAffine()} or {@link #inverseRigid()}
+     * when the matrix is known to be affine, they are considerably cheaper.
+     *
+     * @return inverse matrix or null
+     */
+    @Nullable
+    public Matrix4d inverse() {
+        // 2x2 determinants of the upper two and lower two rows
+        double s0 = m00 * m11 - m10 * m01;
+        double s1 = m00 * m12 - m10 * m02;
+        double s2 = m00 * m13 - m10 * m03;
+        double s3 = m01 * m12 - m11 * m02;
+        double s4 = m01 * m13 - m11 * m03;
+        double s5 = m02 * m13 - m12 * m03;
+
+        double c5 = m22 * m33 - m32 * m23;
+        double c4 = m21 * m33 - m31 * m23;
+        double c3 = m21 * m32 - m31 * m22;
+        double c2 = m20 * m33 - m30 * m23;
+        double c1 = m20 * m32 - m30 * m22;
+        double c0 = m20 * m31 - m30 * m21;
+
+        double det = s0 * c5 - s1 * c4 + s2 * c3 + s3 * c2 - s4 * c1 + s5 * c0;
+        if (det == 0 || Double.isNaN(det) || Double.isInfinite(det)) {
+            return null;
+        }
+        double invDet = 1.0D / det;
+
+        return new Matrix4d(
+                (m11 * c5 - m12 * c4 + m13 * c3) * invDet,
+                (-m01 * c5 + m02 * c4 - m03 * c3) * invDet,
+                (m31 * s5 - m32 * s4 + m33 * s3) * invDet,
+                (-m21 * s5 + m22 * s4 - m23 * s3) * invDet,
+                (-m10 * c5 + m12 * c2 - m13 * c1) * invDet,
+                (m00 * c5 - m02 * c2 + m03 * c1) * invDet,
+                (-m30 * s5 + m32 * s2 - m33 * s1) * invDet,
+                (m20 * s5 - m22 * s2 + m23 * s1) * invDet,
+                (m10 * c4 - m11 * c2 + m13 * c0) * invDet,
+                (-m00 * c4 + m01 * c2 - m03 * c0) * invDet,
+                (m30 * s4 - m31 * s2 + m33 * s0) * invDet,
+                (-m20 * s4 + m21 * s2 - m23 * s0) * invDet,
+                (-m10 * c3 + m11 * c1 - m12 * c0) * invDet,
+                (m00 * c3 - m01 * c1 + m02 * c0) * invDet,
+                (-m30 * s3 + m31 * s1 - m32 * s0) * invDet,
+                (m20 * s3 - m21 * s1 + m22 * s0) * invDet);
+    }
+
+    /**
+     * Computes inverse of affine matrix (one whose last row is <code>0, 0, 0, 1</code>,
+     * for example any combination of translation, rotation and scale) or returns null,
+     * if the matrix is singular. Only the upper 3x3 part is inverted, the last row of this
+     * matrix is not read at all, so the result is wrong for non-affine matrices.
+     *
+     * @return inverse matrix or null
+     */
+    @Nullable
+    public Matrix4d inverseAffine() {
+        double c00 = m11 * m22 - m12 * m21;
+        double c10 = m12 * m20 - m10 * m22;
+        double c20 = m10 * m21 - m11 * m20;
+
+        double det = m00 * c00 + m01 * c10 + m02 * c20;
+        if (det == 0 || Double.isNaN(det) || Double.isInfinite(det)) {
+            return null;
+        }
+        double invDet = 1.0D / det;
+
+        double i00 = c00 * invDet;
+        double i01 = (m02 * m21 - m01 * m22) * invDet;
+        double i02 = (m01 * m12 - m02 * m11) * invDet;
+        double i10 = c10 * invDet;
+        double i11 = (m00 * m22 - m02 * m20) * invDet;
+        double i12 = (m02 * m10 - m00 * m12) * invDet;
+        double i20 = c20 * invDet;
+        double i21 = (m01 * m20 - m00 * m21) * invDet;
+        double i22 = (m00 * m11 - m01 * m10) * invDet;
+
+        return new Matrix4d(
+                i00, i01, i02, -(i00 * m03 + i01 * m13 + i02 * m23),
+                i10, i11, i12, -(i10 * m03 + i11 * m13 + i12 * m23),
+                i20, i21, i22, -(i20 * m03 + i21 * m13 + i22 * m23),
+                0, 0, 0, 1);
+    }
+
+    /**
+     * Computes inverse of rigid transformation (rotation followed by translation, without
+     * any scale). The rotation part is simply transposed, so this is the cheapest inverse,
+     * but the result is wrong for matrices containing scale, shear or projection.
+     *
+     * @return inverse matrix
+     */
+    public Matrix4d inverseRigid() {
+        return new Matrix4d(
+                m00, m10, m20, -(m00 * m03 + m10 * m13 + m20 * m23),
+                m01, m11, m21, -(m01 * m03 + m11 * m13 + m21 * m23),
+                m02, m12, m22, -(m02 * m03 + m12 * m13 + m22 * m23),
+                0, 0, 0, 1);
+    }
+
+    // true when last row is (0, 0, 0, 1), so points keep w = 1 after transformation
+    public boolean isAffine() {
+        return m30 == 0 && m31 == 0 && m32 == 0 && m33 == 1;
+    }
+
+    // transforms (x, y, z, 1), drops w
+    public Vector3d transformPoint(Vector3d point) {
+        double x = point.getX(), y = point.getY(), z = point.getZ();
+        return new Vector3d(
+                m00 * x + m01 * y + m02 * z + m03,
+                m10 * x + m11 * y + m12 * z + m13,
+                m20 * x + m21 * y + m22 * z + m23);
+    }
+
+    // transforms (x, y, z, 0), translation is ignored
+    public Vector3d transformDirection(Vector3d direction) {
+        double x = direction.getX(), y = direction.getY(), z = direction.getZ();
+        return new Vector3d(
+                m00 * x + m01 * y + m02 * z,
+                m10 * x + m11 * y + m12 * z,
+                m20 * x + m21 * y + m22 * z);
+    }
+
+    // transforms (x, y, z, 1) and divides the result by w
+    public Vector3d projectPoint(Vector3d point) {
+        double x = point.getX(), y = point.getY(), z = point.getZ();
+        double invW = 1.0D / (m30 * x + m31 * y + m32 * z + m33);
+        return new Vector3d(
+                (m00 * x + m01 * y + m02 * z + m03) * invW,
+                (m10 * x + m11 * y + m12 * z + m13) * invW,
+                (m20 * x + m21 * y + m22 * z + m23) * invW);
+    }
+
+    /**
+     * Transforms <code>count</code> points stored as packed <code>x, y, z</code> triples
+     * in <code>src</code> (as if their w was 1) and writes them to <code>dst</code>. The
+     * last row of the matrix is not used. Source and destination may be the same array.
+     *
+     * @param src       packed source points
+     * @param srcOffset index of the x component of the first source point
+     * @param dst       packed destination points
+     * @param dstOffset index of the x component of the first destination point
+     * @param count     number of points to transform
+     */
+    public void transformPoints(double[] src, int srcOffset, double[] dst, int dstOffset, int count) {
+        for (int i = 0; i < count; i++) {
+            int s = srcOffset + i * 3;
+            int d = dstOffset + i * 3;
+            double x = src[s], y = src[s + 1], z = src[s + 2];
+            dst[d] = m00 * x + m01 * y + m02 * z + m03;
+            dst[d + 1] = m10 * x + m11 * y + m12 * z + m13;
+            dst[d + 2] = m20 * x + m21 * y + m22 * z + m23;
+        }
+    }
+
+    /**
+     * Transforms <code>count</code> directions stored as packed <code>x, y, z</code>
+     * triples (as if their w was 0), so the translation is ignored.
+     *
+     * @see #transformPoints(double[], int, double[], int, int)
+     */
+    public void transformDirections(double[] src, int srcOffset, double[] dst, int dstOffset, int count) {
+        for (int i = 0; i < count; i++) {
+            int s = srcOffset + i * 3;
+            int d = dstOffset + i * 3;
+            double x = src[s], y = src[s + 1], z = src[s + 2];
+            dst[d] = m00 * x + m01 * y + m02 * z;
+            dst[d + 1] = m10 * x + m11 * y + m12 * z;
+            dst[d + 2] = m20 * x + m21 * y + m22 * z;
+        }
+    }
+
+    /**
+     * Transforms <code>count</code> points stored as packed <code>x, y, z</code> triples
+     * and performs the perspective divide. Affine matrices skip the last row and the
+     * division entirely.
+     *
+     * @see #transformPoints(double[], int, double[], int, int)
+     */
+    public void projectPoints(double[] src, int srcOffset, double[] dst, int dstOffset, int count) {
+        if (isAffine()) {
+            transformPoints(src, srcOffset, dst, dstOffset, count);
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            int s = srcOffset + i * 3;
+            int d = dstOffset + i * 3;
+            double x = src[s], y = src[s + 1], z = src[s + 2];
+            double invW = 1.0D / (m30 * x + m31 * y + m32 * z + m33);
+            dst[d] = (m00 * x + m01 * y + m02 * z + m03) * invW;
+            dst[d + 1] = (m10 * x + m11 * y + m12 * z + m13) * invW;
+            dst[d + 2] = (m20 * x + m21 * y + m22 * z + m23) * invW;
+        }
+    }
 
+    public void transformPoints(Vector3dBuffer src, Vector3dBuffer dst, int from, int to) {
+        double[] sx = src.getX(), sy = src.getY(), sz = src.getZ();
+        double[] dx = dst.getX(), dy = dst.getY(), dz = dst.getZ();
+        for (int i = from; i < to; i++) {
+            double x = sx[i], y = sy[i], z = sz[i];
+            dx[i] = m00 * x + m01 * y + m02 * z + m03;
+            dy[i] = m10 * x + m11 * y + m12 * z + m13;
+            dz[i] = m20 * x + m21 * y + m22 * z + m23;
+        }
+    }
+
+    public void transformDirections(Vector3dBuffer src, Vector3dBuffer dst, int from, int to) {
+        double[] sx = src.getX(), sy = src.getY(), sz = src.getZ();
+        double[] dx = dst.getX(), dy = dst.getY(), dz = dst.getZ();
+        for (int i = from; i < to; i++) {
+            double x = sx[i], y = sy[i], z = sz[i];
+            dx[i] = m00 * x + m01 * y + m02 * z;
+            dy[i] = m10 * x + m11 * y + m12 * z;
+            dz[i] = m20 * x + m21 * y + m22 * z;
+        }
+    }
+
+    public void projectPoints(Vector3dBuffer src, Vector3dBuffer dst, int from, int to) {
+        if (isAffine()) {
+            transformPoints(src, dst, from, to);
+            return;
+        }
+        double[] sx = src.getX(), sy = src.getY(), sz = src.getZ();
+        double[] dx = dst.getX(), dy = dst.getY(), dz = dst.getZ();
+        for (int i = from; i < to; i++) {
+            double x = sx[i], y = sy[i], z = sz[i];
+            double invW = 1.0D / (m30 * x + m31 * y + m32 * z + m33);
+            dx[i] = (m00 * x + m01 * y + m02 * z + m03) * invW;
+            dy[i] = (m10 * x + m11 * y + m12 * z + m13) * invW;
+            dz[i] = (m20 * x + m21 * y + m22 * z + m23) * invW;
+        }
+    }
 }
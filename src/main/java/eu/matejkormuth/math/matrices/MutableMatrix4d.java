@@ -0,0 +1,319 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.matrices;
+
+import eu.matejkormuth.annotations.Mutable;
+import eu.matejkormuth.math.MathUtils;
+import eu.matejkormuth.math.quaternions.Quaterniond;
+import eu.matejkormuth.math.vectors.Vector3d;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Mutable companion of {@link Matrix4d}. Methods with <code>Local</code> suffix modify
+ * this instance in place and return it, so transforms can be composed without allocating.
+ */
+@EqualsAndHashCode
+@Mutable
+public class MutableMatrix4d {
+
+    @Getter
+    @Setter
+    private double m00, m01, m02, m03;
+    @Getter
+    @Setter
+    private double m10, m11, m12, m13;
+    @Getter
+    @Setter
+    private double m20, m21, m22, m23;
+    @Getter
+    @Setter
+    private double m30, m31, m32, m33;
+
+    public MutableMatrix4d() {
+        setIdentity();
+    }
+
+    public MutableMatrix4d(Matrix4d m) {
+        set(m);
+    }
+
+    public MutableMatrix4d(MutableMatrix4d m) {
+        set(m);
+    }
+
+    public MutableMatrix4d set(double m00, double m01, double m02, double m03,
+                               double m10, double m11, double m12, double m13,
+                               double m20, double m21, double m22, double m23,
+                               double m30, double m31, double m32, double m33) {
+        this.m00 = m00;
+        this.m01 = m01;
+        this.m02 = m02;
+        this.m03 = m03;
+        this.m10 = m10;
+        this.m11 = m11;
+        this.m12 = m12;
+        this.m13 = m13;
+        this.m20 = m20;
+        this.m21 = m21;
+        this.m22 = m22;
+        this.m23 = m23;
+        this.m30 = m30;
+        this.m31 = m31;
+        this.m32 = m32;
+        this.m33 = m33;
+        return this;
+    }
+
+    public MutableMatrix4d set(Matrix4d m) {
+        return set(
+                m.getM00(), m.getM01(), m.getM02(), m.getM03(),
+                m.getM10(), m.getM11(), m.getM12(), m.getM13(),
+                m.getM20(), m.getM21(), m.getM22(), m.getM23(),
+                m.getM30(), m.getM31(), m.getM32(), m.getM33());
+    }
+
+    public MutableMatrix4d set(MutableMatrix4d m) {
+        return set(
+                m.m00, m.m01, m.m02, m.m03,
+                m.m10, m.m11, m.m12, m.m13,
+                m.m20, m.m21, m.m22, m.m23,
+                m.m30, m.m31, m.m32, m.m33);
+    }
+
+    // reads 16 numbers in row-major order
+    public MutableMatrix4d set(double[] m, int offset) {
+        return set(
+                m[offset], m[offset + 1], m[offset + 2], m[offset + 3],
+                m[offset + 4], m[offset + 5], m[offset + 6], m[offset + 7],
+                m[offset + 8], m[offset + 9], m[offset + 10], m[offset + 11],
+                m[offset + 12], m[offset + 13], m[offset + 14], m[offset + 15]);
+    }
+
+    public MutableMatrix4d setIdentity() {
+        return set(
+                1, 0, 0, 0,
+                0, 1, 0, 0,
+                0, 0, 1, 0,
+                0, 0, 0, 1);
+    }
+
+    /**
+     * Sets this matrix to <code>translation * rotation * scale</code>, the same matrix as
+     * composing {@link Matrix4d#createTranslation(Vector3d)},
+     * {@link Matrix4d#createRotation(Quaterniond)} and {@link Matrix4d#createScale(Vector3d)}
+     * gives, without creating any of them.
+     *
+     * @param translation translation
+     * @param rotation    rotation, does not need to be normalized
+     * @param scale       scale
+     * @return this matrix
+     */
+    public MutableMatrix4d setTransform(Vector3d translation, Quaterniond rotation, Vector3d scale) {
+        double lengthSquared = rotation.lengthSquared();
+        double invLen = Math.abs(lengthSquared - 1) <= MathUtils.UNIT_TOLERANCE_DOUBLE ? 1 : 1.0 / Math.sqrt(lengthSquared);
+        double w = rotation.getW() * invLen;
+        double x = rotation.getX() * invLen;
+        double y = rotation.getY() * invLen;
+        double z = rotation.getZ() * invLen;
+        double sx = scale.getX();
+        double sy = scale.getY();
+        double sz = scale.getZ();
+        return set(
+                (1 - 2 * y * y - 2 * z * z) * sx, (2 * x * y - 2 * w * z) * sy, (2 * x * z + 2 * w * y) * sz, translation.getX(),
+                (2 * x * y + 2 * w * z) * sx, (1 - 2 * x * x - 2 * z * z) * sy, (2 * y * z - 2 * w * x) * sz, translation.getY(),
+                (2 * x * z - 2 * w * y) * sx, (2 * y * z + 2 * x * w) * sy, (1 - 2 * x * x - 2 * y * y) * sz, translation.getZ(),
+                0, 0, 0, 1);
+    }
+
+    public double get(int row, int col) {
+        // invalid pairs map to -1, so e.g. (0, 5) cannot alias (1, 1)
+        int index = row >= 0 && row < 4 && col >= 0 && col < 4 ? row * 4 + col : -1;
+        switch (index) {
+            case 0:
+                return m00;
+            case 1:
+                return m01;
+            case 2:
+                return m02;
+            case 3:
+                return m03;
+            case 4:
+                return m10;
+            case 5:
+                return m11;
+            case 6:
+                return m12;
+            case 7:
+                return m13;
+            case 8:
+                return m20;
+            case 9:
+                return m21;
+            case 10:
+                return m22;
+            case 11:
+                return m23;
+            case 12:
+                return m30;
+            case 13:
+                return m31;
+            case 14:
+                return m32;
+            case 15:
+                return m33;
+        }
+        throw new IllegalArgumentException("row and col must be greater or equal to zero and smaller or equal to three");
+    }
+
+    // writes 16 numbers in row-major order
+    public double[] get(double[] dest, int offset) {
+        dest[offset] = m00;
+        dest[offset + 1] = m01;
+        dest[offset + 2] = m02;
+        dest[offset + 3] = m03;
+        dest[offset + 4] = m10;
+        dest[offset + 5] = m11;
+        dest[offset + 6] = m12;
+        dest[offset + 7] = m13;
+        dest[offset + 8] = m20;
+        dest[offset + 9] = m21;
+        dest[offset + 10] = m22;
+        dest[offset + 11] = m23;
+        dest[offset + 12] = m30;
+        dest[offset + 13] = m31;
+        dest[offset + 14] = m32;
+        dest[offset + 15] = m33;
+        return dest;
+    }
+
+    // this = this * m
+    public MutableMatrix4d multiplyLocal(Matrix4d m) {
+        return set(
+                m00 * m.getM00() + m01 * m.getM10() + m02 * m.getM20() + m03 * m.getM30(),
+                m00 * m.getM01() + m01 * m.getM11() + m02 * m.getM21() + m03 * m.getM31(),
+                m00 * m.getM02() + m01 * m.getM12() + m02 * m.getM22() + m03 * m.getM32(),
+                m00 * m.getM03() + m01 * m.getM13() + m02 * m.getM23() + m03 * m.getM33(),
+                m10 * m.getM00() + m11 * m.getM10() + m12 * m.getM20() + m13 * m.getM30(),
+                m10 * m.getM01() + m11 * m.getM11() + m12 * m.getM21() + m13 * m.getM31(),
+                m10 * m.getM02() + m11 * m.getM12() + m12 * m.getM22() + m13 * m.getM32(),
+                m10 * m.getM03() + m11 * m.getM13() + m12 * m.getM23() + m13 * m.getM33(),
+                m20 * m.getM00() + m21 * m.getM10() + m22 * m.getM20() + m23 * m.getM30(),
+                m20 * m.getM01() + m21 * m.getM11() + m22 * m.getM21() + m23 * m.getM31(),
+                m20 * m.getM02() + m21 * m.getM12() + m22 * m.getM22() + m23 * m.getM32(),
+                m20 * m.getM03() + m21 * m.getM13() + m22 * m.getM23() + m23 * m.getM33(),
+                m30 * m.getM00() + m31 * m.getM10() + m32 * m.getM20() + m33 * m.getM30(),
+                m30 * m.getM01() + m31 * m.getM11() + m32 * m.getM21() + m33 * m.getM31(),
+                m30 * m.getM02() + m31 * m.getM12() + m32 * m.getM22() + m33 * m.getM32(),
+                m30 * m.getM03() + m31 * m.getM13() + m32 * m.getM23() + m33 * m.getM33());
+    }
+
+    // this = this * m
+    public MutableMatrix4d multiplyLocal(MutableMatrix4d m) {
+        return set(
+                m00 * m.m00 + m01 * m.m10 + m02 * m.m20 + m03 * m.m30,
+                m00 * m.m01 + m01 * m.m11 + m02 * m.m21 + m03 * m.m31,
+                m00 * m.m02 + m01 * m.m12 + m02 * m.m22 + m03 * m.m32,
+                m00 * m.m03 + m01 * m.m13 + m02 * m.m23 + m03 * m.m33,
+                m10 * m.m00 + m11 * m.m10 + m12 * m.m20 + m13 * m.m30,
+                m10 * m.m01 + m11 * m.m11 + m12 * m.m21 + m13 * m.m31,
+                m10 * m.m02 + m11 * m.m12 + m12 * m.m22 + m13 * m.m32,
+                m10 * m.m03 + m11 * m.m13 + m12 * m.m23 + m13 * m.m33,
+                m20 * m.m00 + m21 * m.m10 + m22 * m.m20 + m23 * m.m30,
+                m20 * m.m01 + m21 * m.m11 + m22 * m.m21 + m23 * m.m31,
+                m20 * m.m02 + m21 * m.m12 + m22 * m.m22 + m23 * m.m32,
+                m20 * m.m03 + m21 * m.m13 + m22 * m.m23 + m23 * m.m33,
+                m30 * m.m00 + m31 * m.m10 + m32 * m.m20 + m33 * m.m30,
+                m30 * m.m01 + m31 * m.m11 + m32 * m.m21 + m33 * m.m31,
+                m30 * m.m02 + m31 * m.m12 + m32 * m.m22 + m33 * m.m32,
+                m30 * m.m03 + m31 * m.m13 + m32 * m.m23 + m33 * m.m33);
+    }
+
+    // this = m * this
+    public MutableMatrix4d premultiplyLocal(Matrix4d m) {
+        return set(
+                m.getM00() * m00 + m.getM01() * m10 + m.getM02() * m20 + m.getM03() * m30,
+                m.getM00() * m01 + m.getM01() * m11 + m.getM02() * m21 + m.getM03() * m31,
+                m.getM00() * m02 + m.getM01() * m12 + m.getM02() * m22 + m.getM03() * m32,
+                m.getM00() * m03 + m.getM01() * m13 + m.getM02() * m23 + m.getM03() * m33,
+                m.getM10() * m00 + m.getM11() * m10 + m.getM12() * m20 + m.getM13() * m30,
+                m.getM10() * m01 + m.getM11() * m11 + m.getM12() * m21 + m.getM13() * m31,
+                m.getM10() * m02 + m.getM11() * m12 + m.getM12() * m22 + m.getM13() * m32,
+                m.getM10() * m03 + m.getM11() * m13 + m.getM12() * m23 + m.getM13() * m33,
+                m.getM20() * m00 + m.getM21() * m10 + m.getM22() * m20 + m.getM23() * m30,
+                m.getM20() * m01 + m.getM21() * m11 + m.getM22() * m21 + m.getM23() * m31,
+                m.getM20() * m02 + m.getM21() * m12 + m.getM22() * m22 + m.getM23() * m32,
+                m.getM20() * m03 + m.getM21() * m13 + m.getM22() * m23 + m.getM23() * m33,
+                m.getM30() * m00 + m.getM31() * m10 + m.getM32() * m20 + m.getM33() * m30,
+                m.getM30() * m01 + m.getM31() * m11 + m.getM32() * m21 + m.getM33() * m31,
+                m.getM30() * m02 + m.getM31() * m12 + m.getM32() * m22 + m.getM33() * m32,
+                m.getM30() * m03 + m.getM31() * m13 + m.getM32() * m23 + m.getM33() * m33);
+    }
+
+    // this = m * this
+    public MutableMatrix4d premultiplyLocal(MutableMatrix4d m) {
+        return set(
+                m.m00 * m00 + m.m01 * m10 + m.m02 * m20 + m.m03 * m30,
+                m.m00 * m01 + m.m01 * m11 + m.m02 * m21 + m.m03 * m31,
+                m.m00 * m02 + m.m01 * m12 + m.m02 * m22 + m.m03 * m32,
+                m.m00 * m03 + m.m01 * m13 + m.m02 * m23 + m.m03 * m33,
+                m.m10 * m00 + m.m11 * m10 + m.m12 * m20 + m.m13 * m30,
+                m.m10 * m01 + m.m11 * m11 + m.m12 * m21 + m.m13 * m31,
+                m.m10 * m02 + m.m11 * m12 + m.m12 * m22 + m.m13 * m32,
+                m.m10 * m03 + m.m11 * m13 + m.m12 * m23 + m.m13 * m33,
+                m.m20 * m00 + m.m21 * m10 + m.m22 * m20 + m.m23 * m30,
+                m.m20 * m01 + m.m21 * m11 + m.m22 * m21 + m.m23 * m31,
+                m.m20 * m02 + m.m21 * m12 + m.m22 * m22 + m.m23 * m32,
+                m.m20 * m03 + m.m21 * m13 + m.m22 * m23 + m.m23 * m33,
+                m.m30 * m00 + m.m31 * m10 + m.m32 * m20 + m.m33 * m30,
+                m.m30 * m01 + m.m31 * m11 + m.m32 * m21 + m.m33 * m31,
+                m.m30 * m02 + m.m31 * m12 + m.m32 * m22 + m.m33 * m32,
+                m.m30 * m03 + m.m31 * m13 + m.m32 * m23 + m.m33 * m33);
+    }
+
+    public MutableMatrix4d transposeLocal() {
+        return set(
+                m00, m10, m20, m30,
+                m01, m11, m21, m31,
+                m02, m12, m22, m32,
+                m03, m13, m23, m33);
+    }
+
+    public Matrix4d toImmutable() {
+        return new Matrix4d(
+                m00, m01, m02, m03,
+                m10, m11, m12, m13,
+                m20, m21, m22, m23,
+                m30, m31, m32, m33);
+    }
+
+    @Override
+    public String toString() {
+        return "MutableMatrix4d(" + toImmutable() + ")";
+    }
+}
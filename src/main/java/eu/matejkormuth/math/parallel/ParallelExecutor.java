@@ -0,0 +1,274 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.parallel;
+
+import eu.matejkormuth.math.QuadraticEquation;
+import eu.matejkormuth.math.matrices.Matrix4f;
+import eu.matejkormuth.math.quaternions.Quaternionf;
+import eu.matejkormuth.math.shapes.Frustum;
+import eu.matejkormuth.math.simd.Kernels;
+import eu.matejkormuth.math.spatial.KdTree;
+import eu.matejkormuth.math.vectors.Vector3dBuffer;
+import eu.matejkormuth.math.vectors.Vector3fBuffer;
+import lombok.Getter;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Splits bulk kernels over multiple threads. Ranges with at most <code>threshold</code>
+ * elements are executed directly in the calling thread, so small batches do not pay for
+ * any task creation or synchronization. Larger ranges are executed either in a
+ * {@link ForkJoinPool}, where they are recursively halved into chunks of at most
+ * <code>threshold</code> elements (work stealing), or in a caller-supplied {@link Executor},
+ * where they are split into at most <code>parallelism</code> equally sized chunks.
+ * <p>
+ * All methods block until the whole range is processed. Exception thrown by any chunk is
+ * rethrown in the calling thread.
+ */
+public class ParallelExecutor {
+
+    public static final int DEFAULT_THRESHOLD = 16384;
+
+    private static final ParallelExecutor COMMON = new ParallelExecutor(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+
+    private final ForkJoinPool pool;
+    private final Executor executor;
+    @Getter
+    private final int parallelism;
+    @Getter
+    private final int threshold;
+
+    public ParallelExecutor(ForkJoinPool pool, int threshold) {
+        this(pool, null, pool.getParallelism(), threshold);
+    }
+
+    /**
+     * Creates parallel executor submitting chunks to specified executor.
+     *
+     * @param executor    executor to run chunks in
+     * @param parallelism maximum number of chunks one range is split into
+     * @param threshold   minimum range size which is split
+     */
+    public ParallelExecutor(Executor executor, int parallelism, int threshold) {
+        this(null, executor, parallelism, threshold);
+    }
+
+    private ParallelExecutor(ForkJoinPool pool, Executor executor, int parallelism, int threshold) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be greater than zero");
+        }
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be greater than zero");
+        }
+        this.pool = pool;
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Returns shared executor using {@link ForkJoinPool#commonPool()} and
+     * {@link #DEFAULT_THRESHOLD}.
+     *
+     * @return shared parallel executor
+     */
+    public static ParallelExecutor common() {
+        return COMMON;
+    }
+
+    public void forRange(int from, int to, RangeTask task) {
+        if (to - from <= threshold) {
+            task.run(from, to);
+        } else if (pool != null) {
+            pool.invoke(new SplitAction(from, to, threshold, task));
+        } else {
+            runInExecutor(from, to, task);
+        }
+    }
+
+    // bulk kernels
+
+    public void transformPoints(Matrix4f m, Vector3fBuffer src, Vector3fBuffer dst, int from, int to) {
+        forRange(from, to, (f, t) -> Kernels.get().transformPoints(m, src, dst, f, t));
+    }
+
+    public void transformDirections(Matrix4f m, Vector3fBuffer src, Vector3fBuffer dst, int from, int to) {
+        forRange(from, to, (f, t) -> m.transformDirections(src, dst, f, t));
+    }
+
+    public void projectPoints(Matrix4f m, Vector3fBuffer src, Vector3fBuffer dst, int from, int to) {
+        forRange(from, to, (f, t) -> m.projectPoints(src, dst, f, t));
+    }
+
+    public void dot(Vector3fBuffer a, Vector3fBuffer b, float[] dst, int from, int to) {
+        forRange(from, to, (f, t) -> Kernels.get().dot(a, b, dst, f, t));
+    }
+
+    public void normalize(Vector3fBuffer a, Vector3fBuffer dst, int from, int to) {
+        forRange(from, to, (f, t) -> Kernels.get().normalize(a, dst, f, t));
+    }
+
+    public void lerp(Vector3fBuffer a, Vector3fBuffer b, float factor, Vector3fBuffer dst, int from, int to) {
+        forRange(from, to, (f, t) -> Kernels.get().lerp(a, b, factor, dst, f, t));
+    }
+
+    public void distanceSquared(Vector3fBuffer a, Vector3fBuffer b, float[] dst, int from, int to) {
+        forRange(from, to, (f, t) -> Vector3fBuffer.distanceSquared(a, b, dst, f, t));
+    }
+
+    public void slerp(float[] start, float[] end, float[] factors, float[] out, int from, int to) {
+        forRange(from, to, (f, t) -> Quaternionf.slerp(start, end, factors, out, f, t));
+    }
+
+    public void nlerp(float[] start, float[] end, float[] factors, float[] out, int from, int to) {
+        forRange(from, to, (f, t) -> Quaternionf.nlerp(start, end, factors, out, f, t));
+    }
+
+    public void solveQuadratic(double[] a, double[] b, double[] c, double[] roots, int[] counts, int from, int to) {
+        forRange(from, to, (f, t) -> QuadraticEquation.solve(a, b, c, roots, counts, f, t));
+    }
+
+    // spatial queries
+
+    public void nearest(KdTree tree, Vector3dBuffer queries, int k, int[] ids, double[] distancesSquared,
+                        int from, int to) {
+        forRange(from, to, (f, t) -> tree.nearest(queries, k, ids, distancesSquared, f, t));
+    }
+
+    public void countWithin(KdTree tree, Vector3dBuffer queries, double radius, int[] counts, int from, int to) {
+        forRange(from, to, (f, t) -> tree.countWithin(queries, radius, counts, f, t));
+    }
+
+    // culling, chunk boundaries are aligned to words of the bitmask so no word is shared by two chunks
+
+    public void cullSpheres(Frustum frustum, float[] spheres, long[] visible, int from, int to) {
+        forRange(from, to, (f, t) -> frustum.cullSpheres(spheres, visible,
+                f == from ? from : alignToWord(f, to), alignToWord(t, to)));
+    }
+
+    public void cullBoxes(Frustum frustum, float[] boxes, long[] visible, int from, int to) {
+        forRange(from, to, (f, t) -> frustum.cullBoxes(boxes, visible,
+                f == from ? from : alignToWord(f, to), alignToWord(t, to)));
+    }
+
+    // rounds up to multiple of 64 not exceeding the end of the whole range
+    private static int alignToWord(int i, int to) {
+        return Math.min(to, (i + 63) & ~63);
+    }
+
+    private void runInExecutor(int from, int to, RangeTask task) {
+        int length = to - from;
+        int chunks = Math.min(parallelism, (length + threshold - 1) / threshold);
+        int chunkSize = (length + chunks - 1) / chunks;
+        // rounding chunk size up may leave fewer chunks than requested
+        chunks = (length + chunkSize - 1) / chunkSize;
+
+        CountDownLatch latch = new CountDownLatch(chunks - 1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        for (int start = from + chunkSize; start < to; start += chunkSize) {
+            int chunkFrom = start;
+            int chunkTo = Math.min(to, start + chunkSize);
+            Runnable chunk = () -> {
+                try {
+                    task.run(chunkFrom, chunkTo);
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                } finally {
+                    latch.countDown();
+                }
+            };
+            try {
+                executor.execute(chunk);
+            } catch (RejectedExecutionException e) {
+                chunk.run();
+            }
+        }
+
+        // first chunk is processed by the calling thread
+        try {
+            task.run(from, Math.min(to, from + chunkSize));
+        } catch (Throwable t) {
+            failure.compareAndSet(null, t);
+        }
+
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        rethrow(failure.get());
+    }
+
+    private static void rethrow(Throwable t) {
+        if (t == null) {
+            return;
+        }
+        if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        throw new RuntimeException(t);
+    }
+
+    private static final class SplitAction extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final int threshold;
+        private final RangeTask task;
+
+        private SplitAction(int from, int to, int threshold, RangeTask task) {
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+            this.task = task;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                task.run(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SplitAction(from, mid, threshold, task), new SplitAction(mid, to, threshold, task));
+        }
+    }
+}
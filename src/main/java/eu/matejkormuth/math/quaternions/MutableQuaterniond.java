@@ -0,0 +1,174 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.quaternions;
+
+import eu.matejkormuth.annotations.Mutable;
+import eu.matejkormuth.math.MathUtils;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Mutable companion of {@link Quaterniond}. Methods with <code>Local</code> suffix modify
+ * this instance in place and return it, so rotations can be composed without allocating.
+ */
+@EqualsAndHashCode
+@Mutable
+public class MutableQuaterniond {
+
+    @Getter
+    @Setter
+    private double w;
+    @Getter
+    @Setter
+    private double x;
+    @Getter
+    @Setter
+    private double y;
+    @Getter
+    @Setter
+    private double z;
+
+    public MutableQuaterniond() {
+        this(1, 0, 0, 0);
+    }
+
+    public MutableQuaterniond(double w, double x, double y, double z) {
+        this.w = w;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    public MutableQuaterniond(Quaterniond q) {
+        this(q.getW(), q.getX(), q.getY(), q.getZ());
+    }
+
+    public MutableQuaterniond(MutableQuaterniond q) {
+        this(q.w, q.x, q.y, q.z);
+    }
+
+    public MutableQuaterniond set(double w, double x, double y, double z) {
+        this.w = w;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        return this;
+    }
+
+    public MutableQuaterniond set(Quaterniond q) {
+        return set(q.getW(), q.getX(), q.getY(), q.getZ());
+    }
+
+    public MutableQuaterniond set(MutableQuaterniond q) {
+        return set(q.w, q.x, q.y, q.z);
+    }
+
+    public MutableQuaterniond setIdentity() {
+        return set(1, 0, 0, 0);
+    }
+
+    // this = this * rhs
+    public MutableQuaterniond multiplyLocal(Quaterniond rhs) {
+        return multiplyLocal(rhs.getW(), rhs.getX(), rhs.getY(), rhs.getZ());
+    }
+
+    // this = this * rhs
+    public MutableQuaterniond multiplyLocal(MutableQuaterniond rhs) {
+        return multiplyLocal(rhs.w, rhs.x, rhs.y, rhs.z);
+    }
+
+    // this = this * (rw, rx, ry, rz)
+    public MutableQuaterniond multiplyLocal(double rw, double rx, double ry, double rz) {
+        return set(
+                w * rw - x * rx - y * ry - z * rz,
+                w * rx + x * rw + y * rz - z * ry,
+                w * ry + y * rw + z * rx - x * rz,
+                w * rz + z * rw + x * ry - y * rx
+        );
+    }
+
+    // this = lhs * this
+    public MutableQuaterniond premultiplyLocal(Quaterniond lhs) {
+        return premultiplyLocal(lhs.getW(), lhs.getX(), lhs.getY(), lhs.getZ());
+    }
+
+    // this = lhs * this
+    public MutableQuaterniond premultiplyLocal(MutableQuaterniond lhs) {
+        return premultiplyLocal(lhs.w, lhs.x, lhs.y, lhs.z);
+    }
+
+    // this = (lw, lx, ly, lz) * this
+    public MutableQuaterniond premultiplyLocal(double lw, double lx, double ly, double lz) {
+        return set(
+                lw * w - lx * x - ly * y - lz * z,
+                lw * x + lx * w + ly * z - lz * y,
+                lw * y + ly * w + lz * x - lx * z,
+                lw * z + lz * w + lx * y - ly * x
+        );
+    }
+
+    public MutableQuaterniond multiplyLocal(double n) {
+        return set(w * n, x * n, y * n, z * n);
+    }
+
+    public MutableQuaterniond conjugateLocal() {
+        return set(w, -x, -y, -z);
+    }
+
+    public MutableQuaterniond normalizeLocal() {
+        return multiplyLocal(1.0 / length());
+    }
+
+    public MutableQuaterniond normalizeIfNeededLocal() {
+        if (Math.abs(lengthSquared() - 1) <= MathUtils.UNIT_TOLERANCE_DOUBLE) {
+            return this;
+        }
+        return normalizeLocal();
+    }
+
+    public double dot(Quaterniond rhs) {
+        return w * rhs.getW() + x * rhs.getX() + y * rhs.getY() + z * rhs.getZ();
+    }
+
+    public double lengthSquared() {
+        return w * w + x * x + y * y + z * z;
+    }
+
+    public double length() {
+        return Math.sqrt(w * w + x * x + y * y + z * z);
+    }
+
+    public Quaterniond toImmutable() {
+        return new Quaterniond(w, x, y, z);
+    }
+
+    @Override
+    public String toString() {
+        return "MutableQuaterniond(w=" + w + ", x=" + x + ", y=" + y + ", z=" + z + ")";
+    }
+}
@@ -0,0 +1,178 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.quaternions;
+
+import eu.matejkormuth.annotations.Mutable;
+import eu.matejkormuth.math.MathUtils;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Mutable companion of {@link Quaternionf}. Methods with <code>Local</code> suffix modify
+ * this instance in place and return it, so rotations can be composed without allocating.
+ */
+@EqualsAndHashCode
+@Mutable
+public class MutableQuaternionf {
+
+    @Getter
+    @Setter
+    private float w;
+    @Getter
+    @Setter
+    private float x;
+    @Getter
+    @Setter
+    private float y;
+    @Getter
+    @Setter
+    private float z;
+
+    public MutableQuaternionf() {
+        this(1, 0, 0, 0);
+    }
+
+    public MutableQuaternionf(float w, float x, float y, float z) {
+        this.w = w;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    public MutableQuaternionf(Quaternionf q) {
+        this(q.getW(), q.getX(), q.getY(), q.getZ());
+    }
+
+    public MutableQuaternionf(MutableQuaternionf q) {
+        this(q.w, q.x, q.y, q.z);
+    }
+
+    public MutableQuaternionf set(float w, float x, float y, float z) {
+        this.w = w;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        return this;
+    }
+
+    public MutableQuaternionf set(Quaternionf q) {
+        return set(q.getW(), q.getX(), q.getY(), q.getZ());
+    }
+
+    public MutableQuaternionf set(MutableQuaternionf q) {
+        return set(q.w, q.x, q.y, q.z);
+    }
+
+    public MutableQuaternionf setIdentity() {
+        return set(1, 0, 0, 0);
+    }
+
+    // this = this * rhs
+    public MutableQuaternionf multiplyLocal(Quaternionf rhs) {
+        return multiplyLocal(rhs.getW(), rhs.getX(), rhs.getY(), rhs.getZ());
+    }
+
+    // this = this * rhs
+    public MutableQuaternionf multiplyLocal(MutableQuaternionf rhs) {
+        return multiplyLocal(rhs.w, rhs.x, rhs.y, rhs.z);
+    }
+
+    // this = this * (rw, rx, ry, rz)
+    public MutableQuaternionf multiplyLocal(float rw, float rx, float ry, float rz) {
+        return set(
+                w * rw - x * rx - y * ry - z * rz,
+                w * rx + x * rw + y * rz - z * ry,
+                w * ry + y * rw + z * rx - x * rz,
+                w * rz + z * rw + x * ry - y * rx
+        );
+    }
+
+    // this = lhs * this
+    public MutableQuaternionf premultiplyLocal(Quaternionf lhs) {
+        return premultiplyLocal(lhs.getW(), lhs.getX(), lhs.getY(), lhs.getZ());
+    }
+
+    // this = lhs * this
+    public MutableQuaternionf premultiplyLocal(MutableQuaternionf lhs) {
+        return premultiplyLocal(lhs.w, lhs.x, lhs.y, lhs.z);
+    }
+
+    // this = (lw, lx, ly, lz) * this
+    public MutableQuaternionf premultiplyLocal(float lw, float lx, float ly, float lz) {
+        return set(
+                lw * w - lx * x - ly * y - lz * z,
+                lw * x + lx * w + ly * z - lz * y,
+                lw * y + ly * w + lz * x - lx * z,
+                lw * z + lz * w + lx * y - ly * x
+        );
+    }
+
+    public MutableQuaternionf multiplyLocal(float n) {
+        return set(w * n, x * n, y * n, z * n);
+    }
+
+    public MutableQuaternionf conjugateLocal() {
+        return set(w, -x, -y, -z);
+    }
+
+    public MutableQuaternionf normalizeLocal() {
+        return multiplyLocal((float) (1.0 / length()));
+    }
+
+    public MutableQuaternionf normalizeFastLocal() {
+        return multiplyLocal(MathUtils.invSqrt(lengthSquared()));
+    }
+
+    public MutableQuaternionf normalizeIfNeededLocal() {
+        if (Math.abs(lengthSquared() - 1f) <= MathUtils.UNIT_TOLERANCE) {
+            return this;
+        }
+        return normalizeLocal();
+    }
+
+    public float dot(Quaternionf rhs) {
+        return w * rhs.getW() + x * rhs.getX() + y * rhs.getY() + z * rhs.getZ();
+    }
+
+    public float lengthSquared() {
+        return w * w + x * x + y * y + z * z;
+    }
+
+    public float length() {
+        return (float) Math.sqrt(w * w + x * x + y * y + z * z);
+    }
+
+    public Quaternionf toImmutable() {
+        return new Quaternionf(w, x, y, z);
+    }
+
+    @Override
+    public String toString() {
+        return "MutableQuaternionf(w=" + w + ", x=" + x + ", y=" + y + ", z=" + z + ")";
+    }
+}
@@ -107,6 +107,29 @@ public class Quaterniond {
         );
     }
 
+    public MutableQuaterniond toMutable() {
+        return new MutableQuaterniond(this);
+    }
+
+    // dest = this * rhs
+    public MutableQuaterniond multiply(Quaterniond rhs, MutableQuaterniond dest) {
+        return dest.set(
+                w * rhs.w - x * rhs.x - y * rhs.y - z * rhs.z,
+                w * rhs.x + x * rhs.w + y * rhs.z - z * rhs.y,
+                w * rhs.y + y * rhs.w + z * rhs.x - x * rhs.z,
+                w * rhs.z + z * rhs.w + x * rhs.y - y * rhs.x
+        );
+    }
+
+    // writes this * rhs to dest starting at offset as w, x, y, z
+    public double[] multiply(Quaterniond rhs, double[] dest, int offset) {
+        dest[offset] = w * rhs.w - x * rhs.x - y * rhs.y - z * rhs.z;
+        dest[offset + 1] = w * rhs.x + x * rhs.w + y * rhs.z - z * rhs.y;
+        dest[offset + 2] = w * rhs.y + y * rhs.w + z * rhs.x - x * rhs.z;
+        dest[offset + 3] = w * rhs.z + z * rhs.w + x * rhs.y - y * rhs.x;
+        return dest;
+    }
+
     public Quaterniond conjugate() {
         return new Quaterniond(w, -x, -y, -z);
     }
@@ -116,6 +139,13 @@ public class Quaterniond {
         return new Quaterniond(w * invLen, x * invLen, y * invLen, z * invLen);
     }
 
+    public Quaterniond normalizeIfNeeded() {
+        if (Math.abs(lengthSquared() - 1) <= MathUtils.UNIT_TOLERANCE_DOUBLE) {
+            return this;
+        }
+        return normalize();
+    }
+
     public double dot(Quaterniond rhs) {
         return w * rhs.w + x * rhs.x + y * rhs.y + z * rhs.z;
     }
@@ -149,4 +179,93 @@ public class Quaterniond {
     public Quaterniond nlerp(Quaterniond start, Quaterniond end, double f) {
         return start.add(end.subtract(start).multiply(f)).normalize();
     }
+
+    /**
+     * Spherically interpolates quaternions packed as <code>w, x, y, z</code> quadruples,
+     * <code>out[i] = slerp(start[i], end[i], factors[i])</code> for every index in range
+     * <code>[from; to)</code>. Always interpolates along the shorter arc and falls back to
+     * normalized linear interpolation for nearly identical rotations. Inputs should be
+     * normalized. Output may be the same array as one of the inputs.
+     *
+     * @param start   packed start quaternions
+     * @param end     packed end quaternions
+     * @param factors interpolation factor for each quaternion
+     * @param out     packed result quaternions
+     * @param from    index of first quaternion (inclusive)
+     * @param to      index of last quaternion (exclusive)
+     */
+    public static void slerp(double[] start, double[] end, double[] factors, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            slerp(start, end, factors[i], out, i * 4);
+        }
+    }
+
+    // same as above, with one factor for all quaternions
+    public static void slerp(double[] start, double[] end, double f, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            slerp(start, end, f, out, i * 4);
+        }
+    }
+
+    /**
+     * Normalized linear interpolation of quaternions packed as <code>w, x, y, z</code>
+     * quadruples along the shorter arc. Cheaper than slerp, but does not keep constant
+     * angular velocity.
+     *
+     * @see #slerp(double[], double[], double[], double[], int, int)
+     */
+    public static void nlerp(double[] start, double[] end, double[] factors, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            int off = i * 4;
+            double sw = start[off], sx = start[off + 1], sy = start[off + 2], sz = start[off + 3];
+            double ew = end[off], ex = end[off + 1], ey = end[off + 2], ez = end[off + 3];
+            if (sw * ew + sx * ex + sy * ey + sz * ez < 0) {
+                ew = -ew;
+                ex = -ex;
+                ey = -ey;
+                ez = -ez;
+            }
+            nlerp(sw, sx, sy, sz, ew, ex, ey, ez, factors[i], out, off);
+        }
+    }
+
+    private static void slerp(double[] start, double[] end, double f, double[] out, int off) {
+        double sw = start[off], sx = start[off + 1], sy = start[off + 2], sz = start[off + 3];
+        double ew = end[off], ex = end[off + 1], ey = end[off + 2], ez = end[off + 3];
+        double dot = sw * ew + sx * ex + sy * ey + sz * ez;
+        // q and -q represent the same rotation, take the shorter way
+        if (dot < 0) {
+            dot = -dot;
+            ew = -ew;
+            ex = -ex;
+            ey = -ey;
+            ez = -ez;
+        }
+        if (dot > 0.9995) {
+            nlerp(sw, sx, sy, sz, ew, ex, ey, ez, f, out, off);
+            return;
+        }
+        double theta = Math.acos(dot);
+        double invSin = 1.0 / Math.sin(theta);
+        double a = Math.sin((1 - f) * theta) * invSin;
+        double b = Math.sin(f * theta) * invSin;
+        out[off] = a * sw + b * ew;
+        out[off + 1] = a * sx + b * ex;
+        out[off + 2] = a * sy + b * ey;
+        out[off + 3] = a * sz + b * ez;
+    }
+
+    private static void nlerp(double sw, double sx, double sy, double sz,
+                              double ew, double ex, double ey, double ez,
+                              double f, double[] out, int off) {
+        double w = sw + (ew - sw) * f;
+        double x = sx + (ex - sx) * f;
+        double y = sy + (ey - sy) * f;
+        double z = sz + (ez - sz) * f;
+        double invLen = 1.0 / Math.sqrt(w * w + x * x + y * y + z * z);
+        out[off] = w * invLen;
+        out[off + 1] = x * invLen;
+        out[off + 2] = y * invLen;
+        out[off + 3] = z * invLen;
+    }
 }
@@ -27,6 +27,7 @@
 package eu.matejkormuth.math.quaternions;
 
 import eu.matejkormuth.annotations.Immutable;
+import eu.matejkormuth.math.MathUtils;
 import eu.matejkormuth.math.vectors.Vector3d;
 import eu.matejkormuth.math.vectors.Vector3f;
 import lombok.EqualsAndHashCode;
@@ -67,6 +68,21 @@ public class Quaternionf {
                 axis.getZ() * sinHalf).normalize();
     }
 
+    /**
+     * Same as {@link #fromAngle(double, Vector3f)}, but uses {@link MathUtils#fastSin(float)} and
+     * {@link MathUtils#fastCos(float)}. Components differ by at most <code>3e-7</code> before normalization.
+     */
+    public static Quaternionf fromAngleFast(double degrees, Vector3f axis) {
+        float halfRadians = (float) Math.toRadians(degrees) * 0.5f;
+        float sinHalf = MathUtils.fastSin(halfRadians);
+        float cosHalf = MathUtils.fastCos(halfRadians);
+
+        return new Quaternionf(cosHalf,
+                axis.getX() * sinHalf,
+                axis.getY() * sinHalf,
+                axis.getZ() * sinHalf).normalize();
+    }
+
     public Quaternionf add(Quaternionf rhs) {
         return new Quaternionf(w + rhs.w, x + rhs.x, y + rhs.y, z + rhs.z);
     }
@@ -106,6 +122,29 @@ public class Quaternionf {
         );
     }
 
+    public MutableQuaternionf toMutable() {
+        return new MutableQuaternionf(this);
+    }
+
+    // dest = this * rhs
+    public MutableQuaternionf multiply(Quaternionf rhs, MutableQuaternionf dest) {
+        return dest.set(
+                w * rhs.w - x * rhs.x - y * rhs.y - z * rhs.z,
+                w * rhs.x + x * rhs.w + y * rhs.z - z * rhs.y,
+                w * rhs.y + y * rhs.w + z * rhs.x - x * rhs.z,
+                w * rhs.z + z * rhs.w + x * rhs.y - y * rhs.x
+        );
+    }
+
+    // writes this * rhs to dest starting at offset as w, x, y, z
+    public float[] multiply(Quaternionf rhs, float[] dest, int offset) {
+        dest[offset] = w * rhs.w - x * rhs.x - y * rhs.y - z * rhs.z;
+        dest[offset + 1] = w * rhs.x + x * rhs.w + y * rhs.z - z * rhs.y;
+        dest[offset + 2] = w * rhs.y + y * rhs.w + z * rhs.x - x * rhs.z;
+        dest[offset + 3] = w * rhs.z + z * rhs.w + x * rhs.y - y * rhs.x;
+        return dest;
+    }
+
     public Quaternionf conjugate() {
         return new Quaternionf(w, -x, -y, -z);
     }
@@ -115,6 +154,18 @@ public class Quaternionf {
         return new Quaternionf(w * invLen, x * invLen, y * invLen, z * invLen);
     }
 
+    public Quaternionf normalizeFast() {
+        float invLength = MathUtils.invSqrt(w * w + x * x + y * y + z * z);
+        return new Quaternionf(w * invLength, x * invLength, y * invLength, z * invLength);
+    }
+
+    public Quaternionf normalizeIfNeeded() {
+        if (Math.abs(lengthSquared() - 1f) <= MathUtils.UNIT_TOLERANCE) {
+            return this;
+        }
+        return normalize();
+    }
+
     public float dot(Quaternionf rhs) {
         return w * rhs.w + x * rhs.x + y * rhs.y + z * rhs.z;
     }
@@ -126,4 +177,113 @@ public class Quaternionf {
     public float length() {
         return (float) Math.sqrt(w * w + x * x + y * y + z * z);
     }
+
+    /**
+     * Spherically interpolates quaternions packed as <code>w, x, y, z</code> quadruples,
+     * <code>out[i] = slerp(start[i], end[i], factors[i])</code> for every index in range
+     * <code>[from; to)</code>. Always interpolates along the shorter arc and falls back to
+     * normalized linear interpolation for nearly identical rotations. Inputs should be
+     * normalized. Output may be the same array as one of the inputs.
+     *
+     * @param start   packed start quaternions
+     * @param end     packed end quaternions
+     * @param factors interpolation factor for each quaternion
+     * @param out     packed result quaternions
+     * @param from    index of first quaternion (inclusive)
+     * @param to      index of last quaternion (exclusive)
+     */
+    public static void slerp(float[] start, float[] end, float[] factors, float[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            slerp(start, end, factors[i], out, i * 4, false);
+        }
+    }
+
+    /**
+     * Same as {@link #slerp(float[], float[], float[], float[], int, int)}, but uses
+     * {@link MathUtils#fastAcos(float)} and {@link MathUtils#fastSin(float)}. Results
+     * differ from exact slerp by about <code>1e-6</code> per component.
+     */
+    public static void slerpFast(float[] start, float[] end, float[] factors, float[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            slerp(start, end, factors[i], out, i * 4, true);
+        }
+    }
+
+    // same as above, with one factor for all quaternions
+    public static void slerp(float[] start, float[] end, float f, float[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            slerp(start, end, f, out, i * 4, false);
+        }
+    }
+
+    /**
+     * Normalized linear interpolation of quaternions packed as <code>w, x, y, z</code>
+     * quadruples along the shorter arc. Cheaper than slerp, but does not keep constant
+     * angular velocity.
+     *
+     * @see #slerp(float[], float[], float[], float[], int, int)
+     */
+    public static void nlerp(float[] start, float[] end, float[] factors, float[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            int off = i * 4;
+            float sw = start[off], sx = start[off + 1], sy = start[off + 2], sz = start[off + 3];
+            float ew = end[off], ex = end[off + 1], ey = end[off + 2], ez = end[off + 3];
+            if (sw * ew + sx * ex + sy * ey + sz * ez < 0) {
+                ew = -ew;
+                ex = -ex;
+                ey = -ey;
+                ez = -ez;
+            }
+            nlerp(sw, sx, sy, sz, ew, ex, ey, ez, factors[i], out, off);
+        }
+    }
+
+    private static void slerp(float[] start, float[] end, float f, float[] out, int off, boolean fast) {
+        float sw = start[off], sx = start[off + 1], sy = start[off + 2], sz = start[off + 3];
+        float ew = end[off], ex = end[off + 1], ey = end[off + 2], ez = end[off + 3];
+        float dot = sw * ew + sx * ex + sy * ey + sz * ez;
+        // q and -q represent the same rotation, take the shorter way
+        if (dot < 0) {
+            dot = -dot;
+            ew = -ew;
+            ex = -ex;
+            ey = -ey;
+            ez = -ez;
+        }
+        if (dot > 0.9995f) {
+            nlerp(sw, sx, sy, sz, ew, ex, ey, ez, f, out, off);
+            return;
+        }
+        float a;
+        float b;
+        if (fast) {
+            float theta = MathUtils.fastAcos(dot);
+            float invSin = 1f / MathUtils.fastSin(theta);
+            a = MathUtils.fastSin((1 - f) * theta) * invSin;
+            b = MathUtils.fastSin(f * theta) * invSin;
+        } else {
+            double theta = Math.acos(dot);
+            double invSin = 1.0 / Math.sin(theta);
+            a = (float) (Math.sin((1 - f) * theta) * invSin);
+            b = (float) (Math.sin(f * theta) * invSin);
+        }
+        out[off] = a * sw + b * ew;
+        out[off + 1] = a * sx + b * ex;
+        out[off + 2] = a * sy + b * ey;
+        out[off + 3] = a * sz + b * ez;
+    }
+
+    private static void nlerp(float sw, float sx, float sy, float sz,
+                              float ew, float ex, float ey, float ez,
+                              float f, float[] out, int off) {
+        float w = sw + (ew - sw) * f;
+        float x = sx + (ex - sx) * f;
+        float y = sy + (ey - sy) * f;
+        float z = sz + (ez - sz) * f;
+        float invLen = (float) (1.0 / Math.sqrt(w * w + x * x + y * y + z * z));
+        out[off] = w * invLen;
+        out[off + 1] = x * invLen;
+        out[off + 2] = y * invLen;
+        out[off + 3] = z * invLen;
+    }
 }
@@ -28,6 +28,9 @@ package eu.matejkormuth.math.ranges;
 
 import lombok.Getter;
 
+import java.util.stream.DoubleStream;
+import java.util.stream.StreamSupport;
+
 public class FloatRange {
     @Getter
     private final float min;
@@ -39,6 +42,67 @@ public class FloatRange {
         this.max = max;
     }
 
+    /**
+     * Returns stream of <code>samples</code> evenly spaced values, first of them being
+     * <code>min</code> and last <code>max</code>. Stream is sized and splits into equal
+     * halves, so it can be processed in parallel efficiently.
+     *
+     * @param samples number of values
+     * @return stream of sampled values
+     */
+    public DoubleStream samples(int samples) {
+        return StreamSupport.doubleStream(sampleSpliterator(samples), false);
+    }
+
+    /**
+     * Returns stream of values <code>min, min + step, min + 2 * step, ...</code> not
+     * exceeding <code>max</code>.
+     *
+     * @param step positive step
+     * @return stream of stepped values
+     */
+    public DoubleStream stream(float step) {
+        int count = LinearSpliterator.steppedCount(min, max, step);
+        double last = min + (count - 1) * (double) step;
+        return StreamSupport.doubleStream(new LinearSpliterator(min, step, last, count, true), false);
+    }
+
+    // same values as samples(samples), without stream overhead
+    public void forEach(int samples, FloatConsumer consumer) {
+        LinearSpliterator values = sampleSpliterator(samples);
+        for (int i = 0; i < samples; i++) {
+            consumer.accept((float) values.value(i));
+        }
+    }
+
+    /**
+     * Writes the same values as {@link #samples(int)} returns into specified buffer and
+     * passes it to the consumer each time it is filled (last chunk may be shorter).
+     *
+     * @param samples  number of values
+     * @param buffer   reused buffer, its length determines size of chunks
+     * @param consumer consumer of chunks
+     */
+    public void forEachChunk(int samples, float[] buffer, FloatChunkConsumer consumer) {
+        if (buffer.length == 0) {
+            throw new IllegalArgumentException("buffer must not be empty");
+        }
+        LinearSpliterator values = sampleSpliterator(samples);
+        for (int offset = 0; offset < samples; offset += buffer.length) {
+            int length = Math.min(buffer.length, samples - offset);
+            for (int i = 0; i < length; i++) {
+                buffer[i] = (float) values.value(offset + i);
+            }
+            consumer.accept(buffer, length);
+        }
+    }
+
+    private LinearSpliterator sampleSpliterator(int samples) {
+        LinearSpliterator.checkSamples(samples);
+        double step = samples > 1 ? ((double) max - min) / (samples - 1) : 0;
+        return new LinearSpliterator(min, step, samples > 1 ? max : min, samples, true);
+    }
+
     public boolean isInside(float n) {
         return n >= min && n <= max;
     }
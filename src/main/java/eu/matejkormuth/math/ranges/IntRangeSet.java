@@ -0,0 +1,183 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.ranges;
+
+import eu.matejkormuth.annotations.Immutable;
+import lombok.EqualsAndHashCode;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+
+/**
+ * Immutable set of disjoint inclusive {@link IntRange}s. Overlapping and adjacent ranges are
+ * merged on construction and bounds are kept in two sorted primitive arrays, so
+ * membership test is a binary search over contiguous memory.
+ */
+@Immutable
+@EqualsAndHashCode
+public final class IntRangeSet {
+
+    public static final IntRangeSet EMPTY = new IntRangeSet(new int[0], new int[0], 0);
+
+    private final int[] mins;
+    private final int[] maxs;
+
+    private IntRangeSet(int[] mins, int[] maxs, int count) {
+        this.mins = count == mins.length ? mins : Arrays.copyOf(mins, count);
+        this.maxs = count == maxs.length ? maxs : Arrays.copyOf(maxs, count);
+    }
+
+    public static IntRangeSet of(IntRange... ranges) {
+        return of(Arrays.asList(ranges));
+    }
+
+    /**
+     * Creates set containing all numbers inside of at least one of specified ranges.
+     * Ranges with minimum greater than maximum are ignored.
+     *
+     * @param ranges ranges to create set from
+     * @return set of ranges
+     */
+    public static IntRangeSet of(Collection<IntRange> ranges) {
+        IntRange[] sorted = ranges.toArray(new IntRange[ranges.size()]);
+        Arrays.sort(sorted, Comparator.comparingInt(IntRange::getMin));
+        int[] mins = new int[sorted.length];
+        int[] maxs = new int[sorted.length];
+        int count = 0;
+        for (IntRange range : sorted) {
+            count = append(mins, maxs, count, range.getMin(), range.getMax());
+        }
+        return count == 0 ? EMPTY : new IntRangeSet(mins, maxs, count);
+    }
+
+    public boolean contains(int n) {
+        // index of last range starting at or before n
+        int low = 0;
+        int high = mins.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (mins[mid] <= n) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high >= 0 && n <= maxs[high];
+    }
+
+    // dst[i] = contains(values[i]) for i in [from; to)
+    public void contains(int[] values, boolean[] dst, int from, int to) {
+        for (int i = from; i < to; i++) {
+            dst[i] = contains(values[i]);
+        }
+    }
+
+    public IntRangeSet union(IntRangeSet other) {
+        int[] mins = new int[this.mins.length + other.mins.length];
+        int[] maxs = new int[mins.length];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < this.mins.length || j < other.mins.length) {
+            if (j == other.mins.length || (i < this.mins.length && this.mins[i] <= other.mins[j])) {
+                count = append(mins, maxs, count, this.mins[i], this.maxs[i]);
+                i++;
+            } else {
+                count = append(mins, maxs, count, other.mins[j], other.maxs[j]);
+                j++;
+            }
+        }
+        return count == 0 ? EMPTY : new IntRangeSet(mins, maxs, count);
+    }
+
+    public IntRangeSet intersection(IntRangeSet other) {
+        int[] mins = new int[this.mins.length + other.mins.length];
+        int[] maxs = new int[mins.length];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < this.mins.length && j < other.mins.length) {
+            int low = Math.max(this.mins[i], other.mins[j]);
+            int high = Math.min(this.maxs[i], other.maxs[j]);
+            if (low <= high) {
+                mins[count] = low;
+                maxs[count] = high;
+                count++;
+            }
+            if (this.maxs[i] < other.maxs[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return count == 0 ? EMPTY : new IntRangeSet(mins, maxs, count);
+    }
+
+    public boolean isEmpty() {
+        return mins.length == 0;
+    }
+
+    // number of disjoint ranges in this set
+    public int size() {
+        return mins.length;
+    }
+
+    public IntRange get(int index) {
+        return new IntRange(mins[index], maxs[index]);
+    }
+
+    // ranges must be appended in ascending order of their minimums
+    private static int append(int[] mins, int[] maxs, int count, int min, int max) {
+        if (min > max) {
+            return count;
+        }
+        if (count > 0) {
+            int last = maxs[count - 1];
+            // overlapping or adjacent, min - 1 can not overflow when min > last
+            if (min <= last || min - 1 == last) {
+                maxs[count - 1] = Math.max(last, max);
+                return count;
+            }
+        }
+        mins[count] = min;
+        maxs[count] = max;
+        return count + 1;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < mins.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append('<').append(mins[i]).append("; ").append(maxs[i]).append('>');
+        }
+        return builder.append(']').toString();
+    }
+}
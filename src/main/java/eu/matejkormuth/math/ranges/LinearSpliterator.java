@@ -0,0 +1,128 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.ranges;
+
+import java.util.Spliterator;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Spliterator over values <code>start + i * step</code> for indices in
+ * <code>[from; to)</code>. Each value is computed from its index, so splitting does not
+ * accumulate rounding errors and every part knows its exact size.
+ */
+class LinearSpliterator implements Spliterator.OfDouble {
+
+    private static final int CHARACTERISTICS = SIZED | SUBSIZED | ORDERED | IMMUTABLE | NONNULL;
+
+    private final double start;
+    private final double step;
+    // value returned for the last index, so that sampling ends exactly at the range end
+    private final double last;
+    private final int lastIndex;
+    private final boolean floatPrecision;
+    private int from;
+    private final int to;
+
+    LinearSpliterator(double start, double step, double last, int count, boolean floatPrecision) {
+        this(start, step, last, count - 1, floatPrecision, 0, count);
+    }
+
+    private LinearSpliterator(double start, double step, double last, int lastIndex,
+                              boolean floatPrecision, int from, int to) {
+        this.start = start;
+        this.step = step;
+        this.last = last;
+        this.lastIndex = lastIndex;
+        this.floatPrecision = floatPrecision;
+        this.from = from;
+        this.to = to;
+    }
+
+    double value(int index) {
+        double value = index == lastIndex ? last : start + index * step;
+        return floatPrecision ? (float) value : value;
+    }
+
+    @Override
+    public boolean tryAdvance(DoubleConsumer action) {
+        if (from >= to) {
+            return false;
+        }
+        action.accept(value(from++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(DoubleConsumer action) {
+        for (int i = from; i < to; i++) {
+            action.accept(value(i));
+        }
+        from = to;
+    }
+
+    @Override
+    public Spliterator.OfDouble trySplit() {
+        int mid = (from + to) >>> 1;
+        if (mid <= from) {
+            return null;
+        }
+        LinearSpliterator prefix = new LinearSpliterator(start, step, last, lastIndex, floatPrecision, from, mid);
+        from = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return to - from;
+    }
+
+    @Override
+    public int characteristics() {
+        return CHARACTERISTICS;
+    }
+
+    // number of values start, start + step, ... not exceeding end
+    static int steppedCount(double start, double end, double step) {
+        if (!(step > 0)) {
+            throw new IllegalArgumentException("step must be positive");
+        }
+        if (end < start) {
+            return 0;
+        }
+        double count = Math.floor((end - start) / step) + 1;
+        if (count > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("too many steps: " + count);
+        }
+        return (int) count;
+    }
+
+    static void checkSamples(int samples) {
+        if (samples < 0) {
+            throw new IllegalArgumentException("samples must not be negative");
+        }
+    }
+}
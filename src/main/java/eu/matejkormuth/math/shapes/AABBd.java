@@ -0,0 +1,224 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.shapes;
+
+import eu.matejkormuth.annotations.Immutable;
+import eu.matejkormuth.math.matrices.Matrix4d;
+import eu.matejkormuth.math.vectors.Vector3d;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import javax.annotation.Nullable;
+
+/**
+ * Axis-aligned bounding box given by its minimum and maximum corner. Box with any minimum
+ * coordinate greater than the maximum one is empty, {@link #EMPTY} is the identity of
+ * {@link #union(AABBd)}.
+ */
+@EqualsAndHashCode
+@ToString
+@Immutable
+public class AABBd {
+
+    public static final AABBd EMPTY = new AABBd(
+            new Vector3d(Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY),
+            new Vector3d(Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY));
+
+    @Getter
+    private final Vector3d min;
+    @Getter
+    private final Vector3d max;
+
+    public AABBd(Vector3d min, Vector3d max) {
+        this.min = min;
+        this.max = max;
+    }
+
+    public AABBd(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        this(new Vector3d(minX, minY, minZ), new Vector3d(maxX, maxY, maxZ));
+    }
+
+    public static AABBd fromPoints(Vector3d... points) {
+        AABBd box = EMPTY;
+        for (Vector3d point : points) {
+            box = box.union(point);
+        }
+        return box;
+    }
+
+    public static AABBd fromCenter(Vector3d center, Vector3d halfExtents) {
+        return new AABBd(center.subtract(halfExtents), center.add(halfExtents));
+    }
+
+    public boolean isEmpty() {
+        return min.getX() > max.getX() || min.getY() > max.getY() || min.getZ() > max.getZ();
+    }
+
+    public Vector3d getCenter() {
+        return new Vector3d((min.getX() + max.getX()) * 0.5, (min.getY() + max.getY()) * 0.5,
+                (min.getZ() + max.getZ()) * 0.5);
+    }
+
+    public Vector3d getSize() {
+        return max.subtract(min);
+    }
+
+    public double volume() {
+        if (isEmpty()) {
+            return 0;
+        }
+        return (max.getX() - min.getX()) * (max.getY() - min.getY()) * (max.getZ() - min.getZ());
+    }
+
+    public double surfaceArea() {
+        if (isEmpty()) {
+            return 0;
+        }
+        double dx = max.getX() - min.getX();
+        double dy = max.getY() - min.getY();
+        double dz = max.getZ() - min.getZ();
+        return 2 * (dx * dy + dy * dz + dz * dx);
+    }
+
+    public boolean contains(Vector3d point) {
+        return contains(point.getX(), point.getY(), point.getZ());
+    }
+
+    public boolean contains(double x, double y, double z) {
+        return x >= min.getX() && x <= max.getX() && y >= min.getY() && y <= max.getY()
+                && z >= min.getZ() && z <= max.getZ();
+    }
+
+    public boolean contains(AABBd box) {
+        return box.min.getX() >= min.getX() && box.max.getX() <= max.getX()
+                && box.min.getY() >= min.getY() && box.max.getY() <= max.getY()
+                && box.min.getZ() >= min.getZ() && box.max.getZ() <= max.getZ();
+    }
+
+    // touching boxes intersect
+    public boolean intersects(AABBd box) {
+        return box.min.getX() <= max.getX() && box.max.getX() >= min.getX()
+                && box.min.getY() <= max.getY() && box.max.getY() >= min.getY()
+                && box.min.getZ() <= max.getZ() && box.max.getZ() >= min.getZ();
+    }
+
+    public boolean intersectsSphere(Vector3d center, double radius) {
+        return distanceSquared(center) <= radius * radius;
+    }
+
+    // squared distance from point to the closest point of this box, zero for points inside
+    public double distanceSquared(Vector3d point) {
+        double dx = Math.max(0, Math.max(min.getX() - point.getX(), point.getX() - max.getX()));
+        double dy = Math.max(0, Math.max(min.getY() - point.getY(), point.getY() - max.getY()));
+        double dz = Math.max(0, Math.max(min.getZ() - point.getZ(), point.getZ() - max.getZ()));
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    public Vector3d closestPoint(Vector3d point) {
+        return new Vector3d(Math.min(max.getX(), Math.max(min.getX(), point.getX())),
+                Math.min(max.getY(), Math.max(min.getY(), point.getY())),
+                Math.min(max.getZ(), Math.max(min.getZ(), point.getZ())));
+    }
+
+    public AABBd union(AABBd box) {
+        return new AABBd(Math.min(min.getX(), box.min.getX()), Math.min(min.getY(), box.min.getY()),
+                Math.min(min.getZ(), box.min.getZ()), Math.max(max.getX(), box.max.getX()),
+                Math.max(max.getY(), box.max.getY()), Math.max(max.getZ(), box.max.getZ()));
+    }
+
+    public AABBd union(Vector3d point) {
+        return new AABBd(Math.min(min.getX(), point.getX()), Math.min(min.getY(), point.getY()),
+                Math.min(min.getZ(), point.getZ()), Math.max(max.getX(), point.getX()),
+                Math.max(max.getY(), point.getY()), Math.max(max.getZ(), point.getZ()));
+    }
+
+    @Nullable
+    public AABBd intersection(AABBd box) {
+        if (!intersects(box)) {
+            return null;
+        }
+        return new AABBd(Math.max(min.getX(), box.min.getX()), Math.max(min.getY(), box.min.getY()),
+                Math.max(min.getZ(), box.min.getZ()), Math.min(max.getX(), box.max.getX()),
+                Math.min(max.getY(), box.max.getY()), Math.min(max.getZ(), box.max.getZ()));
+    }
+
+    public AABBd expand(double amount) {
+        return new AABBd(min.subtract(amount, amount, amount), max.add(amount, amount, amount));
+    }
+
+    public AABBd translate(Vector3d offset) {
+        return new AABBd(min.add(offset), max.add(offset));
+    }
+
+    /**
+     * Returns the smallest box containing this box transformed by specified affine matrix,
+     * computed from the matrix elements directly instead of transforming all eight corners
+     * (J. Arvo, Transforming Axis-Aligned Bounding Boxes).
+     *
+     * @param m affine transformation
+     * @return bounding box of transformed box
+     */
+    public AABBd transform(Matrix4d m) {
+        if (isEmpty()) {
+            return this;
+        }
+        double[] lo = {min.getX(), min.getY(), min.getZ()};
+        double[] hi = {max.getX(), max.getY(), max.getZ()};
+        double[] newMin = new double[3];
+        double[] newMax = new double[3];
+        for (int row = 0; row < 3; row++) {
+            double a = m.get(row, 3);
+            double b = a;
+            for (int col = 0; col < 3; col++) {
+                double e = m.get(row, col) * lo[col];
+                double f = m.get(row, col) * hi[col];
+                a += Math.min(e, f);
+                b += Math.max(e, f);
+            }
+            newMin[row] = a;
+            newMax[row] = b;
+        }
+        return new AABBd(newMin[0], newMin[1], newMin[2], newMax[0], newMax[1], newMax[2]);
+    }
+
+    // writes minX, minY, minZ, maxX, maxY, maxZ to dest starting at offset
+    public double[] toArray(double[] dest, int offset) {
+        dest[offset] = min.getX();
+        dest[offset + 1] = min.getY();
+        dest[offset + 2] = min.getZ();
+        dest[offset + 3] = max.getX();
+        dest[offset + 4] = max.getY();
+        dest[offset + 5] = max.getZ();
+        return dest;
+    }
+
+    public AABBf toFloat() {
+        return new AABBf((float) min.getX(), (float) min.getY(), (float) min.getZ(),
+                (float) max.getX(), (float) max.getY(), (float) max.getZ());
+    }
+}
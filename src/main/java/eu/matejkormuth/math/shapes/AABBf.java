@@ -0,0 +1,223 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.shapes;
+
+import eu.matejkormuth.annotations.Immutable;
+import eu.matejkormuth.math.matrices.Matrix4f;
+import eu.matejkormuth.math.vectors.Vector3f;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import javax.annotation.Nullable;
+
+/**
+ * Axis-aligned bounding box given by its minimum and maximum corner. Box with any minimum
+ * coordinate greater than the maximum one is empty, {@link #EMPTY} is the identity of
+ * {@link #union(AABBf)}.
+ */
+@EqualsAndHashCode
+@ToString
+@Immutable
+public class AABBf {
+
+    public static final AABBf EMPTY = new AABBf(
+            new Vector3f(Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY),
+            new Vector3f(Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY));
+
+    @Getter
+    private final Vector3f min;
+    @Getter
+    private final Vector3f max;
+
+    public AABBf(Vector3f min, Vector3f max) {
+        this.min = min;
+        this.max = max;
+    }
+
+    public AABBf(float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        this(new Vector3f(minX, minY, minZ), new Vector3f(maxX, maxY, maxZ));
+    }
+
+    public static AABBf fromPoints(Vector3f... points) {
+        AABBf box = EMPTY;
+        for (Vector3f point : points) {
+            box = box.union(point);
+        }
+        return box;
+    }
+
+    public static AABBf fromCenter(Vector3f center, Vector3f halfExtents) {
+        return new AABBf(center.subtract(halfExtents), center.add(halfExtents));
+    }
+
+    public boolean isEmpty() {
+        return min.getX() > max.getX() || min.getY() > max.getY() || min.getZ() > max.getZ();
+    }
+
+    public Vector3f getCenter() {
+        return new Vector3f((min.getX() + max.getX()) * 0.5f, (min.getY() + max.getY()) * 0.5f,
+                (min.getZ() + max.getZ()) * 0.5f);
+    }
+
+    public Vector3f getSize() {
+        return max.subtract(min);
+    }
+
+    public float volume() {
+        if (isEmpty()) {
+            return 0;
+        }
+        return (max.getX() - min.getX()) * (max.getY() - min.getY()) * (max.getZ() - min.getZ());
+    }
+
+    public float surfaceArea() {
+        if (isEmpty()) {
+            return 0;
+        }
+        float dx = max.getX() - min.getX();
+        float dy = max.getY() - min.getY();
+        float dz = max.getZ() - min.getZ();
+        return 2f * (dx * dy + dy * dz + dz * dx);
+    }
+
+    public boolean contains(Vector3f point) {
+        return contains(point.getX(), point.getY(), point.getZ());
+    }
+
+    public boolean contains(float x, float y, float z) {
+        return x >= min.getX() && x <= max.getX() && y >= min.getY() && y <= max.getY()
+                && z >= min.getZ() && z <= max.getZ();
+    }
+
+    public boolean contains(AABBf box) {
+        return box.min.getX() >= min.getX() && box.max.getX() <= max.getX()
+                && box.min.getY() >= min.getY() && box.max.getY() <= max.getY()
+                && box.min.getZ() >= min.getZ() && box.max.getZ() <= max.getZ();
+    }
+
+    // touching boxes intersect
+    public boolean intersects(AABBf box) {
+        return box.min.getX() <= max.getX() && box.max.getX() >= min.getX()
+                && box.min.getY() <= max.getY() && box.max.getY() >= min.getY()
+                && box.min.getZ() <= max.getZ() && box.max.getZ() >= min.getZ();
+    }
+
+    public boolean intersectsSphere(Vector3f center, float radius) {
+        return distanceSquared(center) <= radius * radius;
+    }
+
+    // squared distance from point to the closest point of this box, zero for points inside
+    public float distanceSquared(Vector3f point) {
+        float dx = Math.max(0, Math.max(min.getX() - point.getX(), point.getX() - max.getX()));
+        float dy = Math.max(0, Math.max(min.getY() - point.getY(), point.getY() - max.getY()));
+        float dz = Math.max(0, Math.max(min.getZ() - point.getZ(), point.getZ() - max.getZ()));
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    public Vector3f closestPoint(Vector3f point) {
+        return new Vector3f(Math.min(max.getX(), Math.max(min.getX(), point.getX())),
+                Math.min(max.getY(), Math.max(min.getY(), point.getY())),
+                Math.min(max.getZ(), Math.max(min.getZ(), point.getZ())));
+    }
+
+    public AABBf union(AABBf box) {
+        return new AABBf(Math.min(min.getX(), box.min.getX()), Math.min(min.getY(), box.min.getY()),
+                Math.min(min.getZ(), box.min.getZ()), Math.max(max.getX(), box.max.getX()),
+                Math.max(max.getY(), box.max.getY()), Math.max(max.getZ(), box.max.getZ()));
+    }
+
+    public AABBf union(Vector3f point) {
+        return new AABBf(Math.min(min.getX(), point.getX()), Math.min(min.getY(), point.getY()),
+                Math.min(min.getZ(), point.getZ()), Math.max(max.getX(), point.getX()),
+                Math.max(max.getY(), point.getY()), Math.max(max.getZ(), point.getZ()));
+    }
+
+    @Nullable
+    public AABBf intersection(AABBf box) {
+        if (!intersects(box)) {
+            return null;
+        }
+        return new AABBf(Math.max(min.getX(), box.min.getX()), Math.max(min.getY(), box.min.getY()),
+                Math.max(min.getZ(), box.min.getZ()), Math.min(max.getX(), box.max.getX()),
+                Math.min(max.getY(), box.max.getY()), Math.min(max.getZ(), box.max.getZ()));
+    }
+
+    public AABBf expand(float amount) {
+        return new AABBf(min.subtract(amount, amount, amount), max.add(amount, amount, amount));
+    }
+
+    public AABBf translate(Vector3f offset) {
+        return new AABBf(min.add(offset), max.add(offset));
+    }
+
+    /**
+     * Returns the smallest box containing this box transformed by specified affine matrix,
+     * computed from the matrix elements directly instead of transforming all eight corners
+     * (J. Arvo, Transforming Axis-Aligned Bounding Boxes).
+     *
+     * @param m affine transformation
+     * @return bounding box of transformed box
+     */
+    public AABBf transform(Matrix4f m) {
+        if (isEmpty()) {
+            return this;
+        }
+        float[] lo = {min.getX(), min.getY(), min.getZ()};
+        float[] hi = {max.getX(), max.getY(), max.getZ()};
+        float[] newMin = new float[3];
+        float[] newMax = new float[3];
+        for (int row = 0; row < 3; row++) {
+            float a = m.get(row, 3);
+            float b = a;
+            for (int col = 0; col < 3; col++) {
+                float e = m.get(row, col) * lo[col];
+                float f = m.get(row, col) * hi[col];
+                a += Math.min(e, f);
+                b += Math.max(e, f);
+            }
+            newMin[row] = a;
+            newMax[row] = b;
+        }
+        return new AABBf(newMin[0], newMin[1], newMin[2], newMax[0], newMax[1], newMax[2]);
+    }
+
+    // writes minX, minY, minZ, maxX, maxY, maxZ to dest starting at offset
+    public float[] toArray(float[] dest, int offset) {
+        dest[offset] = min.getX();
+        dest[offset + 1] = min.getY();
+        dest[offset + 2] = min.getZ();
+        dest[offset + 3] = max.getX();
+        dest[offset + 4] = max.getY();
+        dest[offset + 5] = max.getZ();
+        return dest;
+    }
+
+    public AABBd toDouble() {
+        return new AABBd(min.getX(), min.getY(), min.getZ(), max.getX(), max.getY(), max.getZ());
+    }
+}
@@ -0,0 +1,238 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.shapes;
+
+import eu.matejkormuth.annotations.Immutable;
+import eu.matejkormuth.math.matrices.Matrix4f;
+import eu.matejkormuth.math.vectors.Vector3f;
+import lombok.EqualsAndHashCode;
+
+import java.util.Arrays;
+
+/**
+ * View frustum given by six planes with normals pointing inside, extracted from a
+ * view-projection matrix (G. Gribb, K. Hartmann, Fast Extraction of Viewing Frustum
+ * Planes from the World-View-Projection Matrix). Clip space is expected to be the one of
+ * {@link Matrix4f#createPerspective(float, float, float, float)}, that is
+ * <code>-w &lt;= x, y, z &lt;= w</code>.
+ * <p>
+ * Culling tests are conservative: objects reported as outside are guaranteed to be
+ * outside, objects near frustum corners may be reported as visible even though they are
+ * not. Batch methods write one bit per object into <code>long[]</code> bitmask, bit
+ * <code>i % 64</code> of word <code>i / 64</code> being set for visible object
+ * <code>i</code>; bits of objects outside the processed range are kept.
+ */
+@EqualsAndHashCode
+@Immutable
+public final class Frustum {
+
+    public static final int LEFT = 0;
+    public static final int RIGHT = 1;
+    public static final int BOTTOM = 2;
+    public static final int TOP = 3;
+    public static final int NEAR = 4;
+    public static final int FAR = 5;
+
+    // a, b, c, d of normalized plane equations ax + by + cz + d = 0
+    private final float[] planes;
+    // absolute values of plane coefficients, used to project box extents on normals
+    private final float[] absPlanes;
+
+    private Frustum(float[] planes) {
+        this.planes = planes;
+        this.absPlanes = new float[24];
+        for (int i = 0; i < 24; i++) {
+            absPlanes[i] = Math.abs(planes[i]);
+        }
+    }
+
+    public static Frustum fromMatrix(Matrix4f viewProjection) {
+        float[] m = new float[16];
+        for (int row = 0; row < 4; row++) {
+            for (int col = 0; col < 4; col++) {
+                m[row * 4 + col] = viewProjection.get(row, col);
+            }
+        }
+        float[] planes = new float[24];
+        // planes are sums and differences of the last row with the other rows
+        for (int plane = 0; plane < 6; plane++) {
+            int row = plane >> 1;
+            float sign = (plane & 1) == 0 ? 1 : -1;
+            float a = m[12] + sign * m[row * 4];
+            float b = m[13] + sign * m[row * 4 + 1];
+            float c = m[14] + sign * m[row * 4 + 2];
+            float d = m[15] + sign * m[row * 4 + 3];
+            float invLength = 1f / (float) Math.sqrt(a * a + b * b + c * c);
+            planes[plane * 4] = a * invLength;
+            planes[plane * 4 + 1] = b * invLength;
+            planes[plane * 4 + 2] = c * invLength;
+            planes[plane * 4 + 3] = d * invLength;
+        }
+        return new Frustum(planes);
+    }
+
+    // signed distance from the plane, positive on the inner side
+    public float distance(int plane, float x, float y, float z) {
+        int o = plane * 4;
+        return planes[o] * x + planes[o + 1] * y + planes[o + 2] * z + planes[o + 3];
+    }
+
+    public boolean contains(Vector3f point) {
+        return intersectsSphere(point.getX(), point.getY(), point.getZ(), 0);
+    }
+
+    public boolean intersectsSphere(Vector3f center, float radius) {
+        return intersectsSphere(center.getX(), center.getY(), center.getZ(), radius);
+    }
+
+    public boolean intersectsSphere(float x, float y, float z, float radius) {
+        for (int plane = 0; plane < 6; plane++) {
+            if (distance(plane, x, y, z) < -radius) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean intersects(AABBf box) {
+        Vector3f min = box.getMin(), max = box.getMax();
+        return intersectsBox(min.getX(), min.getY(), min.getZ(), max.getX(), max.getY(), max.getZ());
+    }
+
+    public boolean intersectsBox(float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        float[] p = planes;
+        for (int o = 0; o < 24; o += 4) {
+            // distance of the box corner farthest along plane normal
+            float distance = Math.max(p[o] * minX, p[o] * maxX) + Math.max(p[o + 1] * minY, p[o + 1] * maxY)
+                    + Math.max(p[o + 2] * minZ, p[o + 2] * maxZ) + p[o + 3];
+            if (distance < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Culls spheres stored in packed array as <code>x, y, z, radius</code> for each sphere.
+     *
+     * @param spheres packed spheres
+     * @param visible bitmask to write visibility of spheres to
+     * @param from    first sphere index (inclusive)
+     * @param to      last sphere index (exclusive)
+     * @return number of visible spheres in the range
+     */
+    public int cullSpheres(float[] spheres, long[] visible, int from, int to) {
+        float[] p = planes;
+        float a0 = p[0], b0 = p[1], c0 = p[2], d0 = p[3];
+        float a1 = p[4], b1 = p[5], c1 = p[6], d1 = p[7];
+        float a2 = p[8], b2 = p[9], c2 = p[10], d2 = p[11];
+        float a3 = p[12], b3 = p[13], c3 = p[14], d3 = p[15];
+        float a4 = p[16], b4 = p[17], c4 = p[18], d4 = p[19];
+        float a5 = p[20], b5 = p[21], c5 = p[22], d5 = p[23];
+        int count = 0;
+        int i = from;
+        while (i < to) {
+            int word = i >>> 6;
+            int end = Math.min(to, (word + 1) << 6);
+            long bits = 0;
+            long mask = 0;
+            for (; i < end; i++) {
+                int o = i * 4;
+                float x = spheres[o], y = spheres[o + 1], z = spheres[o + 2], r = spheres[o + 3];
+                // smallest distance from any plane, without branching per plane
+                float distance = Math.min(Math.min(
+                        Math.min(a0 * x + b0 * y + c0 * z + d0, a1 * x + b1 * y + c1 * z + d1),
+                        Math.min(a2 * x + b2 * y + c2 * z + d2, a3 * x + b3 * y + c3 * z + d3)),
+                        Math.min(a4 * x + b4 * y + c4 * z + d4, a5 * x + b5 * y + c5 * z + d5));
+                long bit = 1L << i;
+                mask |= bit;
+                if (distance >= -r) {
+                    bits |= bit;
+                }
+            }
+            visible[word] = (visible[word] & ~mask) | bits;
+            count += Long.bitCount(bits);
+        }
+        return count;
+    }
+
+    /**
+     * Culls boxes stored in packed array as <code>minX, minY, minZ, maxX, maxY, maxZ</code>
+     * for each box.
+     *
+     * @param boxes   packed boxes
+     * @param visible bitmask to write visibility of boxes to
+     * @param from    first box index (inclusive)
+     * @param to      last box index (exclusive)
+     * @return number of visible boxes in the range
+     */
+    public int cullBoxes(float[] boxes, long[] visible, int from, int to) {
+        // centers and half extents reduce the test to one dot product per plane
+        float[] p = planes;
+        float[] abs = absPlanes;
+        int count = 0;
+        int i = from;
+        while (i < to) {
+            int word = i >>> 6;
+            int end = Math.min(to, (word + 1) << 6);
+            long bits = 0;
+            long mask = 0;
+            for (; i < end; i++) {
+                int o = i * 6;
+                float cx = (boxes[o] + boxes[o + 3]) * 0.5f;
+                float cy = (boxes[o + 1] + boxes[o + 4]) * 0.5f;
+                float cz = (boxes[o + 2] + boxes[o + 5]) * 0.5f;
+                float ex = (boxes[o + 3] - boxes[o]) * 0.5f;
+                float ey = (boxes[o + 4] - boxes[o + 1]) * 0.5f;
+                float ez = (boxes[o + 5] - boxes[o + 2]) * 0.5f;
+                boolean inside = true;
+                for (int q = 0; q < 24 && inside; q += 4) {
+                    float distance = p[q] * cx + p[q + 1] * cy + p[q + 2] * cz + p[q + 3];
+                    float radius = abs[q] * ex + abs[q + 1] * ey + abs[q + 2] * ez;
+                    inside = distance >= -radius;
+                }
+                long bit = 1L << i;
+                mask |= bit;
+                if (inside) {
+                    bits |= bit;
+                }
+            }
+            visible[word] = (visible[word] & ~mask) | bits;
+            count += Long.bitCount(bits);
+        }
+        return count;
+    }
+
+    public static boolean isVisible(long[] visible, int i) {
+        return (visible[i >>> 6] & (1L << i)) != 0;
+    }
+
+    @Override
+    public String toString() {
+        return "Frustum" + Arrays.toString(planes);
+    }
+}
@@ -0,0 +1,251 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.shapes;
+
+import eu.matejkormuth.math.vectors.Vector3f;
+import eu.matejkormuth.math.vectors.Vector3fBuffer;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Ray intersection kernels for spheres, axis-aligned boxes (slab method) and triangles
+ * (Möller–Trumbore). Scalar kernels return distance of the nearest hit in front of the ray
+ * origin in multiples of direction length, or {@link #MISS}.
+ * <p>
+ * Batch kernels operate on the half-open index range <code>[from; to)</code> of SoA
+ * buffers. Kernels testing many rays against one primitive keep the nearest hit of each
+ * ray: they overwrite <code>distances[i]</code> and <code>hits[i]</code> only when the
+ * primitive is hit closer than <code>distances[i]</code>, so calling them for every
+ * primitive of a scene (with distances initialized to {@link #MISS} or maximum distance)
+ * leaves the nearest hits in the arrays. Kernels testing one ray against many primitives
+ * return index of the nearest one.
+ */
+@UtilityClass
+public class Intersections {
+
+    public static final float MISS = Float.POSITIVE_INFINITY;
+    // determinants smaller than this fraction of |d| |e1| |e2| mean the ray is parallel to the triangle
+    private static final float PARALLEL_EPSILON = 1e-6f;
+
+    public static float raySphere(float ox, float oy, float oz, float dx, float dy, float dz,
+                                  float cx, float cy, float cz, float radius) {
+        float lx = ox - cx, ly = oy - cy, lz = oz - cz;
+        float a = dx * dx + dy * dy + dz * dz;
+        float halfB = dx * lx + dy * ly + dz * lz;
+        float c = lx * lx + ly * ly + lz * lz - radius * radius;
+        float discriminant = halfB * halfB - a * c;
+        if (discriminant < 0) {
+            return MISS;
+        }
+        // stable roots, see QuadraticEquation
+        float q = -(halfB + Math.copySign((float) Math.sqrt(discriminant), halfB));
+        float t0 = q / a;
+        float t1 = c / q;
+        float near = Math.min(t0, t1);
+        float far = Math.max(t0, t1);
+        if (near >= 0) {
+            return near;
+        }
+        // origin inside of the sphere
+        return far >= 0 ? far : MISS;
+    }
+
+    // ray given by origin and inverse direction (1 / d per component), origin lying on
+    // a face parallel to the ray makes 0 * inf = NaN and such axis is skipped as inside
+    public static float rayBox(float ox, float oy, float oz, float ix, float iy, float iz,
+                               float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        float near = 0f;
+        float far = Float.POSITIVE_INFINITY;
+        float t1 = (minX - ox) * ix;
+        float t2 = (maxX - ox) * ix;
+        float lo = Math.min(t1, t2);
+        float hi = Math.max(t1, t2);
+        near = lo > near ? lo : near;
+        far = hi < far ? hi : far;
+        t1 = (minY - oy) * iy;
+        t2 = (maxY - oy) * iy;
+        lo = Math.min(t1, t2);
+        hi = Math.max(t1, t2);
+        near = lo > near ? lo : near;
+        far = hi < far ? hi : far;
+        t1 = (minZ - oz) * iz;
+        t2 = (maxZ - oz) * iz;
+        lo = Math.min(t1, t2);
+        hi = Math.max(t1, t2);
+        near = lo > near ? lo : near;
+        far = hi < far ? hi : far;
+        return near <= far ? near : MISS;
+    }
+
+    // both sides of the triangle are hit
+    public static float rayTriangle(float ox, float oy, float oz, float dx, float dy, float dz,
+                                    float ax, float ay, float az, float bx, float by, float bz,
+                                    float cx, float cy, float cz) {
+        float e1x = bx - ax, e1y = by - ay, e1z = bz - az;
+        float e2x = cx - ax, e2y = cy - ay, e2z = cz - az;
+        // p = d x e2
+        float px = dy * e2z - dz * e2y;
+        float py = dz * e2x - dx * e2z;
+        float pz = dx * e2y - dy * e2x;
+        float det = e1x * px + e1y * py + e1z * pz;
+        // compared squared, so the threshold scales with the triangle and the ray without sqrt
+        float scale = (dx * dx + dy * dy + dz * dz) * (e1x * e1x + e1y * e1y + e1z * e1z)
+                * (e2x * e2x + e2y * e2y + e2z * e2z);
+        if (det * det <= PARALLEL_EPSILON * PARALLEL_EPSILON * scale) {
+            return MISS;
+        }
+        float invDet = 1f / det;
+        float tx = ox - ax, ty = oy - ay, tz = oz - az;
+        float u = (tx * px + ty * py + tz * pz) * invDet;
+        if (u < 0 || u > 1) {
+            return MISS;
+        }
+        // q = t x e1
+        float qx = ty * e1z - tz * e1y;
+        float qy = tz * e1x - tx * e1z;
+        float qz = tx * e1y - ty * e1x;
+        float v = (dx * qx + dy * qy + dz * qz) * invDet;
+        if (v < 0 || u + v > 1) {
+            return MISS;
+        }
+        float t = (e2x * qx + e2y * qy + e2z * qz) * invDet;
+        return t >= 0 ? t : MISS;
+    }
+
+    // many rays, one primitive
+
+    public static void raySphere(Vector3fBuffer origins, Vector3fBuffer directions, Vector3f center, float radius,
+                                 int id, float[] distances, int[] hits, int from, int to) {
+        float[] ox = origins.getX(), oy = origins.getY(), oz = origins.getZ();
+        float[] dx = directions.getX(), dy = directions.getY(), dz = directions.getZ();
+        float cx = center.getX(), cy = center.getY(), cz = center.getZ();
+        for (int i = from; i < to; i++) {
+            float t = raySphere(ox[i], oy[i], oz[i], dx[i], dy[i], dz[i], cx, cy, cz, radius);
+            if (t < distances[i]) {
+                distances[i] = t;
+                hits[i] = id;
+            }
+        }
+    }
+
+    public static void rayBox(Vector3fBuffer origins, Vector3fBuffer directions, AABBf box,
+                              int id, float[] distances, int[] hits, int from, int to) {
+        float[] ox = origins.getX(), oy = origins.getY(), oz = origins.getZ();
+        float[] dx = directions.getX(), dy = directions.getY(), dz = directions.getZ();
+        Vector3f min = box.getMin(), max = box.getMax();
+        float minX = min.getX(), minY = min.getY(), minZ = min.getZ();
+        float maxX = max.getX(), maxY = max.getY(), maxZ = max.getZ();
+        for (int i = from; i < to; i++) {
+            float t = rayBox(ox[i], oy[i], oz[i], 1f / dx[i], 1f / dy[i], 1f / dz[i],
+                    minX, minY, minZ, maxX, maxY, maxZ);
+            if (t < distances[i]) {
+                distances[i] = t;
+                hits[i] = id;
+            }
+        }
+    }
+
+    public static void rayTriangle(Vector3fBuffer origins, Vector3fBuffer directions, Vector3f a, Vector3f b,
+                                   Vector3f c, int id, float[] distances, int[] hits, int from, int to) {
+        float[] ox = origins.getX(), oy = origins.getY(), oz = origins.getZ();
+        float[] dx = directions.getX(), dy = directions.getY(), dz = directions.getZ();
+        float ax = a.getX(), ay = a.getY(), az = a.getZ();
+        float bx = b.getX(), by = b.getY(), bz = b.getZ();
+        float cx = c.getX(), cy = c.getY(), cz = c.getZ();
+        for (int i = from; i < to; i++) {
+            float t = rayTriangle(ox[i], oy[i], oz[i], dx[i], dy[i], dz[i], ax, ay, az, bx, by, bz, cx, cy, cz);
+            if (t < distances[i]) {
+                distances[i] = t;
+                hits[i] = id;
+            }
+        }
+    }
+
+    // one ray, many primitives
+
+    /**
+     * Finds the nearest of spheres from the range hit by the ray.
+     *
+     * @param ray         the ray
+     * @param centers     centers of spheres
+     * @param radii       radii of spheres
+     * @param maxDistance maximum distance of hits
+     * @param distances   array to write distance of every sphere hit (or {@link #MISS}) to
+     * @param from        first sphere index (inclusive)
+     * @param to          last sphere index (exclusive)
+     * @return index of the nearest hit sphere or -1 when none is hit closer than maxDistance
+     */
+    public static int raySpheres(Rayf ray, Vector3fBuffer centers, float[] radii, float maxDistance,
+                                 float[] distances, int from, int to) {
+        float ox = ray.getOrigin().getX(), oy = ray.getOrigin().getY(), oz = ray.getOrigin().getZ();
+        float dx = ray.getDirection().getX(), dy = ray.getDirection().getY(), dz = ray.getDirection().getZ();
+        float[] cx = centers.getX(), cy = centers.getY(), cz = centers.getZ();
+        for (int i = from; i < to; i++) {
+            distances[i] = raySphere(ox, oy, oz, dx, dy, dz, cx[i], cy[i], cz[i], radii[i]);
+        }
+        return nearest(distances, maxDistance, from, to);
+    }
+
+    public static int rayBoxes(Rayf ray, Vector3fBuffer mins, Vector3fBuffer maxs, float maxDistance,
+                               float[] distances, int from, int to) {
+        float ox = ray.getOrigin().getX(), oy = ray.getOrigin().getY(), oz = ray.getOrigin().getZ();
+        float ix = 1f / ray.getDirection().getX();
+        float iy = 1f / ray.getDirection().getY();
+        float iz = 1f / ray.getDirection().getZ();
+        float[] minX = mins.getX(), minY = mins.getY(), minZ = mins.getZ();
+        float[] maxX = maxs.getX(), maxY = maxs.getY(), maxZ = maxs.getZ();
+        for (int i = from; i < to; i++) {
+            distances[i] = rayBox(ox, oy, oz, ix, iy, iz, minX[i], minY[i], minZ[i], maxX[i], maxY[i], maxZ[i]);
+        }
+        return nearest(distances, maxDistance, from, to);
+    }
+
+    // triangle i has vertices a[i], b[i] and c[i]
+    public static int rayTriangles(Rayf ray, Vector3fBuffer a, Vector3fBuffer b, Vector3fBuffer c, float maxDistance,
+                                   float[] distances, int from, int to) {
+        float ox = ray.getOrigin().getX(), oy = ray.getOrigin().getY(), oz = ray.getOrigin().getZ();
+        float dx = ray.getDirection().getX(), dy = ray.getDirection().getY(), dz = ray.getDirection().getZ();
+        float[] ax = a.getX(), ay = a.getY(), az = a.getZ();
+        float[] bx = b.getX(), by = b.getY(), bz = b.getZ();
+        float[] cx = c.getX(), cy = c.getY(), cz = c.getZ();
+        for (int i = from; i < to; i++) {
+            distances[i] = rayTriangle(ox, oy, oz, dx, dy, dz, ax[i], ay[i], az[i], bx[i], by[i], bz[i],
+                    cx[i], cy[i], cz[i]);
+        }
+        return nearest(distances, maxDistance, from, to);
+    }
+
+    private static int nearest(float[] distances, float maxDistance, int from, int to) {
+        int nearest = -1;
+        for (int i = from; i < to; i++) {
+            float t = distances[i];
+            if (t != MISS && t <= maxDistance && (nearest == -1 || t < distances[nearest])) {
+                nearest = i;
+            }
+        }
+        return nearest;
+    }
+}
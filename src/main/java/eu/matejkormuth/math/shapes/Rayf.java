@@ -0,0 +1,83 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.shapes;
+
+import eu.matejkormuth.annotations.Immutable;
+import eu.matejkormuth.math.vectors.Vector3f;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Ray given by its origin and direction. Direction does not have to be normalized, all
+ * distances along the ray are in multiples of its length. Intersection methods return
+ * distance of the nearest hit in front of the origin, or {@link Intersections#MISS}.
+ */
+@EqualsAndHashCode
+@ToString
+@Immutable
+public class Rayf {
+
+    @Getter
+    private final Vector3f origin;
+    @Getter
+    private final Vector3f direction;
+
+    public Rayf(Vector3f origin, Vector3f direction) {
+        this.origin = origin;
+        this.direction = direction;
+    }
+
+    // ray from start with unit direction towards target
+    public static Rayf between(Vector3f start, Vector3f target) {
+        return new Rayf(start, target.subtract(start).normalize());
+    }
+
+    public Vector3f getPoint(float distance) {
+        return new Vector3f(origin.getX() + direction.getX() * distance, origin.getY() + direction.getY() * distance,
+                origin.getZ() + direction.getZ() * distance);
+    }
+
+    public float intersectSphere(Vector3f center, float radius) {
+        return Intersections.raySphere(origin.getX(), origin.getY(), origin.getZ(),
+                direction.getX(), direction.getY(), direction.getZ(),
+                center.getX(), center.getY(), center.getZ(), radius);
+    }
+
+    public float intersectBox(AABBf box) {
+        Vector3f min = box.getMin(), max = box.getMax();
+        return Intersections.rayBox(origin.getX(), origin.getY(), origin.getZ(),
+                1f / direction.getX(), 1f / direction.getY(), 1f / direction.getZ(),
+                min.getX(), min.getY(), min.getZ(), max.getX(), max.getY(), max.getZ());
+    }
+
+    public float intersectTriangle(Vector3f a, Vector3f b, Vector3f c) {
+        return Intersections.rayTriangle(origin.getX(), origin.getY(), origin.getZ(),
+                direction.getX(), direction.getY(), direction.getZ(),
+                a.getX(), a.getY(), a.getZ(), b.getX(), b.getY(), b.getZ(), c.getX(), c.getY(), c.getZ());
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.simd;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.Iterator;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Selects {@link VectorKernels} implementation at runtime. Implementations are discovered
+ * with {@link ServiceLoader}, so adding the <code>math-simd</code> artifact to the class
+ * path (and running with <code>--add-modules jdk.incubator.vector</code>) is enough to
+ * enable the SIMD backend. When no supported implementation is found, or the system
+ * property <code>eu.matejkormuth.math.simd</code> is set to <code>false</code>,
+ * {@link ScalarVectorKernels} is used.
+ */
+@UtilityClass
+public class Kernels {
+
+    public static final String PROPERTY = "eu.matejkormuth.math.simd";
+
+    /**
+     * Returns best available kernels implementation. The lookup is done only once.
+     *
+     * @return kernels implementation
+     */
+    public static VectorKernels get() {
+        return Holder.KERNELS;
+    }
+
+    static VectorKernels select(ClassLoader classLoader) {
+        if ("false".equalsIgnoreCase(System.getProperty(PROPERTY))) {
+            return ScalarVectorKernels.INSTANCE;
+        }
+
+        Iterator<VectorKernels> iterator = ServiceLoader.load(VectorKernels.class, classLoader).iterator();
+        while (true) {
+            try {
+                if (!iterator.hasNext()) {
+                    break;
+                }
+                VectorKernels kernels = iterator.next();
+                if (kernels.isSupported()) {
+                    return kernels;
+                }
+            } catch (ServiceConfigurationError | LinkageError e) {
+                // provider can't be loaded on this JVM (e.g. the vector module is missing), try next one
+            }
+        }
+        return ScalarVectorKernels.INSTANCE;
+    }
+
+    private static final class Holder {
+        private static final VectorKernels KERNELS = select(Kernels.class.getClassLoader());
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.simd;
+
+import eu.matejkormuth.math.matrices.Matrix4f;
+import eu.matejkormuth.math.vectors.Vector3fBuffer;
+
+/**
+ * Plain Java implementation of {@link VectorKernels}, relies on auto-vectorization of
+ * the JIT compiler. Always supported.
+ */
+public class ScalarVectorKernels implements VectorKernels {
+
+    public static final ScalarVectorKernels INSTANCE = new ScalarVectorKernels();
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+
+    @Override
+    public boolean isSupported() {
+        return true;
+    }
+
+    @Override
+    public void dot(Vector3fBuffer a, Vector3fBuffer b, float[] dst, int from, int to) {
+        Vector3fBuffer.dot(a, b, dst, from, to);
+    }
+
+    @Override
+    public void normalize(Vector3fBuffer a, Vector3fBuffer dst, int from, int to) {
+        Vector3fBuffer.normalize(a, dst, from, to);
+    }
+
+    @Override
+    public void lerp(Vector3fBuffer a, Vector3fBuffer b, float f, Vector3fBuffer dst, int from, int to) {
+        Vector3fBuffer.lerp(a, b, f, dst, from, to);
+    }
+
+    @Override
+    public void transformPoints(Matrix4f m, Vector3fBuffer src, Vector3fBuffer dst, int from, int to) {
+        m.transformPoints(src, dst, from, to);
+    }
+}
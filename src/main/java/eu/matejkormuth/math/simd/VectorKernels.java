@@ -0,0 +1,64 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.simd;
+
+import eu.matejkormuth.math.matrices.Matrix4f;
+import eu.matejkormuth.math.vectors.Vector3fBuffer;
+
+/**
+ * Bulk kernels which may have an explicitly vectorized (SIMD) implementation. Use
+ * {@link Kernels#get()} to obtain the best implementation available at runtime.
+ * <p>
+ * All methods operate on the half-open index range <code>[from; to)</code> and must
+ * produce the same results as the scalar kernels in {@link Vector3fBuffer} and
+ * {@link Matrix4f} (up to floating point rounding).
+ */
+public interface VectorKernels {
+
+    /**
+     * Returns human readable name of this implementation, for logging.
+     *
+     * @return name of implementation
+     */
+    String getName();
+
+    /**
+     * Returns whether this implementation can be used on the current JVM and CPU.
+     * Implementations which are not supported are skipped by {@link Kernels#get()}.
+     *
+     * @return true if this implementation can be used
+     */
+    boolean isSupported();
+
+    void dot(Vector3fBuffer a, Vector3fBuffer b, float[] dst, int from, int to);
+
+    void normalize(Vector3fBuffer a, Vector3fBuffer dst, int from, int to);
+
+    void lerp(Vector3fBuffer a, Vector3fBuffer b, float f, Vector3fBuffer dst, int from, int to);
+
+    void transformPoints(Matrix4f m, Vector3fBuffer src, Vector3fBuffer dst, int from, int to);
+}
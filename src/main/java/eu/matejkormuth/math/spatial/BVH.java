@@ -0,0 +1,761 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.spatial;
+
+import eu.matejkormuth.annotations.Immutable;
+import eu.matejkormuth.math.shapes.AABBf;
+import eu.matejkormuth.math.shapes.Rayf;
+import eu.matejkormuth.math.vectors.Vector3f;
+import eu.matejkormuth.math.vectors.Vector3fBuffer;
+import gnu.trove.list.array.TIntArrayList;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Static bounding volume hierarchy over axis-aligned boxes identified by their int ids.
+ * It is built top-down with binned surface area heuristic: centroids of items are sorted
+ * into {@value #BINS} bins along each axis and the split with the lowest expected cost
+ * of traversal is taken, or a leaf is created when splitting does not pay off.
+ * <p>
+ * Nodes are stored in flat arrays in depth-first order, so the left child of an inner
+ * node directly follows it and only the index of the right child is stored. Queries walk
+ * the tree with an explicit stack reused per thread, so they do not allocate and may run
+ * concurrently (also from within a {@link RayIntersector}).
+ */
+@Immutable
+public final class BVH {
+
+    public static final int MAX_LEAF_SIZE = 8;
+    // subtrees with more items are built in parallel
+    static final int PARALLEL_THRESHOLD = 16384;
+
+    private static final int BINS = 16;
+    // cost of visiting a node relative to testing one item
+    private static final float TRAVERSAL_COST = 1f;
+    private static final ThreadLocal<Stacks> STACKS = ThreadLocal.withInitial(Stacks::new);
+
+    private final int size;
+    // tree ordered items; bounds are minX, minY, minZ, maxX, maxY, maxZ
+    private final int[] ids;
+    private final float[] itemBounds;
+
+    private final int nodeCount;
+    private final float[] nodeBounds;
+    // leaf: index of first item, inner node: index of right child
+    private final int[] offsets;
+    // number of items of leaf, zero for inner nodes
+    private final int[] counts;
+    private final int depth;
+
+    private BVH(int size, int[] ids, float[] itemBounds, Nodes nodes) {
+        this.size = size;
+        this.ids = ids;
+        this.itemBounds = itemBounds;
+        this.nodeCount = nodes.count;
+        this.nodeBounds = Arrays.copyOf(nodes.bounds, nodes.count * 6);
+        this.offsets = Arrays.copyOf(nodes.offsets, nodes.count);
+        this.counts = Arrays.copyOf(nodes.counts, nodes.count);
+
+        // children always follow their parent
+        int[] depths = new int[nodeCount];
+        int maxDepth = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            maxDepth = Math.max(maxDepth, depths[node]);
+            if (counts[node] == 0) {
+                depths[node + 1] = depths[node] + 1;
+                depths[offsets[node]] = depths[node] + 1;
+            }
+        }
+        this.depth = maxDepth;
+    }
+
+    public static BVH of(AABBf... boxes) {
+        float[] bounds = new float[boxes.length * 6];
+        for (int i = 0; i < boxes.length; i++) {
+            boxes[i].toArray(bounds, i * 6);
+        }
+        return build(bounds, boxes.length, ForkJoinPool.commonPool(), PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Builds hierarchy over boxes stored in packed array as <code>minX, minY, minZ, maxX,
+     * maxY, maxZ</code> for each box. Ids of boxes are their indices.
+     *
+     * @param bounds packed bounds of boxes
+     * @param count  number of boxes
+     * @return new hierarchy
+     */
+    public static BVH ofBoxes(float[] bounds, int count) {
+        return ofBoxes(bounds, count, ForkJoinPool.commonPool());
+    }
+
+    public static BVH ofBoxes(float[] bounds, int count, @Nullable ForkJoinPool pool) {
+        return build(Arrays.copyOf(bounds, count * 6), count, pool, PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Builds hierarchy over bounding boxes of indexed triangles. Ids of items are indices
+     * of triangles, so triangle <code>i</code> has vertices <code>indices[3 * i]</code>,
+     * <code>indices[3 * i + 1]</code> and <code>indices[3 * i + 2]</code>.
+     *
+     * @param vertices      vertex positions
+     * @param indices       three vertex indices per triangle
+     * @param triangleCount number of triangles
+     * @return new hierarchy
+     */
+    public static BVH ofTriangles(Vector3fBuffer vertices, int[] indices, int triangleCount) {
+        float[] vx = vertices.getX(), vy = vertices.getY(), vz = vertices.getZ();
+        float[] bounds = new float[triangleCount * 6];
+        for (int i = 0; i < triangleCount; i++) {
+            int a = indices[3 * i], b = indices[3 * i + 1], c = indices[3 * i + 2];
+            int o = i * 6;
+            bounds[o] = Math.min(vx[a], Math.min(vx[b], vx[c]));
+            bounds[o + 1] = Math.min(vy[a], Math.min(vy[b], vy[c]));
+            bounds[o + 2] = Math.min(vz[a], Math.min(vz[b], vz[c]));
+            bounds[o + 3] = Math.max(vx[a], Math.max(vx[b], vx[c]));
+            bounds[o + 4] = Math.max(vy[a], Math.max(vy[b], vy[c]));
+            bounds[o + 5] = Math.max(vz[a], Math.max(vz[b], vz[c]));
+        }
+        return build(bounds, triangleCount, ForkJoinPool.commonPool(), PARALLEL_THRESHOLD);
+    }
+
+    static BVH build(float[] bounds, int count, @Nullable ForkJoinPool pool, int parallelThreshold) {
+        int[] order = new int[count];
+        float[] centroids = new float[count * 3];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+            for (int axis = 0; axis < 3; axis++) {
+                centroids[i * 3 + axis] = (bounds[i * 6 + axis] + bounds[i * 6 + 3 + axis]) * 0.5f;
+            }
+        }
+
+        Nodes nodes;
+        if (count == 0) {
+            nodes = new Nodes(1);
+        } else {
+            Builder builder = new Builder(bounds, centroids, order, pool != null ? parallelThreshold : Integer.MAX_VALUE);
+            BuildTask root = new BuildTask(builder, 0, count);
+            nodes = pool != null && count > parallelThreshold ? pool.invoke(root) : root.compute();
+        }
+
+        // reorder items into tree order
+        int[] ids = new int[count];
+        float[] itemBounds = new float[count * 6];
+        for (int i = 0; i < count; i++) {
+            ids[i] = order[i];
+            System.arraycopy(bounds, order[i] * 6, itemBounds, i * 6, 6);
+        }
+        return new BVH(count, ids, itemBounds, nodes);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    // number of edges on the longest path from root to a leaf
+    public int depth() {
+        return depth;
+    }
+
+    // largest number of items stored in a single leaf
+    int maxLeafSize() {
+        int max = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            max = Math.max(max, counts[node]);
+        }
+        return max;
+    }
+
+    public AABBf getBounds() {
+        if (size == 0) {
+            return AABBf.EMPTY;
+        }
+        return new AABBf(nodeBounds[0], nodeBounds[1], nodeBounds[2], nodeBounds[3], nodeBounds[4], nodeBounds[5]);
+    }
+
+    /**
+     * Appends ids of all items whose bounds overlap (or touch) specified box to the result
+     * list, in no particular order.
+     *
+     * @param minX   minimum x of query box
+     * @param minY   minimum y of query box
+     * @param minZ   minimum z of query box
+     * @param maxX   maximum x of query box
+     * @param maxY   maximum y of query box
+     * @param maxZ   maximum z of query box
+     * @param result list to append found ids to
+     * @return number of found items
+     */
+    public int queryBox(float minX, float minY, float minZ, float maxX, float maxY, float maxZ,
+                        TIntArrayList result) {
+        if (size == 0) {
+            return 0;
+        }
+        Stacks stacks = STACKS.get();
+        int[] stack = stacks.acquire(depth + 1);
+        try {
+            int found = 0;
+            int sp = 0;
+            int node = 0;
+            while (true) {
+                if (overlaps(nodeBounds, node, minX, minY, minZ, maxX, maxY, maxZ)) {
+                    if (counts[node] == 0) {
+                        stack[sp++] = offsets[node];
+                        node++;
+                        continue;
+                    }
+                    for (int i = offsets[node], end = i + counts[node]; i < end; i++) {
+                        if (overlaps(itemBounds, i, minX, minY, minZ, maxX, maxY, maxZ)) {
+                            result.add(ids[i]);
+                            found++;
+                        }
+                    }
+                }
+                if (sp == 0) {
+                    return found;
+                }
+                node = stack[--sp];
+            }
+        } finally {
+            stacks.release();
+        }
+    }
+
+    public int queryBox(AABBf box, TIntArrayList result) {
+        Vector3f min = box.getMin(), max = box.getMax();
+        return queryBox(min.getX(), min.getY(), min.getZ(), max.getX(), max.getY(), max.getZ(), result);
+    }
+
+    /**
+     * Appends ids of all items whose bounds are within specified distance (inclusive) from
+     * the query point to the result list, in no particular order.
+     *
+     * @param x      x coordinate of sphere center
+     * @param y      y coordinate of sphere center
+     * @param z      z coordinate of sphere center
+     * @param radius radius of sphere
+     * @param result list to append found ids to
+     * @return number of found items
+     */
+    public int querySphere(float x, float y, float z, float radius, TIntArrayList result) {
+        if (size == 0 || radius < 0) {
+            return 0;
+        }
+        float radiusSquared = radius * radius;
+        Stacks stacks = STACKS.get();
+        int[] stack = stacks.acquire(depth + 1);
+        try {
+            int found = 0;
+            int sp = 0;
+            int node = 0;
+            while (true) {
+                if (SpatialUtils.boxDistanceSquared(nodeBounds, node, x, y, z) <= radiusSquared) {
+                    if (counts[node] == 0) {
+                        stack[sp++] = offsets[node];
+                        node++;
+                        continue;
+                    }
+                    for (int i = offsets[node], end = i + counts[node]; i < end; i++) {
+                        if (SpatialUtils.boxDistanceSquared(itemBounds, i, x, y, z) <= radiusSquared) {
+                            result.add(ids[i]);
+                            found++;
+                        }
+                    }
+                }
+                if (sp == 0) {
+                    return found;
+                }
+                node = stack[--sp];
+            }
+        } finally {
+            stacks.release();
+        }
+    }
+
+    public int querySphere(Vector3f center, float radius, TIntArrayList result) {
+        return querySphere(center.getX(), center.getY(), center.getZ(), radius, result);
+    }
+
+    /**
+     * Appends ids of all items whose bounds are hit by the ray segment between distances
+     * <code>0</code> and <code>maxDistance</code> to the result list, in no particular
+     * order. Distances are in multiples of direction length.
+     *
+     * @param ox          x coordinate of ray origin
+     * @param oy          y coordinate of ray origin
+     * @param oz          z coordinate of ray origin
+     * @param dx          x coordinate of ray direction
+     * @param dy          y coordinate of ray direction
+     * @param dz          z coordinate of ray direction
+     * @param maxDistance maximum distance along the ray
+     * @param result      list to append found ids to
+     * @return number of found items
+     */
+    public int queryRay(float ox, float oy, float oz, float dx, float dy, float dz, float maxDistance,
+                        TIntArrayList result) {
+        if (size == 0) {
+            return 0;
+        }
+        float ix = 1f / dx, iy = 1f / dy, iz = 1f / dz;
+        Stacks stacks = STACKS.get();
+        int[] stack = stacks.acquire(depth + 1);
+        try {
+            int found = 0;
+            int sp = 0;
+            int node = 0;
+            while (true) {
+                if (slab(nodeBounds, node, ox, oy, oz, ix, iy, iz, maxDistance) <= maxDistance) {
+                    if (counts[node] == 0) {
+                        stack[sp++] = offsets[node];
+                        node++;
+                        continue;
+                    }
+                    for (int i = offsets[node], end = i + counts[node]; i < end; i++) {
+                        if (slab(itemBounds, i, ox, oy, oz, ix, iy, iz, maxDistance) <= maxDistance) {
+                            result.add(ids[i]);
+                            found++;
+                        }
+                    }
+                }
+                if (sp == 0) {
+                    return found;
+                }
+                node = stack[--sp];
+            }
+        } finally {
+            stacks.release();
+        }
+    }
+
+    public int queryRay(Rayf ray, float maxDistance, TIntArrayList result) {
+        Vector3f origin = ray.getOrigin(), direction = ray.getDirection();
+        return queryRay(origin.getX(), origin.getY(), origin.getZ(), direction.getX(), direction.getY(),
+                direction.getZ(), maxDistance, result);
+    }
+
+    /**
+     * Finds the item with the closest hit along the ray. Children are visited nearer first
+     * and subtrees whose bounds are entered farther than the closest hit so far are
+     * skipped.
+     *
+     * @param ox          x coordinate of ray origin
+     * @param oy          y coordinate of ray origin
+     * @param oz          z coordinate of ray origin
+     * @param dx          x coordinate of ray direction
+     * @param dy          y coordinate of ray direction
+     * @param dz          z coordinate of ray direction
+     * @param maxDistance maximum distance along the ray
+     * @param intersector exact test of items, or null to report hits of item bounds
+     * @param hitDistance array to write distance of the hit to its first element, or null
+     * @return id of the hit item or -1 when nothing is hit
+     */
+    public int raycast(float ox, float oy, float oz, float dx, float dy, float dz, float maxDistance,
+                       @Nullable RayIntersector intersector, @Nullable float[] hitDistance) {
+        if (size == 0) {
+            return -1;
+        }
+        float ix = 1f / dx, iy = 1f / dy, iz = 1f / dz;
+        float best = maxDistance;
+        int hit = -1;
+        Stacks stacks = STACKS.get();
+        int[] stack = stacks.acquire(depth + 1);
+        try {
+            int sp = 0;
+            int node = slab(nodeBounds, 0, ox, oy, oz, ix, iy, iz, best) <= best ? 0 : -1;
+            while (true) {
+                if (node != -1) {
+                    if (counts[node] == 0) {
+                        int left = node + 1;
+                        int right = offsets[node];
+                        float tl = slab(nodeBounds, left, ox, oy, oz, ix, iy, iz, best);
+                        float tr = slab(nodeBounds, right, ox, oy, oz, ix, iy, iz, best);
+                        if (tl <= best && tr <= best) {
+                            // continue with the nearer child, the farther one is tested again when popped
+                            stack[sp++] = tl <= tr ? right : left;
+                            node = tl <= tr ? left : right;
+                            continue;
+                        } else if (tl <= best) {
+                            node = left;
+                            continue;
+                        } else if (tr <= best) {
+                            node = right;
+                            continue;
+                        }
+                    } else {
+                        for (int i = offsets[node], end = i + counts[node]; i < end; i++) {
+                            float t = slab(itemBounds, i, ox, oy, oz, ix, iy, iz, best);
+                            if (t <= best && intersector != null) {
+                                t = intersector.intersect(ids[i], ox, oy, oz, dx, dy, dz, best);
+                            }
+                            if (t <= best) {
+                                best = t;
+                                hit = ids[i];
+                            }
+                        }
+                    }
+                }
+                if (sp == 0) {
+                    break;
+                }
+                node = stack[--sp];
+                if (slab(nodeBounds, node, ox, oy, oz, ix, iy, iz, best) > best) {
+                    node = -1;
+                }
+            }
+        } finally {
+            stacks.release();
+        }
+        if (hit != -1 && hitDistance != null) {
+            hitDistance[0] = best;
+        }
+        return hit;
+    }
+
+    public int raycast(Vector3f origin, Vector3f direction, float maxDistance, @Nullable RayIntersector intersector) {
+        return raycast(origin.getX(), origin.getY(), origin.getZ(), direction.getX(), direction.getY(),
+                direction.getZ(), maxDistance, intersector, null);
+    }
+
+    public int raycast(Rayf ray, float maxDistance, @Nullable RayIntersector intersector) {
+        return raycast(ray.getOrigin(), ray.getDirection(), maxDistance, intersector);
+    }
+
+    // distance at which the ray enters i-th box clipped to [0; limit], or infinity when it misses
+    private static float slab(float[] bounds, int i, float ox, float oy, float oz,
+                              float ix, float iy, float iz, float limit) {
+        int o = i * 6;
+        float near = 0f;
+        float far = limit;
+        // origin on a face of a slab parallel to the ray gives 0 * inf = NaN, Math.min and
+        // Math.max propagate it and the comparisons below then skip that axis
+        float t1 = (bounds[o] - ox) * ix;
+        float t2 = (bounds[o + 3] - ox) * ix;
+        float lo = Math.min(t1, t2);
+        float hi = Math.max(t1, t2);
+        near = lo > near ? lo : near;
+        far = hi < far ? hi : far;
+        t1 = (bounds[o + 1] - oy) * iy;
+        t2 = (bounds[o + 4] - oy) * iy;
+        lo = Math.min(t1, t2);
+        hi = Math.max(t1, t2);
+        near = lo > near ? lo : near;
+        far = hi < far ? hi : far;
+        t1 = (bounds[o + 2] - oz) * iz;
+        t2 = (bounds[o + 5] - oz) * iz;
+        lo = Math.min(t1, t2);
+        hi = Math.max(t1, t2);
+        near = lo > near ? lo : near;
+        far = hi < far ? hi : far;
+        return near <= far ? near : Float.POSITIVE_INFINITY;
+    }
+
+    private static boolean overlaps(float[] bounds, int i, float minX, float minY, float minZ,
+                                    float maxX, float maxY, float maxZ) {
+        int o = i * 6;
+        return bounds[o] <= maxX && bounds[o + 3] >= minX && bounds[o + 1] <= maxY && bounds[o + 4] >= minY
+                && bounds[o + 2] <= maxZ && bounds[o + 5] >= minZ;
+    }
+
+    private static float halfArea(float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        float dx = maxX - minX, dy = maxY - minY, dz = maxZ - minZ;
+        return dx * dy + dy * dz + dz * dx;
+    }
+
+    @Override
+    public String toString() {
+        return "BVH[size=" + size + ", nodes=" + nodeCount + ", depth=" + depth + "]";
+    }
+
+    // traversal stacks of one thread, nested queries (from intersectors) get their own stack
+    private static final class Stacks {
+        private int[][] stacks = new int[4][];
+        private int used;
+
+        private int[] acquire(int minLength) {
+            if (used == stacks.length) {
+                stacks = Arrays.copyOf(stacks, used * 2);
+            }
+            int[] stack = stacks[used];
+            if (stack == null || stack.length < minLength) {
+                stack = stacks[used] = new int[Math.max(64, minLength)];
+            }
+            used++;
+            return stack;
+        }
+
+        private void release() {
+            used--;
+        }
+    }
+
+    // growable flat node storage used during build
+    private static final class Nodes {
+        private float[] bounds;
+        private int[] offsets;
+        private int[] counts;
+        private int count;
+
+        private Nodes(int capacity) {
+            bounds = new float[capacity * 6];
+            offsets = new int[capacity];
+            counts = new int[capacity];
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > offsets.length) {
+                capacity = Math.max(capacity, offsets.length * 2);
+                bounds = Arrays.copyOf(bounds, capacity * 6);
+                offsets = Arrays.copyOf(offsets, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+            }
+        }
+
+        private int allocate() {
+            ensureCapacity(count + 1);
+            return count++;
+        }
+
+        // appends subtree built into separate storage
+        private void append(Nodes subtree) {
+            ensureCapacity(count + subtree.count);
+            int base = count;
+            System.arraycopy(subtree.bounds, 0, bounds, base * 6, subtree.count * 6);
+            System.arraycopy(subtree.counts, 0, counts, base, subtree.count);
+            for (int i = 0; i < subtree.count; i++) {
+                // item offsets of leaves are global, child indices are local
+                offsets[base + i] = subtree.counts[i] > 0 ? subtree.offsets[i] : subtree.offsets[i] + base;
+            }
+            count += subtree.count;
+        }
+    }
+
+    // state shared by all build tasks, tasks work on disjoint ranges of order
+    private static final class Builder {
+        private final float[] bounds;
+        private final float[] centroids;
+        private final int[] order;
+        private final int parallelThreshold;
+
+        private Builder(float[] bounds, float[] centroids, int[] order, int parallelThreshold) {
+            this.bounds = bounds;
+            this.centroids = centroids;
+            this.order = order;
+            this.parallelThreshold = parallelThreshold;
+        }
+    }
+
+    // builds subtree of items in range [start; end) of order into new storage
+    private static final class BuildTask extends RecursiveTask<Nodes> {
+        private final Builder builder;
+        private final int start;
+        private final int end;
+
+        // per task scratch of binning
+        private final int[] binCounts = new int[BINS];
+        private final float[] binBounds = new float[BINS * 6];
+        private final float[] rightAreas = new float[BINS];
+        private final int[] rightCounts = new int[BINS];
+
+        private BuildTask(Builder builder, int start, int end) {
+            this.builder = builder;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected Nodes compute() {
+            Nodes nodes = new Nodes(Math.max(16, 2 * (end - start) / 4));
+            build(nodes, start, end);
+            return nodes;
+        }
+
+        private void build(Nodes nodes, int start, int end) {
+            float[] bounds = builder.bounds;
+            float[] centroids = builder.centroids;
+            int[] order = builder.order;
+
+            int node = nodes.allocate();
+            float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY, minZ = Float.POSITIVE_INFINITY;
+            float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY, maxZ = Float.NEGATIVE_INFINITY;
+            float[] cmin = {Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY};
+            float[] cmax = {Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY};
+            for (int i = start; i < end; i++) {
+                int o = order[i] * 6;
+                minX = Math.min(minX, bounds[o]);
+                minY = Math.min(minY, bounds[o + 1]);
+                minZ = Math.min(minZ, bounds[o + 2]);
+                maxX = Math.max(maxX, bounds[o + 3]);
+                maxY = Math.max(maxY, bounds[o + 4]);
+                maxZ = Math.max(maxZ, bounds[o + 5]);
+                for (int axis = 0; axis < 3; axis++) {
+                    float c = centroids[order[i] * 3 + axis];
+                    cmin[axis] = Math.min(cmin[axis], c);
+                    cmax[axis] = Math.max(cmax[axis], c);
+                }
+            }
+            int b = node * 6;
+            nodes.bounds[b] = minX;
+            nodes.bounds[b + 1] = minY;
+            nodes.bounds[b + 2] = minZ;
+            nodes.bounds[b + 3] = maxX;
+            nodes.bounds[b + 4] = maxY;
+            nodes.bounds[b + 5] = maxZ;
+
+            int count = end - start;
+            float area = halfArea(minX, minY, minZ, maxX, maxY, maxZ);
+            int bestAxis = -1;
+            int bestBin = 0;
+            float bestCost = Float.POSITIVE_INFINITY;
+            if (count > 1) {
+                for (int axis = 0; axis < 3; axis++) {
+                    if (!(cmax[axis] > cmin[axis])) {
+                        continue;
+                    }
+                    float scale = BINS / (cmax[axis] - cmin[axis]);
+                    binItems(start, end, axis, cmin[axis], scale);
+
+                    // sweep from right collecting areas and counts of right sides
+                    float rMinX = Float.POSITIVE_INFINITY, rMinY = Float.POSITIVE_INFINITY, rMinZ = Float.POSITIVE_INFINITY;
+                    float rMaxX = Float.NEGATIVE_INFINITY, rMaxY = Float.NEGATIVE_INFINITY, rMaxZ = Float.NEGATIVE_INFINITY;
+                    int rCount = 0;
+                    for (int bin = BINS - 1; bin > 0; bin--) {
+                        int o = bin * 6;
+                        rMinX = Math.min(rMinX, binBounds[o]);
+                        rMinY = Math.min(rMinY, binBounds[o + 1]);
+                        rMinZ = Math.min(rMinZ, binBounds[o + 2]);
+                        rMaxX = Math.max(rMaxX, binBounds[o + 3]);
+                        rMaxY = Math.max(rMaxY, binBounds[o + 4]);
+                        rMaxZ = Math.max(rMaxZ, binBounds[o + 5]);
+                        rCount += binCounts[bin];
+                        rightCounts[bin] = rCount;
+                        rightAreas[bin] = rCount == 0 ? 0 : halfArea(rMinX, rMinY, rMinZ, rMaxX, rMaxY, rMaxZ);
+                    }
+
+                    float lMinX = Float.POSITIVE_INFINITY, lMinY = Float.POSITIVE_INFINITY, lMinZ = Float.POSITIVE_INFINITY;
+                    float lMaxX = Float.NEGATIVE_INFINITY, lMaxY = Float.NEGATIVE_INFINITY, lMaxZ = Float.NEGATIVE_INFINITY;
+                    int lCount = 0;
+                    for (int bin = 1; bin < BINS; bin++) {
+                        int o = (bin - 1) * 6;
+                        lMinX = Math.min(lMinX, binBounds[o]);
+                        lMinY = Math.min(lMinY, binBounds[o + 1]);
+                        lMinZ = Math.min(lMinZ, binBounds[o + 2]);
+                        lMaxX = Math.max(lMaxX, binBounds[o + 3]);
+                        lMaxY = Math.max(lMaxY, binBounds[o + 4]);
+                        lMaxZ = Math.max(lMaxZ, binBounds[o + 5]);
+                        lCount += binCounts[bin - 1];
+                        if (lCount == 0 || rightCounts[bin] == 0) {
+                            continue;
+                        }
+                        float cost = halfArea(lMinX, lMinY, lMinZ, lMaxX, lMaxY, lMaxZ) * lCount
+                                + rightAreas[bin] * rightCounts[bin];
+                        if (cost < bestCost) {
+                            bestCost = cost;
+                            bestAxis = axis;
+                            bestBin = bin;
+                        }
+                    }
+                }
+            }
+
+            // costs are scaled by area of this node
+            boolean leaf = count <= MAX_LEAF_SIZE
+                    && (bestAxis == -1 || TRAVERSAL_COST * area + bestCost >= count * area);
+            if (leaf) {
+                nodes.offsets[node] = start;
+                nodes.counts[node] = count;
+                return;
+            }
+
+            int mid;
+            if (bestAxis == -1) {
+                // all centroids coincide, no plane separates them so split by index
+                mid = (start + end) >>> 1;
+            } else {
+                // partition items by split bin
+                float origin = cmin[bestAxis];
+                float scale = BINS / (cmax[bestAxis] - cmin[bestAxis]);
+                mid = start;
+                for (int i = start; i < end; i++) {
+                    int item = order[i];
+                    if (bin(centroids[item * 3 + bestAxis], origin, scale) < bestBin) {
+                        order[i] = order[mid];
+                        order[mid++] = item;
+                    }
+                }
+            }
+
+            nodes.counts[node] = 0;
+            if (count > builder.parallelThreshold) {
+                BuildTask left = new BuildTask(builder, start, mid);
+                BuildTask right = new BuildTask(builder, mid, end);
+                right.fork();
+                nodes.append(left.compute());
+                nodes.offsets[node] = nodes.count;
+                nodes.append(right.join());
+            } else {
+                build(nodes, start, mid);
+                nodes.offsets[node] = nodes.count;
+                build(nodes, mid, end);
+            }
+        }
+
+        private void binItems(int start, int end, int axis, float origin, float scale) {
+            float[] bounds = builder.bounds;
+            int[] order = builder.order;
+            Arrays.fill(binCounts, 0);
+            for (int bin = 0; bin < BINS; bin++) {
+                int o = bin * 6;
+                binBounds[o] = binBounds[o + 1] = binBounds[o + 2] = Float.POSITIVE_INFINITY;
+                binBounds[o + 3] = binBounds[o + 4] = binBounds[o + 5] = Float.NEGATIVE_INFINITY;
+            }
+            for (int i = start; i < end; i++) {
+                int item = order[i];
+                int bin = bin(builder.centroids[item * 3 + axis], origin, scale);
+                binCounts[bin]++;
+                int o = bin * 6;
+                int ib = item * 6;
+                binBounds[o] = Math.min(binBounds[o], bounds[ib]);
+                binBounds[o + 1] = Math.min(binBounds[o + 1], bounds[ib + 1]);
+                binBounds[o + 2] = Math.min(binBounds[o + 2], bounds[ib + 2]);
+                binBounds[o + 3] = Math.max(binBounds[o + 3], bounds[ib + 3]);
+                binBounds[o + 4] = Math.max(binBounds[o + 4], bounds[ib + 4]);
+                binBounds[o + 5] = Math.max(binBounds[o + 5], bounds[ib + 5]);
+            }
+        }
+
+        private static int bin(float centroid, float origin, float scale) {
+            return Math.min(BINS - 1, (int) ((centroid - origin) * scale));
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.spatial;
+
+import eu.matejkormuth.math.vectors.Vector3fBuffer;
+import lombok.experimental.UtilityClass;
+
+import java.util.Arrays;
+
+/**
+ * Orders points along Morton or Hilbert curve, so that points close in space end up close
+ * in memory. Points are quantized to a grid of 2^21 cells along each axis spanning their
+ * bounding box and sorted by their curve codes with LSD radix sort.
+ * <p>
+ * Orders are returned as arrays of original indices: <code>order[i]</code> is the index of
+ * the point which belongs to position <code>i</code>. The same order may be used to
+ * reorder other per-point attributes with {@link #permute(float[], int[], float[])}.
+ */
+@UtilityClass
+public class CurveOrder {
+
+    private static final int RADIX_BITS = 11;
+    private static final int RADIX = 1 << RADIX_BITS;
+
+    public static int[] mortonOrder(Vector3fBuffer points, int from, int to) {
+        return order(points, from, to, false);
+    }
+
+    public static int[] hilbertOrder(Vector3fBuffer points, int from, int to) {
+        return order(points, from, to, true);
+    }
+
+    // sorts the whole buffer in place, returns original indices of points at each position
+    public static int[] sortByMorton(Vector3fBuffer points) {
+        int[] order = mortonOrder(points, 0, points.size());
+        permute(points, order);
+        return order;
+    }
+
+    public static int[] sortByHilbert(Vector3fBuffer points) {
+        int[] order = hilbertOrder(points, 0, points.size());
+        permute(points, order);
+        return order;
+    }
+
+    // dst[i] = src[order[i]], arrays must not be the same
+    public static void permute(float[] src, int[] order, float[] dst) {
+        for (int i = 0; i < order.length; i++) {
+            dst[i] = src[order[i]];
+        }
+    }
+
+    public static void permute(int[] src, int[] order, int[] dst) {
+        for (int i = 0; i < order.length; i++) {
+            dst[i] = src[order[i]];
+        }
+    }
+
+    private static void permute(Vector3fBuffer points, int[] order) {
+        float[] tmp = new float[order.length];
+        for (float[] component : new float[][]{points.getX(), points.getY(), points.getZ()}) {
+            permute(component, order, tmp);
+            System.arraycopy(tmp, 0, component, 0, tmp.length);
+        }
+    }
+
+    private static int[] order(Vector3fBuffer points, int from, int to, boolean hilbert) {
+        float[] xs = points.getX(), ys = points.getY(), zs = points.getZ();
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY, minZ = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY, maxZ = Float.NEGATIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            minX = Math.min(minX, xs[i]);
+            minY = Math.min(minY, ys[i]);
+            minZ = Math.min(minZ, zs[i]);
+            maxX = Math.max(maxX, xs[i]);
+            maxY = Math.max(maxY, ys[i]);
+            maxZ = Math.max(maxZ, zs[i]);
+        }
+
+        int count = to - from;
+        long[] keys = new long[count];
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            int x = (int) MortonCode.quantize(xs[from + i], minX, maxX, MortonCode.MAX_3D);
+            int y = (int) MortonCode.quantize(ys[from + i], minY, maxY, MortonCode.MAX_3D);
+            int z = (int) MortonCode.quantize(zs[from + i], minZ, maxZ, MortonCode.MAX_3D);
+            keys[i] = hilbert ? HilbertCode.encode(x, y, z, HilbertCode.MAX_ORDER_3D) : MortonCode.encode(x, y, z);
+            order[i] = from + i;
+        }
+        radixSort(keys, order, count);
+        return order;
+    }
+
+    /**
+     * Stable LSD radix sort of non-negative keys with values moved along, 11 bits per pass.
+     * Passes in which all keys have the same digit are skipped.
+     *
+     * @param keys   keys to sort
+     * @param values values to move with keys
+     * @param count  number of keys to sort
+     */
+    static void radixSort(long[] keys, int[] values, int count) {
+        long[] keyBuffer = new long[count];
+        int[] valueBuffer = new int[count];
+        long[] srcKeys = keys, dstKeys = keyBuffer;
+        int[] srcValues = values, dstValues = valueBuffer;
+        int[] offsets = new int[RADIX];
+        for (int shift = 0; shift < 63; shift += RADIX_BITS) {
+            Arrays.fill(offsets, 0);
+            for (int i = 0; i < count; i++) {
+                offsets[(int) (srcKeys[i] >>> shift) & (RADIX - 1)]++;
+            }
+            if (count == 0 || offsets[(int) (srcKeys[0] >>> shift) & (RADIX - 1)] == count) {
+                continue;
+            }
+            int sum = 0;
+            for (int digit = 0; digit < RADIX; digit++) {
+                int n = offsets[digit];
+                offsets[digit] = sum;
+                sum += n;
+            }
+            for (int i = 0; i < count; i++) {
+                int position = offsets[(int) (srcKeys[i] >>> shift) & (RADIX - 1)]++;
+                dstKeys[position] = srcKeys[i];
+                dstValues[position] = srcValues[i];
+            }
+            long[] swapKeys = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = swapKeys;
+            int[] swapValues = srcValues;
+            srcValues = dstValues;
+            dstValues = swapValues;
+        }
+        if (srcKeys != keys) {
+            System.arraycopy(srcKeys, 0, keys, 0, count);
+            System.arraycopy(srcValues, 0, values, 0, count);
+        }
+    }
+}
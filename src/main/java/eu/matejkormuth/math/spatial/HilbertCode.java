@@ -0,0 +1,199 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.spatial;
+
+import eu.matejkormuth.math.vectors.Vector2f;
+import eu.matejkormuth.math.vectors.Vector2i;
+import eu.matejkormuth.math.vectors.Vector3f;
+import eu.matejkormuth.math.vectors.Vector3i;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Indices of points along Hilbert curves of specified order (bits per coordinate). Unlike
+ * Morton order, consecutive indices always belong to neighbouring cells, which gives
+ * slightly better locality at higher cost of encoding.
+ * <p>
+ * 2D indices support orders up to {@value #MAX_ORDER_2D}, 3D indices (J. Skilling,
+ * Programming the Hilbert curve) up to {@value #MAX_ORDER_3D}. Coordinates must be in
+ * range <code>[0; 2^order)</code>.
+ */
+@UtilityClass
+public class HilbertCode {
+
+    public static final int MAX_ORDER_2D = 31;
+    public static final int MAX_ORDER_3D = 21;
+
+    public static long encode(int x, int y, int order) {
+        checkOrder(order, MAX_ORDER_2D);
+        long index = 0;
+        for (int s = 1 << (order - 1); s > 0; s >>>= 1) {
+            int rx = (x & s) != 0 ? 1 : 0;
+            int ry = (y & s) != 0 ? 1 : 0;
+            index += (long) s * s * ((3 * rx) ^ ry);
+            // rotate quadrant so that the lower bits follow the curve
+            if (ry == 0) {
+                if (rx == 1) {
+                    x = s - 1 - x;
+                    y = s - 1 - y;
+                }
+                int t = x;
+                x = y;
+                y = t;
+            }
+            x &= s - 1;
+            y &= s - 1;
+        }
+        return index;
+    }
+
+    public static Vector2i decode(long index, int order) {
+        checkOrder(order, MAX_ORDER_2D);
+        int x = 0;
+        int y = 0;
+        for (int i = 0; i < order; i++) {
+            int s = 1 << i;
+            int rx = (int) (index >>> 1) & 1;
+            int ry = (int) (index ^ rx) & 1;
+            if (ry == 0) {
+                if (rx == 1) {
+                    x = s - 1 - x;
+                    y = s - 1 - y;
+                }
+                int t = x;
+                x = y;
+                y = t;
+            }
+            x += s * rx;
+            y += s * ry;
+            index >>>= 2;
+        }
+        return new Vector2i(x, y);
+    }
+
+    public static long encode(int x, int y, int z, int order) {
+        checkOrder(order, MAX_ORDER_3D);
+        int m = 1 << (order - 1);
+        // inverse undo of excess work
+        for (int q = m; q > 1; q >>>= 1) {
+            int p = q - 1;
+            if ((x & q) != 0) {
+                x ^= p;
+            }
+            if ((y & q) != 0) {
+                x ^= p;
+            } else {
+                int t = (x ^ y) & p;
+                x ^= t;
+                y ^= t;
+            }
+            if ((z & q) != 0) {
+                x ^= p;
+            } else {
+                int t = (x ^ z) & p;
+                x ^= t;
+                z ^= t;
+            }
+        }
+        // gray encode
+        y ^= x;
+        z ^= y;
+        int t = 0;
+        for (int q = m; q > 1; q >>>= 1) {
+            if ((z & q) != 0) {
+                t ^= q - 1;
+            }
+        }
+        x ^= t;
+        y ^= t;
+        z ^= t;
+        // transposed index has its most significant bits in x
+        return MortonCode.encode(z, y, x);
+    }
+
+    public static Vector3i decode3(long index, int order) {
+        checkOrder(order, MAX_ORDER_3D);
+        int x = MortonCode.decode3Z(index);
+        int y = MortonCode.decode3Y(index);
+        int z = MortonCode.decode3X(index);
+        int n = 2 << (order - 1);
+        // gray decode
+        int t = z >>> 1;
+        z ^= y;
+        y ^= x;
+        x ^= t;
+        // undo excess work
+        for (int q = 2; q != n; q <<= 1) {
+            int p = q - 1;
+            if ((z & q) != 0) {
+                x ^= p;
+            } else {
+                t = (x ^ z) & p;
+                x ^= t;
+                z ^= t;
+            }
+            if ((y & q) != 0) {
+                x ^= p;
+            } else {
+                t = (x ^ y) & p;
+                x ^= t;
+                y ^= t;
+            }
+            if ((x & q) != 0) {
+                x ^= p;
+            }
+        }
+        return new Vector3i(x, y, z);
+    }
+
+    public static long encode(Vector2i vec, int order) {
+        return encode(vec.getX(), vec.getY(), order);
+    }
+
+    public static long encode(Vector3i vec, int order) {
+        return encode(vec.getX(), vec.getY(), vec.getZ(), order);
+    }
+
+    // index of the point quantized to 2^order x 2^order grid spanning the bounds
+    public static long encode(Vector2f point, Vector2f min, Vector2f max, int order) {
+        long maxCell = (1L << order) - 1;
+        return encode((int) MortonCode.quantize(point.getX(), min.getX(), max.getX(), maxCell),
+                (int) MortonCode.quantize(point.getY(), min.getY(), max.getY(), maxCell), order);
+    }
+
+    public static long encode(Vector3f point, Vector3f min, Vector3f max, int order) {
+        long maxCell = (1L << order) - 1;
+        return encode((int) MortonCode.quantize(point.getX(), min.getX(), max.getX(), maxCell),
+                (int) MortonCode.quantize(point.getY(), min.getY(), max.getY(), maxCell),
+                (int) MortonCode.quantize(point.getZ(), min.getZ(), max.getZ(), maxCell), order);
+    }
+
+    private static void checkOrder(int order, int max) {
+        if (order < 1 || order > max) {
+            throw new IllegalArgumentException("order must be in range [1; " + max + "]");
+        }
+    }
+}
@@ -0,0 +1,355 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.spatial;
+
+import eu.matejkormuth.annotations.Immutable;
+import eu.matejkormuth.math.vectors.Vector3d;
+import eu.matejkormuth.math.vectors.Vector3dBuffer;
+import gnu.trove.list.array.TIntArrayList;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
+/**
+ * Static balanced 3D tree over points identified by their indices. The tree is implicit:
+ * points are permuted so that every range <code>[lo; hi)</code> larger than a leaf has its
+ * splitting point at the middle index <code>(lo + hi) / 2</code>, points with smaller
+ * coordinate along the splitting axis before it and the others after it. Only the
+ * permuted coordinates, ids and splitting axes are stored, so the tree takes four primitive
+ * arrays and no per-point or per-node objects.
+ * <p>
+ * Splitting axis is the one with the largest spread of the range and the median is found
+ * by quickselect, so the tree is built in expected <code>O(n log n)</code>. Queries recurse
+ * without allocation and may run concurrently.
+ */
+@Immutable
+public final class KdTree {
+
+    // ranges of at most this many points are scanned linearly
+    private static final int LEAF_SIZE = 8;
+
+    private final int size;
+    // tree ordered coordinates and ids of points
+    private final double[][] coordinates;
+    private final int[] ids;
+    // splitting axis of range with middle point at the index
+    private final byte[] axes;
+
+    private KdTree(double[] xs, double[] ys, double[] zs, int from, int to) {
+        int count = to - from;
+        double[][] source = {xs, ys, zs};
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = from + i;
+        }
+        this.size = count;
+        this.axes = new byte[count];
+        build(source, order, 0, count);
+
+        this.ids = order;
+        this.coordinates = new double[3][count];
+        for (int axis = 0; axis < 3; axis++) {
+            for (int i = 0; i < count; i++) {
+                coordinates[axis][i] = source[axis][order[i]];
+            }
+        }
+    }
+
+    // builds tree over points from range [from; to) of the buffer, ids are their indices
+    public static KdTree of(Vector3dBuffer points, int from, int to) {
+        return new KdTree(points.getX(), points.getY(), points.getZ(), from, to);
+    }
+
+    public static KdTree of(Vector3dBuffer points) {
+        return of(points, 0, points.size());
+    }
+
+    public static KdTree of(Vector3d... points) {
+        return of(new Vector3dBuffer(points));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds up to <code>k</code> points nearest to the query point.
+     *
+     * @param x                x coordinate of query point
+     * @param y                y coordinate of query point
+     * @param z                z coordinate of query point
+     * @param k                maximum number of points to find
+     * @param ids              array to write ids sorted by distance to
+     * @param distancesSquared array to write squared distances to
+     * @return number of found points, smaller than k only when tree has less points
+     */
+    public int nearest(double x, double y, double z, int k, int[] ids, double[] distancesSquared) {
+        return nearestApproximate(x, y, z, k, 0, ids, distancesSquared, 0);
+    }
+
+    public int nearest(Vector3d point, int k, int[] ids, double[] distancesSquared) {
+        return nearest(point.getX(), point.getY(), point.getZ(), k, ids, distancesSquared);
+    }
+
+    /**
+     * Finds up to <code>k</code> points that are nearly nearest to the query point: the
+     * i-th found point is at most <code>(1 + epsilon)</code> times farther than the true
+     * i-th nearest point. Subtrees that could only improve results by less than this factor
+     * are skipped, which makes queries considerably faster in higher densities.
+     *
+     * @param x                x coordinate of query point
+     * @param y                y coordinate of query point
+     * @param z                z coordinate of query point
+     * @param k                maximum number of points to find
+     * @param epsilon          allowed relative error of distances, zero for exact search
+     * @param ids              array to write ids sorted by distance to
+     * @param distancesSquared array to write squared distances to
+     * @return number of found points, smaller than k only when tree has less points
+     */
+    public int nearestApproximate(double x, double y, double z, int k, double epsilon,
+                                  int[] ids, double[] distancesSquared) {
+        return nearestApproximate(x, y, z, k, epsilon, ids, distancesSquared, 0);
+    }
+
+    private int nearestApproximate(double x, double y, double z, int k, double epsilon,
+                                   int[] ids, double[] distancesSquared, int offset) {
+        if (epsilon < 0) {
+            throw new IllegalArgumentException("epsilon must not be negative");
+        }
+        if (k <= 0 || size == 0) {
+            return 0;
+        }
+        double scale = (1 + epsilon) * (1 + epsilon);
+        return nearest(0, size, x, y, z, k, scale, ids, distancesSquared, offset, 0);
+    }
+
+    private int nearest(int lo, int hi, double x, double y, double z, int k, double scale,
+                        int[] result, double[] distancesSquared, int offset, int found) {
+        if (hi - lo <= LEAF_SIZE) {
+            for (int i = lo; i < hi; i++) {
+                found = SpatialUtils.offer(ids[i], distanceSquared(i, x, y, z), k, result,
+                        distancesSquared, offset, found);
+            }
+            return found;
+        }
+        int mid = (lo + hi) >>> 1;
+        found = SpatialUtils.offer(ids[mid], distanceSquared(mid, x, y, z), k, result, distancesSquared, offset, found);
+        double diff = (axes[mid] == 0 ? x : axes[mid] == 1 ? y : z) - coordinates[axes[mid]][mid];
+        if (diff < 0) {
+            found = nearest(lo, mid, x, y, z, k, scale, result, distancesSquared, offset, found);
+            if (found < k || diff * diff * scale < distancesSquared[offset + k - 1]) {
+                found = nearest(mid + 1, hi, x, y, z, k, scale, result, distancesSquared, offset, found);
+            }
+        } else {
+            found = nearest(mid + 1, hi, x, y, z, k, scale, result, distancesSquared, offset, found);
+            if (found < k || diff * diff * scale < distancesSquared[offset + k - 1]) {
+                found = nearest(lo, mid, x, y, z, k, scale, result, distancesSquared, offset, found);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Appends ids of all points within specified distance (inclusive) from the query point
+     * to the result list, in no particular order.
+     *
+     * @param x      x coordinate of query point
+     * @param y      y coordinate of query point
+     * @param z      z coordinate of query point
+     * @param radius query radius
+     * @param result list to append found ids to
+     * @return number of found points
+     */
+    public int queryRadius(double x, double y, double z, double radius, TIntArrayList result) {
+        if (size == 0 || radius < 0) {
+            return 0;
+        }
+        return radius(0, size, x, y, z, radius * radius, result);
+    }
+
+    public int queryRadius(Vector3d point, double radius, TIntArrayList result) {
+        return queryRadius(point.getX(), point.getY(), point.getZ(), radius, result);
+    }
+
+    // same as queryRadius without collecting ids
+    public int countWithin(double x, double y, double z, double radius) {
+        if (size == 0 || radius < 0) {
+            return 0;
+        }
+        return radius(0, size, x, y, z, radius * radius, null);
+    }
+
+    private int radius(int lo, int hi, double x, double y, double z, double radiusSquared,
+                       @Nullable TIntArrayList result) {
+        if (hi - lo <= LEAF_SIZE) {
+            int found = 0;
+            for (int i = lo; i < hi; i++) {
+                if (distanceSquared(i, x, y, z) <= radiusSquared) {
+                    if (result != null) {
+                        result.add(ids[i]);
+                    }
+                    found++;
+                }
+            }
+            return found;
+        }
+        int mid = (lo + hi) >>> 1;
+        int found = 0;
+        if (distanceSquared(mid, x, y, z) <= radiusSquared) {
+            if (result != null) {
+                result.add(ids[mid]);
+            }
+            found++;
+        }
+        double diff = (axes[mid] == 0 ? x : axes[mid] == 1 ? y : z) - coordinates[axes[mid]][mid];
+        if (diff <= 0 || diff * diff <= radiusSquared) {
+            found += radius(lo, mid, x, y, z, radiusSquared, result);
+        }
+        if (diff >= 0 || diff * diff <= radiusSquared) {
+            found += radius(mid + 1, hi, x, y, z, radiusSquared, result);
+        }
+        return found;
+    }
+
+    /**
+     * Finds <code>k</code> nearest points for each query point from the range
+     * <code>[from; to)</code>. Results of i-th query are written at indices
+     * <code>[i * k; i * k + k)</code>, missing results (when the tree has less than k points)
+     * have id <code>-1</code> and infinite distance.
+     *
+     * @param queries          query points
+     * @param k                number of points to find for each query
+     * @param ids              array to write ids to
+     * @param distancesSquared array to write squared distances to
+     * @param from             first query index (inclusive)
+     * @param to               last query index (exclusive)
+     */
+    public void nearest(Vector3dBuffer queries, int k, int[] ids, double[] distancesSquared, int from, int to) {
+        double[] qx = queries.getX(), qy = queries.getY(), qz = queries.getZ();
+        for (int i = from; i < to; i++) {
+            int offset = i * k;
+            int found = nearestApproximate(qx[i], qy[i], qz[i], k, 0, ids, distancesSquared, offset);
+            Arrays.fill(ids, offset + found, offset + k, -1);
+            Arrays.fill(distancesSquared, offset + found, offset + k, Double.POSITIVE_INFINITY);
+        }
+    }
+
+    // counts[i] = number of points within radius from i-th query point
+    public void countWithin(Vector3dBuffer queries, double radius, int[] counts, int from, int to) {
+        double[] qx = queries.getX(), qy = queries.getY(), qz = queries.getZ();
+        for (int i = from; i < to; i++) {
+            counts[i] = countWithin(qx[i], qy[i], qz[i], radius);
+        }
+    }
+
+    private double distanceSquared(int i, double x, double y, double z) {
+        double dx = coordinates[0][i] - x;
+        double dy = coordinates[1][i] - y;
+        double dz = coordinates[2][i] - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private void build(double[][] source, int[] order, int lo, int hi) {
+        while (hi - lo > LEAF_SIZE) {
+            int axis = widestAxis(source, order, lo, hi);
+            int mid = (lo + hi) >>> 1;
+            select(source[axis], order, lo, hi - 1, mid);
+            axes[mid] = (byte) axis;
+            // recurse into the lower half, loop on the upper one
+            build(source, order, lo, mid);
+            lo = mid + 1;
+        }
+    }
+
+    private static int widestAxis(double[][] source, int[] order, int lo, int hi) {
+        int widest = 0;
+        double widestSpread = -1;
+        for (int axis = 0; axis < 3; axis++) {
+            double[] c = source[axis];
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = lo; i < hi; i++) {
+                min = Math.min(min, c[order[i]]);
+                max = Math.max(max, c[order[i]]);
+            }
+            if (max - min > widestSpread) {
+                widestSpread = max - min;
+                widest = axis;
+            }
+        }
+        return widest;
+    }
+
+    // quickselect: puts n-th smallest of order[left..right] to index n, smaller before, larger after
+    private static void select(double[] c, int[] order, int left, int right, int n) {
+        while (right > left) {
+            // median of three as pivot
+            int m = (left + right) >>> 1;
+            if (c[order[m]] < c[order[left]]) {
+                swap(order, m, left);
+            }
+            if (c[order[right]] < c[order[left]]) {
+                swap(order, right, left);
+            }
+            if (c[order[right]] < c[order[m]]) {
+                swap(order, right, m);
+            }
+            double pivot = c[order[m]];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (c[order[i]] < pivot) {
+                    i++;
+                }
+                while (c[order[j]] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(order, i++, j--);
+                }
+            }
+            if (n <= j) {
+                right = j;
+            } else if (n >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static void swap(int[] array, int i, int j) {
+        int tmp = array[i];
+        array[i] = array[j];
+        array[j] = tmp;
+    }
+
+    @Override
+    public String toString() {
+        return "KdTree[size=" + size + "]";
+    }
+}
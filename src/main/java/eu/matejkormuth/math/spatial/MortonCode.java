@@ -0,0 +1,163 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.spatial;
+
+import eu.matejkormuth.math.vectors.Vector2f;
+import eu.matejkormuth.math.vectors.Vector2i;
+import eu.matejkormuth.math.vectors.Vector3f;
+import eu.matejkormuth.math.vectors.Vector3i;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Morton (Z-order) codes interleaving bits of unsigned integer coordinates: bit
+ * <code>i</code> of x goes to bit <code>2i</code> (<code>3i</code>) of the code, y and
+ * z follow it. Bits are spread with shifts and magic masks, no lookup tables.
+ * <p>
+ * 2D codes use all 32 bits of each coordinate, 3D codes use the low {@value #BITS_3D}
+ * bits. Float coordinates are first quantized to a grid spanning the given bounds.
+ */
+@UtilityClass
+public class MortonCode {
+
+    public static final int BITS_2D = 32;
+    public static final int BITS_3D = 21;
+    public static final int MAX_3D = (1 << BITS_3D) - 1;
+
+    public static long encode(int x, int y) {
+        return spread2(x & 0xFFFFFFFFL) | spread2(y & 0xFFFFFFFFL) << 1;
+    }
+
+    public static long encode(int x, int y, int z) {
+        return spread3(x & MAX_3D) | spread3(y & MAX_3D) << 1 | spread3(z & MAX_3D) << 2;
+    }
+
+    /**
+     * Returns 2D code of the point quantized to 2^32 x 2^32 grid spanning the bounds. Points
+     * outside of the bounds are clamped to them.
+     *
+     * @param point point to encode
+     * @param min   minimum corner of the bounds
+     * @param max   maximum corner of the bounds
+     * @return morton code of quantized point
+     */
+    public static long encode(Vector2f point, Vector2f min, Vector2f max) {
+        return encode((int) quantize(point.getX(), min.getX(), max.getX(), 0xFFFFFFFFL),
+                (int) quantize(point.getY(), min.getY(), max.getY(), 0xFFFFFFFFL));
+    }
+
+    // code of the point quantized to grid of 2^21 cells along each axis spanning the bounds
+    public static long encode(Vector3f point, Vector3f min, Vector3f max) {
+        return encode((int) quantize(point.getX(), min.getX(), max.getX(), MAX_3D),
+                (int) quantize(point.getY(), min.getY(), max.getY(), MAX_3D),
+                (int) quantize(point.getZ(), min.getZ(), max.getZ(), MAX_3D));
+    }
+
+    public static long encode(Vector2i vec) {
+        return encode(vec.getX(), vec.getY());
+    }
+
+    public static long encode(Vector3i vec) {
+        return encode(vec.getX(), vec.getY(), vec.getZ());
+    }
+
+    public static int decode2X(long code) {
+        return (int) compact2(code);
+    }
+
+    public static int decode2Y(long code) {
+        return (int) compact2(code >>> 1);
+    }
+
+    public static int decode3X(long code) {
+        return (int) compact3(code);
+    }
+
+    public static int decode3Y(long code) {
+        return (int) compact3(code >>> 1);
+    }
+
+    public static int decode3Z(long code) {
+        return (int) compact3(code >>> 2);
+    }
+
+    public static Vector2i decode2(long code) {
+        return new Vector2i(decode2X(code), decode2Y(code));
+    }
+
+    public static Vector3i decode3(long code) {
+        return new Vector3i(decode3X(code), decode3Y(code), decode3Z(code));
+    }
+
+    // maps value from [min; max] to integer in [0; maxCell]
+    static long quantize(float value, float min, float max, long maxCell) {
+        if (!(max > min)) {
+            return 0;
+        }
+        double cell = Math.floor((value - (double) min) / ((double) max - min) * maxCell);
+        return (long) Math.max(0, Math.min(maxCell, cell));
+    }
+
+    // inserts one zero bit after each of the low 32 bits
+    static long spread2(long v) {
+        v = (v | v << 16) & 0x0000FFFF0000FFFFL;
+        v = (v | v << 8) & 0x00FF00FF00FF00FFL;
+        v = (v | v << 4) & 0x0F0F0F0F0F0F0F0FL;
+        v = (v | v << 2) & 0x3333333333333333L;
+        v = (v | v << 1) & 0x5555555555555555L;
+        return v;
+    }
+
+    static long compact2(long v) {
+        v &= 0x5555555555555555L;
+        v = (v | v >>> 1) & 0x3333333333333333L;
+        v = (v | v >>> 2) & 0x0F0F0F0F0F0F0F0FL;
+        v = (v | v >>> 4) & 0x00FF00FF00FF00FFL;
+        v = (v | v >>> 8) & 0x0000FFFF0000FFFFL;
+        v = (v | v >>> 16) & 0x00000000FFFFFFFFL;
+        return v;
+    }
+
+    // inserts two zero bits after each of the low 21 bits
+    static long spread3(long v) {
+        v = (v | v << 32) & 0x001F00000000FFFFL;
+        v = (v | v << 16) & 0x001F0000FF0000FFL;
+        v = (v | v << 8) & 0x100F00F00F00F00FL;
+        v = (v | v << 4) & 0x10C30C30C30C30C3L;
+        v = (v | v << 2) & 0x1249249249249249L;
+        return v;
+    }
+
+    static long compact3(long v) {
+        v &= 0x1249249249249249L;
+        v = (v | v >>> 2) & 0x10C30C30C30C30C3L;
+        v = (v | v >>> 4) & 0x100F00F00F00F00FL;
+        v = (v | v >>> 8) & 0x001F0000FF0000FFL;
+        v = (v | v >>> 16) & 0x001F00000000FFFFL;
+        v = (v | v >>> 32) & 0x00000000001FFFFFL;
+        return v;
+    }
+}
@@ -0,0 +1,601 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.spatial;
+
+import eu.matejkormuth.annotations.Immutable;
+import eu.matejkormuth.math.shapes.AABBd;
+import eu.matejkormuth.math.vectors.Vector3d;
+import eu.matejkormuth.math.vectors.Vector3dBuffer;
+import eu.matejkormuth.math.vectors.Vector3f;
+import eu.matejkormuth.math.vectors.Vector3fBuffer;
+import gnu.trove.list.array.TIntArrayList;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Static octree over axis-aligned boxes (points are boxes with zero extent), identified by
+ * their int ids. Each node splits its cubic cell at its center and items are assigned to
+ * octants by their centers, so every item lives in exactly one leaf. Nodes store tight
+ * bounds of their items, which makes queries over boxes correct even though boxes may
+ * cross octant boundaries.
+ * <p>
+ * Nodes are stored in flat arrays: children of a node are consecutive nodes and items of
+ * every subtree form one contiguous range of item arrays, which are reordered into tree
+ * order during build. Queries do not allocate and may run concurrently.
+ */
+@Immutable
+public final class Octree {
+
+    public static final int DEFAULT_LEAF_SIZE = 8;
+    public static final int MAX_DEPTH = 20;
+    // subtrees with more items are built in parallel
+    static final int PARALLEL_THRESHOLD = 8192;
+
+    private static final int LEAF = -1;
+
+    private final int size;
+    // tree ordered items; bounds are minX, minY, minZ, maxX, maxY, maxZ
+    private final int[] ids;
+    private final double[] itemBounds;
+
+    private final int nodeCount;
+    private final double[] nodeBounds;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final int[] itemStart;
+    private final int[] itemCount;
+
+    private Octree(int size, int[] ids, double[] itemBounds, Nodes nodes) {
+        this.size = size;
+        this.ids = ids;
+        this.itemBounds = itemBounds;
+        this.nodeCount = nodes.count;
+        this.nodeBounds = Arrays.copyOf(nodes.bounds, nodes.count * 6);
+        this.firstChild = Arrays.copyOf(nodes.firstChild, nodes.count);
+        this.childCount = Arrays.copyOf(nodes.childCount, nodes.count);
+        this.itemStart = Arrays.copyOf(nodes.itemStart, nodes.count);
+        this.itemCount = Arrays.copyOf(nodes.itemCount, nodes.count);
+    }
+
+    // builds octree over points from range [from; to) of the buffer, ids are their indices
+    public static Octree ofPoints(Vector3dBuffer points, int from, int to) {
+        double[] px = points.getX(), py = points.getY(), pz = points.getZ();
+        double[] bounds = new double[(to - from) * 6];
+        for (int i = from; i < to; i++) {
+            setPoint(bounds, i - from, px[i], py[i], pz[i]);
+        }
+        return build(bounds, from, to - from, DEFAULT_LEAF_SIZE, ForkJoinPool.commonPool(), PARALLEL_THRESHOLD);
+    }
+
+    public static Octree ofPoints(Vector3fBuffer points, int from, int to) {
+        float[] px = points.getX(), py = points.getY(), pz = points.getZ();
+        double[] bounds = new double[(to - from) * 6];
+        for (int i = from; i < to; i++) {
+            setPoint(bounds, i - from, px[i], py[i], pz[i]);
+        }
+        return build(bounds, from, to - from, DEFAULT_LEAF_SIZE, ForkJoinPool.commonPool(), PARALLEL_THRESHOLD);
+    }
+
+    public static Octree ofPoints(Vector3d... points) {
+        double[] bounds = new double[points.length * 6];
+        for (int i = 0; i < points.length; i++) {
+            setPoint(bounds, i, points[i].getX(), points[i].getY(), points[i].getZ());
+        }
+        return build(bounds, 0, points.length, DEFAULT_LEAF_SIZE, ForkJoinPool.commonPool(), PARALLEL_THRESHOLD);
+    }
+
+    public static Octree ofPoints(Vector3f... points) {
+        double[] bounds = new double[points.length * 6];
+        for (int i = 0; i < points.length; i++) {
+            setPoint(bounds, i, points[i].getX(), points[i].getY(), points[i].getZ());
+        }
+        return build(bounds, 0, points.length, DEFAULT_LEAF_SIZE, ForkJoinPool.commonPool(), PARALLEL_THRESHOLD);
+    }
+
+    public static Octree of(AABBd... boxes) {
+        double[] bounds = new double[boxes.length * 6];
+        for (int i = 0; i < boxes.length; i++) {
+            boxes[i].toArray(bounds, i * 6);
+        }
+        return build(bounds, 0, boxes.length, DEFAULT_LEAF_SIZE, ForkJoinPool.commonPool(), PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Builds octree over boxes stored in packed array as <code>minX, minY, minZ, maxX, maxY,
+     * maxZ</code> for each box. Ids of boxes are their indices.
+     *
+     * @param bounds packed bounds of boxes
+     * @param count  number of boxes
+     * @return new octree
+     */
+    public static Octree ofBoxes(double[] bounds, int count) {
+        return ofBoxes(bounds, count, DEFAULT_LEAF_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Builds octree over boxes stored in packed array as <code>minX, minY, minZ, maxX, maxY,
+     * maxZ</code> for each box. Ids of boxes are their indices.
+     *
+     * @param bounds   packed bounds of boxes
+     * @param count    number of boxes
+     * @param leafSize maximum number of items in leaf which is not at {@link #MAX_DEPTH}
+     * @param pool     pool to build large subtrees in, or null to build in calling thread
+     * @return new octree
+     */
+    public static Octree ofBoxes(double[] bounds, int count, int leafSize, @Nullable ForkJoinPool pool) {
+        return build(Arrays.copyOf(bounds, count * 6), 0, count, leafSize, pool, PARALLEL_THRESHOLD);
+    }
+
+    static Octree build(double[] bounds, int firstId, int count, int leafSize,
+                        @Nullable ForkJoinPool pool, int parallelThreshold) {
+        if (leafSize < 1) {
+            throw new IllegalArgumentException("leafSize must be greater than zero");
+        }
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+
+        // root cell is a cube around centers of all items
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY, minZ = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY, maxZ = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            double cx = center(bounds, i, 0), cy = center(bounds, i, 1), cz = center(bounds, i, 2);
+            minX = Math.min(minX, cx);
+            minY = Math.min(minY, cy);
+            minZ = Math.min(minZ, cz);
+            maxX = Math.max(maxX, cx);
+            maxY = Math.max(maxY, cy);
+            maxZ = Math.max(maxZ, cz);
+        }
+        double half = Math.max(maxX - minX, Math.max(maxY - minY, maxZ - minZ)) * 0.5;
+
+        Nodes nodes = new Nodes(Math.max(16, 2 * count / leafSize));
+        if (count > 0) {
+            nodes.allocate(1);
+            Builder builder = new Builder(bounds, order, new int[count], leafSize,
+                    pool != null ? parallelThreshold : Integer.MAX_VALUE);
+            BuildTask root = new BuildTask(builder, nodes, 0, 0, count,
+                    (minX + maxX) * 0.5, (minY + maxY) * 0.5, (minZ + maxZ) * 0.5, half, 0);
+            if (pool != null && count > parallelThreshold) {
+                pool.invoke(root);
+            } else {
+                root.compute();
+            }
+        }
+
+        // reorder items into tree order
+        int[] ids = new int[count];
+        double[] itemBounds = new double[count * 6];
+        for (int i = 0; i < count; i++) {
+            ids[i] = firstId + order[i];
+            System.arraycopy(bounds, order[i] * 6, itemBounds, i * 6, 6);
+        }
+        return new Octree(count, ids, itemBounds, nodes);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Appends ids of all items whose bounds overlap (or touch) specified box to the result
+     * list, in no particular order.
+     *
+     * @param minX   minimum x of query box
+     * @param minY   minimum y of query box
+     * @param minZ   minimum z of query box
+     * @param maxX   maximum x of query box
+     * @param maxY   maximum y of query box
+     * @param maxZ   maximum z of query box
+     * @param result list to append found ids to
+     * @return number of found items
+     */
+    public int queryBox(double minX, double minY, double minZ, double maxX, double maxY, double maxZ,
+                        TIntArrayList result) {
+        if (size == 0) {
+            return 0;
+        }
+        return queryBox(0, minX, minY, minZ, maxX, maxY, maxZ, result);
+    }
+
+    public int queryBox(Vector3d min, Vector3d max, TIntArrayList result) {
+        return queryBox(min.getX(), min.getY(), min.getZ(), max.getX(), max.getY(), max.getZ(), result);
+    }
+
+    public int queryBox(AABBd box, TIntArrayList result) {
+        return queryBox(box.getMin(), box.getMax(), result);
+    }
+
+    private int queryBox(int node, double minX, double minY, double minZ, double maxX, double maxY, double maxZ,
+                         TIntArrayList result) {
+        double[] nb = nodeBounds;
+        int b = node * 6;
+        if (nb[b] > maxX || nb[b + 3] < minX || nb[b + 1] > maxY || nb[b + 4] < minY
+                || nb[b + 2] > maxZ || nb[b + 5] < minZ) {
+            return 0;
+        }
+        int start = itemStart[node];
+        int end = start + itemCount[node];
+        if (nb[b] >= minX && nb[b + 3] <= maxX && nb[b + 1] >= minY && nb[b + 4] <= maxY
+                && nb[b + 2] >= minZ && nb[b + 5] <= maxZ) {
+            // whole subtree is inside
+            result.add(ids, start, end - start);
+            return end - start;
+        }
+        if (firstChild[node] == LEAF) {
+            int found = 0;
+            double[] ib = itemBounds;
+            for (int i = start; i < end; i++) {
+                int o = i * 6;
+                if (ib[o] <= maxX && ib[o + 3] >= minX && ib[o + 1] <= maxY && ib[o + 4] >= minY
+                        && ib[o + 2] <= maxZ && ib[o + 5] >= minZ) {
+                    result.add(ids[i]);
+                    found++;
+                }
+            }
+            return found;
+        }
+        int found = 0;
+        for (int c = firstChild[node], last = c + childCount[node]; c < last; c++) {
+            found += queryBox(c, minX, minY, minZ, maxX, maxY, maxZ, result);
+        }
+        return found;
+    }
+
+    /**
+     * Appends ids of all items whose bounds are within specified distance (inclusive) from
+     * the query point to the result list, in no particular order.
+     *
+     * @param x      x coordinate of sphere center
+     * @param y      y coordinate of sphere center
+     * @param z      z coordinate of sphere center
+     * @param radius radius of sphere
+     * @param result list to append found ids to
+     * @return number of found items
+     */
+    public int querySphere(double x, double y, double z, double radius, TIntArrayList result) {
+        if (size == 0 || radius < 0) {
+            return 0;
+        }
+        return querySphere(0, x, y, z, radius * radius, result);
+    }
+
+    public int querySphere(Vector3d center, double radius, TIntArrayList result) {
+        return querySphere(center.getX(), center.getY(), center.getZ(), radius, result);
+    }
+
+    private int querySphere(int node, double x, double y, double z, double radiusSquared, TIntArrayList result) {
+        if (SpatialUtils.boxDistanceSquared(nodeBounds, node, x, y, z) > radiusSquared) {
+            return 0;
+        }
+        int start = itemStart[node];
+        int end = start + itemCount[node];
+        if (farthestDistanceSquared(node, x, y, z) <= radiusSquared) {
+            result.add(ids, start, end - start);
+            return end - start;
+        }
+        if (firstChild[node] == LEAF) {
+            int found = 0;
+            for (int i = start; i < end; i++) {
+                if (SpatialUtils.boxDistanceSquared(itemBounds, i, x, y, z) <= radiusSquared) {
+                    result.add(ids[i]);
+                    found++;
+                }
+            }
+            return found;
+        }
+        int found = 0;
+        for (int c = firstChild[node], last = c + childCount[node]; c < last; c++) {
+            found += querySphere(c, x, y, z, radiusSquared, result);
+        }
+        return found;
+    }
+
+    /**
+     * Finds up to <code>k</code> items nearest to the query point. Distance of an item is
+     * the distance to the closest point of its bounds, so it is zero for boxes containing
+     * the query point. Children are visited closest first and subtrees farther than the
+     * k-th best item are skipped.
+     *
+     * @param x                x coordinate of query point
+     * @param y                y coordinate of query point
+     * @param z                z coordinate of query point
+     * @param k                maximum number of items to find
+     * @param ids              array of at least k elements to write ids sorted by distance to
+     * @param distancesSquared array of at least k elements to write squared distances to
+     * @return number of found items, smaller than k only when octree has less items
+     */
+    public int nearest(double x, double y, double z, int k, int[] ids, double[] distancesSquared) {
+        if (k <= 0 || size == 0) {
+            return 0;
+        }
+        return nearest(0, x, y, z, k, ids, distancesSquared, 0);
+    }
+
+    public int nearest(Vector3d point, int k, int[] ids, double[] distancesSquared) {
+        return nearest(point.getX(), point.getY(), point.getZ(), k, ids, distancesSquared);
+    }
+
+    private int nearest(int node, double x, double y, double z, int k, int[] result, double[] distancesSquared,
+                        int found) {
+        if (firstChild[node] == LEAF) {
+            for (int i = itemStart[node], end = i + itemCount[node]; i < end; i++) {
+                found = SpatialUtils.offer(ids[i], SpatialUtils.boxDistanceSquared(itemBounds, i, x, y, z), k, result,
+                        distancesSquared, 0, found);
+            }
+            return found;
+        }
+        int first = firstChild[node];
+        int count = childCount[node];
+        // selection of closest unvisited child, at most 8 children so no sorting needed
+        int visited = 0;
+        for (int n = 0; n < count; n++) {
+            int best = -1;
+            double bestDistance = Double.POSITIVE_INFINITY;
+            for (int c = 0; c < count; c++) {
+                if ((visited & (1 << c)) != 0) {
+                    continue;
+                }
+                double distance = SpatialUtils.boxDistanceSquared(nodeBounds, first + c, x, y, z);
+                if (distance < bestDistance || best == -1) {
+                    best = c;
+                    bestDistance = distance;
+                }
+            }
+            if (found == k && bestDistance > distancesSquared[k - 1]) {
+                // remaining children are even farther
+                return found;
+            }
+            visited |= 1 << best;
+            found = nearest(first + best, x, y, z, k, result, distancesSquared, found);
+        }
+        return found;
+    }
+
+    private double farthestDistanceSquared(int node, double x, double y, double z) {
+        int o = node * 6;
+        double dx = Math.max(Math.abs(nodeBounds[o] - x), Math.abs(nodeBounds[o + 3] - x));
+        double dy = Math.max(Math.abs(nodeBounds[o + 1] - y), Math.abs(nodeBounds[o + 4] - y));
+        double dz = Math.max(Math.abs(nodeBounds[o + 2] - z), Math.abs(nodeBounds[o + 5] - z));
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static double center(double[] bounds, int i, int axis) {
+        return (bounds[i * 6 + axis] + bounds[i * 6 + 3 + axis]) * 0.5;
+    }
+
+    private static void setPoint(double[] bounds, int i, double x, double y, double z) {
+        int o = i * 6;
+        bounds[o] = bounds[o + 3] = x;
+        bounds[o + 1] = bounds[o + 4] = y;
+        bounds[o + 2] = bounds[o + 5] = z;
+    }
+
+    @Override
+    public String toString() {
+        return "Octree[size=" + size + ", nodes=" + nodeCount + "]";
+    }
+
+    // growable flat node storage used during build
+    private static final class Nodes {
+        private double[] bounds;
+        private int[] firstChild;
+        private int[] childCount;
+        private int[] itemStart;
+        private int[] itemCount;
+        private int count;
+
+        private Nodes(int capacity) {
+            bounds = new double[capacity * 6];
+            firstChild = new int[capacity];
+            childCount = new int[capacity];
+            itemStart = new int[capacity];
+            itemCount = new int[capacity];
+        }
+
+        // reserves n consecutive nodes and returns index of the first one
+        private int allocate(int n) {
+            if (count + n > firstChild.length) {
+                int capacity = Math.max(count + n, firstChild.length * 2);
+                bounds = Arrays.copyOf(bounds, capacity * 6);
+                firstChild = Arrays.copyOf(firstChild, capacity);
+                childCount = Arrays.copyOf(childCount, capacity);
+                itemStart = Arrays.copyOf(itemStart, capacity);
+                itemCount = Arrays.copyOf(itemCount, capacity);
+            }
+            int first = count;
+            count += n;
+            return first;
+        }
+
+        private void copy(Nodes src, int from, int to, int childOffset) {
+            System.arraycopy(src.bounds, from * 6, bounds, to * 6, 6);
+            firstChild[to] = src.firstChild[from] == LEAF ? LEAF : src.firstChild[from] + childOffset;
+            childCount[to] = src.childCount[from];
+            itemStart[to] = src.itemStart[from];
+            itemCount[to] = src.itemCount[from];
+        }
+    }
+
+    // state shared by all build tasks, tasks work on disjoint ranges of order and scratch
+    private static final class Builder {
+        private final double[] bounds;
+        private final int[] order;
+        private final int[] scratch;
+        private final int leafSize;
+        private final int parallelThreshold;
+
+        private Builder(double[] bounds, int[] order, int[] scratch, int leafSize, int parallelThreshold) {
+            this.bounds = bounds;
+            this.order = order;
+            this.scratch = scratch;
+            this.leafSize = leafSize;
+            this.parallelThreshold = parallelThreshold;
+        }
+    }
+
+    // builds subtree rooted at already allocated node
+    private static final class BuildTask extends RecursiveAction {
+        private final Builder builder;
+        private final Nodes nodes;
+        private final int node;
+        private final int start;
+        private final int end;
+        private final double cx;
+        private final double cy;
+        private final double cz;
+        private final double half;
+        private final int depth;
+
+        private BuildTask(Builder builder, Nodes nodes, int node, int start, int end,
+                          double cx, double cy, double cz, double half, int depth) {
+            this.builder = builder;
+            this.nodes = nodes;
+            this.node = node;
+            this.start = start;
+            this.end = end;
+            this.cx = cx;
+            this.cy = cy;
+            this.cz = cz;
+            this.half = half;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            build(nodes, node, start, end, cx, cy, cz, half, depth);
+        }
+
+        private void build(Nodes nodes, int node, int start, int end,
+                           double cx, double cy, double cz, double half, int depth) {
+            double[] bounds = builder.bounds;
+            int[] order = builder.order;
+
+            double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY, minZ = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY, maxZ = Double.NEGATIVE_INFINITY;
+            for (int i = start; i < end; i++) {
+                int o = order[i] * 6;
+                minX = Math.min(minX, bounds[o]);
+                minY = Math.min(minY, bounds[o + 1]);
+                minZ = Math.min(minZ, bounds[o + 2]);
+                maxX = Math.max(maxX, bounds[o + 3]);
+                maxY = Math.max(maxY, bounds[o + 4]);
+                maxZ = Math.max(maxZ, bounds[o + 5]);
+            }
+            int b = node * 6;
+            nodes.bounds[b] = minX;
+            nodes.bounds[b + 1] = minY;
+            nodes.bounds[b + 2] = minZ;
+            nodes.bounds[b + 3] = maxX;
+            nodes.bounds[b + 4] = maxY;
+            nodes.bounds[b + 5] = maxZ;
+            nodes.itemStart[node] = start;
+            nodes.itemCount[node] = end - start;
+            if (end - start <= builder.leafSize || depth >= MAX_DEPTH) {
+                nodes.firstChild[node] = LEAF;
+                nodes.childCount[node] = 0;
+                return;
+            }
+
+            // counting sort of the range by octant of item centers
+            int[] offsets = new int[9];
+            for (int i = start; i < end; i++) {
+                offsets[octant(order[i], cx, cy, cz) + 1]++;
+            }
+            int children = 0;
+            for (int o = 0; o < 8; o++) {
+                if (offsets[o + 1] > 0) {
+                    children++;
+                }
+                offsets[o + 1] += offsets[o];
+            }
+            int[] scratch = builder.scratch;
+            int[] cursor = Arrays.copyOf(offsets, 8);
+            for (int i = start; i < end; i++) {
+                int item = order[i];
+                scratch[start + cursor[octant(item, cx, cy, cz)]++] = item;
+            }
+            System.arraycopy(scratch, start, order, start, end - start);
+
+            int first = nodes.allocate(children);
+            nodes.firstChild[node] = first;
+            nodes.childCount[node] = children;
+            double quarter = half * 0.5;
+            boolean parallel = end - start > builder.parallelThreshold;
+            BuildTask[] tasks = parallel ? new BuildTask[children] : null;
+            int child = 0;
+            for (int o = 0; o < 8; o++) {
+                int childStart = start + offsets[o];
+                int childEnd = start + offsets[o + 1];
+                if (childStart == childEnd) {
+                    continue;
+                }
+                double ccx = (o & 1) != 0 ? cx + quarter : cx - quarter;
+                double ccy = (o & 2) != 0 ? cy + quarter : cy - quarter;
+                double ccz = (o & 4) != 0 ? cz + quarter : cz - quarter;
+                if (parallel) {
+                    // every task builds into its own storage with its root at index 0
+                    Nodes local = new Nodes(Math.max(16, 2 * (childEnd - childStart) / builder.leafSize));
+                    local.allocate(1);
+                    tasks[child] = new BuildTask(builder, local, 0, childStart, childEnd,
+                            ccx, ccy, ccz, quarter, depth + 1);
+                } else {
+                    build(nodes, first + child, childStart, childEnd, ccx, ccy, ccz, quarter, depth + 1);
+                }
+                child++;
+            }
+            if (parallel) {
+                invokeAll(tasks);
+                for (int c = 0; c < children; c++) {
+                    Nodes local = tasks[c].nodes;
+                    // local node i > 0 is stored at base + i
+                    int base = nodes.allocate(local.count - 1) - 1;
+                    nodes.copy(local, 0, first + c, base);
+                    for (int i = 1; i < local.count; i++) {
+                        nodes.copy(local, i, base + i, base);
+                    }
+                }
+            }
+        }
+
+        private int octant(int item, double cx, double cy, double cz) {
+            double[] bounds = builder.bounds;
+            int o = item * 6;
+            return (bounds[o] + bounds[o + 3] >= 2 * cx ? 1 : 0)
+                    | (bounds[o + 1] + bounds[o + 4] >= 2 * cy ? 2 : 0)
+                    | (bounds[o + 2] + bounds[o + 5] >= 2 * cz ? 4 : 0);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.spatial;
+
+/**
+ * Exact intersection test of a ray with one item of a spatial index, used to refine hits
+ * of item bounding boxes (for example with triangles the boxes were built from).
+ */
+@FunctionalInterface
+public interface RayIntersector {
+
+    /**
+     * Intersects ray with item of specified id.
+     *
+     * @param id          id of the item
+     * @param ox          x coordinate of ray origin
+     * @param oy          y coordinate of ray origin
+     * @param oz          z coordinate of ray origin
+     * @param dx          x coordinate of ray direction
+     * @param dy          y coordinate of ray direction
+     * @param dz          z coordinate of ray direction
+     * @param maxDistance distance of the closest hit so far, farther hits are not needed
+     * @return distance of the hit along the ray (in multiples of direction length), or any
+     * value greater than <code>maxDistance</code> (or NaN) when the item is missed
+     */
+    float intersect(int id, float ox, float oy, float oz, float dx, float dy, float dz, float maxDistance);
+}
@@ -0,0 +1,425 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.spatial;
+
+import eu.matejkormuth.annotations.Mutable;
+import eu.matejkormuth.math.vectors.Vector3d;
+import eu.matejkormuth.math.vectors.Vector3dBuffer;
+import eu.matejkormuth.math.vectors.Vector3f;
+import eu.matejkormuth.math.vectors.Vector3fBuffer;
+import eu.matejkormuth.math.vectors.Vector3i;
+import gnu.trove.iterator.TLongIntIterator;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.hash.TLongIntHashMap;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * Uniform grid of cubic cells hashed by their packed integer coordinates, indexing points
+ * identified by non-negative int ids (usually indices into caller's arrays).
+ * <p>
+ * Positions are kept in primitive arrays indexed by id and points of one cell form an
+ * intrusive doubly linked list through <code>int[]</code> arrays, so inserting, moving
+ * and clearing points does not allocate once the arrays are large enough. Only the map
+ * of non-empty cells grows with the number of occupied
+ * cells.
+ * <p>
+ * Cell coordinates must fit into {@link Vector3i#pack(int, int, int)}, so the indexed
+ * space spans about <code>2^21</code> cells along each axis. Positions are stored in
+ * single precision. Concurrent queries are safe when the grid is not modified.
+ */
+@Mutable
+public class SpatialHashGrid {
+
+    private static final int NONE = -1;
+    // packed cell keys never have the sign bit set
+    private static final long ABSENT = Long.MIN_VALUE;
+
+    @Getter
+    private final float cellSize;
+    private final float invCellSize;
+    private final TLongIntHashMap heads;
+
+    private float[] xs;
+    private float[] ys;
+    private float[] zs;
+    private int[] next;
+    private int[] prev;
+    private long[] cells;
+    @Getter
+    private int size;
+    // all ids ever inserted since last clear are below this bound
+    private int idBound;
+
+    // conservative bounds of occupied cells, they only grow until clear
+    private int minCellX = Integer.MAX_VALUE;
+    private int minCellY = Integer.MAX_VALUE;
+    private int minCellZ = Integer.MAX_VALUE;
+    private int maxCellX = Integer.MIN_VALUE;
+    private int maxCellY = Integer.MIN_VALUE;
+    private int maxCellZ = Integer.MIN_VALUE;
+
+    public SpatialHashGrid(float cellSize) {
+        this(cellSize, 64);
+    }
+
+    /**
+     * Creates new empty grid.
+     *
+     * @param cellSize        edge length of cells, ideally about the typical query radius
+     * @param initialCapacity expected maximum id plus one
+     */
+    public SpatialHashGrid(float cellSize, int initialCapacity) {
+        if (!(cellSize > 0)) {
+            throw new IllegalArgumentException("cellSize must be positive");
+        }
+        this.cellSize = cellSize;
+        this.invCellSize = 1f / cellSize;
+        this.heads = new TLongIntHashMap(initialCapacity, 0.5f, ABSENT, NONE);
+        this.xs = new float[initialCapacity];
+        this.ys = new float[initialCapacity];
+        this.zs = new float[initialCapacity];
+        this.next = new int[initialCapacity];
+        this.prev = new int[initialCapacity];
+        this.cells = new long[initialCapacity];
+        Arrays.fill(cells, ABSENT);
+    }
+
+    /**
+     * Inserts point with specified id, or moves it when it is already present.
+     *
+     * @param id non-negative id of the point
+     * @param x  x coordinate
+     * @param y  y coordinate
+     * @param z  z coordinate
+     */
+    public void insert(int id, float x, float y, float z) {
+        if (id < 0) {
+            throw new IllegalArgumentException("id must not be negative");
+        }
+        if (id >= cells.length) {
+            grow(id + 1);
+        }
+        if (cells[id] != ABSENT) {
+            move(id, x, y, z);
+            return;
+        }
+        link(id, x, y, z);
+        size++;
+        idBound = Math.max(idBound, id + 1);
+    }
+
+    public void insert(int id, Vector3f point) {
+        insert(id, point.getX(), point.getY(), point.getZ());
+    }
+
+    public void insert(int id, Vector3d point) {
+        insert(id, (float) point.getX(), (float) point.getY(), (float) point.getZ());
+    }
+
+    // inserts points from range [from; to) of the buffer with ids equal to their indices
+    public void insertAll(Vector3fBuffer points, int from, int to) {
+        if (to > cells.length) {
+            grow(to);
+        }
+        float[] px = points.getX(), py = points.getY(), pz = points.getZ();
+        for (int i = from; i < to; i++) {
+            insert(i, px[i], py[i], pz[i]);
+        }
+    }
+
+    public void insertAll(Vector3dBuffer points, int from, int to) {
+        if (to > cells.length) {
+            grow(to);
+        }
+        double[] px = points.getX(), py = points.getY(), pz = points.getZ();
+        for (int i = from; i < to; i++) {
+            insert(i, (float) px[i], (float) py[i], (float) pz[i]);
+        }
+    }
+
+    /**
+     * Updates position of point with specified id, inserting it when it is not present.
+     * Moves within the same cell only update stored coordinates.
+     *
+     * @param id id of the point
+     * @param x  new x coordinate
+     * @param y  new y coordinate
+     * @param z  new z coordinate
+     */
+    public void move(int id, float x, float y, float z) {
+        if (id < 0 || id >= cells.length || cells[id] == ABSENT) {
+            insert(id, x, y, z);
+            return;
+        }
+        if (cellKey(x, y, z) != cells[id]) {
+            unlink(id);
+            link(id, x, y, z);
+        } else {
+            xs[id] = x;
+            ys[id] = y;
+            zs[id] = z;
+        }
+    }
+
+    public void move(int id, Vector3f point) {
+        move(id, point.getX(), point.getY(), point.getZ());
+    }
+
+    public boolean remove(int id) {
+        if (!contains(id)) {
+            return false;
+        }
+        unlink(id);
+        cells[id] = ABSENT;
+        size--;
+        return true;
+    }
+
+    public boolean contains(int id) {
+        return id >= 0 && id < cells.length && cells[id] != ABSENT;
+    }
+
+    public Vector3f get(int id) {
+        if (!contains(id)) {
+            throw new IllegalArgumentException("Point " + id + " is not present.");
+        }
+        return new Vector3f(xs[id], ys[id], zs[id]);
+    }
+
+    // removes all points, keeps allocated arrays
+    public void clear() {
+        heads.clear();
+        Arrays.fill(cells, 0, idBound, ABSENT);
+        size = 0;
+        idBound = 0;
+        minCellX = minCellY = minCellZ = Integer.MAX_VALUE;
+        maxCellX = maxCellY = maxCellZ = Integer.MIN_VALUE;
+    }
+
+    /**
+     * Appends ids of all points within specified distance (inclusive) from the query point
+     * to the result list, in no particular order.
+     *
+     * @param x      x coordinate of query point
+     * @param y      y coordinate of query point
+     * @param z      z coordinate of query point
+     * @param radius query radius
+     * @param result list to append found ids to
+     * @return number of found points
+     */
+    public int queryRadius(float x, float y, float z, float radius, TIntArrayList result) {
+        if (size == 0) {
+            return 0;
+        }
+        int fromX = Math.max(minCellX, cell(x - radius));
+        int fromY = Math.max(minCellY, cell(y - radius));
+        int fromZ = Math.max(minCellZ, cell(z - radius));
+        int toX = Math.min(maxCellX, cell(x + radius));
+        int toY = Math.min(maxCellY, cell(y + radius));
+        int toZ = Math.min(maxCellZ, cell(z + radius));
+        float radiusSquared = radius * radius;
+        int found = 0;
+        for (int cx = fromX; cx <= toX; cx++) {
+            for (int cy = fromY; cy <= toY; cy++) {
+                for (int cz = fromZ; cz <= toZ; cz++) {
+                    for (int i = heads.get(Vector3i.pack(cx, cy, cz)); i != NONE; i = next[i]) {
+                        if (distanceSquared(i, x, y, z) <= radiusSquared) {
+                            result.add(i);
+                            found++;
+                        }
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    public int queryRadius(Vector3f point, float radius, TIntArrayList result) {
+        return queryRadius(point.getX(), point.getY(), point.getZ(), radius, result);
+    }
+
+    /**
+     * Finds up to <code>k</code> points nearest to the query point. Cells are visited in
+     * growing cubic shells around the query cell until no unvisited point can be closer
+     * than the k-th best one; when shells become larger than the number of occupied cells,
+     * the remaining occupied cells are scanned directly.
+     *
+     * @param x                x coordinate of query point
+     * @param y                y coordinate of query point
+     * @param z                z coordinate of query point
+     * @param k                maximum number of points to find
+     * @param ids              array of at least k elements to write ids sorted by distance to
+     * @param distancesSquared array of at least k elements to write squared distances to
+     * @return number of found points, smaller than k only when grid has less points
+     */
+    public int nearest(float x, float y, float z, int k, int[] ids, float[] distancesSquared) {
+        if (k <= 0 || size == 0) {
+            return 0;
+        }
+        int qx = cell(x);
+        int qy = cell(y);
+        int qz = cell(z);
+        int occupied = heads.size();
+        int found = 0;
+        for (int r = 0; ; r++) {
+            long shellCells = r == 0 ? 1 : cube(2 * r + 1) - cube(2 * r - 1);
+            if (shellCells > occupied) {
+                return scanOutside(qx, qy, qz, r - 1, x, y, z, k, ids, distancesSquared, found);
+            }
+            for (int dx = -r; dx <= r; dx++) {
+                for (int dy = -r; dy <= r; dy++) {
+                    boolean onFace = Math.abs(dx) == r || Math.abs(dy) == r;
+                    // inside of the shell only the two z-faces belong to it
+                    int stepZ = onFace || r == 0 ? 1 : 2 * r;
+                    for (int dz = -r; dz <= r; dz += stepZ) {
+                        found = visitCell(qx + dx, qy + dy, qz + dz, x, y, z, k, ids, distancesSquared, found);
+                    }
+                }
+            }
+            if (qx - r <= minCellX && qx + r >= maxCellX && qy - r <= minCellY && qy + r >= maxCellY
+                    && qz - r <= minCellZ && qz + r >= maxCellZ) {
+                // all occupied cells visited
+                return found;
+            }
+            // unvisited points are in cells at least r + 1 cells away, so farther than r cells
+            float bound = r * cellSize;
+            if (found == k && distancesSquared[k - 1] <= bound * bound) {
+                return found;
+            }
+        }
+    }
+
+    public int nearest(Vector3f point, int k, int[] ids, float[] distancesSquared) {
+        return nearest(point.getX(), point.getY(), point.getZ(), k, ids, distancesSquared);
+    }
+
+    // visits points of all occupied cells farther than 'visited' cells from the query cell
+    private int scanOutside(int qx, int qy, int qz, int visited, float x, float y, float z,
+                            int k, int[] ids, float[] distancesSquared, int found) {
+        TLongIntIterator iterator = heads.iterator();
+        while (iterator.hasNext()) {
+            iterator.advance();
+            long key = iterator.key();
+            int distance = Math.max(Math.abs(Vector3i.unpackX(key) - qx),
+                    Math.max(Math.abs(Vector3i.unpackY(key) - qy), Math.abs(Vector3i.unpackZ(key) - qz)));
+            if (distance <= visited) {
+                continue;
+            }
+            for (int i = iterator.value(); i != NONE; i = next[i]) {
+                found = SpatialUtils.offer(i, distanceSquared(i, x, y, z), k, ids, distancesSquared, 0, found);
+            }
+        }
+        return found;
+    }
+
+    private int visitCell(int cx, int cy, int cz, float x, float y, float z,
+                          int k, int[] ids, float[] distancesSquared, int found) {
+        if (cx < minCellX || cx > maxCellX || cy < minCellY || cy > maxCellY || cz < minCellZ || cz > maxCellZ) {
+            return found;
+        }
+        for (int i = heads.get(Vector3i.pack(cx, cy, cz)); i != NONE; i = next[i]) {
+            found = SpatialUtils.offer(i, distanceSquared(i, x, y, z), k, ids, distancesSquared, 0, found);
+        }
+        return found;
+    }
+
+    private float distanceSquared(int id, float x, float y, float z) {
+        float dx = xs[id] - x;
+        float dy = ys[id] - y;
+        float dz = zs[id] - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private void link(int id, float x, float y, float z) {
+        int cx = cell(x);
+        int cy = cell(y);
+        int cz = cell(z);
+        long key = Vector3i.pack(cx, cy, cz);
+        int head = heads.put(key, id);
+        next[id] = head;
+        prev[id] = NONE;
+        if (head != NONE) {
+            prev[head] = id;
+        }
+        cells[id] = key;
+        xs[id] = x;
+        ys[id] = y;
+        zs[id] = z;
+        minCellX = Math.min(minCellX, cx);
+        minCellY = Math.min(minCellY, cy);
+        minCellZ = Math.min(minCellZ, cz);
+        maxCellX = Math.max(maxCellX, cx);
+        maxCellY = Math.max(maxCellY, cy);
+        maxCellZ = Math.max(maxCellZ, cz);
+    }
+
+    private void unlink(int id) {
+        int p = prev[id];
+        int n = next[id];
+        if (p != NONE) {
+            next[p] = n;
+        } else if (n != NONE) {
+            heads.put(cells[id], n);
+        } else {
+            heads.remove(cells[id]);
+        }
+        if (n != NONE) {
+            prev[n] = p;
+        }
+    }
+
+    private void grow(int minCapacity) {
+        int capacity = Math.max(minCapacity, cells.length * 2);
+        int oldCapacity = cells.length;
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        zs = Arrays.copyOf(zs, capacity);
+        next = Arrays.copyOf(next, capacity);
+        prev = Arrays.copyOf(prev, capacity);
+        cells = Arrays.copyOf(cells, capacity);
+        Arrays.fill(cells, oldCapacity, capacity, ABSENT);
+    }
+
+    private int cell(float coordinate) {
+        return (int) Math.floor(coordinate * invCellSize);
+    }
+
+    private long cellKey(float x, float y, float z) {
+        return Vector3i.pack(cell(x), cell(y), cell(z));
+    }
+
+    private static long cube(long n) {
+        return n * n * n;
+    }
+
+    @Override
+    public String toString() {
+        return "SpatialHashGrid[size=" + size + ", cellSize=" + cellSize + "]";
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.spatial;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Helpers shared by spatial structures. Boxes are packed as six consecutive numbers
+ * <code>minX, minY, minZ, maxX, maxY, maxZ</code>.
+ */
+@UtilityClass
+class SpatialUtils {
+
+    /**
+     * Inserts candidate into the k-best arrays starting at <code>offset</code>, which are
+     * kept sorted by ascending distance.
+     *
+     * @return number of entries found after insertion (at most <code>k</code>)
+     */
+    static int offer(int id, float distanceSquared, int k, int[] ids, float[] distancesSquared,
+                     int offset, int found) {
+        if (found == k) {
+            if (distanceSquared >= distancesSquared[offset + k - 1]) {
+                return found;
+            }
+            found--;
+        }
+        int i = offset + found;
+        while (i > offset && distancesSquared[i - 1] > distanceSquared) {
+            ids[i] = ids[i - 1];
+            distancesSquared[i] = distancesSquared[i - 1];
+            i--;
+        }
+        ids[i] = id;
+        distancesSquared[i] = distanceSquared;
+        return found + 1;
+    }
+
+    static int offer(int id, double distanceSquared, int k, int[] ids, double[] distancesSquared,
+                     int offset, int found) {
+        if (found == k) {
+            if (distanceSquared >= distancesSquared[offset + k - 1]) {
+                return found;
+            }
+            found--;
+        }
+        int i = offset + found;
+        while (i > offset && distancesSquared[i - 1] > distanceSquared) {
+            ids[i] = ids[i - 1];
+            distancesSquared[i] = distancesSquared[i - 1];
+            i--;
+        }
+        ids[i] = id;
+        distancesSquared[i] = distanceSquared;
+        return found + 1;
+    }
+
+    // squared distance from point to the closest point of i-th box in packed bounds
+    static float boxDistanceSquared(float[] bounds, int i, float x, float y, float z) {
+        int o = i * 6;
+        float dx = Math.max(0, Math.max(bounds[o] - x, x - bounds[o + 3]));
+        float dy = Math.max(0, Math.max(bounds[o + 1] - y, y - bounds[o + 4]));
+        float dz = Math.max(0, Math.max(bounds[o + 2] - z, z - bounds[o + 5]));
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    static double boxDistanceSquared(double[] bounds, int i, double x, double y, double z) {
+        int o = i * 6;
+        double dx = Math.max(0, Math.max(bounds[o] - x, x - bounds[o + 3]));
+        double dy = Math.max(0, Math.max(bounds[o + 1] - y, y - bounds[o + 4]));
+        double dz = Math.max(0, Math.max(bounds[o + 2] - z, z - bounds[o + 5]));
+        return dx * dx + dy * dy + dz * dz;
+    }
+}
@@ -0,0 +1,163 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.vectors;
+
+import eu.matejkormuth.annotations.Mutable;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Mutable companion of {@link Vector2d}. All <code>*Local</code> methods modify this
+ * instance in place and return it, so they can be chained without allocating.
+ */
+@EqualsAndHashCode
+@Mutable
+public class MutableVector2d {
+
+    @Getter
+    @Setter
+    private double x;
+    @Getter
+    @Setter
+    private double y;
+
+    public MutableVector2d() {
+        this(0, 0);
+    }
+
+    public MutableVector2d(double x, double y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    public MutableVector2d(Vector2d vec) {
+        this(vec.getX(), vec.getY());
+    }
+
+    public MutableVector2d(MutableVector2d vec) {
+        this(vec.x, vec.y);
+    }
+
+    public MutableVector2d set(double x, double y) {
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+
+    public MutableVector2d set(Vector2d vec) {
+        return set(vec.getX(), vec.getY());
+    }
+
+    public MutableVector2d set(MutableVector2d vec) {
+        return set(vec.x, vec.y);
+    }
+
+    public MutableVector2d absoluteLocal() {
+        return set(Math.abs(x), Math.abs(y));
+    }
+
+    public MutableVector2d negateLocal() {
+        return set(-x, -y);
+    }
+
+    public MutableVector2d addLocal(Vector2d vec) {
+        return addLocal(vec.getX(), vec.getY());
+    }
+
+    public MutableVector2d addLocal(MutableVector2d vec) {
+        return addLocal(vec.x, vec.y);
+    }
+
+    public MutableVector2d addLocal(double x, double y) {
+        return set(this.x + x, this.y + y);
+    }
+
+    public MutableVector2d subtractLocal(Vector2d vec) {
+        return subtractLocal(vec.getX(), vec.getY());
+    }
+
+    public MutableVector2d subtractLocal(MutableVector2d vec) {
+        return subtractLocal(vec.x, vec.y);
+    }
+
+    public MutableVector2d subtractLocal(double x, double y) {
+        return set(this.x - x, this.y - y);
+    }
+
+    public MutableVector2d multiplyLocal(double n) {
+        return set(x * n, y * n);
+    }
+
+    public MutableVector2d divideLocal(double n) {
+        return set(x / n, y / n);
+    }
+
+    public MutableVector2d normalizeLocal() {
+        return multiplyLocal(1.0D / length());
+    }
+
+    // this = this + (end - this) * f
+    public MutableVector2d lerpLocal(Vector2d end, double f) {
+        return set(x + (end.getX() - x) * f, y + (end.getY() - y) * f);
+    }
+
+    public double dot(Vector2d vec) {
+        return x * vec.getX() + y * vec.getY();
+    }
+
+    public double dot(MutableVector2d vec) {
+        return x * vec.x + y * vec.y;
+    }
+
+    public double length() {
+        return Math.sqrt(x * x + y * y);
+    }
+
+    public double lengthSquared() {
+        return x * x + y * y;
+    }
+
+    public double distance(Vector2d vec) {
+        return Math.sqrt(distanceSquared(vec));
+    }
+
+    public double distanceSquared(Vector2d vec) {
+        double dx = vec.getX() - x;
+        double dy = vec.getY() - y;
+        return dx * dx + dy * dy;
+    }
+
+    public Vector2d toImmutable() {
+        return new Vector2d(x, y);
+    }
+
+    @Override
+    public String toString() {
+        return "[" + Double.toString(x) + "; " + Double.toString(y) + "]";
+    }
+}
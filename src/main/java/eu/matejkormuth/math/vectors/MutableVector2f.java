@@ -0,0 +1,163 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.vectors;
+
+import eu.matejkormuth.annotations.Mutable;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Mutable companion of {@link Vector2f}. All <code>*Local</code> methods modify this
+ * instance in place and return it, so they can be chained without allocating.
+ */
+@EqualsAndHashCode
+@Mutable
+public class MutableVector2f {
+
+    @Getter
+    @Setter
+    private float x;
+    @Getter
+    @Setter
+    private float y;
+
+    public MutableVector2f() {
+        this(0f, 0f);
+    }
+
+    public MutableVector2f(float x, float y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    public MutableVector2f(Vector2f vec) {
+        this(vec.getX(), vec.getY());
+    }
+
+    public MutableVector2f(MutableVector2f vec) {
+        this(vec.x, vec.y);
+    }
+
+    public MutableVector2f set(float x, float y) {
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+
+    public MutableVector2f set(Vector2f vec) {
+        return set(vec.getX(), vec.getY());
+    }
+
+    public MutableVector2f set(MutableVector2f vec) {
+        return set(vec.x, vec.y);
+    }
+
+    public MutableVector2f absoluteLocal() {
+        return set(Math.abs(x), Math.abs(y));
+    }
+
+    public MutableVector2f negateLocal() {
+        return set(-x, -y);
+    }
+
+    public MutableVector2f addLocal(Vector2f vec) {
+        return addLocal(vec.getX(), vec.getY());
+    }
+
+    public MutableVector2f addLocal(MutableVector2f vec) {
+        return addLocal(vec.x, vec.y);
+    }
+
+    public MutableVector2f addLocal(float x, float y) {
+        return set(this.x + x, this.y + y);
+    }
+
+    public MutableVector2f subtractLocal(Vector2f vec) {
+        return subtractLocal(vec.getX(), vec.getY());
+    }
+
+    public MutableVector2f subtractLocal(MutableVector2f vec) {
+        return subtractLocal(vec.x, vec.y);
+    }
+
+    public MutableVector2f subtractLocal(float x, float y) {
+        return set(this.x - x, this.y - y);
+    }
+
+    public MutableVector2f multiplyLocal(float n) {
+        return set(x * n, y * n);
+    }
+
+    public MutableVector2f divideLocal(float n) {
+        return set(x / n, y / n);
+    }
+
+    public MutableVector2f normalizeLocal() {
+        return multiplyLocal(1f / length());
+    }
+
+    // this = this + (end - this) * f
+    public MutableVector2f lerpLocal(Vector2f end, float f) {
+        return set(x + (end.getX() - x) * f, y + (end.getY() - y) * f);
+    }
+
+    public float dot(Vector2f vec) {
+        return x * vec.getX() + y * vec.getY();
+    }
+
+    public float dot(MutableVector2f vec) {
+        return x * vec.x + y * vec.y;
+    }
+
+    public float length() {
+        return (float) Math.sqrt(x * x + y * y);
+    }
+
+    public float lengthSquared() {
+        return x * x + y * y;
+    }
+
+    public float distance(Vector2f vec) {
+        return (float) Math.sqrt(distanceSquared(vec));
+    }
+
+    public float distanceSquared(Vector2f vec) {
+        float dx = vec.getX() - x;
+        float dy = vec.getY() - y;
+        return dx * dx + dy * dy;
+    }
+
+    public Vector2f toImmutable() {
+        return new Vector2f(x, y);
+    }
+
+    @Override
+    public String toString() {
+        return "[" + Float.toString(x) + "; " + Float.toString(y) + "]";
+    }
+}
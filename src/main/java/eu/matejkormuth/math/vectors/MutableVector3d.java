@@ -0,0 +1,191 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.vectors;
+
+import eu.matejkormuth.annotations.Mutable;
+import eu.matejkormuth.math.MathUtils;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Mutable companion of {@link Vector3d}. All <code>*Local</code> methods modify this
+ * instance in place and return it, so they can be chained without allocating.
+ */
+@EqualsAndHashCode
+@Mutable
+public class MutableVector3d {
+
+    @Getter
+    @Setter
+    private double x;
+    @Getter
+    @Setter
+    private double y;
+    @Getter
+    @Setter
+    private double z;
+
+    public MutableVector3d() {
+        this(0, 0, 0);
+    }
+
+    public MutableVector3d(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    public MutableVector3d(Vector3d vec) {
+        this(vec.getX(), vec.getY(), vec.getZ());
+    }
+
+    public MutableVector3d(MutableVector3d vec) {
+        this(vec.x, vec.y, vec.z);
+    }
+
+    public MutableVector3d set(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        return this;
+    }
+
+    public MutableVector3d set(Vector3d vec) {
+        return set(vec.getX(), vec.getY(), vec.getZ());
+    }
+
+    public MutableVector3d set(MutableVector3d vec) {
+        return set(vec.x, vec.y, vec.z);
+    }
+
+    public MutableVector3d absoluteLocal() {
+        return set(Math.abs(x), Math.abs(y), Math.abs(z));
+    }
+
+    public MutableVector3d negateLocal() {
+        return set(-x, -y, -z);
+    }
+
+    public MutableVector3d addLocal(Vector3d vec) {
+        return addLocal(vec.getX(), vec.getY(), vec.getZ());
+    }
+
+    public MutableVector3d addLocal(MutableVector3d vec) {
+        return addLocal(vec.x, vec.y, vec.z);
+    }
+
+    public MutableVector3d addLocal(double x, double y, double z) {
+        return set(this.x + x, this.y + y, this.z + z);
+    }
+
+    public MutableVector3d subtractLocal(Vector3d vec) {
+        return subtractLocal(vec.getX(), vec.getY(), vec.getZ());
+    }
+
+    public MutableVector3d subtractLocal(MutableVector3d vec) {
+        return subtractLocal(vec.x, vec.y, vec.z);
+    }
+
+    public MutableVector3d subtractLocal(double x, double y, double z) {
+        return set(this.x - x, this.y - y, this.z - z);
+    }
+
+    public MutableVector3d multiplyLocal(double n) {
+        return set(x * n, y * n, z * n);
+    }
+
+    public MutableVector3d divideLocal(double n) {
+        return set(x / n, y / n, z / n);
+    }
+
+    public MutableVector3d crossLocal(Vector3d vec) {
+        return crossLocal(vec.getX(), vec.getY(), vec.getZ());
+    }
+
+    public MutableVector3d crossLocal(MutableVector3d vec) {
+        return crossLocal(vec.x, vec.y, vec.z);
+    }
+
+    public MutableVector3d crossLocal(double x, double y, double z) {
+        return set(this.y * z - y * this.z,
+                this.z * x - z * this.x,
+                this.x * y - x * this.y);
+    }
+
+    public MutableVector3d normalizeLocal() {
+        return multiplyLocal(1.0D / length());
+    }
+
+    public MutableVector3d normalizeIfNeededLocal() {
+        if (Math.abs(lengthSquared() - 1) <= MathUtils.UNIT_TOLERANCE_DOUBLE) {
+            return this;
+        }
+        return normalizeLocal();
+    }
+
+    // this = this + (end - this) * f
+    public MutableVector3d lerpLocal(Vector3d end, double f) {
+        return set(x + (end.getX() - x) * f, y + (end.getY() - y) * f, z + (end.getZ() - z) * f);
+    }
+
+    public double dot(Vector3d vec) {
+        return x * vec.getX() + y * vec.getY() + z * vec.getZ();
+    }
+
+    public double dot(MutableVector3d vec) {
+        return x * vec.x + y * vec.y + z * vec.z;
+    }
+
+    public double length() {
+        return Math.sqrt(x * x + y * y + z * z);
+    }
+
+    public double lengthSquared() {
+        return x * x + y * y + z * z;
+    }
+
+    public double distance(Vector3d vec) {
+        return Math.sqrt(distanceSquared(vec));
+    }
+
+    public double distanceSquared(Vector3d vec) {
+        double dx = vec.getX() - x;
+        double dy = vec.getY() - y;
+        double dz = vec.getZ() - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    public Vector3d toImmutable() {
+        return new Vector3d(x, y, z);
+    }
+
+    @Override
+    public String toString() {
+        return "[" + Double.toString(x) + "; " + Double.toString(y) + "; " + Double.toString(z) + "]";
+    }
+}
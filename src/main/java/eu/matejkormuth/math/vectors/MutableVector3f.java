@@ -0,0 +1,196 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.vectors;
+
+import eu.matejkormuth.annotations.Mutable;
+import eu.matejkormuth.math.MathUtils;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Mutable companion of {@link Vector3f}. All <code>*Local</code> methods modify this
+ * instance in place and return it, so they can be chained without allocating.
+ */
+@EqualsAndHashCode
+@Mutable
+public class MutableVector3f {
+
+    @Getter
+    @Setter
+    private float x;
+    @Getter
+    @Setter
+    private float y;
+    @Getter
+    @Setter
+    private float z;
+
+    public MutableVector3f() {
+        this(0f, 0f, 0f);
+    }
+
+    public MutableVector3f(float x, float y, float z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    public MutableVector3f(Vector3f vec) {
+        this(vec.getX(), vec.getY(), vec.getZ());
+    }
+
+    public MutableVector3f(MutableVector3f vec) {
+        this(vec.x, vec.y, vec.z);
+    }
+
+    public MutableVector3f set(float x, float y, float z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        return this;
+    }
+
+    public MutableVector3f set(Vector3f vec) {
+        return set(vec.getX(), vec.getY(), vec.getZ());
+    }
+
+    public MutableVector3f set(MutableVector3f vec) {
+        return set(vec.x, vec.y, vec.z);
+    }
+
+    public MutableVector3f absoluteLocal() {
+        return set(Math.abs(x), Math.abs(y), Math.abs(z));
+    }
+
+    public MutableVector3f negateLocal() {
+        return set(-x, -y, -z);
+    }
+
+    public MutableVector3f addLocal(Vector3f vec) {
+        return addLocal(vec.getX(), vec.getY(), vec.getZ());
+    }
+
+    public MutableVector3f addLocal(MutableVector3f vec) {
+        return addLocal(vec.x, vec.y, vec.z);
+    }
+
+    public MutableVector3f addLocal(float x, float y, float z) {
+        return set(this.x + x, this.y + y, this.z + z);
+    }
+
+    public MutableVector3f subtractLocal(Vector3f vec) {
+        return subtractLocal(vec.getX(), vec.getY(), vec.getZ());
+    }
+
+    public MutableVector3f subtractLocal(MutableVector3f vec) {
+        return subtractLocal(vec.x, vec.y, vec.z);
+    }
+
+    public MutableVector3f subtractLocal(float x, float y, float z) {
+        return set(this.x - x, this.y - y, this.z - z);
+    }
+
+    public MutableVector3f multiplyLocal(float n) {
+        return set(x * n, y * n, z * n);
+    }
+
+    public MutableVector3f divideLocal(float n) {
+        return set(x / n, y / n, z / n);
+    }
+
+    public MutableVector3f crossLocal(Vector3f vec) {
+        return crossLocal(vec.getX(), vec.getY(), vec.getZ());
+    }
+
+    public MutableVector3f crossLocal(MutableVector3f vec) {
+        return crossLocal(vec.x, vec.y, vec.z);
+    }
+
+    public MutableVector3f crossLocal(float x, float y, float z) {
+        return set(this.y * z - y * this.z,
+                this.z * x - z * this.x,
+                this.x * y - x * this.y);
+    }
+
+    public MutableVector3f normalizeLocal() {
+        return multiplyLocal(1f / length());
+    }
+
+    // normalizeLocal using MathUtils.invSqrt approximation
+    public MutableVector3f normalizeFastLocal() {
+        return multiplyLocal(MathUtils.invSqrt(lengthSquared()));
+    }
+
+    public MutableVector3f normalizeIfNeededLocal() {
+        if (Math.abs(lengthSquared() - 1f) <= MathUtils.UNIT_TOLERANCE) {
+            return this;
+        }
+        return normalizeLocal();
+    }
+
+    // this = this + (end - this) * f
+    public MutableVector3f lerpLocal(Vector3f end, float f) {
+        return set(x + (end.getX() - x) * f, y + (end.getY() - y) * f, z + (end.getZ() - z) * f);
+    }
+
+    public float dot(Vector3f vec) {
+        return x * vec.getX() + y * vec.getY() + z * vec.getZ();
+    }
+
+    public float dot(MutableVector3f vec) {
+        return x * vec.x + y * vec.y + z * vec.z;
+    }
+
+    public float length() {
+        return (float) Math.sqrt(x * x + y * y + z * z);
+    }
+
+    public float lengthSquared() {
+        return x * x + y * y + z * z;
+    }
+
+    public float distance(Vector3f vec) {
+        return (float) Math.sqrt(distanceSquared(vec));
+    }
+
+    public float distanceSquared(Vector3f vec) {
+        float dx = vec.getX() - x;
+        float dy = vec.getY() - y;
+        float dz = vec.getZ() - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    public Vector3f toImmutable() {
+        return new Vector3f(x, y, z);
+    }
+
+    @Override
+    public String toString() {
+        return "[" + Float.toString(x) + "; " + Float.toString(y) + "; " + Float.toString(z) + "]";
+    }
+}
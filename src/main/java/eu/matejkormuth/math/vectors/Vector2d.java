@@ -118,6 +118,10 @@ public class Vector2d {
         return (Math.pow(vec.x - x, 2) + Math.pow(vec.y - y, 2));
     }
 
+    public MutableVector2d toMutable() {
+        return new MutableVector2d(this);
+    }
+
     @Override
     public String toString() {
         return "[" + Double.toString(x) + "; " + Double.toString(y) + "]";
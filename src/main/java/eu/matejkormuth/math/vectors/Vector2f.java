@@ -27,6 +27,7 @@
 package eu.matejkormuth.math.vectors;
 
 import eu.matejkormuth.annotations.Immutable;
+import eu.matejkormuth.math.MathUtils;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
@@ -102,6 +103,18 @@ public class Vector2f {
         return new Vector2f(x * invLength, y * invLength);
     }
 
+    public Vector2f normalizeFast() {
+        float invLength = MathUtils.invSqrt(x * x + y * y);
+        return new Vector2f(x * invLength, y * invLength);
+    }
+
+    public Vector2f normalizeIfNeeded() {
+        if (Math.abs(lengthSquared() - 1f) <= MathUtils.UNIT_TOLERANCE) {
+            return this;
+        }
+        return normalize();
+    }
+
     public float length() {
         return (float) Math.sqrt(x * x + y * y);
     }
@@ -118,6 +131,10 @@ public class Vector2f {
         return (float) (Math.pow(vec.x - x, 2) + Math.pow(vec.y - y, 2));
     }
 
+    public MutableVector2f toMutable() {
+        return new MutableVector2f(this);
+    }
+
     @Override
     public String toString() {
         return "[" + Float.toString(x) + "; " + Float.toString(y) + "]";
@@ -0,0 +1,144 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.vectors;
+
+import eu.matejkormuth.annotations.Immutable;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Integer 2D vector. Any vector can be packed into a single <code>long</code> to be used
+ * as a primitive map key, see {@link Vector2iObjectMap}.
+ */
+@EqualsAndHashCode
+@ToString
+@Immutable
+public class Vector2i {
+
+    public static final Vector2i ZERO = new Vector2i(0, 0);
+    public static final Vector2i ONE = new Vector2i(1, 1);
+    public static final Vector2i UNIT_X = new Vector2i(1, 0);
+    public static final Vector2i UNIT_Y = new Vector2i(0, 1);
+
+    @Getter
+    private final int x;
+    @Getter
+    private final int y;
+
+    public Vector2i() {
+        this(0, 0);
+    }
+
+    public Vector2i(int x, int y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    public static Vector2i floor(Vector2f vec) {
+        return new Vector2i((int) Math.floor(vec.getX()), (int) Math.floor(vec.getY()));
+    }
+
+    public static Vector2i floor(Vector2d vec) {
+        return new Vector2i((int) Math.floor(vec.getX()), (int) Math.floor(vec.getY()));
+    }
+
+    public Vector2i absolute() {
+        return new Vector2i(Math.abs(x), Math.abs(y));
+    }
+
+    public Vector2i negate() {
+        return new Vector2i(-x, -y);
+    }
+
+    public Vector2i add(Vector2i vec) {
+        return new Vector2i(this.x + vec.x, this.y + vec.y);
+    }
+
+    public Vector2i add(int x, int y) {
+        return new Vector2i(this.x + x, this.y + y);
+    }
+
+    public Vector2i subtract(Vector2i vec) {
+        return new Vector2i(this.x - vec.x, this.y - vec.y);
+    }
+
+    public Vector2i subtract(int x, int y) {
+        return new Vector2i(this.x - x, this.y - y);
+    }
+
+    public Vector2i multiply(int n) {
+        return new Vector2i(this.x * n, this.y * n);
+    }
+
+    public long dot(Vector2i vec) {
+        return (long) x * vec.x + (long) y * vec.y;
+    }
+
+    public long lengthSquared() {
+        return dot(this);
+    }
+
+    public long distanceSquared(Vector2i vec) {
+        long dx = vec.x - x;
+        long dy = vec.y - y;
+        return dx * dx + dy * dy;
+    }
+
+    public int manhattanDistance(Vector2i vec) {
+        return Math.abs(vec.x - x) + Math.abs(vec.y - y);
+    }
+
+    public Vector2f toVector2f() {
+        return new Vector2f(x, y);
+    }
+
+    public Vector2d toVector2d() {
+        return new Vector2d(x, y);
+    }
+
+    public long pack() {
+        return pack(x, y);
+    }
+
+    public static Vector2i unpack(long packed) {
+        return new Vector2i(unpackX(packed), unpackY(packed));
+    }
+
+    // x in upper and y in lower 32 bits
+    public static long pack(int x, int y) {
+        return (long) x << 32 | (y & 0xFFFFFFFFL);
+    }
+
+    public static int unpackX(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    public static int unpackY(long packed) {
+        return (int) packed;
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.vectors;
+
+import eu.matejkormuth.annotations.Mutable;
+import gnu.trove.map.hash.TLongObjectHashMap;
+
+import javax.annotation.Nullable;
+
+/**
+ * Hash map from integer 2D coordinates (e.g. chunk positions) to objects, keyed by
+ * {@link Vector2i#pack(int, int)} in a primitive trove4j map.
+ *
+ * @param <V> type of values
+ */
+@Mutable
+public class Vector2iObjectMap<V> {
+
+    private final TLongObjectHashMap<V> map;
+
+    public Vector2iObjectMap() {
+        this.map = new TLongObjectHashMap<>();
+    }
+
+    public Vector2iObjectMap(int initialCapacity) {
+        this.map = new TLongObjectHashMap<>(initialCapacity);
+    }
+
+    @Nullable
+    public V get(int x, int y) {
+        return map.get(Vector2i.pack(x, y));
+    }
+
+    @Nullable
+    public V get(Vector2i key) {
+        return map.get(key.pack());
+    }
+
+    @Nullable
+    public V put(int x, int y, V value) {
+        return map.put(Vector2i.pack(x, y), value);
+    }
+
+    @Nullable
+    public V put(Vector2i key, V value) {
+        return map.put(key.pack(), value);
+    }
+
+    @Nullable
+    public V remove(int x, int y) {
+        return map.remove(Vector2i.pack(x, y));
+    }
+
+    @Nullable
+    public V remove(Vector2i key) {
+        return map.remove(key.pack());
+    }
+
+    public boolean containsKey(int x, int y) {
+        return map.containsKey(Vector2i.pack(x, y));
+    }
+
+    public boolean containsKey(Vector2i key) {
+        return map.containsKey(key.pack());
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    public void clear() {
+        map.clear();
+    }
+
+    public void forEach(EntryConsumer<? super V> consumer) {
+        map.forEachEntry((key, value) -> {
+            consumer.accept(Vector2i.unpackX(key), Vector2i.unpackY(key), value);
+            return true;
+        });
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(int x, int y, V value);
+    }
+
+    @Override
+    public String toString() {
+        return "Vector2iObjectMap[size=" + size() + "]";
+    }
+}
@@ -118,6 +118,13 @@ public class Vector3d {
         return new Vector3d(x * invLength, y * invLength, z * invLength);
     }
 
+    public Vector3d normalizeIfNeeded() {
+        if (Math.abs(lengthSquared() - 1) <= MathUtils.UNIT_TOLERANCE_DOUBLE) {
+            return this;
+        }
+        return normalize();
+    }
+
     public double length() {
         return Math.sqrt(x * x + y * y + z * z);
     }
@@ -134,6 +141,10 @@ public class Vector3d {
         return (Math.pow(vec.x - x, 2) + Math.pow(vec.y - y, 2) + Math.pow(vec.z - z, 2));
     }
 
+    public MutableVector3d toMutable() {
+        return new MutableVector3d(this);
+    }
+
     @Override
     public String toString() {
         return "[" + Double.toString(x) + "; " + Double.toString(y) + "; " + Double.toString(z) + "]";
@@ -118,6 +118,20 @@ public class Vector3f {
         return new Vector3f(x * invLength, y * invLength, z * invLength);
     }
 
+    // normalize using MathUtils.invSqrt approximation, relative error is below 5e-6
+    public Vector3f normalizeFast() {
+        float invLength = MathUtils.invSqrt(x * x + y * y + z * z);
+        return new Vector3f(x * invLength, y * invLength, z * invLength);
+    }
+
+    // returns this instance without computing square root when it is already unit length
+    public Vector3f normalizeIfNeeded() {
+        if (Math.abs(lengthSquared() - 1f) <= MathUtils.UNIT_TOLERANCE) {
+            return this;
+        }
+        return normalize();
+    }
+
     public float length() {
         return (float) Math.sqrt(x * x + y * y + z * z);
     }
@@ -134,6 +148,10 @@ public class Vector3f {
         return (float) (Math.pow(vec.x - x, 2) + Math.pow(vec.y - y, 2) + Math.pow(vec.z - z, 2));
     }
 
+    public MutableVector3f toMutable() {
+        return new MutableVector3f(this);
+    }
+
     @Override
     public String toString() {
         return "[" + Float.toString(x) + "; " + Float.toString(y) + "; " + Float.toString(z) + "]";
@@ -146,6 +164,14 @@ public class Vector3f {
         return new Vector3f(w.getX(), w.getY(), w.getZ());
     }
 
+    // same as rotate, with rotation built by Quaternionf.fromAngleFast
+    public Vector3f rotateFast(double degrees, Vector3f axis) {
+        Quaternionf rotation = Quaternionf.fromAngleFast(degrees, axis);
+        Quaternionf conjugate = rotation.conjugate();
+        Quaternionf w = rotation.multiply(this).multiply(conjugate);
+        return new Vector3f(w.getX(), w.getY(), w.getZ());
+    }
+
     // https://keithmaggio.wordpress.com/2011/02/15/math-magician-lerp-slerp-and-nlerp/
     public static Vector3f lerp(Vector3f start, Vector3f end, float f) {
         return start.add(end.subtract(start).multiply(f));
@@ -158,6 +184,14 @@ public class Vector3f {
         return start.multiply((float) Math.cos(theta)).add(relative.multiply((float) Math.sin(theta)));
     }
 
+    // same as slerp, using MathUtils fast approximations of acos, sin and cos
+    public static Vector3f slerpFast(Vector3f start, Vector3f end, float f) {
+        float dot = MathUtils.clamp(start.dot(end), -1f, 1f);
+        float theta = MathUtils.fastAcos(dot) * f;
+        Vector3f relative = end.subtract(start.multiply(dot)).normalize();
+        return start.multiply(MathUtils.fastCos(theta)).add(relative.multiply(MathUtils.fastSin(theta)));
+    }
+
     public static Vector3f nlerp(Vector3f start, Vector3f end, float f) {
         return start.add(end.subtract(start).multiply(f)).normalize();
     }
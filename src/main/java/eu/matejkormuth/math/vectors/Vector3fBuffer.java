@@ -0,0 +1,244 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.vectors;
+
+import eu.matejkormuth.annotations.Mutable;
+import eu.matejkormuth.math.MathUtils;
+import lombok.Getter;
+
+/**
+ * Structure-of-arrays storage for many {@link Vector3f}s. Components are kept in three
+ * separate primitive arrays so the bulk kernels below run as simple counted loops over
+ * contiguous memory, which C2 is able to auto-vectorize.
+ * <p>
+ * All kernels operate on the half-open index range <code>[from; to)</code> and may be
+ * called with the destination being the same buffer as one of the sources.
+ */
+@Mutable
+public class Vector3fBuffer {
+
+    @Getter
+    private final float[] x;
+    @Getter
+    private final float[] y;
+    @Getter
+    private final float[] z;
+
+    public Vector3fBuffer(int size) {
+        this.x = new float[size];
+        this.y = new float[size];
+        this.z = new float[size];
+    }
+
+    public Vector3fBuffer(Vector3f[] vectors) {
+        this(vectors.length);
+        for (int i = 0; i < vectors.length; i++) {
+            set(i, vectors[i]);
+        }
+    }
+
+    public int size() {
+        return x.length;
+    }
+
+    public Vector3f get(int i) {
+        return new Vector3f(x[i], y[i], z[i]);
+    }
+
+    public MutableVector3f get(int i, MutableVector3f dest) {
+        return dest.set(x[i], y[i], z[i]);
+    }
+
+    public void set(int i, float x, float y, float z) {
+        this.x[i] = x;
+        this.y[i] = y;
+        this.z[i] = z;
+    }
+
+    public void set(int i, Vector3f vec) {
+        set(i, vec.getX(), vec.getY(), vec.getZ());
+    }
+
+    public void set(int i, MutableVector3f vec) {
+        set(i, vec.getX(), vec.getY(), vec.getZ());
+    }
+
+    public Vector3f[] toArray() {
+        Vector3f[] array = new Vector3f[size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = get(i);
+        }
+        return array;
+    }
+
+    // dst = a + b
+    public static void add(Vector3fBuffer a, Vector3fBuffer b, Vector3fBuffer dst, int from, int to) {
+        float[] ax = a.x, ay = a.y, az = a.z;
+        float[] bx = b.x, by = b.y, bz = b.z;
+        float[] dx = dst.x, dy = dst.y, dz = dst.z;
+        for (int i = from; i < to; i++) {
+            dx[i] = ax[i] + bx[i];
+            dy[i] = ay[i] + by[i];
+            dz[i] = az[i] + bz[i];
+        }
+    }
+
+    // dst = a + vec
+    public static void add(Vector3fBuffer a, Vector3f vec, Vector3fBuffer dst, int from, int to) {
+        float[] ax = a.x, ay = a.y, az = a.z;
+        float[] dx = dst.x, dy = dst.y, dz = dst.z;
+        float vx = vec.getX(), vy = vec.getY(), vz = vec.getZ();
+        for (int i = from; i < to; i++) {
+            dx[i] = ax[i] + vx;
+            dy[i] = ay[i] + vy;
+            dz[i] = az[i] + vz;
+        }
+    }
+
+    // dst = a - b
+    public static void subtract(Vector3fBuffer a, Vector3fBuffer b, Vector3fBuffer dst, int from, int to) {
+        float[] ax = a.x, ay = a.y, az = a.z;
+        float[] bx = b.x, by = b.y, bz = b.z;
+        float[] dx = dst.x, dy = dst.y, dz = dst.z;
+        for (int i = from; i < to; i++) {
+            dx[i] = ax[i] - bx[i];
+            dy[i] = ay[i] - by[i];
+            dz[i] = az[i] - bz[i];
+        }
+    }
+
+    // dst = a * n
+    public static void scale(Vector3fBuffer a, float n, Vector3fBuffer dst, int from, int to) {
+        float[] ax = a.x, ay = a.y, az = a.z;
+        float[] dx = dst.x, dy = dst.y, dz = dst.z;
+        for (int i = from; i < to; i++) {
+            dx[i] = ax[i] * n;
+            dy[i] = ay[i] * n;
+            dz[i] = az[i] * n;
+        }
+    }
+
+    // dst = a + (b - a) * f
+    public static void lerp(Vector3fBuffer a, Vector3fBuffer b, float f, Vector3fBuffer dst, int from, int to) {
+        float[] ax = a.x, ay = a.y, az = a.z;
+        float[] bx = b.x, by = b.y, bz = b.z;
+        float[] dx = dst.x, dy = dst.y, dz = dst.z;
+        for (int i = from; i < to; i++) {
+            dx[i] = ax[i] + (bx[i] - ax[i]) * f;
+            dy[i] = ay[i] + (by[i] - ay[i]) * f;
+            dz[i] = az[i] + (bz[i] - az[i]) * f;
+        }
+    }
+
+    // dst[i] = a[i] . b[i]
+    public static void dot(Vector3fBuffer a, Vector3fBuffer b, float[] dst, int from, int to) {
+        float[] ax = a.x, ay = a.y, az = a.z;
+        float[] bx = b.x, by = b.y, bz = b.z;
+        for (int i = from; i < to; i++) {
+            dst[i] = ax[i] * bx[i] + ay[i] * by[i] + az[i] * bz[i];
+        }
+    }
+
+    // dst = a x b
+    public static void cross(Vector3fBuffer a, Vector3fBuffer b, Vector3fBuffer dst, int from, int to) {
+        float[] ax = a.x, ay = a.y, az = a.z;
+        float[] bx = b.x, by = b.y, bz = b.z;
+        float[] dx = dst.x, dy = dst.y, dz = dst.z;
+        for (int i = from; i < to; i++) {
+            float cx = ay[i] * bz[i] - by[i] * az[i];
+            float cy = az[i] * bx[i] - bz[i] * ax[i];
+            float cz = ax[i] * by[i] - bx[i] * ay[i];
+            dx[i] = cx;
+            dy[i] = cy;
+            dz[i] = cz;
+        }
+    }
+
+    public static void normalize(Vector3fBuffer a, Vector3fBuffer dst, int from, int to) {
+        float[] ax = a.x, ay = a.y, az = a.z;
+        float[] dx = dst.x, dy = dst.y, dz = dst.z;
+        for (int i = from; i < to; i++) {
+            float invLength = 1f / (float) Math.sqrt(ax[i] * ax[i] + ay[i] * ay[i] + az[i] * az[i]);
+            dx[i] = ax[i] * invLength;
+            dy[i] = ay[i] * invLength;
+            dz[i] = az[i] * invLength;
+        }
+    }
+
+    // normalize using MathUtils.invSqrt approximation
+    public static void normalizeFast(Vector3fBuffer a, Vector3fBuffer dst, int from, int to) {
+        float[] ax = a.x, ay = a.y, az = a.z;
+        float[] dx = dst.x, dy = dst.y, dz = dst.z;
+        for (int i = from; i < to; i++) {
+            float invLength = MathUtils.invSqrt(ax[i] * ax[i] + ay[i] * ay[i] + az[i] * az[i]);
+            dx[i] = ax[i] * invLength;
+            dy[i] = ay[i] * invLength;
+            dz[i] = az[i] * invLength;
+        }
+    }
+
+    public static void length(Vector3fBuffer a, float[] dst, int from, int to) {
+        float[] ax = a.x, ay = a.y, az = a.z;
+        for (int i = from; i < to; i++) {
+            dst[i] = (float) Math.sqrt(ax[i] * ax[i] + ay[i] * ay[i] + az[i] * az[i]);
+        }
+    }
+
+    public static void lengthSquared(Vector3fBuffer a, float[] dst, int from, int to) {
+        float[] ax = a.x, ay = a.y, az = a.z;
+        for (int i = from; i < to; i++) {
+            dst[i] = ax[i] * ax[i] + ay[i] * ay[i] + az[i] * az[i];
+        }
+    }
+
+    public static void distanceSquared(Vector3fBuffer a, Vector3fBuffer b, float[] dst, int from, int to) {
+        float[] ax = a.x, ay = a.y, az = a.z;
+        float[] bx = b.x, by = b.y, bz = b.z;
+        for (int i = from; i < to; i++) {
+            float dx = bx[i] - ax[i];
+            float dy = by[i] - ay[i];
+            float dz = bz[i] - az[i];
+            dst[i] = dx * dx + dy * dy + dz * dz;
+        }
+    }
+
+    public static void distanceSquared(Vector3fBuffer a, Vector3f vec, float[] dst, int from, int to) {
+        float[] ax = a.x, ay = a.y, az = a.z;
+        float vx = vec.getX(), vy = vec.getY(), vz = vec.getZ();
+        for (int i = from; i < to; i++) {
+            float dx = vx - ax[i];
+            float dy = vy - ay[i];
+            float dz = vz - az[i];
+            dst[i] = dx * dx + dy * dy + dz * dz;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Vector3fBuffer[size=" + size() + "]";
+    }
+}
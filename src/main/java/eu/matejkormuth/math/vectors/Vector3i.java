@@ -0,0 +1,179 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.vectors;
+
+import eu.matejkormuth.annotations.Immutable;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Integer vector, typically used for voxel and chunk coordinates. Coordinates in range
+ * <code>[PACKED_MIN; PACKED_MAX]</code> can be packed into a single <code>long</code>
+ * (21 bits per component), which can be used as a primitive map key, see
+ * {@link Vector3iObjectMap} and {@link Vector3iIntMap}.
+ */
+@EqualsAndHashCode
+@ToString
+@Immutable
+public class Vector3i {
+
+    public static final Vector3i ZERO = new Vector3i(0, 0, 0);
+    public static final Vector3i ONE = new Vector3i(1, 1, 1);
+    public static final Vector3i UNIT_X = new Vector3i(1, 0, 0);
+    public static final Vector3i UNIT_Y = new Vector3i(0, 1, 0);
+    public static final Vector3i UNIT_Z = new Vector3i(0, 0, 1);
+
+    public static final int PACKED_BITS = 21;
+    public static final int PACKED_MIN = -(1 << (PACKED_BITS - 1));
+    public static final int PACKED_MAX = (1 << (PACKED_BITS - 1)) - 1;
+    private static final long PACKED_MASK = (1L << PACKED_BITS) - 1;
+
+    @Getter
+    private final int x;
+    @Getter
+    private final int y;
+    @Getter
+    private final int z;
+
+    public Vector3i() {
+        this(0, 0, 0);
+    }
+
+    public Vector3i(int x, int y, int z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    // vector of cell containing specified point
+    public static Vector3i floor(Vector3f vec) {
+        return new Vector3i((int) Math.floor(vec.getX()), (int) Math.floor(vec.getY()), (int) Math.floor(vec.getZ()));
+    }
+
+    public static Vector3i floor(Vector3d vec) {
+        return new Vector3i((int) Math.floor(vec.getX()), (int) Math.floor(vec.getY()), (int) Math.floor(vec.getZ()));
+    }
+
+    public Vector3i absolute() {
+        return new Vector3i(Math.abs(x), Math.abs(y), Math.abs(z));
+    }
+
+    public Vector3i negate() {
+        return new Vector3i(-x, -y, -z);
+    }
+
+    public Vector3i add(Vector3i vec) {
+        return new Vector3i(this.x + vec.x, this.y + vec.y, this.z + vec.z);
+    }
+
+    public Vector3i add(int x, int y, int z) {
+        return new Vector3i(this.x + x, this.y + y, this.z + z);
+    }
+
+    public Vector3i subtract(Vector3i vec) {
+        return new Vector3i(this.x - vec.x, this.y - vec.y, this.z - vec.z);
+    }
+
+    public Vector3i subtract(int x, int y, int z) {
+        return new Vector3i(this.x - x, this.y - y, this.z - z);
+    }
+
+    public Vector3i multiply(int n) {
+        return new Vector3i(this.x * n, this.y * n, this.z * n);
+    }
+
+    public long dot(Vector3i vec) {
+        return (long) x * vec.x + (long) y * vec.y + (long) z * vec.z;
+    }
+
+    public long lengthSquared() {
+        return dot(this);
+    }
+
+    public long distanceSquared(Vector3i vec) {
+        long dx = vec.x - x;
+        long dy = vec.y - y;
+        long dz = vec.z - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    public int manhattanDistance(Vector3i vec) {
+        return Math.abs(vec.x - x) + Math.abs(vec.y - y) + Math.abs(vec.z - z);
+    }
+
+    public Vector3f toVector3f() {
+        return new Vector3f(x, y, z);
+    }
+
+    public Vector3d toVector3d() {
+        return new Vector3d(x, y, z);
+    }
+
+    public long pack() {
+        return pack(x, y, z);
+    }
+
+    public static Vector3i unpack(long packed) {
+        return new Vector3i(unpackX(packed), unpackY(packed), unpackZ(packed));
+    }
+
+    /**
+     * Packs coordinates into a single long, x taking bits 42-62, y bits 21-41 and z bits
+     * 0-20 in two's complement.
+     *
+     * @param x x coordinate
+     * @param y y coordinate
+     * @param z z coordinate
+     * @return packed coordinates
+     * @throws IllegalArgumentException when any coordinate is outside of packable range
+     */
+    public static long pack(int x, int y, int z) {
+        if (!isPackable(x, y, z)) {
+            throw new IllegalArgumentException("Coordinates [" + x + "; " + y + "; " + z + "] are out of packable range.");
+        }
+        return (x & PACKED_MASK) << (2 * PACKED_BITS) | (y & PACKED_MASK) << PACKED_BITS | (z & PACKED_MASK);
+    }
+
+    public static boolean isPackable(int x, int y, int z) {
+        return x >= PACKED_MIN && x <= PACKED_MAX && y >= PACKED_MIN && y <= PACKED_MAX
+                && z >= PACKED_MIN && z <= PACKED_MAX;
+    }
+
+    // shifting component to the top bits and back sign-extends it
+    public static int unpackX(long packed) {
+        return (int) (packed << (64 - 3 * PACKED_BITS) >> (64 - PACKED_BITS));
+    }
+
+    public static int unpackY(long packed) {
+        return (int) (packed << (64 - 2 * PACKED_BITS) >> (64 - PACKED_BITS));
+    }
+
+    public static int unpackZ(long packed) {
+        return (int) (packed << (64 - PACKED_BITS) >> (64 - PACKED_BITS));
+    }
+}
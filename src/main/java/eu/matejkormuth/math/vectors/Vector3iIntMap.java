@@ -0,0 +1,135 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.vectors;
+
+import eu.matejkormuth.annotations.Mutable;
+import gnu.trove.map.hash.TLongIntHashMap;
+
+/**
+ * Hash map from integer 3D coordinates to ints (counts, indices, block ids), keyed by
+ * {@link Vector3i#pack(int, int, int)}. Fully primitive, does not allocate on lookups or
+ * on updates of existing entries.
+ */
+@Mutable
+public class Vector3iIntMap {
+
+    private final TLongIntHashMap map;
+
+    public Vector3iIntMap() {
+        this(16, 0);
+    }
+
+    /**
+     * Creates new map.
+     *
+     * @param initialCapacity expected number of entries
+     * @param noEntryValue    value returned for coordinates not present in the map
+     */
+    public Vector3iIntMap(int initialCapacity, int noEntryValue) {
+        this.map = new TLongIntHashMap(initialCapacity, 0.5f, 0, noEntryValue);
+    }
+
+    public int get(int x, int y, int z) {
+        if (!Vector3i.isPackable(x, y, z)) {
+            return map.getNoEntryValue();
+        }
+        return map.get(Vector3i.pack(x, y, z));
+    }
+
+    public int get(Vector3i key) {
+        return get(key.getX(), key.getY(), key.getZ());
+    }
+
+    // returns previous value or no entry value
+    public int put(int x, int y, int z, int value) {
+        return map.put(Vector3i.pack(x, y, z), value);
+    }
+
+    public int put(Vector3i key, int value) {
+        return map.put(key.pack(), value);
+    }
+
+    // adds amount to existing value or puts amount when there is no value, returns new value
+    public int adjustOrPut(int x, int y, int z, int amount) {
+        return map.adjustOrPutValue(Vector3i.pack(x, y, z), amount, amount);
+    }
+
+    public int remove(int x, int y, int z) {
+        if (!Vector3i.isPackable(x, y, z)) {
+            return map.getNoEntryValue();
+        }
+        return map.remove(Vector3i.pack(x, y, z));
+    }
+
+    public int remove(Vector3i key) {
+        return remove(key.getX(), key.getY(), key.getZ());
+    }
+
+    public boolean containsKey(int x, int y, int z) {
+        if (!Vector3i.isPackable(x, y, z)) {
+            return false;
+        }
+        return map.containsKey(Vector3i.pack(x, y, z));
+    }
+
+    public boolean containsKey(Vector3i key) {
+        return containsKey(key.getX(), key.getY(), key.getZ());
+    }
+
+    public int getNoEntryValue() {
+        return map.getNoEntryValue();
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    public void clear() {
+        map.clear();
+    }
+
+    public void forEach(EntryConsumer consumer) {
+        map.forEachEntry((key, value) -> {
+            consumer.accept(Vector3i.unpackX(key), Vector3i.unpackY(key), Vector3i.unpackZ(key), value);
+            return true;
+        });
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(int x, int y, int z, int value);
+    }
+
+    @Override
+    public String toString() {
+        return "Vector3iIntMap[size=" + size() + "]";
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math;
+
+import org.junit.Assert;
+import org.junit.Assume;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measures bytes allocated by the current thread while repeatedly running an operation.
+ * Operation is first warmed up so the JIT has a chance to compile (and inline) it, then
+ * it is measured in several rounds; assertion passes when at least one round stays
+ * within the budget, which makes it tolerant to a late background compilation.
+ */
+public final class AllocationAssert {
+
+    private static final int WARMUP_ITERATIONS = 50_000;
+    private static final int MEASURED_ITERATIONS = 10_000;
+    private static final int ROUNDS = 10;
+
+    @FunctionalInterface
+    public interface Operation {
+        void run(int iteration);
+    }
+
+    private AllocationAssert() {
+    }
+
+    public static void assertAllocationFree(String name, Operation operation) {
+        assertAllocatesAtMost(name, 0, operation);
+    }
+
+    /**
+     * Asserts that the operation allocates at most <code>bytesPerIteration</code> bytes
+     * on average per invocation. Test is skipped on JVMs not supporting thread
+     * allocation counters.
+     */
+    public static void assertAllocatesAtMost(String name, double bytesPerIteration, Operation operation) {
+        double allocated = measure(operation, bytesPerIteration);
+        if (allocated > bytesPerIteration) {
+            Assert.fail(name + " allocates " + allocated + " bytes per iteration, expected at most " + bytesPerIteration);
+        }
+    }
+
+    /**
+     * Returns the lowest average number of bytes allocated per invocation among the
+     * measured rounds. Measuring stops early once a round reaches the target.
+     */
+    public static double measure(Operation operation, double target) {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            operation.run(i);
+        }
+
+        // calibrate the cost of reading the counter itself
+        long overhead = threads.getThreadAllocatedBytes(threadId);
+        overhead = threads.getThreadAllocatedBytes(threadId) - overhead;
+
+        double best = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS && best > target; round++) {
+            long start = threads.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+                operation.run(i);
+            }
+            long allocated = threads.getThreadAllocatedBytes(threadId) - start - overhead;
+            best = Math.min(best, Math.max(0, allocated) / (double) MEASURED_ITERATIONS);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,167 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math;
+
+import eu.matejkormuth.math.direct.DirectVector3fBuffer;
+import eu.matejkormuth.math.matrices.Matrix4f;
+import eu.matejkormuth.math.matrices.MutableMatrix4f;
+import eu.matejkormuth.math.quaternions.MutableQuaternionf;
+import eu.matejkormuth.math.quaternions.Quaternionf;
+import eu.matejkormuth.math.vectors.MutableVector3f;
+import eu.matejkormuth.math.vectors.Vector3d;
+import eu.matejkormuth.math.vectors.Vector3f;
+import eu.matejkormuth.math.vectors.Vector3fBuffer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static eu.matejkormuth.math.AllocationAssert.assertAllocatesAtMost;
+import static eu.matejkormuth.math.AllocationAssert.assertAllocationFree;
+
+/**
+ * Guards paths which are expected not to allocate once warmed up. Failure usually means
+ * a method grew past the inlining limits or started creating temporary objects.
+ */
+public class AllocationTest {
+
+    private static final int SIZE = 64;
+
+    // keeps results alive so the measured code is not eliminated
+    private static double sink;
+
+    @Test
+    public void testMutableVectorChain() throws Exception {
+        MutableVector3f vec = new MutableVector3f();
+        Vector3f offset = new Vector3f(1, 2, 3);
+        assertAllocationFree("MutableVector3f chain", i -> {
+            vec.set(i, 1, 2)
+                    .addLocal(offset)
+                    .crossLocal(Vector3f.UNIT_Z)
+                    .multiplyLocal(0.5f)
+                    .normalizeLocal();
+            sink += vec.getX();
+        });
+    }
+
+    @Test
+    public void testMutableMatrixAndQuaternion() throws Exception {
+        Matrix4f a = Matrix4f.createTranslation(new Vector3f(1, 2, 3));
+        Matrix4f b = Matrix4f.createScale(new Vector3f(2, 2, 2));
+        MutableMatrix4f matrix = new MutableMatrix4f();
+        Quaternionf rotation = Quaternionf.fromAngle(30, Vector3f.UNIT_Y);
+        MutableQuaternionf quaternion = new MutableQuaternionf();
+        assertAllocationFree("mutable matrix/quaternion", i -> {
+            a.multiply(b, matrix);
+            matrix.multiplyLocal(a).transposeLocal();
+            rotation.multiply(rotation, quaternion);
+            quaternion.multiplyLocal(rotation).normalizeLocal();
+            sink += matrix.get(0, 3) + quaternion.getW();
+        });
+    }
+
+    @Test
+    public void testBufferKernels() throws Exception {
+        Vector3fBuffer a = buffer(1);
+        Vector3fBuffer b = buffer(2);
+        Vector3fBuffer dst = new Vector3fBuffer(SIZE);
+        float[] scalars = new float[SIZE];
+        assertAllocationFree("Vector3fBuffer kernels", i -> {
+            Vector3fBuffer.add(a, b, dst, 0, SIZE);
+            Vector3fBuffer.cross(a, dst, dst, 0, SIZE);
+            Vector3fBuffer.normalize(dst, dst, 0, SIZE);
+            Vector3fBuffer.dot(a, dst, scalars, 0, SIZE);
+            sink += scalars[i % SIZE];
+        });
+    }
+
+    @Test
+    public void testDirectBufferKernels() throws Exception {
+        try (DirectVector3fBuffer buffer = new DirectVector3fBuffer(SIZE)) {
+            Vector3f offset = new Vector3f(1, 2, 3);
+            assertAllocationFree("DirectVector3fBuffer kernels", i -> {
+                buffer.add(offset, 0, SIZE);
+                buffer.normalize(0, SIZE);
+                sink += buffer.getX(i % SIZE);
+            });
+        }
+    }
+
+    @Test
+    public void testTransformPoints() throws Exception {
+        Matrix4f m = Matrix4f.createTranslation(new Vector3f(1, 2, 3));
+        Vector3fBuffer src = buffer(3);
+        Vector3fBuffer dst = new Vector3fBuffer(SIZE);
+        float[] packed = new float[SIZE * 3];
+        assertAllocationFree("Matrix4f.transformPoints", i -> {
+            m.transformPoints(src, dst, 0, SIZE);
+            m.transformPoints(packed, 0, packed, 0, SIZE);
+            sink += dst.getX()[i % SIZE] + packed[i % SIZE];
+        });
+    }
+
+    @Test
+    public void testBatchSlerp() throws Exception {
+        float[] start = new float[SIZE * 4];
+        float[] end = new float[SIZE * 4];
+        float[] factors = new float[SIZE];
+        float[] out = new float[SIZE * 4];
+        for (int i = 0; i < SIZE; i++) {
+            Quaternionf.fromAngle(i, Vector3f.UNIT_X).multiply(Quaternionf.IDENTITY, out, i * 4);
+            System.arraycopy(out, i * 4, start, i * 4, 4);
+            Quaternionf.fromAngle(i * 2, Vector3f.UNIT_Y).multiply(Quaternionf.IDENTITY, out, i * 4);
+            System.arraycopy(out, i * 4, end, i * 4, 4);
+            factors[i] = i / (float) SIZE;
+        }
+        assertAllocationFree("Quaternionf.slerp batch", i -> {
+            Quaternionf.slerp(start, end, factors, out, 0, SIZE);
+            Quaternionf.nlerp(start, end, factors, out, 0, SIZE);
+            sink += out[i % out.length];
+        });
+    }
+
+    @Test
+    public void testImmutableChainIsScalarReplaced() throws Exception {
+        // relies on escape analysis: all four temporaries should be eliminated when inlined
+        Vector3d min = new Vector3d(1, 2, 3);
+        Vector3d max = new Vector3d(4, 5, 6);
+        assertAllocatesAtMost("MathUtils.lerp(Vector3d)", 1, i -> sink += MathUtils.lerp(min, max, i * 1e-6).getX());
+    }
+
+    @Test
+    public void testHarnessDetectsAllocation() throws Exception {
+        Vector3f[] escaped = new Vector3f[SIZE];
+        double allocated = AllocationAssert.measure(i -> escaped[i % SIZE] = new Vector3f(i, i, i), 0);
+        Assert.assertTrue(allocated >= 16);
+    }
+
+    private static Vector3fBuffer buffer(int seed) {
+        Vector3fBuffer buffer = new Vector3fBuffer(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            buffer.set(i, i + seed, seed - i, i * seed + 1);
+        }
+        return buffer;
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CubicEquationTest {
+
+    private final double[] roots = new double[4];
+
+    @Test
+    public void testThreeRoots() throws Exception {
+        // (x - 1)(x - 2)(x + 3)
+        Assert.assertEquals(3, CubicEquation.solve(2, 0, -14, 12, roots, 1));
+        Assert.assertArrayEquals(new double[]{-3, 1, 2}, new double[]{roots[1], roots[2], roots[3]}, 1e-12);
+    }
+
+    @Test
+    public void testOneRoot() throws Exception {
+        // (x - 2)(x^2 + 1)
+        Assert.assertEquals(1, CubicEquation.solve(1, -2, 1, -2, roots, 0));
+        Assert.assertEquals(2, roots[0], 1e-12);
+    }
+
+    @Test
+    public void testMultipleRoots() throws Exception {
+        // (x - 1)^2 (x + 2)
+        Assert.assertEquals(2, CubicEquation.solve(1, 0, -3, 2, roots, 0));
+        Assert.assertEquals(-2, roots[0], 1e-12);
+        Assert.assertEquals(1, roots[1], 1e-7);
+        // (x - 1)^3
+        Assert.assertEquals(1, CubicEquation.solve(1, -3, 3, -1, roots, 0));
+        Assert.assertEquals(1, roots[0], 1e-5);
+    }
+
+    @Test
+    public void testDegenerate() throws Exception {
+        Assert.assertEquals(2, CubicEquation.solve(0, 5, 6, 1, roots, 0));
+        Assert.assertArrayEquals(new double[]{-1, -0.2}, new double[]{roots[0], roots[1]}, 1e-12);
+        Assert.assertEquals(0, CubicEquation.solve(Double.NaN, 1, 1, 1, roots, 0));
+    }
+
+    @Test
+    public void testBatch() throws Exception {
+        double[] a = {2, 1};
+        double[] b = {0, -2};
+        double[] c = {-14, 1};
+        double[] d = {12, -2};
+        double[] batchRoots = new double[6];
+        int[] counts = new int[2];
+        CubicEquation.solve(a, b, c, d, batchRoots, counts, 0, 2);
+        Assert.assertArrayEquals(new int[]{3, 1}, counts);
+        Assert.assertEquals(2, batchRoots[2], 1e-12);
+        Assert.assertEquals(2, batchRoots[3], 1e-12);
+    }
+}
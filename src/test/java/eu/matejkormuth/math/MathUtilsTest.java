@@ -54,4 +54,69 @@ public class MathUtilsTest {
         Assert.assertEquals(0f, MathUtils.clamp(-8f, 0f, 1f), 1e-6);
         Assert.assertEquals(1f, MathUtils.clamp(8f, 0f, 1f), 1e-6);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testFastSinCos() throws Exception {
+        float[] sinCos = new float[2];
+        double maxError = 0;
+        for (int i = -1_000_000; i <= 1_000_000; i++) {
+            float x = i * 0.1f;
+            maxError = Math.max(maxError, Math.abs(MathUtils.fastSin(x) - Math.sin(x)));
+            maxError = Math.max(maxError, Math.abs(MathUtils.fastCos(x) - Math.cos(x)));
+            MathUtils.sinCos(x, sinCos, 0);
+            Assert.assertEquals(MathUtils.fastSin(x), sinCos[0], 0);
+            Assert.assertEquals(MathUtils.fastCos(x), sinCos[1], 0);
+        }
+        Assert.assertTrue("max error " + maxError, maxError <= 3e-7);
+    }
+
+    @Test
+    public void testFastAcos() throws Exception {
+        double maxError = 0;
+        for (int i = -1_000_000; i <= 1_000_000; i++) {
+            float x = i / 1_000_000f;
+            maxError = Math.max(maxError, Math.abs(MathUtils.fastAcos(x) - Math.acos(x)));
+        }
+        Assert.assertTrue("max error " + maxError, maxError <= 5e-7);
+        Assert.assertEquals(0f, MathUtils.fastAcos(1.0001f), 0);
+    }
+
+    @Test
+    public void testFastAtan2() throws Exception {
+        double maxError = 0;
+        for (int i = 0; i < 1_000_000; i++) {
+            double angle = i * (2 * Math.PI / 1_000_000);
+            float radius = 0.001f + i % 1000;
+            float x = (float) (Math.cos(angle) * radius);
+            float y = (float) (Math.sin(angle) * radius);
+            maxError = Math.max(maxError, Math.abs(MathUtils.fastAtan2(y, x) - Math.atan2(y, x)));
+        }
+        Assert.assertTrue("max error " + maxError, maxError <= 4e-7);
+        Assert.assertEquals(0f, MathUtils.fastAtan2(0, 0), 0);
+    }
+
+    @Test
+    public void testFastExp() throws Exception {
+        double maxError = 0;
+        for (int i = -870_000; i <= 887_000; i++) {
+            float x = i / 10_000f;
+            double expected = Math.exp(x);
+            maxError = Math.max(maxError, Math.abs(MathUtils.fastExp(x) - expected) / expected);
+        }
+        Assert.assertTrue("max error " + maxError, maxError <= 5e-7);
+        Assert.assertEquals(0f, MathUtils.fastExp(-100f), 0);
+        Assert.assertEquals(Float.POSITIVE_INFINITY, MathUtils.fastExp(100f), 0);
+    }
+
+    @Test
+    public void testInvSqrt() throws Exception {
+        double maxError = 0;
+        for (int i = 1; i <= 1_000_000; i++) {
+            float x = i * 0.37f;
+            double expected = 1.0 / Math.sqrt(x);
+            maxError = Math.max(maxError, Math.abs(MathUtils.invSqrt(x) - expected) / expected);
+        }
+        Assert.assertTrue("max error " + maxError, maxError <= 5e-6);
+        Assert.assertFalse(Float.isInfinite(MathUtils.invSqrt(0f)));
+    }
+}
@@ -52,4 +52,49 @@ public class QuadraticEquationTest {
         Assert.assertTrue(solution.length == 2);
         Assert.assertArrayEquals(new double[]{-0.2, -1}, solution, 1e-6);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSolveIntoBuffer() throws Exception {
+        double[] roots = new double[3];
+        Assert.assertEquals(0, QuadraticEquation.solve(5, 2, 1, roots, 1));
+        Assert.assertEquals(1, QuadraticEquation.solve(25, -10, 1, roots, 1));
+        Assert.assertEquals(0.2, roots[1], 1e-12);
+        Assert.assertEquals(2, QuadraticEquation.solve(5, 6, 1, roots, 1));
+        Assert.assertArrayEquals(new double[]{-1, -0.2}, new double[]{roots[1], roots[2]}, 1e-12);
+    }
+
+    @Test
+    public void testSolveLinear() throws Exception {
+        double[] roots = new double[2];
+        Assert.assertEquals(1, QuadraticEquation.solve(0, 2, -3, roots, 0));
+        Assert.assertEquals(1.5, roots[0], 0);
+        Assert.assertEquals(0, QuadraticEquation.solve(0, 0, 1, roots, 0));
+    }
+
+    @Test
+    public void testSolveIsStable() throws Exception {
+        // roots 1e-8 and 1e8, textbook formula loses all digits of the small one
+        double[] roots = new double[2];
+        Assert.assertEquals(2, QuadraticEquation.solve(1, -(1e8 + 1e-8), 1, roots, 0));
+        Assert.assertEquals(1e-8, roots[0], 1e-22);
+        Assert.assertEquals(1e8, roots[1], 1e-6);
+        double[] legacy = QuadraticEquation.solve(1, -(1e8 + 1e-8), 1);
+        Assert.assertEquals(1e8, legacy[0], 1e-6);
+        Assert.assertEquals(1e-8, legacy[1], 1e-22);
+    }
+
+    @Test
+    public void testSolveBatch() throws Exception {
+        double[] a = {5, 25, 5, 0};
+        double[] b = {2, -10, 6, 2};
+        double[] c = {1, 1, 1, -3};
+        double[] roots = new double[8];
+        int[] counts = new int[4];
+        QuadraticEquation.solve(a, b, c, roots, counts, 0, 4);
+        Assert.assertArrayEquals(new int[]{0, 1, 2, 1}, counts);
+        Assert.assertEquals(0.2, roots[2], 1e-12);
+        Assert.assertEquals(-1, roots[4], 1e-12);
+        Assert.assertEquals(-0.2, roots[5], 1e-12);
+        Assert.assertEquals(1.5, roots[6], 1e-12);
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class QuarticEquationTest {
+
+    private final double[] roots = new double[4];
+
+    @Test
+    public void testFourRoots() throws Exception {
+        // (x - 1)(x - 2)(x - 3)(x - 4)
+        Assert.assertEquals(4, QuarticEquation.solve(1, -10, 35, -50, 24, roots, 0));
+        Assert.assertArrayEquals(new double[]{1, 2, 3, 4}, roots, 1e-10);
+    }
+
+    @Test
+    public void testTwoRoots() throws Exception {
+        // 3 (x^2 + 1)(x - 2)(x + 3)
+        Assert.assertEquals(2, QuarticEquation.solve(3, 3, -15, 3, -18, roots, 0));
+        Assert.assertEquals(-3, roots[0], 1e-10);
+        Assert.assertEquals(2, roots[1], 1e-10);
+        // x^4 - 1
+        Assert.assertEquals(2, QuarticEquation.solve(1, 0, 0, 0, -1, roots, 0));
+        Assert.assertEquals(-1, roots[0], 1e-12);
+        Assert.assertEquals(1, roots[1], 1e-12);
+    }
+
+    @Test
+    public void testScaledRoots() throws Exception {
+        // (x - 1)(x - 2)(x - 3)(x - 4) with roots scaled by s
+        for (double scale : new double[]{1e-3, 1e-6, 1e3}) {
+            double s2 = scale * scale;
+            int count = QuarticEquation.solve(1, -10 * scale, 35 * s2, -50 * s2 * scale, 24 * s2 * s2, roots, 0);
+            Assert.assertEquals(4, count);
+            for (int i = 0; i < 4; i++) {
+                Assert.assertEquals((i + 1) * scale, roots[i], 1e-9 * scale);
+            }
+        }
+        // x^4 = 0
+        Assert.assertEquals(1, QuarticEquation.solve(2, 0, 0, 0, 0, roots, 0));
+        Assert.assertEquals(0, roots[0], 0);
+    }
+
+    @Test
+    public void testNoRoots() throws Exception {
+        // (x^2 + 1)(x^2 + 4)
+        Assert.assertEquals(0, QuarticEquation.solve(1, 0, 5, 0, 4, roots, 0));
+    }
+
+    @Test
+    public void testZeroRoot() throws Exception {
+        // x (x - 1)(x + 1)(x - 5)
+        Assert.assertEquals(4, QuarticEquation.solve(1, -5, -1, 5, 0, roots, 0));
+        Assert.assertArrayEquals(new double[]{-1, 0, 1, 5}, roots, 1e-10);
+    }
+
+    @Test
+    public void testMultipleRoots() throws Exception {
+        // (x - 1)^2 (x - 2)^2
+        Assert.assertEquals(2, QuarticEquation.solve(1, -6, 13, -12, 4, roots, 0));
+        Assert.assertEquals(1, roots[0], 1e-6);
+        Assert.assertEquals(2, roots[1], 1e-6);
+    }
+
+    @Test
+    public void testTorusIntersection() throws Exception {
+        // ray along x axis through torus with major radius 2 and minor radius 0.5 hits at |x| = 1.5 and 2.5
+        Assert.assertEquals(4, QuarticEquation.solve(1, 0, -8.5, 0, 14.0625, roots, 0));
+        Assert.assertArrayEquals(new double[]{-2.5, -1.5, 1.5, 2.5}, roots, 1e-10);
+    }
+
+    @Test
+    public void testBatch() throws Exception {
+        double[] batchRoots = new double[8];
+        int[] counts = new int[2];
+        QuarticEquation.solve(new double[]{1, 0}, new double[]{-10, 2}, new double[]{35, 0},
+                new double[]{-50, -14}, new double[]{24, 12}, batchRoots, counts, 0, 2);
+        Assert.assertArrayEquals(new int[]{4, 3}, counts);
+        Assert.assertEquals(4, batchRoots[3], 1e-10);
+        Assert.assertEquals(-3, batchRoots[4], 1e-10);
+    }
+}
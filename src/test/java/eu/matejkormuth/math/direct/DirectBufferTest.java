@@ -0,0 +1,156 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.direct;
+
+import eu.matejkormuth.math.matrices.Matrix4f;
+import eu.matejkormuth.math.quaternions.Quaternionf;
+import eu.matejkormuth.math.vectors.MutableVector3f;
+import eu.matejkormuth.math.vectors.Vector3f;
+import eu.matejkormuth.math.vectors.Vector3fBuffer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+public class DirectBufferTest {
+
+    @Test
+    public void testVectorGetSet() throws Exception {
+        try (DirectVector3fBuffer buffer = new DirectVector3fBuffer(4)) {
+            Assert.assertEquals(ByteOrder.nativeOrder(), buffer.getByteBuffer().order());
+            Assert.assertEquals(64, buffer.getByteBuffer().capacity());
+            buffer.set(2, new Vector3f(1f, -2f, 3f));
+            Assert.assertEquals(new Vector3f(1f, -2f, 3f), buffer.get(2));
+            Assert.assertEquals(-2f, buffer.getY(2), 1e-6);
+            Assert.assertEquals(new Vector3f(1f, -2f, 3f), buffer.get(2, new MutableVector3f()).toImmutable());
+            Assert.assertEquals(Vector3f.ZERO, buffer.get(3));
+        }
+    }
+
+    @Test
+    public void testVectorBulk() throws Exception {
+        Vector3fBuffer heap = new Vector3fBuffer(new Vector3f[]{
+                new Vector3f(10, 0, 0), new Vector3f(0, 3, 4), new Vector3f(1, 1, 1)});
+        try (DirectVector3fBuffer buffer = new DirectVector3fBuffer(3)) {
+            buffer.copyFrom(heap, 0, 0, 3);
+            buffer.normalize(0, 3);
+            buffer.scale(2f, 0, 2);
+            buffer.add(Vector3f.UNIT_Z, 0, 1);
+
+            Vector3fBuffer out = new Vector3fBuffer(3);
+            buffer.copyTo(0, out, 0, 3);
+            Assert.assertEquals(new Vector3f(2, 0, 1), out.get(0));
+            Assert.assertEquals(new Vector3f(0, 1.2f, 1.6f), out.get(1));
+            Assert.assertEquals(new Vector3f(1, 1, 1).normalize(), out.get(2));
+
+            float[] dots = new float[3];
+            buffer.dot(Vector3f.UNIT_Z, dots, 0, 3);
+            Assert.assertEquals(1.6f, dots[1], 1e-6);
+        }
+    }
+
+    @Test
+    public void testQuaternionMultiply() throws Exception {
+        Quaternionf a = Quaternionf.fromAngle(30, Vector3f.UNIT_Y);
+        Quaternionf b = Quaternionf.fromAngle(45, Vector3f.UNIT_X);
+        try (DirectQuaternionfBuffer buffer = new DirectQuaternionfBuffer(2)) {
+            buffer.set(0, a);
+            buffer.set(1, a);
+            buffer.multiply(b, 0, 1);
+            buffer.premultiply(b, 1, 2);
+            assertQuaternionEquals(a.multiply(b), buffer.get(0));
+            assertQuaternionEquals(b.multiply(a), buffer.get(1));
+        }
+    }
+
+    @Test
+    public void testMatrixMultiply() throws Exception {
+        Matrix4f t = Matrix4f.createTranslation(new Vector3f(1, 2, 3));
+        Matrix4f r = Matrix4f.createRotation(Quaternionf.fromAngle(30, Vector3f.UNIT_Y));
+        try (DirectMatrix4fBuffer buffer = new DirectMatrix4fBuffer(4)) {
+            buffer.set(0, t);
+            buffer.set(1, r);
+            buffer.multiply(0, 1, 2);
+            Assert.assertEquals(t.multiply(r), buffer.get(2));
+
+            buffer.multiply(1, 0, 1);
+            Assert.assertEquals(r.multiply(t), buffer.get(1));
+
+            buffer.set(3, r);
+            buffer.premultiply(t, 3, 4);
+            Assert.assertEquals(t.multiply(r), buffer.get(3));
+            buffer.set(3, t);
+            buffer.multiply(r, 3, 4);
+            Assert.assertEquals(t.multiply(r), buffer.get(3));
+            Assert.assertEquals(3f, buffer.get(3, 2, 3), 1e-6);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRelease() throws Exception {
+        DirectVector3fBuffer buffer = new DirectVector3fBuffer(1);
+        buffer.release();
+        Assert.assertTrue(buffer.isReleased());
+        buffer.release();
+        buffer.getX(0);
+    }
+
+    @Test
+    public void testByteBufferOutlivesRelease() throws Exception {
+        DirectVector3fBuffer buffer = new DirectVector3fBuffer(1);
+        buffer.set(0, 1, 2, 3);
+        ByteBuffer raw = buffer.getByteBuffer();
+        buffer.release();
+        Assert.assertEquals(1f, raw.getFloat(0), 0f);
+        try {
+            buffer.getByteBuffer();
+            Assert.fail();
+        } catch (IllegalStateException expected) {
+            // released storage does not hand out its buffer
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCapacityOverflow() throws Exception {
+        new DirectMatrix4fBuffer(40_000_000);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testOutOfBounds() throws Exception {
+        try (DirectVector3fBuffer buffer = new DirectVector3fBuffer(1)) {
+            buffer.getX(1);
+        }
+    }
+
+    private static void assertQuaternionEquals(Quaternionf expected, Quaternionf actual) {
+        Assert.assertEquals(expected.getW(), actual.getW(), 1e-6);
+        Assert.assertEquals(expected.getX(), actual.getX(), 1e-6);
+        Assert.assertEquals(expected.getY(), actual.getY(), 1e-6);
+        Assert.assertEquals(expected.getZ(), actual.getZ(), 1e-6);
+    }
+}
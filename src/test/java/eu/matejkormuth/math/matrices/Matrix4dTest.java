@@ -0,0 +1,71 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.matrices;
+
+import eu.matejkormuth.math.quaternions.Quaterniond;
+import eu.matejkormuth.math.vectors.Vector3d;
+import eu.matejkormuth.math.vectors.Vector3dBuffer;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class Matrix4dTest {
+
+    private static final Matrix4d TRS = Matrix4d.createTranslation(new Vector3d(1, 2, 3))
+            .multiply(Matrix4d.createRotation(Quaterniond.fromAngle(90, Vector3d.UNIT_Z)))
+            .multiply(Matrix4d.createScale(new Vector3d(2, 2, 2)));
+
+    @Test
+    public void testTransformPoints() throws Exception {
+        double[] points = {1, 0, 0, 0, 1, 0};
+        TRS.transformPoints(points, 0, points, 0, 2);
+        Assert.assertArrayEquals(new double[]{1, 4, 3, -1, 2, 3}, points, 1e-9);
+
+        Vector3dBuffer buffer = new Vector3dBuffer(new Vector3d[]{Vector3d.UNIT_X});
+        TRS.transformDirections(buffer, buffer, 0, 1);
+        Assert.assertEquals(2, buffer.get(0).getY(), 1e-9);
+    }
+
+    @Test
+    public void testInverse() throws Exception {
+        Assert.assertEquals(8, TRS.determinant(), 1e-9);
+        assertMatrixEquals(Matrix4d.IDENTITY, TRS.multiply(TRS.inverse()));
+        assertMatrixEquals(TRS.inverse(), TRS.inverseAffine());
+        Assert.assertNull(Matrix4d.ZERO.inverse());
+
+        Matrix4d rigid = Matrix4d.createTranslation(new Vector3d(4, 5, 6))
+                .multiply(Matrix4d.createRotation(Quaterniond.fromAngle(60, Vector3d.UNIT_X)));
+        assertMatrixEquals(rigid.inverse(), rigid.inverseRigid());
+    }
+
+    private static void assertMatrixEquals(Matrix4d expected, Matrix4d actual) {
+        for (int row = 0; row < 4; row++) {
+            for (int col = 0; col < 4; col++) {
+                Assert.assertEquals(expected.get(row, col), actual.get(row, col), 1e-9);
+            }
+        }
+    }
+}
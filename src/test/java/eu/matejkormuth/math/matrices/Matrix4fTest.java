@@ -0,0 +1,141 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.matrices;
+
+import eu.matejkormuth.math.quaternions.Quaternionf;
+import eu.matejkormuth.math.vectors.Vector3f;
+import eu.matejkormuth.math.vectors.Vector3fBuffer;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class Matrix4fTest {
+
+    private static final Matrix4f TRS = Matrix4f.createTranslation(new Vector3f(1, 2, 3))
+            .multiply(Matrix4f.createRotation(Quaternionf.fromAngle(90, Vector3f.UNIT_Z)))
+            .multiply(Matrix4f.createScale(new Vector3f(2, 2, 2)));
+
+    @Test
+    public void testIsAffine() throws Exception {
+        Assert.assertTrue(Matrix4f.IDENTITY.isAffine());
+        Assert.assertTrue(TRS.isAffine());
+        Assert.assertFalse(Matrix4f.createPerspective(90, 1, 0.1f, 100).isAffine());
+    }
+
+    @Test
+    public void testTransformPoint() throws Exception {
+        assertVectorEquals(new Vector3f(1, 4, 3), TRS.transformPoint(Vector3f.UNIT_X));
+        assertVectorEquals(new Vector3f(0, 2, 0), TRS.transformDirection(Vector3f.UNIT_X));
+        assertVectorEquals(new Vector3f(1, 4, 3), TRS.projectPoint(Vector3f.UNIT_X));
+    }
+
+    @Test
+    public void testTransformPointsArray() throws Exception {
+        float[] points = {1, 0, 0, 0, 1, 0, 5, 5, 5};
+        float[] out = new float[points.length + 1];
+        TRS.transformPoints(points, 0, out, 1, 3);
+        for (int i = 0; i < 3; i++) {
+            Vector3f expected = TRS.transformPoint(new Vector3f(points[i * 3], points[i * 3 + 1], points[i * 3 + 2]));
+            assertVectorEquals(expected, new Vector3f(out[1 + i * 3], out[2 + i * 3], out[3 + i * 3]));
+        }
+
+        TRS.transformDirections(points, 0, points, 0, 3);
+        assertVectorEquals(new Vector3f(0, 2, 0), new Vector3f(points[0], points[1], points[2]));
+        assertVectorEquals(new Vector3f(-2, 0, 0), new Vector3f(points[3], points[4], points[5]));
+    }
+
+    @Test
+    public void testProjectPoints() throws Exception {
+        Matrix4f perspective = Matrix4f.createPerspective(90, 1, 1, 100);
+        float[] points = {0, 0, 1, 0, 0, 100, 2, 1, 4};
+        float[] out = new float[points.length];
+        perspective.projectPoints(points, 0, out, 0, 3);
+        Assert.assertEquals(-1, out[2], 1e-5);
+        Assert.assertEquals(1, out[5], 1e-5);
+        assertVectorEquals(perspective.projectPoint(new Vector3f(2, 1, 4)), new Vector3f(out[6], out[7], out[8]));
+
+        // affine fast path gives the same results as transformPoints
+        TRS.projectPoints(points, 0, out, 0, 3);
+        assertVectorEquals(TRS.transformPoint(new Vector3f(2, 1, 4)), new Vector3f(out[6], out[7], out[8]));
+    }
+
+    @Test
+    public void testTransformBuffer() throws Exception {
+        Vector3fBuffer buffer = new Vector3fBuffer(new Vector3f[]{Vector3f.UNIT_X, Vector3f.UNIT_Y, Vector3f.ONE});
+        Vector3fBuffer out = new Vector3fBuffer(3);
+        TRS.transformPoints(buffer, out, 0, 3);
+        assertVectorEquals(TRS.transformPoint(Vector3f.ONE), out.get(2));
+        TRS.transformDirections(buffer, out, 0, 3);
+        assertVectorEquals(TRS.transformDirection(Vector3f.UNIT_Y), out.get(1));
+        TRS.projectPoints(buffer, buffer, 0, 1);
+        assertVectorEquals(new Vector3f(1, 4, 3), buffer.get(0));
+        assertVectorEquals(Vector3f.UNIT_Y, buffer.get(1));
+    }
+
+    @Test
+    public void testDeterminant() throws Exception {
+        Assert.assertEquals(1, Matrix4f.IDENTITY.determinant(), 1e-6);
+        Assert.assertEquals(8, TRS.determinant(), 1e-4);
+        Assert.assertEquals(0, Matrix4f.ZERO.determinant(), 1e-6);
+    }
+
+    @Test
+    public void testInverse() throws Exception {
+        Matrix4f perspective = Matrix4f.createPerspective(70, 16f / 9f, 0.1f, 100).multiply(TRS);
+        assertMatrixEquals(Matrix4f.IDENTITY, perspective.multiply(perspective.inverse()), 1e-4f);
+        assertMatrixEquals(Matrix4f.IDENTITY, TRS.inverse().multiply(TRS), 1e-5f);
+        Assert.assertNull(Matrix4f.ZERO.inverse());
+        Assert.assertNull(Matrix4f.createScale(new Vector3f(1, 0, 1)).inverse());
+    }
+
+    @Test
+    public void testInverseAffine() throws Exception {
+        assertMatrixEquals(TRS.inverse(), TRS.inverseAffine(), 1e-5f);
+        assertMatrixEquals(Matrix4f.IDENTITY, TRS.multiply(TRS.inverseAffine()), 1e-5f);
+        Assert.assertNull(Matrix4f.createScale(new Vector3f(1, 0, 1)).inverseAffine());
+    }
+
+    @Test
+    public void testInverseRigid() throws Exception {
+        Matrix4f rigid = Matrix4f.createTranslation(new Vector3f(1, 2, 3))
+                .multiply(Matrix4f.createRotation(Quaternionf.fromAngle(33, new Vector3f(1, 1, 0).normalize())));
+        assertMatrixEquals(rigid.inverse(), rigid.inverseRigid(), 1e-5f);
+    }
+
+    static void assertVectorEquals(Vector3f expected, Vector3f actual) {
+        Assert.assertEquals(expected.getX(), actual.getX(), 1e-5);
+        Assert.assertEquals(expected.getY(), actual.getY(), 1e-5);
+        Assert.assertEquals(expected.getZ(), actual.getZ(), 1e-5);
+    }
+
+    static void assertMatrixEquals(Matrix4f expected, Matrix4f actual, float delta) {
+        for (int row = 0; row < 4; row++) {
+            for (int col = 0; col < 4; col++) {
+                Assert.assertEquals(expected.get(row, col), actual.get(row, col), delta);
+            }
+        }
+    }
+}
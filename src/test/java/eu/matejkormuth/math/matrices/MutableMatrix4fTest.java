@@ -0,0 +1,103 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.matrices;
+
+import eu.matejkormuth.math.quaternions.Quaternionf;
+import eu.matejkormuth.math.vectors.Vector3f;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MutableMatrix4fTest {
+
+    private static final Vector3f TRANSLATION = new Vector3f(1, 2, 3);
+    private static final Quaternionf ROTATION = Quaternionf.fromAngle(33, new Vector3f(1, 1, 0).normalize());
+    private static final Vector3f SCALE = new Vector3f(2, 3, 4);
+
+    private static final Matrix4f T = Matrix4f.createTranslation(TRANSLATION);
+    private static final Matrix4f R = Matrix4f.createRotation(ROTATION);
+    private static final Matrix4f S = Matrix4f.createScale(SCALE);
+
+    @Test
+    public void testIdentity() throws Exception {
+        Assert.assertEquals(Matrix4f.IDENTITY, new MutableMatrix4f().toImmutable());
+        Assert.assertEquals(T, T.toMutable().toImmutable());
+    }
+
+    @Test
+    public void testMultiplyInto() throws Exception {
+        MutableMatrix4f dest = new MutableMatrix4f();
+        Assert.assertSame(dest, T.multiply(R, dest));
+        Assert.assertEquals(T.multiply(R), dest.toImmutable());
+
+        float[] array = new float[18];
+        T.multiply(R, array, 2);
+        Assert.assertEquals(T.multiply(R), new MutableMatrix4f().set(array, 2).toImmutable());
+        Assert.assertEquals(T.multiply(R), new Matrix4f(dest.get(new float[16], 0)));
+    }
+
+    @Test
+    public void testMultiplyLocal() throws Exception {
+        MutableMatrix4f m = new MutableMatrix4f(T).multiplyLocal(R).multiplyLocal(S);
+        Assert.assertEquals(T.multiply(R).multiply(S), m.toImmutable());
+
+        m = new MutableMatrix4f(S).premultiplyLocal(R).premultiplyLocal(T);
+        Matrix4fTest.assertMatrixEquals(T.multiply(R).multiply(S), m.toImmutable(), 1e-6f);
+
+        m = new MutableMatrix4f(R);
+        m.multiplyLocal(m);
+        Assert.assertEquals(R.multiply(R), m.toImmutable());
+    }
+
+    @Test
+    public void testSetTransform() throws Exception {
+        MutableMatrix4f m = new MutableMatrix4f().setTransform(TRANSLATION, ROTATION, SCALE);
+        Matrix4fTest.assertMatrixEquals(T.multiply(R).multiply(S), m.toImmutable(), 1e-6f);
+    }
+
+    @Test
+    public void testTransposeLocal() throws Exception {
+        Assert.assertEquals(T.transpose(), T.toMutable().transposeLocal().toImmutable());
+        Assert.assertEquals(4f, new MutableMatrix4f(S).get(2, 2), 1e-6);
+    }
+
+    @Test
+    public void testGet() throws Exception {
+        MutableMatrix4f m = T.toMutable();
+        Assert.assertEquals(3f, m.get(2, 3), 0f);
+        Assert.assertEquals(1f, m.get(1, 1), 0f);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetInvalidColumn() throws Exception {
+        T.toMutable().get(0, 5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetNegativeRow() throws Exception {
+        T.toMutable().get(-1, 5);
+    }
+}
@@ -0,0 +1,159 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.parallel;
+
+import eu.matejkormuth.math.matrices.Matrix4f;
+import eu.matejkormuth.math.vectors.Vector3f;
+import eu.matejkormuth.math.vectors.Vector3fBuffer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public class ParallelExecutorTest {
+
+    @Test
+    public void testForkJoinCoversRangeOnce() throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertCoversRangeOnce(new ParallelExecutor(pool, 100), 100);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testExecutorCoversRangeOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            // at most three chunks
+            assertCoversRangeOnce(new ParallelExecutor(executor, 3, 100), 3334);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testExecutorSmallThreshold() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            // chunk size rounding leaves fewer chunks than parallelism
+            assertCoversRangeOnce(new ParallelExecutor(executor, 4, 1), 0, 5, 2);
+            assertCoversRangeOnce(new ParallelExecutor(executor, 16, 2), 0, 40, 3);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testExecutorRejectsTasks() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        executor.shutdown();
+        assertCoversRangeOnce(new ParallelExecutor(executor, 4, 10), 2501);
+    }
+
+    @Test
+    public void testSmallRangeRunsInCaller() throws Exception {
+        Thread caller = Thread.currentThread();
+        ParallelExecutor.common().forRange(0, 10, (from, to) -> {
+            Assert.assertSame(caller, Thread.currentThread());
+            Assert.assertEquals(0, from);
+            Assert.assertEquals(10, to);
+        });
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testExceptionIsRethrown() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            new ParallelExecutor(executor, 4, 10).forRange(0, 100, (from, to) -> {
+                if (from > 50) {
+                    throw new IllegalStateException();
+                }
+            });
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testTransformPoints() throws Exception {
+        int size = 10000;
+        Vector3fBuffer src = new Vector3fBuffer(size);
+        for (int i = 0; i < size; i++) {
+            src.set(i, i, -i, 2 * i);
+        }
+        Matrix4f m = Matrix4f.createTranslation(new Vector3f(1, 2, 3));
+        Vector3fBuffer dst = new Vector3fBuffer(size);
+        new ParallelExecutor(ForkJoinPool.commonPool(), 128).transformPoints(m, src, dst, 0, size);
+        for (int i = 0; i < size; i++) {
+            Assert.assertEquals(new Vector3f(i + 1, -i + 2, 2 * i + 3), dst.get(i));
+        }
+    }
+
+    @Test
+    public void testSolveQuadratic() throws Exception {
+        int size = 5000;
+        double[] a = new double[size];
+        double[] b = new double[size];
+        double[] c = new double[size];
+        for (int i = 0; i < size; i++) {
+            // (x - i)(x + 1)
+            a[i] = 1;
+            b[i] = 1 - i;
+            c[i] = -i;
+        }
+        double[] roots = new double[size * 2];
+        int[] counts = new int[size];
+        new ParallelExecutor(ForkJoinPool.commonPool(), 64).solveQuadratic(a, b, c, roots, counts, 0, size);
+        for (int i = 2; i < size; i++) {
+            Assert.assertEquals(2, counts[i]);
+            Assert.assertEquals(-1, roots[i * 2], 1e-9);
+            Assert.assertEquals(i, roots[i * 2 + 1], 1e-9);
+        }
+    }
+
+    private static void assertCoversRangeOnce(ParallelExecutor executor, int maxChunk) {
+        assertCoversRangeOnce(executor, 7, 10007, maxChunk);
+    }
+
+    private static void assertCoversRangeOnce(ParallelExecutor executor, int from, int to, int maxChunk) {
+        AtomicIntegerArray counts = new AtomicIntegerArray(to);
+        executor.forRange(from, to, (f, t) -> {
+            Assert.assertTrue(t - f <= maxChunk);
+            for (int i = f; i < t; i++) {
+                counts.incrementAndGet(i);
+            }
+        });
+        for (int i = 0; i < to; i++) {
+            Assert.assertEquals(i < from ? 0 : 1, counts.get(i));
+        }
+    }
+}
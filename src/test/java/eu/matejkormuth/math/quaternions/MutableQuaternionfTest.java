@@ -0,0 +1,66 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.quaternions;
+
+import eu.matejkormuth.math.vectors.Vector3f;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MutableQuaternionfTest {
+
+    private static final Quaternionf A = Quaternionf.fromAngle(30, Vector3f.UNIT_Y);
+    private static final Quaternionf B = Quaternionf.fromAngle(45, Vector3f.UNIT_X);
+
+    @Test
+    public void testMultiplyInto() throws Exception {
+        MutableQuaternionf dest = new MutableQuaternionf();
+        Assert.assertSame(dest, A.multiply(B, dest));
+        Assert.assertEquals(A.multiply(B), dest.toImmutable());
+
+        float[] array = new float[5];
+        A.multiply(B, array, 1);
+        Assert.assertEquals(A.multiply(B), new Quaternionf(array[1], array[2], array[3], array[4]));
+    }
+
+    @Test
+    public void testMultiplyLocal() throws Exception {
+        Assert.assertEquals(A.multiply(B), A.toMutable().multiplyLocal(B).toImmutable());
+        Assert.assertEquals(B.multiply(A), A.toMutable().premultiplyLocal(B).toImmutable());
+
+        MutableQuaternionf q = new MutableQuaternionf(A);
+        q.multiplyLocal(q);
+        Assert.assertEquals(A.multiply(A), q.toImmutable());
+    }
+
+    @Test
+    public void testNormalizeAndConjugate() throws Exception {
+        Quaternionf q = new Quaternionf(1, 2, 3, 4);
+        Assert.assertEquals(q.normalize(), q.toMutable().normalizeLocal().toImmutable());
+        Assert.assertEquals(q.conjugate(), q.toMutable().conjugateLocal().toImmutable());
+        Assert.assertEquals(Quaternionf.IDENTITY, new MutableQuaternionf().toImmutable());
+    }
+}
@@ -0,0 +1,56 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.quaternions;
+
+import eu.matejkormuth.math.vectors.Vector3d;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class QuaterniondTest {
+
+    @Test
+    public void testBatchSlerpMatchesSlerp() throws Exception {
+        Quaterniond a = Quaterniond.fromAngle(10, Vector3d.UNIT_Y);
+        Quaterniond b = Quaterniond.fromAngle(120, new Vector3d(1, 1, 0).normalize());
+        double[] start = {a.getW(), a.getX(), a.getY(), a.getZ()};
+        double[] end = {b.getW(), b.getX(), b.getY(), b.getZ()};
+        double[] out = new double[4];
+        for (double f = 0; f <= 1; f += 0.125) {
+            Quaterniond expected = a.slerp(a, b, f);
+            Quaterniond.slerp(start, end, new double[]{f}, out, 0, 1);
+            Assert.assertEquals(expected.getW(), out[0], 1e-9);
+            Assert.assertEquals(expected.getX(), out[1], 1e-9);
+            Assert.assertEquals(expected.getY(), out[2], 1e-9);
+            Assert.assertEquals(expected.getZ(), out[3], 1e-9);
+
+            expected = a.nlerp(a, b, f);
+            Quaterniond.nlerp(start, end, new double[]{f}, out, 0, 1);
+            Assert.assertEquals(expected.getW(), out[0], 1e-9);
+            Assert.assertEquals(expected.getZ(), out[3], 1e-9);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.quaternions;
+
+import eu.matejkormuth.math.vectors.Vector3f;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class QuaternionfTest {
+
+    private static final Quaternionf A = Quaternionf.fromAngle(10, Vector3f.UNIT_Y);
+    private static final Quaternionf B = Quaternionf.fromAngle(120, new Vector3f(1, 1, 0).normalize());
+
+    @Test
+    public void testBatchSlerp() throws Exception {
+        float[] start = pack(A, A, A, Quaternionf.IDENTITY);
+        float[] end = pack(B, B, B, Quaternionf.fromAngle(90, Vector3f.UNIT_Z));
+        float[] factors = {0f, 0.5f, 1f, 0.5f};
+        float[] out = new float[16];
+        Quaternionf.slerp(start, end, factors, out, 0, 4);
+
+        assertRotationEquals(A, unpack(out, 0));
+        assertRotationEquals(B, unpack(out, 2));
+        assertRotationEquals(Quaternionf.fromAngle(45, Vector3f.UNIT_Z), unpack(out, 3));
+        // halfway rotation has same angle to start as to end
+        Quaternionf half = unpack(out, 1);
+        Assert.assertEquals(half.dot(A), half.dot(B), 1e-6);
+        Assert.assertEquals(1f, half.length(), 1e-6);
+    }
+
+    @Test
+    public void testBatchSlerpShortestPath() throws Exception {
+        Quaternionf end = Quaternionf.fromAngle(90, Vector3f.UNIT_Z);
+        float[] start = pack(Quaternionf.IDENTITY);
+        // same rotation as end, but on the other hemisphere
+        float[] negatedEnd = pack(end.multiply(-1f));
+        float[] out = new float[4];
+        Quaternionf.slerp(start, negatedEnd, 0.5f, out, 0, 1);
+        assertRotationEquals(Quaternionf.fromAngle(45, Vector3f.UNIT_Z), unpack(out, 0));
+    }
+
+    @Test
+    public void testBatchNlerp() throws Exception {
+        float[] start = pack(A, A);
+        float[] end = pack(A, B);
+        float[] out = start;
+        Quaternionf.nlerp(start, end, new float[]{0.3f, 1f}, out, 0, 2);
+        assertRotationEquals(A, unpack(out, 0));
+        assertRotationEquals(B, unpack(out, 1));
+    }
+
+    @Test
+    public void testFastVariants() throws Exception {
+        Quaternionf exact = Quaternionf.fromAngle(73, new Vector3f(1, 2, 3).normalize());
+        Quaternionf fast = Quaternionf.fromAngleFast(73, new Vector3f(1, 2, 3).normalize());
+        Assert.assertEquals(exact.getW(), fast.getW(), 1e-6);
+        Assert.assertEquals(exact.getX(), fast.getX(), 1e-6);
+        Assert.assertEquals(exact.getY(), fast.getY(), 1e-6);
+        Assert.assertEquals(exact.getZ(), fast.getZ(), 1e-6);
+
+        float[] start = pack(A, A, Quaternionf.IDENTITY);
+        float[] end = pack(B, B, Quaternionf.fromAngle(90, Vector3f.UNIT_Z));
+        float[] factors = {0.25f, 0.5f, 0.75f};
+        float[] expected = new float[12];
+        float[] actual = new float[12];
+        Quaternionf.slerp(start, end, factors, expected, 0, 3);
+        Quaternionf.slerpFast(start, end, factors, actual, 0, 3);
+        Assert.assertArrayEquals(expected, actual, 1e-5f);
+    }
+
+    static float[] pack(Quaternionf... quaternions) {
+        float[] packed = new float[quaternions.length * 4];
+        for (int i = 0; i < quaternions.length; i++) {
+            packed[i * 4] = quaternions[i].getW();
+            packed[i * 4 + 1] = quaternions[i].getX();
+            packed[i * 4 + 2] = quaternions[i].getY();
+            packed[i * 4 + 3] = quaternions[i].getZ();
+        }
+        return packed;
+    }
+
+    static Quaternionf unpack(float[] packed, int index) {
+        return new Quaternionf(packed[index * 4], packed[index * 4 + 1], packed[index * 4 + 2], packed[index * 4 + 3]);
+    }
+
+    // q and -q are the same rotation
+    static void assertRotationEquals(Quaternionf expected, Quaternionf actual) {
+        Assert.assertEquals(1f, Math.abs(expected.dot(actual)), 1e-5);
+    }
+
+    @Test
+    public void testNormalizeVariants() throws Exception {
+        Assert.assertSame(A, A.normalizeIfNeeded());
+        Quaternionf scaled = B.multiply(3f);
+        Assert.assertEquals(B.multiply(3f).normalize(), scaled.normalizeIfNeeded());
+        assertRotationEquals(B, scaled.normalizeFast());
+        Assert.assertEquals(1f, scaled.toMutable().normalizeFastLocal().length(), 1e-5);
+        Assert.assertEquals(1f, scaled.toMutable().normalizeIfNeededLocal().length(), 1e-6);
+    }
+}
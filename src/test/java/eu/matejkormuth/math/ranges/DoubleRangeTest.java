@@ -0,0 +1,61 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.ranges;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DoubleRangeTest {
+
+    @Test
+    public void testSamples() throws Exception {
+        DoubleRange range = new DoubleRange(0, 1);
+        double[] values = range.samples(11).toArray();
+        Assert.assertEquals(11, values.length);
+        Assert.assertEquals(0.3, values[3], 1e-15);
+        Assert.assertEquals(1, values[10], 0);
+    }
+
+    @Test
+    public void testSteppedHasNoDrift() throws Exception {
+        // summing 0.1 a million times would drift, values are computed from index
+        double[] values = new DoubleRange(0, 100_000).stream(0.1).toArray();
+        Assert.assertEquals(1_000_001, values.length);
+        Assert.assertEquals(99_999.9, values[999_999], 1e-9);
+    }
+
+    @Test
+    public void testForEachChunk() throws Exception {
+        double[] sum = new double[1];
+        new DoubleRange(1, 100).forEachChunk(100, new double[16], (chunk, length) -> {
+            for (int i = 0; i < length; i++) {
+                sum[0] += chunk[i];
+            }
+        });
+        Assert.assertEquals(5050, sum[0], 1e-9);
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.ranges;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Spliterator;
+
+public class FloatRangeTest {
+
+    private final FloatRange range = new FloatRange(-1f, 1f);
+
+    @Test
+    public void testSamples() throws Exception {
+        Assert.assertArrayEquals(new double[]{-1, -0.5, 0, 0.5, 1}, range.samples(5).toArray(), 0);
+        Assert.assertArrayEquals(new double[]{-1}, range.samples(1).toArray(), 0);
+        Assert.assertEquals(0, range.samples(0).count());
+    }
+
+    @Test
+    public void testSamplesEndExactlyAtMax() throws Exception {
+        FloatRange range = new FloatRange(0.1f, 0.7f);
+        double[] values = range.samples(7).toArray();
+        Assert.assertEquals(0.1f, values[0], 0);
+        Assert.assertEquals(0.7f, values[6], 0);
+    }
+
+    @Test
+    public void testStepped() throws Exception {
+        Assert.assertArrayEquals(new double[]{-1, -0.25, 0.5}, range.stream(0.75f).toArray(), 0);
+        Assert.assertEquals(9, range.stream(0.25f).count());
+        Assert.assertEquals(0, new FloatRange(1, 0).stream(0.1f).count());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveStep() throws Exception {
+        range.stream(0f);
+    }
+
+    @Test
+    public void testSpliterator() throws Exception {
+        Spliterator.OfDouble spliterator = range.samples(1001).spliterator();
+        Assert.assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+        Spliterator.OfDouble prefix = spliterator.trySplit();
+        Assert.assertEquals(500, prefix.getExactSizeIfKnown());
+        Assert.assertEquals(501, spliterator.getExactSizeIfKnown());
+    }
+
+    @Test
+    public void testParallelMatchesSequential() throws Exception {
+        FloatRange range = new FloatRange(0, 100);
+        Assert.assertEquals(range.samples(1_000_001).sum(), range.samples(1_000_001).parallel().sum(), 1e-3);
+        Assert.assertArrayEquals(range.samples(100_000).toArray(), range.samples(100_000).parallel().toArray(), 0);
+    }
+
+    @Test
+    public void testForEachAndChunks() throws Exception {
+        double[] expected = range.samples(11).toArray();
+        float[] actual = new float[11];
+        int[] count = new int[1];
+        range.forEach(11, value -> actual[count[0]++] = value);
+        for (int i = 0; i < 11; i++) {
+            Assert.assertEquals(expected[i], actual[i], 0);
+        }
+
+        count[0] = 0;
+        range.forEachChunk(11, new float[4], (chunk, length) -> {
+            Assert.assertEquals(count[0] < 8 ? 4 : 3, length);
+            for (int i = 0; i < length; i++) {
+                Assert.assertEquals(expected[count[0]++], chunk[i], 0);
+            }
+        });
+        Assert.assertEquals(11, count[0]);
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.ranges;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class IntRangeSetTest {
+
+    @Test
+    public void testMerging() throws Exception {
+        IntRangeSet set = IntRangeSet.of(new IntRange(10, 20), new IntRange(1, 5), new IntRange(4, 8),
+                new IntRange(21, 25), new IntRange(30, 29), new IntRange(40, 50));
+        Assert.assertEquals("[<1; 8>, <10; 25>, <40; 50>]", set.toString());
+        Assert.assertEquals(3, set.size());
+        Assert.assertEquals(10, set.get(1).getMin());
+        Assert.assertEquals(25, set.get(1).getMax());
+    }
+
+    @Test
+    public void testContains() throws Exception {
+        IntRangeSet set = IntRangeSet.of(new IntRange(1, 5), new IntRange(10, 10), new IntRange(Integer.MAX_VALUE - 1, Integer.MAX_VALUE));
+        Assert.assertFalse(set.contains(0));
+        Assert.assertTrue(set.contains(1));
+        Assert.assertTrue(set.contains(5));
+        Assert.assertFalse(set.contains(6));
+        Assert.assertTrue(set.contains(10));
+        Assert.assertFalse(set.contains(11));
+        Assert.assertTrue(set.contains(Integer.MAX_VALUE));
+        Assert.assertFalse(set.contains(Integer.MIN_VALUE));
+        Assert.assertFalse(IntRangeSet.EMPTY.contains(0));
+    }
+
+    @Test
+    public void testMatchesLinearScan() throws Exception {
+        Random random = new Random(7);
+        List<IntRange> ranges = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            int min = random.nextInt(10_000);
+            ranges.add(new IntRange(min, min + random.nextInt(50)));
+        }
+        IntRangeSet set = IntRangeSet.of(ranges);
+        int[] values = new int[11_000];
+        boolean[] contains = new boolean[values.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i - 500;
+        }
+        set.contains(values, contains, 0, values.length);
+        for (int i = 0; i < values.length; i++) {
+            int value = values[i];
+            Assert.assertEquals(ranges.stream().anyMatch(r -> r.isInside(value)), contains[i]);
+        }
+    }
+
+    @Test
+    public void testUnionAndIntersection() throws Exception {
+        IntRangeSet a = IntRangeSet.of(new IntRange(0, 10), new IntRange(20, 30));
+        IntRangeSet b = IntRangeSet.of(new IntRange(5, 15), new IntRange(31, 40), new IntRange(50, 60));
+        Assert.assertEquals("[<0; 15>, <20; 40>, <50; 60>]", a.union(b).toString());
+        Assert.assertEquals("[<5; 10>]", a.intersection(b).toString());
+        Assert.assertEquals(a, a.union(IntRangeSet.EMPTY));
+        Assert.assertTrue(a.intersection(IntRangeSet.EMPTY).isEmpty());
+    }
+}
@@ -0,0 +1,52 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.ranges;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LongRangeSetTest {
+
+    @Test
+    public void testContainsAndMerging() throws Exception {
+        LongRangeSet set = LongRangeSet.of(new LongRange(Long.MIN_VALUE, -1_000_000_000_000L),
+                new LongRange(5_000_000_000L, 6_000_000_000L), new LongRange(6_000_000_001L, 7_000_000_000L));
+        Assert.assertEquals(2, set.size());
+        Assert.assertTrue(set.contains(Long.MIN_VALUE));
+        Assert.assertFalse(set.contains(0));
+        Assert.assertTrue(set.contains(6_500_000_000L));
+        Assert.assertFalse(set.contains(7_000_000_001L));
+    }
+
+    @Test
+    public void testUnionAndIntersection() throws Exception {
+        LongRangeSet a = LongRangeSet.of(new LongRange(0, 100));
+        LongRangeSet b = LongRangeSet.of(new LongRange(50, 60), new LongRange(90, 200));
+        Assert.assertEquals("[<0; 200>]", a.union(b).toString());
+        Assert.assertEquals("[<50; 60>, <90; 100>]", a.intersection(b).toString());
+    }
+}
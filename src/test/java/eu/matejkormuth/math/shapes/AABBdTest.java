@@ -0,0 +1,53 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.shapes;
+
+import eu.matejkormuth.math.vectors.Vector3d;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AABBdTest {
+
+    private static final AABBd BOX = new AABBd(-1, 0, 2, 3, 4, 5);
+
+    @Test
+    public void testBasics() throws Exception {
+        Assert.assertEquals(new Vector3d(1, 2, 3.5), BOX.getCenter());
+        Assert.assertEquals(48, BOX.volume(), 1e-12);
+        Assert.assertEquals(80, BOX.surfaceArea(), 1e-12);
+        Assert.assertEquals(BOX, AABBd.EMPTY.union(BOX));
+        Assert.assertTrue(AABBd.EMPTY.isEmpty());
+    }
+
+    @Test
+    public void testQueries() throws Exception {
+        Assert.assertTrue(BOX.contains(new Vector3d(3, 4, 5)));
+        Assert.assertTrue(BOX.intersects(new AABBd(3, 4, 5, 6, 6, 6)));
+        Assert.assertEquals(13, BOX.distanceSquared(new Vector3d(5, 7, 4)), 1e-12);
+        Assert.assertEquals(new AABBd(-2, -1, 1, 4, 5, 6), BOX.expand(1));
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.shapes;
+
+import eu.matejkormuth.math.matrices.Matrix4f;
+import eu.matejkormuth.math.quaternions.Quaternionf;
+import eu.matejkormuth.math.vectors.Vector3f;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AABBfTest {
+
+    private static final AABBf BOX = new AABBf(-1, 0, 2, 3, 4, 5);
+
+    @Test
+    public void testBasics() throws Exception {
+        Assert.assertEquals(new Vector3f(1, 2, 3.5f), BOX.getCenter());
+        Assert.assertEquals(new Vector3f(4, 4, 3), BOX.getSize());
+        Assert.assertEquals(48, BOX.volume(), 1e-6);
+        Assert.assertEquals(2 * (16 + 12 + 12), BOX.surfaceArea(), 1e-6);
+        Assert.assertTrue(AABBf.EMPTY.isEmpty());
+        Assert.assertFalse(BOX.isEmpty());
+        Assert.assertEquals(0, AABBf.EMPTY.volume(), 0);
+    }
+
+    @Test
+    public void testUnionAndFromPoints() throws Exception {
+        Assert.assertEquals(BOX, AABBf.EMPTY.union(BOX));
+        Assert.assertEquals(BOX, AABBf.fromPoints(new Vector3f(-1, 4, 3), new Vector3f(3, 0, 2), new Vector3f(0, 1, 5)));
+        Assert.assertEquals(new AABBf(-1, 0, 2, 10, 4, 5), BOX.union(new Vector3f(10, 1, 3)));
+        Assert.assertEquals(BOX, AABBf.fromCenter(new Vector3f(1, 2, 3.5f), new Vector3f(2, 2, 1.5f)));
+    }
+
+    @Test
+    public void testContainsAndIntersects() throws Exception {
+        Assert.assertTrue(BOX.contains(new Vector3f(3, 4, 5)));
+        Assert.assertFalse(BOX.contains(new Vector3f(3, 4, 5.01f)));
+        Assert.assertTrue(BOX.contains(new AABBf(0, 1, 3, 1, 2, 4)));
+        Assert.assertTrue(BOX.intersects(new AABBf(3, 4, 5, 6, 6, 6)));
+        Assert.assertFalse(BOX.intersects(new AABBf(3.1f, 4, 5, 6, 6, 6)));
+        Assert.assertEquals(new AABBf(0, 1, 2, 3, 4, 5), BOX.intersection(new AABBf(0, 1, -5, 10, 10, 10)));
+        Assert.assertNull(BOX.intersection(new AABBf(10, 10, 10, 11, 11, 11)));
+    }
+
+    @Test
+    public void testDistance() throws Exception {
+        Assert.assertEquals(0, BOX.distanceSquared(new Vector3f(0, 1, 3)), 0);
+        Assert.assertEquals(4 + 9, BOX.distanceSquared(new Vector3f(5, 7, 4)), 1e-6);
+        Assert.assertEquals(new Vector3f(3, 4, 4), BOX.closestPoint(new Vector3f(5, 7, 4)));
+        Assert.assertTrue(BOX.intersectsSphere(new Vector3f(5, 7, 4), 3.61f));
+        Assert.assertFalse(BOX.intersectsSphere(new Vector3f(5, 7, 4), 3.6f));
+    }
+
+    @Test
+    public void testTransform() throws Exception {
+        Matrix4f m = Matrix4f.createTranslation(new Vector3f(1, 2, 3))
+                .multiply(Matrix4f.createRotation(Quaternionf.fromAngle(30, Vector3f.UNIT_Y)));
+        AABBf transformed = BOX.transform(m);
+        AABBf corners = AABBf.EMPTY;
+        for (int i = 0; i < 8; i++) {
+            Vector3f corner = new Vector3f((i & 1) != 0 ? 3 : -1, (i & 2) != 0 ? 4 : 0, (i & 4) != 0 ? 5 : 2);
+            corners = corners.union(m.transformPoint(corner));
+        }
+        Assert.assertEquals(0, transformed.getMin().distance(corners.getMin()), 1e-5);
+        Assert.assertEquals(0, transformed.getMax().distance(corners.getMax()), 1e-5);
+        Assert.assertEquals(BOX.translate(new Vector3f(1, 2, 3)),
+                BOX.transform(Matrix4f.createTranslation(new Vector3f(1, 2, 3))));
+    }
+
+    @Test
+    public void testConversion() throws Exception {
+        Assert.assertEquals(BOX, BOX.toDouble().toFloat());
+        Assert.assertArrayEquals(new float[]{0, -1, 0, 2, 3, 4, 5}, BOX.toArray(new float[7], 1), 0);
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.shapes;
+
+import eu.matejkormuth.math.matrices.Matrix4f;
+import eu.matejkormuth.math.parallel.ParallelExecutor;
+import eu.matejkormuth.math.quaternions.Quaternionf;
+import eu.matejkormuth.math.vectors.Vector3f;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class FrustumTest {
+
+    // camera at origin looking along +z, 90 degrees field of view
+    private static final Frustum FRUSTUM = Frustum.fromMatrix(Matrix4f.createPerspective(90, 1, 1, 100));
+
+    @Test
+    public void testPlanes() throws Exception {
+        Assert.assertEquals(9, FRUSTUM.distance(Frustum.NEAR, 0, 0, 10), 1e-4);
+        Assert.assertEquals(90, FRUSTUM.distance(Frustum.FAR, 0, 0, 10), 1e-3);
+        Assert.assertEquals(10 / Math.sqrt(2), FRUSTUM.distance(Frustum.LEFT, 0, 0, 10), 1e-4);
+        Assert.assertEquals(10 / Math.sqrt(2), FRUSTUM.distance(Frustum.TOP, 0, 0, 10), 1e-4);
+    }
+
+    @Test
+    public void testPointsAndSpheres() throws Exception {
+        Assert.assertTrue(FRUSTUM.contains(new Vector3f(0, 0, 10)));
+        Assert.assertFalse(FRUSTUM.contains(new Vector3f(0, 0, 0.5f)));
+        Assert.assertFalse(FRUSTUM.contains(new Vector3f(0, 0, 200)));
+        Assert.assertFalse(FRUSTUM.contains(new Vector3f(11, 0, 10)));
+        Assert.assertTrue(FRUSTUM.intersectsSphere(new Vector3f(11, 0, 10), 1));
+        Assert.assertFalse(FRUSTUM.intersectsSphere(new Vector3f(11, 0, 10), 0.7f));
+        Assert.assertFalse(FRUSTUM.intersectsSphere(new Vector3f(0, 0, -5), 3));
+    }
+
+    @Test
+    public void testBoxes() throws Exception {
+        Assert.assertTrue(FRUSTUM.intersects(new AABBf(-1, -1, 5, 1, 1, 6)));
+        Assert.assertTrue(FRUSTUM.intersects(new AABBf(9, 9, 9, 12, 12, 10)));
+        Assert.assertFalse(FRUSTUM.intersects(new AABBf(11, -1, 9, 12, 1, 10)));
+        Assert.assertFalse(FRUSTUM.intersects(new AABBf(-1, -1, -5, 1, 1, 0.5f)));
+    }
+
+    @Test
+    public void testRotatedView() throws Exception {
+        // camera rotated around y axis
+        Matrix4f view = Matrix4f.createRotation(Quaternionf.fromAngle(-90, Vector3f.UNIT_Y));
+        Frustum frustum = Frustum.fromMatrix(Matrix4f.createPerspective(90, 1, 1, 100).multiply(view));
+        Vector3f ahead = Matrix4f.createRotation(Quaternionf.fromAngle(90, Vector3f.UNIT_Y))
+                .transformPoint(new Vector3f(0, 0, 10));
+        Assert.assertEquals(0, view.transformPoint(ahead).distance(new Vector3f(0, 0, 10)), 1e-4);
+        Assert.assertTrue(frustum.contains(ahead));
+        Assert.assertFalse(frustum.contains(ahead.negate()));
+    }
+
+    @Test
+    public void testBatchMatchesSingle() throws Exception {
+        int count = 10000;
+        Random random = new Random(1);
+        float[] spheres = new float[count * 4];
+        float[] boxes = new float[count * 6];
+        for (int i = 0; i < count; i++) {
+            float x = random.nextFloat() * 200 - 100, y = random.nextFloat() * 200 - 100, z = random.nextFloat() * 220 - 10;
+            float r = random.nextFloat() * 5;
+            spheres[i * 4] = x;
+            spheres[i * 4 + 1] = y;
+            spheres[i * 4 + 2] = z;
+            spheres[i * 4 + 3] = r;
+            new AABBf(x - r, y - r * 0.5f, z - r * 2, x + r, y + r * 0.5f, z + r * 2).toArray(boxes, i * 6);
+        }
+
+        long[] visibleSpheres = new long[(count + 63) / 64];
+        long[] visibleBoxes = new long[(count + 63) / 64];
+        // unaligned ranges must keep bits outside of them
+        visibleSpheres[0] = -1L;
+        int spheresFound = FRUSTUM.cullSpheres(spheres, visibleSpheres, 3, 7000)
+                + FRUSTUM.cullSpheres(spheres, visibleSpheres, 7000, count);
+        int boxesFound = FRUSTUM.cullBoxes(boxes, visibleBoxes, 0, count);
+
+        int expectedSpheres = 0;
+        int expectedBoxes = 0;
+        for (int i = 0; i < count; i++) {
+            boolean sphere = i < 3 || FRUSTUM.intersectsSphere(spheres[i * 4], spheres[i * 4 + 1],
+                    spheres[i * 4 + 2], spheres[i * 4 + 3]);
+            boolean box = FRUSTUM.intersectsBox(boxes[i * 6], boxes[i * 6 + 1], boxes[i * 6 + 2],
+                    boxes[i * 6 + 3], boxes[i * 6 + 4], boxes[i * 6 + 5]);
+            Assert.assertEquals(sphere, Frustum.isVisible(visibleSpheres, i));
+            Assert.assertEquals(box, Frustum.isVisible(visibleBoxes, i));
+            expectedSpheres += sphere && i >= 3 ? 1 : 0;
+            expectedBoxes += box ? 1 : 0;
+        }
+        Assert.assertEquals(expectedSpheres, spheresFound);
+        Assert.assertEquals(expectedBoxes, boxesFound);
+        Assert.assertTrue(expectedSpheres > 100 && expectedSpheres < count - 100);
+
+        // parallel culling with chunks not aligned to words
+        ParallelExecutor executor = new ParallelExecutor(new ForkJoinPool(4), 100);
+        long[] parallelSpheres = new long[visibleSpheres.length];
+        long[] parallelBoxes = new long[visibleBoxes.length];
+        parallelSpheres[0] = 7L;
+        executor.cullSpheres(FRUSTUM, spheres, parallelSpheres, 3, count);
+        executor.cullBoxes(FRUSTUM, boxes, parallelBoxes, 0, count);
+        Assert.assertEquals(visibleBoxes.length, parallelBoxes.length);
+        for (int w = 1; w < visibleSpheres.length; w++) {
+            Assert.assertEquals(visibleSpheres[w], parallelSpheres[w]);
+            Assert.assertEquals(visibleBoxes[w], parallelBoxes[w]);
+        }
+        // lowest three bits were set before culling in both bitmasks
+        Assert.assertEquals(visibleSpheres[0], parallelSpheres[0]);
+        Assert.assertEquals(visibleBoxes[0], parallelBoxes[0]);
+    }
+}
@@ -0,0 +1,198 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.shapes;
+
+import eu.matejkormuth.math.QuadraticEquation;
+import eu.matejkormuth.math.spatial.BVH;
+import eu.matejkormuth.math.spatial.RayIntersector;
+import eu.matejkormuth.math.vectors.Vector3f;
+import eu.matejkormuth.math.vectors.Vector3fBuffer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class IntersectionsTest {
+
+    private static final Rayf RAY = new Rayf(new Vector3f(0, 0, -10), Vector3f.UNIT_Z);
+
+    @Test
+    public void testSphere() throws Exception {
+        Assert.assertEquals(8, RAY.intersectSphere(Vector3f.ZERO, 2), 1e-6);
+        Assert.assertEquals(10, RAY.intersectSphere(new Vector3f(2, 0, 0), 2), 1e-3);
+        Assert.assertEquals(Intersections.MISS, RAY.intersectSphere(new Vector3f(2.1f, 0, 0), 2), 0);
+        Assert.assertEquals(Intersections.MISS, RAY.intersectSphere(new Vector3f(0, 0, -20), 2), 0);
+        // origin inside
+        Assert.assertEquals(3, new Rayf(Vector3f.ZERO, Vector3f.UNIT_X).intersectSphere(Vector3f.ZERO, 3), 1e-6);
+        // direction is not normalized
+        Assert.assertEquals(4, new Rayf(new Vector3f(0, 0, -10), new Vector3f(0, 0, 2)).intersectSphere(Vector3f.ZERO, 2), 1e-6);
+    }
+
+    @Test
+    public void testSphereMatchesQuadraticEquation() throws Exception {
+        Random random = new Random(1);
+        double[] roots = new double[2];
+        for (int i = 0; i < 1000; i++) {
+            Vector3f o = new Vector3f(random.nextFloat() * 10 - 5, random.nextFloat() * 10 - 5, random.nextFloat() * 10 - 5);
+            Vector3f d = new Vector3f(random.nextFloat() - 0.5f, random.nextFloat() - 0.5f, random.nextFloat() - 0.5f);
+            Vector3f c = new Vector3f(random.nextFloat(), random.nextFloat(), random.nextFloat());
+            float r = random.nextFloat() * 3;
+            Vector3f l = o.subtract(c);
+            int count = QuadraticEquation.solve(d.dot(d), 2 * d.dot(l), l.dot(l) - r * r, roots, 0);
+            double expected = Intersections.MISS;
+            for (int j = count - 1; j >= 0; j--) {
+                if (roots[j] >= 0) {
+                    expected = roots[j];
+                }
+            }
+            float actual = new Rayf(o, d).intersectSphere(c, r);
+            if (expected == Intersections.MISS) {
+                Assert.assertEquals(Intersections.MISS, actual, 0);
+            } else {
+                Assert.assertEquals(expected, actual, 1e-3 * Math.max(1, expected));
+            }
+        }
+    }
+
+    @Test
+    public void testBox() throws Exception {
+        AABBf box = new AABBf(-1, -1, -1, 1, 1, 1);
+        Assert.assertEquals(9, RAY.intersectBox(box), 1e-6);
+        Assert.assertEquals(0, new Rayf(Vector3f.ZERO, Vector3f.UNIT_Y).intersectBox(box), 0);
+        Assert.assertEquals(Intersections.MISS, new Rayf(new Vector3f(0, 2, -10), Vector3f.UNIT_Z).intersectBox(box), 0);
+        Assert.assertEquals(Intersections.MISS, new Rayf(new Vector3f(0, 0, 5), Vector3f.UNIT_Z).intersectBox(box), 0);
+        Assert.assertEquals(Math.sqrt(3) * 4, Rayf.between(new Vector3f(5, 5, 5), Vector3f.ZERO).intersectBox(box), 1e-5);
+    }
+
+    @Test
+    public void testBoxRayOnFace() throws Exception {
+        float inf = Float.POSITIVE_INFINITY;
+        Assert.assertEquals(4, Intersections.rayBox(1, 0.5f, 5, inf, inf, -1, 0, 0, 0, 1, 1, 1), 1e-6);
+        Assert.assertEquals(4, Intersections.rayBox(1, 0.5f, 5, -inf, -inf, -1, 1, 0, 0, 2, 1, 1), 1e-6);
+        Assert.assertEquals(Intersections.MISS, Intersections.rayBox(2.5f, 0.5f, 5, inf, inf, -1, 1, 0, 0, 2, 1, 1), 0);
+
+        Rayf ray = new Rayf(new Vector3f(1, 0.5f, 5), new Vector3f(0, 0, -1));
+        Assert.assertEquals(4, ray.intersectBox(new AABBf(1, 0, 0, 2, 1, 1)), 1e-6);
+        Vector3fBuffer mins = new Vector3fBuffer(new Vector3f[]{new Vector3f(0, 0, 0), new Vector3f(1, 0, 0)});
+        Vector3fBuffer maxs = new Vector3fBuffer(new Vector3f[]{new Vector3f(1, 1, 1), new Vector3f(2, 1, 1)});
+        float[] distances = new float[2];
+        Assert.assertNotEquals(-1, Intersections.rayBoxes(ray, mins, maxs, 10, distances, 0, 2));
+        Assert.assertEquals(4, distances[0], 1e-6);
+        Assert.assertEquals(4, distances[1], 1e-6);
+    }
+
+    @Test
+    public void testTriangle() throws Exception {
+        Vector3f a = new Vector3f(-1, -1, 3), b = new Vector3f(1, -1, 3), c = new Vector3f(0, 1, 3);
+        Assert.assertEquals(13, RAY.intersectTriangle(a, b, c), 1e-5);
+        // back side is hit too
+        Assert.assertEquals(13, RAY.intersectTriangle(a, c, b), 1e-5);
+        Assert.assertEquals(Intersections.MISS, new Rayf(new Vector3f(0.9f, 0.9f, 0), Vector3f.UNIT_Z).intersectTriangle(a, b, c), 0);
+        Assert.assertEquals(Intersections.MISS, new Rayf(new Vector3f(0, 0, 4), Vector3f.UNIT_Z).intersectTriangle(a, b, c), 0);
+        Assert.assertEquals(Intersections.MISS, new Rayf(Vector3f.ZERO, Vector3f.UNIT_X).intersectTriangle(a, b, c), 0);
+    }
+
+    @Test
+    public void testSmallTriangle() throws Exception {
+        for (float leg : new float[]{1e-4f, 1e-5f, 1e3f}) {
+            Vector3f a = new Vector3f(0, 0, 0), b = new Vector3f(leg, 0, 0), c = new Vector3f(0, leg, 0);
+            Rayf ray = new Rayf(new Vector3f(leg / 3, leg / 3, 1), new Vector3f(0, 0, -1));
+            Assert.assertEquals(1, ray.intersectTriangle(a, b, c), 1e-6);
+
+            float[] vertices = {0, 0, 0, leg, 0, 0, 0, leg, 0};
+            BVH bvh = BVH.ofTriangles(new Vector3fBuffer(new Vector3f[]{a, b, c}), new int[]{0, 1, 2}, 1);
+            RayIntersector intersector = (id, ox, oy, oz, dx, dy, dz, max) -> Intersections.rayTriangle(
+                    ox, oy, oz, dx, dy, dz, vertices[0], vertices[1], vertices[2], vertices[3], vertices[4],
+                    vertices[5], vertices[6], vertices[7], vertices[8]);
+            Assert.assertEquals(0, bvh.raycast(ray, 10, intersector));
+        }
+        // ray lying in the plane of the triangle
+        Assert.assertEquals(Intersections.MISS, new Rayf(new Vector3f(-1, 1e-5f, 0), Vector3f.UNIT_X)
+                .intersectTriangle(Vector3f.ZERO, new Vector3f(1e-4f, 0, 0), new Vector3f(0, 1e-4f, 0)), 0);
+    }
+
+    @Test
+    public void testManyRaysKeepNearestHit() throws Exception {
+        int count = 100;
+        Vector3fBuffer origins = new Vector3fBuffer(count);
+        Vector3fBuffer directions = new Vector3fBuffer(count);
+        for (int i = 0; i < count; i++) {
+            origins.set(i, i * 0.1f - 5, 0.2f, -10);
+            directions.set(i, Vector3f.UNIT_Z);
+        }
+        float[] distances = new float[count];
+        int[] hits = new int[count];
+        Arrays.fill(distances, Intersections.MISS);
+        Arrays.fill(hits, -1);
+
+        Intersections.raySphere(origins, directions, new Vector3f(0, 0, 5), 2, 0, distances, hits, 0, count);
+        Intersections.rayBox(origins, directions, new AABBf(-3, -1, 0, -1, 1, 1), 1, distances, hits, 0, count);
+        Intersections.rayTriangle(origins, directions, new Vector3f(0, -5, -1), new Vector3f(5, -5, -1),
+                new Vector3f(5, 5, -1), 2, distances, hits, 0, count);
+
+        for (int i = 0; i < count; i++) {
+            Rayf ray = new Rayf(origins.get(i), directions.get(i));
+            float sphere = ray.intersectSphere(new Vector3f(0, 0, 5), 2);
+            float box = ray.intersectBox(new AABBf(-3, -1, 0, -1, 1, 1));
+            float triangle = ray.intersectTriangle(new Vector3f(0, -5, -1), new Vector3f(5, -5, -1), new Vector3f(5, 5, -1));
+            float nearest = Math.min(sphere, Math.min(box, triangle));
+            Assert.assertEquals(nearest, distances[i], 0);
+            int expected = nearest == Intersections.MISS ? -1 : nearest == triangle ? 2 : nearest == box ? 1 : 0;
+            Assert.assertEquals(expected, hits[i]);
+        }
+        Assert.assertEquals(2, hits[90]);
+        Assert.assertEquals(1, hits[30]);
+        Assert.assertEquals(0, hits[50]);
+        Assert.assertEquals(-1, hits[0]);
+    }
+
+    @Test
+    public void testOneRayManyPrimitives() throws Exception {
+        Vector3fBuffer centers = new Vector3fBuffer(new Vector3f[]{
+                new Vector3f(0, 0, 10), new Vector3f(0, 0, 3), new Vector3f(5, 0, 0), new Vector3f(0, 0, -20)
+        });
+        float[] radii = {1, 1, 1, 1};
+        float[] distances = new float[4];
+        Assert.assertEquals(1, Intersections.raySpheres(RAY, centers, radii, 100, distances, 0, 4));
+        Assert.assertEquals(12, distances[1], 1e-5);
+        Assert.assertEquals(Intersections.MISS, distances[2], 0);
+        Assert.assertEquals(-1, Intersections.raySpheres(RAY, centers, radii, 5, distances, 0, 4));
+        Assert.assertEquals(0, Intersections.raySpheres(RAY, centers, radii, 100, distances, 0, 1));
+
+        Vector3fBuffer mins = new Vector3fBuffer(new Vector3f[]{new Vector3f(-1, -1, 4), new Vector3f(-1, -1, 2)});
+        Vector3fBuffer maxs = new Vector3fBuffer(new Vector3f[]{new Vector3f(1, 1, 5), new Vector3f(1, 1, 3)});
+        Assert.assertEquals(1, Intersections.rayBoxes(RAY, mins, maxs, Intersections.MISS, distances, 0, 2));
+        Assert.assertEquals(12, distances[1], 1e-5);
+
+        Vector3fBuffer a = new Vector3fBuffer(new Vector3f[]{new Vector3f(-1, -1, 7), new Vector3f(-1, -1, 6)});
+        Vector3fBuffer b = new Vector3fBuffer(new Vector3f[]{new Vector3f(1, -1, 7), new Vector3f(1, -1, 6)});
+        Vector3fBuffer c = new Vector3fBuffer(new Vector3f[]{new Vector3f(0, 1, 7), new Vector3f(0, 1, 6)});
+        Assert.assertEquals(1, Intersections.rayTriangles(RAY, a, b, c, 100, distances, 0, 2));
+        Assert.assertEquals(16, distances[1], 1e-5);
+    }
+}
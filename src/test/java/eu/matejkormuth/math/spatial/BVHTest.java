@@ -0,0 +1,248 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.spatial;
+
+import eu.matejkormuth.math.shapes.AABBf;
+import eu.matejkormuth.math.vectors.Vector3f;
+import eu.matejkormuth.math.vectors.Vector3fBuffer;
+import gnu.trove.list.array.TIntArrayList;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class BVHTest {
+
+    private static final int COUNT = 5000;
+
+    private static float[] randomBoxes(long seed) {
+        Random random = new Random(seed);
+        float[] bounds = new float[COUNT * 6];
+        for (int i = 0; i < COUNT; i++) {
+            for (int axis = 0; axis < 3; axis++) {
+                bounds[i * 6 + axis] = random.nextFloat() * 100;
+                bounds[i * 6 + 3 + axis] = bounds[i * 6 + axis] + random.nextFloat() * 3;
+            }
+        }
+        return bounds;
+    }
+
+    @Test
+    public void testQueryBoxMatchesBruteForce() throws Exception {
+        float[] bounds = randomBoxes(1);
+        BVH bvh = BVH.ofBoxes(bounds, COUNT);
+        Assert.assertEquals(COUNT, bvh.size());
+        Assert.assertTrue(bvh.depth() < 40);
+
+        TIntArrayList result = new TIntArrayList();
+        int found = bvh.queryBox(new AABBf(10, 20, 30, 40, 35, 60), result);
+        TIntArrayList expected = new TIntArrayList();
+        for (int i = 0; i < COUNT; i++) {
+            int o = i * 6;
+            if (bounds[o] <= 40 && bounds[o + 3] >= 10 && bounds[o + 1] <= 35 && bounds[o + 4] >= 20
+                    && bounds[o + 2] <= 60 && bounds[o + 5] >= 30) {
+                expected.add(i);
+            }
+        }
+        Assert.assertEquals(expected.size(), found);
+        Assert.assertEquals(expected, sorted(result));
+    }
+
+    @Test
+    public void testQuerySphereMatchesBruteForce() throws Exception {
+        float[] bounds = randomBoxes(2);
+        BVH bvh = BVH.ofBoxes(bounds, COUNT);
+        TIntArrayList result = new TIntArrayList();
+        bvh.querySphere(new Vector3f(30, 60, 45), 14, result);
+        TIntArrayList expected = new TIntArrayList();
+        for (int i = 0; i < COUNT; i++) {
+            if (toBox(bounds, i).intersectsSphere(new Vector3f(30, 60, 45), 14)) {
+                expected.add(i);
+            }
+        }
+        Assert.assertEquals(expected, sorted(result));
+    }
+
+    @Test
+    public void testRaycastMatchesBruteForce() throws Exception {
+        float[] bounds = randomBoxes(3);
+        BVH bvh = BVH.ofBoxes(bounds, COUNT);
+        Random random = new Random(4);
+        float[] distance = new float[1];
+        TIntArrayList result = new TIntArrayList();
+        for (int q = 0; q < 100; q++) {
+            float ox = random.nextFloat() * 100, oy = random.nextFloat() * 100, oz = -10;
+            float dx = random.nextFloat() - 0.5f, dy = random.nextFloat() - 0.5f, dz = 1;
+
+            float expected = Float.POSITIVE_INFINITY;
+            TIntArrayList candidates = new TIntArrayList();
+            for (int i = 0; i < COUNT; i++) {
+                float t = slab(bounds, i, ox, oy, oz, dx, dy, dz);
+                if (t <= 80) {
+                    candidates.add(i);
+                    expected = Math.min(expected, t);
+                }
+            }
+            int hit = bvh.raycast(ox, oy, oz, dx, dy, dz, 80, null, distance);
+            if (expected == Float.POSITIVE_INFINITY) {
+                Assert.assertEquals(-1, hit);
+            } else {
+                Assert.assertEquals(expected, distance[0], 1e-4f);
+                Assert.assertEquals(expected, slab(bounds, hit, ox, oy, oz, dx, dy, dz), 1e-4f);
+            }
+            result.resetQuick();
+            bvh.queryRay(ox, oy, oz, dx, dy, dz, 80, result);
+            Assert.assertEquals(candidates, sorted(result));
+        }
+    }
+
+    @Test
+    public void testRayAlongSharedFace() throws Exception {
+        BVH bvh = BVH.of(new AABBf(0, 0, 0, 1, 1, 1), new AABBf(1, 0, 0, 2, 1, 1));
+        for (float zero : new float[]{0f, -0f}) {
+            int hit = bvh.raycast(new Vector3f(1, 5, 0.5f), new Vector3f(zero, -1, zero), 10, null);
+            Assert.assertTrue(hit == 0 || hit == 1);
+            TIntArrayList result = new TIntArrayList();
+            Assert.assertEquals(2, bvh.queryRay(1, 5, 0.5f, zero, -1, zero, 10, result));
+        }
+        // parallel ray just outside of both boxes
+        Assert.assertEquals(-1, bvh.raycast(new Vector3f(2.5f, 5, 0.5f), new Vector3f(0, -1, 0), 10, null));
+    }
+
+    @Test
+    public void testRaycastWithIntersector() throws Exception {
+        // two triangles facing the ray, the farther one has smaller index
+        Vector3fBuffer vertices = new Vector3fBuffer(new Vector3f[]{
+                new Vector3f(-1, -1, 5), new Vector3f(1, -1, 5), new Vector3f(0, 1, 5),
+                new Vector3f(-1, -1, 2), new Vector3f(1, -1, 2), new Vector3f(0, 1, 2)
+        });
+        int[] indices = {0, 1, 2, 3, 4, 5};
+        BVH bvh = BVH.ofTriangles(vertices, indices, 2);
+        RayIntersector planes = (id, ox, oy, oz, dx, dy, dz, max) -> (vertices.getZ()[indices[3 * id]] - oz) / dz;
+        float[] distance = new float[1];
+        Assert.assertEquals(1, bvh.raycast(0, 0, 0, 0, 0, 1, 100, planes, distance));
+        Assert.assertEquals(2, distance[0], 1e-6);
+        Assert.assertEquals(0, bvh.raycast(new Vector3f(0, 0, 3), Vector3f.UNIT_Z, 100, planes));
+        Assert.assertEquals(-1, bvh.raycast(new Vector3f(0, 0, 6), Vector3f.UNIT_Z, 100, planes));
+        Assert.assertEquals(-1, bvh.raycast(new Vector3f(5, 0, 0), Vector3f.UNIT_Z, 100, planes));
+    }
+
+    @Test
+    public void testNestedQueries() throws Exception {
+        BVH inner = BVH.ofBoxes(randomBoxes(5), COUNT);
+        BVH outer = BVH.of(new AABBf(0, 0, 0, 100, 100, 100));
+        TIntArrayList nested = new TIntArrayList();
+        RayIntersector intersector = (id, ox, oy, oz, dx, dy, dz, max) -> {
+            inner.queryBox(0, 0, 0, 50, 50, 50, nested);
+            return 1;
+        };
+        Assert.assertEquals(0, outer.raycast(new Vector3f(50, 50, -5), Vector3f.UNIT_Z, 100, intersector));
+        Assert.assertFalse(nested.isEmpty());
+    }
+
+    @Test
+    public void testParallelBuildMatchesSequential() throws Exception {
+        float[] bounds = randomBoxes(6);
+        BVH sequential = BVH.build(Arrays.copyOf(bounds, bounds.length), COUNT, null, 64);
+        BVH parallel = BVH.build(Arrays.copyOf(bounds, bounds.length), COUNT, new ForkJoinPool(4), 64);
+        Assert.assertEquals(sequential.nodeCount(), parallel.nodeCount());
+        Assert.assertEquals(sequential.depth(), parallel.depth());
+        Assert.assertEquals(sequential.getBounds(), parallel.getBounds());
+
+        TIntArrayList a = new TIntArrayList();
+        TIntArrayList b = new TIntArrayList();
+        for (int q = 0; q < 20; q++) {
+            a.resetQuick();
+            b.resetQuick();
+            sequential.querySphere(q * 5, 100 - q * 5, 50, 10, a);
+            parallel.querySphere(q * 5, 100 - q * 5, 50, 10, b);
+            Assert.assertEquals(sorted(a), sorted(b));
+        }
+    }
+
+    @Test
+    public void testEmptyAndDegenerate() throws Exception {
+        BVH empty = BVH.of();
+        Assert.assertEquals(AABBf.EMPTY, empty.getBounds());
+        Assert.assertEquals(-1, empty.raycast(Vector3f.ZERO, Vector3f.UNIT_X, 10, null));
+        Assert.assertEquals(0, empty.querySphere(0, 0, 0, 10, new TIntArrayList()));
+
+        BVH degenerate = BVH.of(same(50));
+        Assert.assertEquals(50, degenerate.queryBox(0, 0, 0, 1, 1, 1, new TIntArrayList()));
+    }
+
+    @Test
+    public void testCoincidentBoxesRespectLeafSize() throws Exception {
+        int count = 1000;
+        float[] bounds = new float[count * 6];
+        for (int i = 0; i < count; i++) {
+            // half of the boxes are instances at one place, the rest share centroid but differ in size
+            float extent = i < count / 2 ? 1 : 1 + i * 0.01f;
+            bounds[i * 6] = bounds[i * 6 + 1] = bounds[i * 6 + 2] = 5 - extent;
+            bounds[i * 6 + 3] = bounds[i * 6 + 4] = bounds[i * 6 + 5] = 5 + extent;
+        }
+        BVH bvh = BVH.ofBoxes(bounds, count);
+        Assert.assertTrue(bvh.maxLeafSize() <= BVH.MAX_LEAF_SIZE);
+        TIntArrayList result = new TIntArrayList();
+        Assert.assertEquals(count, bvh.querySphere(5, 5, 5, 0.5f, result));
+        Assert.assertEquals(count, sorted(result).size());
+        Assert.assertTrue(BVH.of(same(50)).maxLeafSize() <= BVH.MAX_LEAF_SIZE);
+    }
+
+    private static AABBf[] same(int count) {
+        AABBf[] boxes = new AABBf[count];
+        Arrays.fill(boxes, new AABBf(1, 1, 1, 2, 2, 2));
+        return boxes;
+    }
+
+    private static AABBf toBox(float[] bounds, int i) {
+        int o = i * 6;
+        return new AABBf(bounds[o], bounds[o + 1], bounds[o + 2], bounds[o + 3], bounds[o + 4], bounds[o + 5]);
+    }
+
+    private static float slab(float[] bounds, int i, float ox, float oy, float oz, float dx, float dy, float dz) {
+        float near = 0;
+        float far = 80;
+        float[] o = {ox, oy, oz};
+        float[] d = {dx, dy, dz};
+        for (int axis = 0; axis < 3; axis++) {
+            float t1 = (bounds[i * 6 + axis] - o[axis]) / d[axis];
+            float t2 = (bounds[i * 6 + 3 + axis] - o[axis]) / d[axis];
+            near = Math.max(near, Math.min(t1, t2));
+            far = Math.min(far, Math.max(t1, t2));
+        }
+        return near <= far ? near : Float.POSITIVE_INFINITY;
+    }
+
+    private static TIntArrayList sorted(TIntArrayList list) {
+        TIntArrayList copy = new TIntArrayList(list);
+        copy.sort();
+        return copy;
+    }
+}
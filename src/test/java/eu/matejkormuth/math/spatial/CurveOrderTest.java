@@ -0,0 +1,129 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.spatial;
+
+import eu.matejkormuth.math.vectors.Vector3f;
+import eu.matejkormuth.math.vectors.Vector3fBuffer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class CurveOrderTest {
+
+    private static Vector3fBuffer randomPoints(int count, long seed) {
+        Random random = new Random(seed);
+        Vector3fBuffer points = new Vector3fBuffer(count);
+        for (int i = 0; i < count; i++) {
+            points.set(i, random.nextFloat() * 100, random.nextFloat() * 100, random.nextFloat() * 100);
+        }
+        return points;
+    }
+
+    @Test
+    public void testRadixSort() throws Exception {
+        Random random = new Random(4);
+        long[] keys = new long[5000];
+        int[] values = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong() >>> 1;
+            values[i] = i;
+        }
+        long[] original = keys.clone();
+        long[] expected = keys.clone();
+        Arrays.sort(expected);
+        CurveOrder.radixSort(keys, values, keys.length);
+        Assert.assertArrayEquals(expected, keys);
+        for (int i = 0; i < keys.length; i++) {
+            Assert.assertEquals(original[values[i]], keys[i]);
+        }
+    }
+
+    @Test
+    public void testMortonOrder() throws Exception {
+        Vector3fBuffer points = randomPoints(2000, 5);
+        int[] order = CurveOrder.mortonOrder(points, 100, 1100);
+        Assert.assertEquals(1000, order.length);
+        int[] sorted = order.clone();
+        Arrays.sort(sorted);
+        for (int i = 0; i < sorted.length; i++) {
+            Assert.assertEquals(100 + i, sorted[i]);
+        }
+
+        // codes are computed against bounds of the sorted range only
+        float[] min = {Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY};
+        float[] max = {Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY};
+        for (int i = 100; i < 1100; i++) {
+            float[] p = {points.getX()[i], points.getY()[i], points.getZ()[i]};
+            for (int axis = 0; axis < 3; axis++) {
+                min[axis] = Math.min(min[axis], p[axis]);
+                max[axis] = Math.max(max[axis], p[axis]);
+            }
+        }
+        long previous = -1;
+        for (int i : order) {
+            long code = MortonCode.encode(points.get(i), new Vector3f(min[0], min[1], min[2]),
+                    new Vector3f(max[0], max[1], max[2]));
+            Assert.assertTrue(code >= previous);
+            previous = code;
+        }
+    }
+
+    @Test
+    public void testSortByHilbert() throws Exception {
+        Vector3fBuffer points = randomPoints(4096, 6);
+        Vector3f[] original = points.toArray();
+        int[] order = CurveOrder.sortByHilbert(points);
+        for (int i = 0; i < order.length; i++) {
+            Assert.assertEquals(original[order[i]], points.get(i));
+        }
+        // neighbours along the curve are much closer than neighbours in random order
+        double sorted = 0, unsorted = 0;
+        for (int i = 1; i < original.length; i++) {
+            sorted += points.get(i).distance(points.get(i - 1));
+            unsorted += original[i].distance(original[i - 1]);
+        }
+        Assert.assertTrue(sorted * 4 < unsorted);
+    }
+
+    @Test
+    public void testSortByMorton() throws Exception {
+        Vector3fBuffer points = randomPoints(1000, 7);
+        Vector3f[] original = points.toArray();
+        int[] order = CurveOrder.sortByMorton(points);
+        float[] ids = new float[order.length];
+        float[] dst = new float[order.length];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i;
+        }
+        CurveOrder.permute(ids, order, dst);
+        for (int i = 0; i < order.length; i++) {
+            Assert.assertEquals(original[(int) dst[i]], points.get(i));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.spatial;
+
+import eu.matejkormuth.math.vectors.Vector2i;
+import eu.matejkormuth.math.vectors.Vector3i;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class HilbertCodeTest {
+
+    @Test
+    public void testCurve2() throws Exception {
+        int order = 4, side = 1 << order;
+        boolean[] seen = new boolean[side * side];
+        Vector2i previous = null;
+        for (long d = 0; d < side * side; d++) {
+            Vector2i point = HilbertCode.decode(d, order);
+            Assert.assertEquals(d, HilbertCode.encode(point, order));
+            Assert.assertFalse(seen[point.getX() * side + point.getY()]);
+            seen[point.getX() * side + point.getY()] = true;
+            if (previous != null) {
+                int distance = Math.abs(point.getX() - previous.getX()) + Math.abs(point.getY() - previous.getY());
+                Assert.assertEquals(1, distance);
+            }
+            previous = point;
+        }
+    }
+
+    @Test
+    public void testCurve3() throws Exception {
+        int order = 3, side = 1 << order;
+        boolean[] seen = new boolean[side * side * side];
+        Vector3i previous = null;
+        for (long d = 0; d < side * side * side; d++) {
+            Vector3i point = HilbertCode.decode3(d, order);
+            Assert.assertEquals(d, HilbertCode.encode(point, order));
+            int cell = (point.getX() * side + point.getY()) * side + point.getZ();
+            Assert.assertFalse(seen[cell]);
+            seen[cell] = true;
+            if (previous != null) {
+                int distance = Math.abs(point.getX() - previous.getX()) + Math.abs(point.getY() - previous.getY())
+                        + Math.abs(point.getZ() - previous.getZ());
+                Assert.assertEquals(1, distance);
+            }
+            previous = point;
+        }
+    }
+
+    @Test
+    public void testRoundTripMaxOrder() throws Exception {
+        Random random = new Random(3);
+        for (int i = 0; i < 1000; i++) {
+            int x = random.nextInt(Integer.MAX_VALUE), y = random.nextInt(Integer.MAX_VALUE);
+            long d = HilbertCode.encode(x, y, HilbertCode.MAX_ORDER_2D);
+            Assert.assertEquals(new Vector2i(x, y), HilbertCode.decode(d, HilbertCode.MAX_ORDER_2D));
+
+            Vector3i p = new Vector3i(random.nextInt(MortonCode.MAX_3D + 1), random.nextInt(MortonCode.MAX_3D + 1),
+                    random.nextInt(MortonCode.MAX_3D + 1));
+            long d3 = HilbertCode.encode(p, HilbertCode.MAX_ORDER_3D);
+            Assert.assertTrue(d3 >= 0);
+            Assert.assertEquals(p, HilbertCode.decode3(d3, HilbertCode.MAX_ORDER_3D));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidOrder() throws Exception {
+        HilbertCode.encode(1, 2, 3, 22);
+    }
+}
@@ -0,0 +1,158 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.spatial;
+
+import eu.matejkormuth.math.parallel.ParallelExecutor;
+import eu.matejkormuth.math.vectors.Vector3d;
+import eu.matejkormuth.math.vectors.Vector3dBuffer;
+import gnu.trove.list.array.TIntArrayList;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class KdTreeTest {
+
+    private static final int COUNT = 5000;
+
+    private static Vector3dBuffer randomPoints(long seed, int count) {
+        Random random = new Random(seed);
+        Vector3dBuffer points = new Vector3dBuffer(count);
+        for (int i = 0; i < count; i++) {
+            // clustered on a grid to get many equal coordinates
+            points.set(i, random.nextInt(50), random.nextDouble() * 100, random.nextGaussian() * 10);
+        }
+        return points;
+    }
+
+    private static double[] sortedDistances(Vector3dBuffer points, double x, double y, double z) {
+        double[] distances = new double[points.size()];
+        for (int i = 0; i < distances.length; i++) {
+            distances[i] = points.get(i).distanceSquared(new Vector3d(x, y, z));
+        }
+        Arrays.sort(distances);
+        return distances;
+    }
+
+    @Test
+    public void testNearestMatchesBruteForce() throws Exception {
+        Vector3dBuffer points = randomPoints(1, COUNT);
+        KdTree tree = KdTree.of(points);
+        Assert.assertEquals(COUNT, tree.size());
+        int[] ids = new int[10];
+        double[] distances = new double[10];
+        Random random = new Random(2);
+        for (int q = 0; q < 100; q++) {
+            double x = random.nextDouble() * 70 - 10, y = random.nextDouble() * 120 - 10, z = random.nextGaussian() * 20;
+            Assert.assertEquals(10, tree.nearest(x, y, z, 10, ids, distances));
+            double[] expected = sortedDistances(points, x, y, z);
+            for (int i = 0; i < 10; i++) {
+                Assert.assertEquals(expected[i], distances[i], 1e-9);
+                Assert.assertEquals(distances[i], points.get(ids[i]).distanceSquared(new Vector3d(x, y, z)), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void testApproximateNearestIsWithinBound() throws Exception {
+        Vector3dBuffer points = randomPoints(3, COUNT);
+        KdTree tree = KdTree.of(points);
+        int[] ids = new int[5];
+        double[] distances = new double[5];
+        Random random = new Random(4);
+        for (int q = 0; q < 100; q++) {
+            double x = random.nextDouble() * 50, y = random.nextDouble() * 100, z = random.nextGaussian() * 10;
+            Assert.assertEquals(5, tree.nearestApproximate(x, y, z, 5, 0.5, ids, distances));
+            double[] expected = sortedDistances(points, x, y, z);
+            for (int i = 0; i < 5; i++) {
+                Assert.assertTrue(distances[i] <= expected[i] * 1.5 * 1.5 + 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void testRadiusMatchesBruteForce() throws Exception {
+        Vector3dBuffer points = randomPoints(5, COUNT);
+        KdTree tree = KdTree.of(points);
+        Vector3d query = new Vector3d(25, 50, 0);
+        TIntArrayList result = new TIntArrayList();
+        int found = tree.queryRadius(query, 12, result);
+        TIntArrayList expected = new TIntArrayList();
+        for (int i = 0; i < COUNT; i++) {
+            if (points.get(i).distanceSquared(query) <= 144) {
+                expected.add(i);
+            }
+        }
+        result.sort();
+        Assert.assertEquals(expected, result);
+        Assert.assertEquals(expected.size(), found);
+        Assert.assertEquals(found, tree.countWithin(25, 50, 0, 12));
+    }
+
+    @Test
+    public void testBulkQueriesInParallel() throws Exception {
+        Vector3dBuffer points = randomPoints(6, COUNT);
+        Vector3dBuffer queries = randomPoints(7, 1000);
+        KdTree tree = KdTree.of(points);
+        ParallelExecutor executor = new ParallelExecutor(new ForkJoinPool(4), 64);
+
+        int[] ids = new int[1000 * 3];
+        double[] distances = new double[1000 * 3];
+        executor.nearest(tree, queries, 3, ids, distances, 0, 1000);
+        int[] counts = new int[1000];
+        executor.countWithin(tree, queries, 5, counts, 0, 1000);
+
+        int[] expectedIds = new int[3];
+        double[] expectedDistances = new double[3];
+        for (int i = 0; i < 1000; i++) {
+            tree.nearest(queries.get(i), 3, expectedIds, expectedDistances);
+            Assert.assertArrayEquals(expectedDistances, Arrays.copyOfRange(distances, i * 3, i * 3 + 3), 0);
+            Assert.assertEquals(tree.queryRadius(queries.get(i), 5, new TIntArrayList()), counts[i]);
+        }
+    }
+
+    @Test
+    public void testSmallAndDegenerate() throws Exception {
+        KdTree tree = KdTree.of(new Vector3d(1, 1, 1), new Vector3d(2, 2, 2));
+        Vector3dBuffer queries = new Vector3dBuffer(new Vector3d[]{new Vector3d(0, 0, 0)});
+        int[] ids = new int[3];
+        double[] distances = new double[3];
+        tree.nearest(queries, 3, ids, distances, 0, 1);
+        Assert.assertArrayEquals(new int[]{0, 1, -1}, ids);
+        Assert.assertEquals(Double.POSITIVE_INFINITY, distances[2], 0);
+
+        Vector3d[] same = new Vector3d[100];
+        Arrays.fill(same, new Vector3d(3, 3, 3));
+        Assert.assertEquals(100, KdTree.of(same).countWithin(3, 3, 3, 0));
+
+        KdTree empty = KdTree.of(new Vector3d[0]);
+        Assert.assertEquals(0, empty.nearest(0, 0, 0, 1, ids, distances));
+        Assert.assertEquals(0, empty.countWithin(0, 0, 0, 10));
+    }
+}
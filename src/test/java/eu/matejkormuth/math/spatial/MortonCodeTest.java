@@ -0,0 +1,95 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.spatial;
+
+import eu.matejkormuth.math.vectors.Vector3f;
+import eu.matejkormuth.math.vectors.Vector3i;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class MortonCodeTest {
+
+    private static long naive(int x, int y, int z, int bits) {
+        long code = 0;
+        for (int i = 0; i < bits; i++) {
+            code |= ((long) (x >>> i) & 1) << (3 * i);
+            code |= ((long) (y >>> i) & 1) << (3 * i + 1);
+            code |= ((long) (z >>> i) & 1) << (3 * i + 2);
+        }
+        return code;
+    }
+
+    private static long naive(int x, int y) {
+        long code = 0;
+        for (int i = 0; i < 32; i++) {
+            code |= ((long) (x >>> i) & 1) << (2 * i);
+            code |= ((long) (y >>> i) & 1) << (2 * i + 1);
+        }
+        return code;
+    }
+
+    @Test
+    public void testEncode2() throws Exception {
+        Assert.assertEquals(0b1110, MortonCode.encode(2, 3));
+        Random random = new Random(1);
+        for (int i = 0; i < 1000; i++) {
+            int x = random.nextInt(), y = random.nextInt();
+            long code = MortonCode.encode(x, y);
+            Assert.assertEquals(naive(x, y), code);
+            Assert.assertEquals(x, MortonCode.decode2X(code));
+            Assert.assertEquals(y, MortonCode.decode2Y(code));
+        }
+    }
+
+    @Test
+    public void testEncode3() throws Exception {
+        Assert.assertEquals(0b100011, MortonCode.encode(1, 1, 2));
+        Random random = new Random(2);
+        for (int i = 0; i < 1000; i++) {
+            int x = random.nextInt(MortonCode.MAX_3D + 1);
+            int y = random.nextInt(MortonCode.MAX_3D + 1);
+            int z = random.nextInt(MortonCode.MAX_3D + 1);
+            long code = MortonCode.encode(x, y, z);
+            Assert.assertEquals(naive(x, y, z, MortonCode.BITS_3D), code);
+            Assert.assertEquals(new Vector3i(x, y, z), MortonCode.decode3(code));
+        }
+        long max = MortonCode.encode(MortonCode.MAX_3D, MortonCode.MAX_3D, MortonCode.MAX_3D);
+        Assert.assertEquals(Long.MAX_VALUE, max);
+    }
+
+    @Test
+    public void testEncodeFloat() throws Exception {
+        Vector3f min = new Vector3f(-1, -1, -1);
+        Vector3f max = new Vector3f(1, 1, 1);
+        Assert.assertEquals(0, MortonCode.encode(min, min, max));
+        Assert.assertEquals(Long.MAX_VALUE, MortonCode.encode(max, min, max));
+        // out of range values are clamped
+        Assert.assertEquals(Long.MAX_VALUE, MortonCode.encode(new Vector3f(5, 5, 5), min, max));
+    }
+}
@@ -0,0 +1,185 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.spatial;
+
+import eu.matejkormuth.math.vectors.Vector3d;
+import eu.matejkormuth.math.vectors.Vector3dBuffer;
+import gnu.trove.list.array.TIntArrayList;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class OctreeTest {
+
+    private static final int COUNT = 3000;
+
+    private static double[] randomBoxes(long seed) {
+        Random random = new Random(seed);
+        double[] bounds = new double[COUNT * 6];
+        for (int i = 0; i < COUNT; i++) {
+            double x = random.nextDouble() * 100, y = random.nextDouble() * 100, z = random.nextDouble() * 100;
+            // mix of points and boxes of various sizes
+            double size = i % 3 == 0 ? 0 : random.nextDouble() * 8;
+            bounds[i * 6] = x;
+            bounds[i * 6 + 1] = y;
+            bounds[i * 6 + 2] = z;
+            bounds[i * 6 + 3] = x + size;
+            bounds[i * 6 + 4] = y + size * 0.5;
+            bounds[i * 6 + 5] = z + size * 2;
+        }
+        return bounds;
+    }
+
+    @Test
+    public void testQueryBoxMatchesBruteForce() throws Exception {
+        double[] bounds = randomBoxes(1);
+        Octree octree = Octree.ofBoxes(bounds, COUNT);
+        Assert.assertEquals(COUNT, octree.size());
+
+        TIntArrayList result = new TIntArrayList();
+        int found = octree.queryBox(20, 30, 10, 45, 70, 33, result);
+        TIntArrayList expected = new TIntArrayList();
+        for (int i = 0; i < COUNT; i++) {
+            int o = i * 6;
+            if (bounds[o] <= 45 && bounds[o + 3] >= 20 && bounds[o + 1] <= 70 && bounds[o + 4] >= 30
+                    && bounds[o + 2] <= 33 && bounds[o + 5] >= 10) {
+                expected.add(i);
+            }
+        }
+        Assert.assertEquals(expected.size(), found);
+        Assert.assertEquals(expected, sorted(result));
+
+        result.resetQuick();
+        Assert.assertEquals(COUNT, octree.queryBox(new Vector3d(-1, -1, -1), new Vector3d(200, 200, 200), result));
+    }
+
+    @Test
+    public void testQuerySphereMatchesBruteForce() throws Exception {
+        double[] bounds = randomBoxes(2);
+        Octree octree = Octree.ofBoxes(bounds, COUNT);
+        TIntArrayList result = new TIntArrayList();
+        octree.querySphere(new Vector3d(50, 40, 60), 17, result);
+        TIntArrayList expected = new TIntArrayList();
+        for (int i = 0; i < COUNT; i++) {
+            if (distanceSquared(bounds, i, 50, 40, 60) <= 17 * 17) {
+                expected.add(i);
+            }
+        }
+        Assert.assertEquals(expected, sorted(result));
+    }
+
+    @Test
+    public void testNearestMatchesBruteForce() throws Exception {
+        double[] bounds = randomBoxes(3);
+        Octree octree = Octree.ofBoxes(bounds, COUNT);
+        int[] ids = new int[8];
+        double[] distances = new double[8];
+        Random random = new Random(4);
+        for (int q = 0; q < 50; q++) {
+            double x = random.nextDouble() * 140 - 20, y = random.nextDouble() * 140 - 20, z = random.nextDouble() * 140 - 20;
+            Assert.assertEquals(8, octree.nearest(x, y, z, 8, ids, distances));
+            double[] expected = new double[COUNT];
+            for (int i = 0; i < COUNT; i++) {
+                expected[i] = distanceSquared(bounds, i, x, y, z);
+            }
+            Arrays.sort(expected);
+            for (int i = 0; i < 8; i++) {
+                Assert.assertEquals(expected[i], distances[i], 1e-9);
+                Assert.assertEquals(distances[i], distanceSquared(bounds, ids[i], x, y, z), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void testParallelBuildMatchesSequential() throws Exception {
+        double[] bounds = randomBoxes(5);
+        Octree sequential = Octree.build(Arrays.copyOf(bounds, bounds.length), 0, COUNT, 4, null, 64);
+        Octree parallel = Octree.build(Arrays.copyOf(bounds, bounds.length), 0, COUNT, 4, new ForkJoinPool(4), 64);
+        Assert.assertEquals(sequential.nodeCount(), parallel.nodeCount());
+
+        TIntArrayList a = new TIntArrayList();
+        TIntArrayList b = new TIntArrayList();
+        for (int q = 0; q < 20; q++) {
+            a.resetQuick();
+            b.resetQuick();
+            sequential.querySphere(q * 5, 100 - q * 5, 50, 12, a);
+            parallel.querySphere(q * 5, 100 - q * 5, 50, 12, b);
+            Assert.assertEquals(sorted(a), sorted(b));
+        }
+    }
+
+    @Test
+    public void testPoints() throws Exception {
+        Vector3dBuffer points = new Vector3dBuffer(5);
+        points.set(1, new Vector3d(1, 1, 1));
+        points.set(2, new Vector3d(5, 5, 5));
+        points.set(3, new Vector3d(5, 5, 5));
+        points.set(4, new Vector3d(-3, 0, 0));
+        Octree octree = Octree.ofPoints(points, 1, 5);
+
+        int[] ids = new int[2];
+        double[] distances = new double[2];
+        Assert.assertEquals(2, octree.nearest(new Vector3d(-2, 0, 0), 2, ids, distances));
+        Assert.assertArrayEquals(new int[]{4, 1}, ids);
+        Assert.assertEquals(1, distances[0], 1e-12);
+
+        TIntArrayList result = new TIntArrayList();
+        octree.querySphere(5, 5, 5, 0, result);
+        Assert.assertEquals(new TIntArrayList(new int[]{2, 3}), sorted(result));
+    }
+
+    @Test
+    public void testDuplicatePointsAndEmpty() throws Exception {
+        Vector3d[] points = new Vector3d[100];
+        Arrays.fill(points, new Vector3d(2, 2, 2));
+        Octree octree = Octree.ofPoints(points);
+        TIntArrayList result = new TIntArrayList();
+        Assert.assertEquals(100, octree.querySphere(2, 2, 2, 0.5, result));
+
+        Octree empty = Octree.ofPoints(new Vector3d[0]);
+        Assert.assertEquals(0, empty.size());
+        Assert.assertEquals(0, empty.queryBox(-1, -1, -1, 1, 1, 1, result));
+        Assert.assertEquals(0, empty.nearest(0, 0, 0, 3, new int[3], new double[3]));
+    }
+
+    private static double distanceSquared(double[] bounds, int i, double x, double y, double z) {
+        int o = i * 6;
+        double dx = Math.max(0, Math.max(bounds[o] - x, x - bounds[o + 3]));
+        double dy = Math.max(0, Math.max(bounds[o + 1] - y, y - bounds[o + 4]));
+        double dz = Math.max(0, Math.max(bounds[o + 2] - z, z - bounds[o + 5]));
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static TIntArrayList sorted(TIntArrayList list) {
+        TIntArrayList copy = new TIntArrayList(list);
+        copy.sort();
+        return copy;
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.spatial;
+
+import eu.matejkormuth.math.vectors.Vector3f;
+import eu.matejkormuth.math.vectors.Vector3fBuffer;
+import gnu.trove.list.array.TIntArrayList;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class SpatialHashGridTest {
+
+    private static final int COUNT = 2000;
+
+    private static Vector3fBuffer randomPoints(long seed) {
+        Random random = new Random(seed);
+        Vector3fBuffer points = new Vector3fBuffer(COUNT);
+        for (int i = 0; i < COUNT; i++) {
+            points.set(i, random.nextFloat() * 100 - 50, random.nextFloat() * 100 - 50, random.nextFloat() * 20);
+        }
+        return points;
+    }
+
+    @Test
+    public void testRadiusQueryMatchesBruteForce() throws Exception {
+        Vector3fBuffer points = randomPoints(1);
+        SpatialHashGrid grid = new SpatialHashGrid(4f);
+        grid.insertAll(points, 0, COUNT);
+        Assert.assertEquals(COUNT, grid.getSize());
+
+        Vector3f query = new Vector3f(3, -7, 10);
+        TIntArrayList result = new TIntArrayList();
+        int found = grid.queryRadius(query, 9f, result);
+        Assert.assertEquals(bruteForceRadius(points, query, 9f), sorted(result));
+        Assert.assertEquals(result.size(), found);
+    }
+
+    @Test
+    public void testNearestMatchesBruteForce() throws Exception {
+        Vector3fBuffer points = randomPoints(2);
+        SpatialHashGrid grid = new SpatialHashGrid(2.5f, 16);
+        grid.insertAll(points, 0, COUNT);
+
+        int[] ids = new int[10];
+        float[] distances = new float[10];
+        Random random = new Random(3);
+        for (int q = 0; q < 50; q++) {
+            Vector3f query = new Vector3f(random.nextFloat() * 140 - 70, random.nextFloat() * 140 - 70, random.nextFloat() * 40 - 10);
+            Assert.assertEquals(10, grid.nearest(query, 10, ids, distances));
+            float[] expected = bruteForceDistances(points, query);
+            for (int i = 0; i < 10; i++) {
+                Assert.assertEquals(expected[i], distances[i], 1e-4f);
+                Assert.assertEquals(distances[i], points.get(ids[i]).distanceSquared(query), 1e-3f);
+            }
+        }
+    }
+
+    @Test
+    public void testNearestWithSparseOutliers() throws Exception {
+        SpatialHashGrid grid = new SpatialHashGrid(1f);
+        grid.insert(0, new Vector3f(0, 0, 0));
+        grid.insert(1, new Vector3f(10000, 0, 0));
+        grid.insert(2, new Vector3f(-3000, 5000, 0));
+        int[] ids = new int[5];
+        float[] distances = new float[5];
+        Assert.assertEquals(3, grid.nearest(9000, 0, 0, 5, ids, distances));
+        Assert.assertArrayEquals(new int[]{1, 0, 2}, Arrays.copyOf(ids, 3));
+    }
+
+    @Test
+    public void testMoveAndRemove() throws Exception {
+        SpatialHashGrid grid = new SpatialHashGrid(1f);
+        grid.insert(5, 0.5f, 0.5f, 0.5f);
+        grid.insert(7, 0.6f, 0.5f, 0.5f);
+        grid.insert(9, 0.7f, 0.5f, 0.5f);
+        grid.move(7, 10.5f, 0.5f, 0.5f);
+        grid.move(9, 0.8f, 0.5f, 0.5f);
+
+        TIntArrayList result = new TIntArrayList();
+        grid.queryRadius(0.5f, 0.5f, 0.5f, 1f, result);
+        Assert.assertEquals(new TIntArrayList(new int[]{5, 9}), sorted(result));
+        Assert.assertEquals(new Vector3f(10.5f, 0.5f, 0.5f), grid.get(7));
+
+        Assert.assertTrue(grid.remove(5));
+        Assert.assertFalse(grid.remove(5));
+        Assert.assertFalse(grid.contains(5));
+        result.resetQuick();
+        grid.queryRadius(0.5f, 0.5f, 0.5f, 1f, result);
+        Assert.assertEquals(new TIntArrayList(new int[]{9}), result);
+        Assert.assertEquals(2, grid.getSize());
+
+        grid.clear();
+        Assert.assertEquals(0, grid.getSize());
+        Assert.assertFalse(grid.contains(9));
+        Assert.assertEquals(0, grid.queryRadius(0.5f, 0.5f, 0.5f, 100f, result));
+    }
+
+    private static TIntArrayList bruteForceRadius(Vector3fBuffer points, Vector3f query, float radius) {
+        TIntArrayList result = new TIntArrayList();
+        for (int i = 0; i < points.size(); i++) {
+            if (points.get(i).distanceSquared(query) <= radius * radius) {
+                result.add(i);
+            }
+        }
+        return result;
+    }
+
+    private static float[] bruteForceDistances(Vector3fBuffer points, Vector3f query) {
+        float[] distances = new float[points.size()];
+        for (int i = 0; i < distances.length; i++) {
+            Vector3f point = points.get(i);
+            float dx = point.getX() - query.getX();
+            float dy = point.getY() - query.getY();
+            float dz = point.getZ() - query.getZ();
+            distances[i] = dx * dx + dy * dy + dz * dz;
+        }
+        Arrays.sort(distances);
+        return distances;
+    }
+
+    private static TIntArrayList sorted(TIntArrayList list) {
+        TIntArrayList copy = new TIntArrayList(list);
+        copy.sort();
+        return copy;
+    }
+}
@@ -0,0 +1,59 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.vectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MutableVector2dTest {
+
+    @Test
+    public void testConversion() throws Exception {
+        Vector2d vec = new Vector2d(1, -2.5);
+        Assert.assertEquals(vec, vec.toMutable().toImmutable());
+    }
+
+    @Test
+    public void testChain() throws Exception {
+        MutableVector2d vec = new MutableVector2d(2, 10)
+                .addLocal(new Vector2d(3, 5))
+                .subtractLocal(1, 1)
+                .multiplyLocal(2);
+        Assert.assertEquals(new Vector2d(8, 28), vec.toImmutable());
+    }
+
+    @Test
+    public void testNormalizeLocal() throws Exception {
+        Assert.assertEquals(new Vector2d(3, 4).normalize(), new MutableVector2d(3, 4).normalizeLocal().toImmutable());
+        Assert.assertEquals(1.0, new MutableVector2d(3, 4).normalizeLocal().length(), 1e-9);
+    }
+
+    @Test
+    public void testDot() throws Exception {
+        Assert.assertEquals(7, new MutableVector2d(1, 5).dot(new Vector2d(2, 1)), 1e-9);
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.vectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MutableVector3fTest {
+
+    @Test
+    public void testZero() throws Exception {
+        MutableVector3f def = new MutableVector3f();
+        Assert.assertEquals(0, def.getX(), 1e-6);
+        Assert.assertEquals(0, def.getY(), 1e-6);
+        Assert.assertEquals(0, def.getZ(), 1e-6);
+    }
+
+    @Test
+    public void testConversion() throws Exception {
+        Vector3f vec = new Vector3f(1f, -2.5f, 3f);
+        Assert.assertEquals(vec, vec.toMutable().toImmutable());
+        Assert.assertEquals(new MutableVector3f(1f, -2.5f, 3f), new MutableVector3f(vec));
+    }
+
+    @Test
+    public void testAddLocal() throws Exception {
+        MutableVector3f vec = new MutableVector3f(10f, 15f, 10.5f);
+        Assert.assertSame(vec, vec.addLocal(new Vector3f(5f, -5f, 0.5f)));
+        Assert.assertEquals(new Vector3f(15f, 10f, 11f), vec.toImmutable());
+    }
+
+    @Test
+    public void testSubtractLocal() throws Exception {
+        MutableVector3f vec = new MutableVector3f(10f, 15f, 10.5f).subtractLocal(5f, -5f, 0.5f);
+        Assert.assertEquals(new Vector3f(5f, 20f, 10f), vec.toImmutable());
+    }
+
+    @Test
+    public void testMultiplyLocal() throws Exception {
+        Assert.assertEquals(new Vector3f(2f, 4f, 6f), new MutableVector3f(1f, 2f, 3f).multiplyLocal(2).toImmutable());
+    }
+
+    @Test
+    public void testDivideLocal() throws Exception {
+        Assert.assertEquals(new Vector3f(1f, 2f, 3f), new MutableVector3f(2f, 4f, 6f).divideLocal(2).toImmutable());
+    }
+
+    @Test
+    public void testCrossLocal() throws Exception {
+        Vector3f expected = new Vector3f(4f, 5.6f, 11f).cross(new Vector3f(7, 20, -5));
+        MutableVector3f cross = new MutableVector3f(4f, 5.6f, 11f).crossLocal(new Vector3f(7, 20, -5));
+        Assert.assertEquals(expected.getX(), cross.getX(), 1e-6);
+        Assert.assertEquals(expected.getY(), cross.getY(), 1e-6);
+        Assert.assertEquals(expected.getZ(), cross.getZ(), 1e-6);
+    }
+
+    @Test
+    public void testNormalizeLocal() throws Exception {
+        Assert.assertEquals(new Vector3f(1, 0, 0), new MutableVector3f(10, 0, 0).normalizeLocal().toImmutable());
+        Assert.assertEquals(new Vector3f(1, 1, 1).normalize(), new MutableVector3f(1, 1, 1).normalizeLocal().toImmutable());
+    }
+
+    @Test
+    public void testLerpLocal() throws Exception {
+        Vector3f start = new Vector3f(0, 2, 4);
+        Vector3f end = new Vector3f(10, 4, -4);
+        Assert.assertEquals(Vector3f.lerp(start, end, 0.25f), start.toMutable().lerpLocal(end, 0.25f).toImmutable());
+    }
+
+    @Test
+    public void testDistanceSquared() throws Exception {
+        MutableVector3f from = new MutableVector3f(10, 15.5f, 14.24f);
+        Vector3f to = new Vector3f(18, -10, 22.515f);
+        Assert.assertEquals(782.725625f, from.distanceSquared(to), 1e-3);
+    }
+}
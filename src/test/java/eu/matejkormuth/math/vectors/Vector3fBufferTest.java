@@ -0,0 +1,134 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.vectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class Vector3fBufferTest {
+
+    private static final Vector3f[] A = {
+            new Vector3f(1f, 2f, 3f),
+            new Vector3f(4f, 5.6f, 11f),
+            new Vector3f(-5f, 22.5f, -15.3f),
+            new Vector3f(10, 15.5f, 14.24f)
+    };
+    private static final Vector3f[] B = {
+            new Vector3f(2f, 2f, -5f),
+            new Vector3f(7, 20, -5),
+            new Vector3f(5f, -5f, 0.5f),
+            new Vector3f(18f, -10f, 22.515f)
+    };
+
+    @Test
+    public void testGetSet() throws Exception {
+        Vector3fBuffer buffer = new Vector3fBuffer(A);
+        Assert.assertEquals(A.length, buffer.size());
+        Assert.assertArrayEquals(A, buffer.toArray());
+        buffer.set(2, Vector3f.UNIT_Y);
+        Assert.assertEquals(Vector3f.UNIT_Y, buffer.get(2));
+        Assert.assertEquals(Vector3f.UNIT_Y, buffer.get(2, new MutableVector3f()).toImmutable());
+    }
+
+    @Test
+    public void testAdd() throws Exception {
+        Vector3fBuffer dst = new Vector3fBuffer(A.length);
+        Vector3fBuffer.add(new Vector3fBuffer(A), new Vector3fBuffer(B), dst, 0, A.length);
+        for (int i = 0; i < A.length; i++) {
+            Assert.assertEquals(A[i].add(B[i]), dst.get(i));
+        }
+    }
+
+    @Test
+    public void testSubtractRange() throws Exception {
+        Vector3fBuffer a = new Vector3fBuffer(A);
+        Vector3fBuffer.subtract(a, new Vector3fBuffer(B), a, 1, 3);
+        Assert.assertEquals(A[0], a.get(0));
+        Assert.assertEquals(A[1].subtract(B[1]), a.get(1));
+        Assert.assertEquals(A[2].subtract(B[2]), a.get(2));
+        Assert.assertEquals(A[3], a.get(3));
+    }
+
+    @Test
+    public void testScale() throws Exception {
+        Vector3fBuffer a = new Vector3fBuffer(A);
+        Vector3fBuffer.scale(a, 2f, a, 0, A.length);
+        for (int i = 0; i < A.length; i++) {
+            Assert.assertEquals(A[i].multiply(2f), a.get(i));
+        }
+    }
+
+    @Test
+    public void testDot() throws Exception {
+        float[] dst = new float[A.length];
+        Vector3fBuffer.dot(new Vector3fBuffer(A), new Vector3fBuffer(B), dst, 0, A.length);
+        for (int i = 0; i < A.length; i++) {
+            Assert.assertEquals(A[i].dot(B[i]), dst[i], 1e-4);
+        }
+    }
+
+    @Test
+    public void testCrossInPlace() throws Exception {
+        Vector3fBuffer a = new Vector3fBuffer(A);
+        Vector3fBuffer.cross(a, new Vector3fBuffer(B), a, 0, A.length);
+        for (int i = 0; i < A.length; i++) {
+            Assert.assertEquals(A[i].cross(B[i]), a.get(i));
+        }
+    }
+
+    @Test
+    public void testNormalizeAndLength() throws Exception {
+        Vector3fBuffer dst = new Vector3fBuffer(A.length);
+        float[] length = new float[A.length];
+        Vector3fBuffer.normalize(new Vector3fBuffer(A), dst, 0, A.length);
+        Vector3fBuffer.length(dst, length, 0, A.length);
+        for (int i = 0; i < A.length; i++) {
+            Assert.assertEquals(1f, length[i], 1e-6);
+        }
+    }
+
+    @Test
+    public void testDistanceSquared() throws Exception {
+        float[] dst = new float[A.length];
+        Vector3fBuffer.distanceSquared(new Vector3fBuffer(A), new Vector3fBuffer(B), dst, 0, A.length);
+        Assert.assertEquals(782.725625f, dst[3], 1e-3);
+        Vector3fBuffer.distanceSquared(new Vector3fBuffer(A), B[3], dst, 0, A.length);
+        Assert.assertEquals(782.725625f, dst[3], 1e-3);
+        Assert.assertEquals(A[0].distanceSquared(B[3]), dst[0], 1e-3);
+    }
+
+    @Test
+    public void testNormalizeFast() throws Exception {
+        Vector3fBuffer exact = new Vector3fBuffer(A.length);
+        Vector3fBuffer fast = new Vector3fBuffer(A);
+        Vector3fBuffer.normalize(fast, exact, 0, A.length);
+        Vector3fBuffer.normalizeFast(fast, fast, 0, A.length);
+        for (int i = 0; i < A.length; i++) {
+            Assert.assertEquals(0, exact.get(i).distance(fast.get(i)), 1e-5);
+        }
+    }
+}
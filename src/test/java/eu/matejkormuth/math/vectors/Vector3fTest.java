@@ -143,4 +143,35 @@ public class Vector3fTest {
     public void testGetZ() throws Exception {
         Assert.assertEquals(14.32, new Vector3f(1.3f, 50f, 14.32f).getZ(), 1e-6);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testFastVariants() throws Exception {
+        Vector3f vec = new Vector3f(1, 2, 3);
+        Vector3f axis = new Vector3f(0, 1, 1).normalize();
+        Vector3f exact = vec.rotate(127, axis);
+        Vector3f fast = vec.rotateFast(127, axis);
+        Assert.assertEquals(0, exact.distance(fast), 1e-5);
+
+        Vector3f start = Vector3f.UNIT_X;
+        Vector3f end = new Vector3f(0, 1, 1).normalize();
+        Assert.assertEquals(0, Vector3f.slerp(start, end, 0.3f).distance(Vector3f.slerpFast(start, end, 0.3f)), 1e-5);
+    }
+
+    @Test
+    public void testNormalizeFast() throws Exception {
+        Vector3f vec = new Vector3f(3, -4, 12);
+        Vector3f exact = vec.normalize();
+        Vector3f fast = vec.normalizeFast();
+        Assert.assertEquals(exact.getX(), fast.getX(), 1e-5);
+        Assert.assertEquals(exact.getY(), fast.getY(), 1e-5);
+        Assert.assertEquals(exact.getZ(), fast.getZ(), 1e-5);
+        Assert.assertEquals(Vector3f.ZERO, Vector3f.ZERO.normalizeFast());
+    }
+
+    @Test
+    public void testNormalizeIfNeeded() throws Exception {
+        Vector3f unit = new Vector3f(1, 2, 3).normalize();
+        Assert.assertSame(unit, unit.normalizeIfNeeded());
+        Assert.assertEquals(new Vector3f(1, 2, 3).normalize(), new Vector3f(1, 2, 3).normalizeIfNeeded());
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * basic math library - Basic math library for myself.
+ * Copyright (c) 2016 - 2016, Matej Kormuth <http://www.github.com/dobrakmato>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation and/or
+ * other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package eu.matejkormuth.math.vectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class Vector3iTest {
+
+    @Test
+    public void testPackRoundTrip() throws Exception {
+        int[] values = {0, 1, -1, 7, -300, Vector3i.PACKED_MIN, Vector3i.PACKED_MAX};
+        for (int x : values) {
+            for (int y : values) {
+                for (int z : values) {
+                    Vector3i vec = new Vector3i(x, y, z);
+                    Assert.assertEquals(vec, Vector3i.unpack(vec.pack()));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPackIsInjective() throws Exception {
+        Assert.assertNotEquals(new Vector3i(1, 0, 0).pack(), new Vector3i(0, 1, 0).pack());
+        Assert.assertNotEquals(new Vector3i(-1, 0, 0).pack(), new Vector3i(0, -1, -1).pack());
+        Assert.assertEquals(0, Vector3i.ZERO.pack());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPackOutOfRange() throws Exception {
+        Vector3i.pack(0, Vector3i.PACKED_MAX + 1, 0);
+    }
+
+    @Test
+    public void testArithmetic() throws Exception {
+        Vector3i a = new Vector3i(1, -2, 3);
+        Assert.assertEquals(new Vector3i(2, -4, 6), a.add(a));
+        Assert.assertEquals(new Vector3i(3, -6, 9), a.multiply(3));
+        Assert.assertEquals(14, a.lengthSquared());
+        Assert.assertEquals(6, a.manhattanDistance(Vector3i.ZERO));
+        Assert.assertEquals(new Vector3i(-1, 0, 2), Vector3i.floor(new Vector3f(-0.5f, 0.5f, 2f)));
+    }
+
+    @Test
+    public void testVector2iPack() throws Exception {
+        Vector2i vec = new Vector2i(Integer.MIN_VALUE, -1);
+        Assert.assertEquals(vec, Vector2i.unpack(vec.pack()));
+        Assert.assertEquals(new Vector2i(5, Integer.MAX_VALUE), Vector2i.unpack(Vector2i.pack(5, Integer.MAX_VALUE)));
+    }
+
+    @Test
+    public void testMaps() throws Exception {
+        Vector3iObjectMap<String> objects = new Vector3iObjectMap<>();
+        objects.put(1, -2, 3, "a");
+        objects.put(new Vector3i(-5, 0, 0), "b");
+        Assert.assertEquals("a", objects.get(new Vector3i(1, -2, 3)));
+        Assert.assertNull(objects.get(0, 0, 0));
+        Assert.assertEquals("b", objects.remove(-5, 0, 0));
+        Assert.assertEquals(1, objects.size());
+        objects.forEach((x, y, z, value) -> Assert.assertEquals(new Vector3i(1, -2, 3), new Vector3i(x, y, z)));
+
+        Vector3iIntMap counts = new Vector3iIntMap(16, -1);
+        Assert.assertEquals(-1, counts.get(1, 1, 1));
+        counts.adjustOrPut(1, 1, 1, 1);
+        Assert.assertEquals(3, counts.adjustOrPut(1, 1, 1, 2));
+        Assert.assertTrue(counts.containsKey(new Vector3i(1, 1, 1)));
+
+        Vector2iObjectMap<String> chunks = new Vector2iObjectMap<>();
+        chunks.put(-1, 2, "c");
+        Assert.assertEquals("c", chunks.get(new Vector2i(-1, 2)));
+        Assert.assertFalse(chunks.containsKey(2, -1));
+    }
+
+    @Test
+    public void testMapsOutOfPackableRange() throws Exception {
+        int far = Vector3i.PACKED_MAX + 1;
+        Vector3iObjectMap<String> objects = new Vector3iObjectMap<>();
+        Assert.assertNull(objects.get(far, 0, 0));
+        Assert.assertNull(objects.remove(new Vector3i(0, 0, far)));
+        Assert.assertFalse(objects.containsKey(0, -far - 1, 0));
+
+        Vector3iIntMap counts = new Vector3iIntMap(16, -1);
+        Assert.assertEquals(-1, counts.get(far, far, far));
+        Assert.assertEquals(-1, counts.remove(0, far, 0));
+        Assert.assertFalse(counts.containsKey(new Vector3i(far, 0, 0)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMapPutOutOfPackableRange() throws Exception {
+        new Vector3iIntMap().put(Vector3i.PACKED_MAX + 1, 0, 0, 1);
+    }
+}